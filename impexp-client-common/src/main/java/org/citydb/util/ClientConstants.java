@@ -41,6 +41,7 @@ public class ClientConstants {
     public static final String ADE_EXTENSIONS_DIR = "ade-extensions";
     public static final String COLLADA2GLTF_DIR = "contribs" + File.separator + "collada2gltf";
     public static final String LOG_DIR = "log";
+    public static final String CACHE_DIR = "cache";
     public static final String CONFIG_DIR = "config";
     public static final String PROJECT_SETTINGS_FILE = "project.xml";
     public static final String GUI_SETTINGS_FILE = "gui.xml";
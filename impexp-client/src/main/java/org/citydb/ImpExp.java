@@ -30,6 +30,7 @@ package org.citydb;
 import org.citydb.ade.ADEExtension;
 import org.citydb.ade.ADEExtensionManager;
 import org.citydb.cli.ImpExpCli;
+import org.citydb.cli.JobServer;
 import org.citydb.config.Config;
 import org.citydb.config.ConfigUtil;
 import org.citydb.config.gui.Gui;
@@ -41,8 +42,6 @@ import org.citydb.config.project.global.Logging;
 import org.citydb.config.project.query.util.QueryWrapper;
 import org.citydb.database.DatabaseController;
 import org.citydb.database.schema.mapping.SchemaMapping;
-import org.citydb.database.schema.mapping.SchemaMappingException;
-import org.citydb.database.schema.mapping.SchemaMappingValidationException;
 import org.citydb.database.schema.util.SchemaMappingUtil;
 import org.citydb.event.EventDispatcher;
 import org.citydb.event.global.EventType;
@@ -71,8 +70,6 @@ import org.citydb.util.PidFile;
 import org.citydb.util.Util.URLClassLoader;
 import org.citygml4j.CityGMLContext;
 import org.citygml4j.builder.jaxb.CityGMLBuilder;
-import org.citygml4j.builder.jaxb.CityGMLBuilderException;
-import org.citygml4j.model.citygml.ade.ADEException;
 import org.citygml4j.model.citygml.ade.binding.ADEContext;
 import org.kohsuke.args4j.CmdLineException;
 import org.kohsuke.args4j.CmdLineParser;
@@ -91,10 +88,16 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Stream;
 
 public class ImpExp {
@@ -129,6 +132,12 @@ public class ImpExp {
 	@Option(name="-testConnection", usage="test whether a database connection can be established")
 	private boolean testConnection;
 
+	@Option(name="-server", usage="run as job server accepting jobs on this\nloopback port\n(shell version only)", metaVar="port")
+	private Integer serverPort;
+
+	@Option(name="-serverQueue", usage="maximum number of queued jobs in server mode\n(default: 100)", metaVar="size")
+	private int serverQueueSize = 100;
+
 	@Option(name="-pid-file", usage="create file containing the current process ID", metaVar="fileName")
 	private Path pidFile;
 
@@ -143,6 +152,7 @@ public class ImpExp {
 	private SplashScreen splashScreen;
 	private boolean useSplashScreen;
 	private Map<LogLevel, String> logMessages = new HashMap<>();
+	private StartupTimer startupTimer;
 
 	public static void main(String[] args) {
 		ImpExp impExp = new ImpExp();
@@ -185,6 +195,21 @@ public class ImpExp {
 	}
 
 	private void doMain(String[] args) throws ImpExpException {
+		ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "impexp-bootstrap");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		try {
+			doMain(args, executor);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private void doMain(String[] args, ExecutorService executor) throws ImpExpException {
+		startupTimer = new StartupTimer();
 		CmdLineParser parser = new CmdLineParser(this, ParserProperties.defaults().withUsageWidth(80));
 
 		try {
@@ -223,15 +248,17 @@ public class ImpExp {
 				++commands;
 			if (testConnection)
 				++commands;
+			if (serverPort != null)
+				++commands;
 
 			if (commands == 0) {
-				System.out.println("Choose either command \"-import\", \"-export\", \"-delete\", \"-kmlExport\", \"-validate\" or \"-testConnection\" for shell version");
+				System.out.println("Choose either command \"-import\", \"-export\", \"-delete\", \"-kmlExport\", \"-validate\", \"-testConnection\" or \"-server\" for shell version");
 				printUsage(parser, System.out);
 				System.exit(1);
 			}
 
 			if (commands > 1) {
-				System.out.println("Commands \"-import\", \"-export\", \"-delete\", \"-kmlExport\", \"-validate\" and \"-testConnection\" may not be mixed");
+				System.out.println("Commands \"-import\", \"-export\", \"-delete\", \"-kmlExport\", \"-validate\", \"-testConnection\" and \"-server\" may not be mixed");
 				printUsage(parser, System.out);
 				System.exit(1);
 			}
@@ -259,6 +286,7 @@ public class ImpExp {
 
 		// load external plugins
 		printInfoMessage("Loading plugins");
+		long phaseStart = System.currentTimeMillis();
 		URLClassLoader externalLoader = new URLClassLoader(ImpExp.class.getClassLoader());
 		try {
 			Path pluginsDir = ClientConstants.IMPEXP_HOME.resolve(ClientConstants.PLUGINS_DIR);
@@ -277,6 +305,8 @@ public class ImpExp {
 			throw new ImpExpException("Failed to initialize plugin support.", e);
 		}
 
+		startupTimer.record("Loading plugins", phaseStart);
+
 		// get plugin config classes
 		List<Class<?>> projectConfigClasses = new ArrayList<>();
 		projectConfigClasses.add(Project.class);
@@ -303,29 +333,32 @@ public class ImpExp {
 		// set internal proxy selector as default
 		ProxySelector.setDefault(InternalProxySelector.getInstance());
 
-		// create JAXB contexts
-		try {
-			kmlContext = JAXBContext.newInstance("net.opengis.kml._2", this.getClass().getClassLoader());
-			colladaContext = JAXBContext.newInstance("org.collada._2005._11.colladaschema", this.getClass().getClassLoader());
-			projectContext = JAXBContext.newInstance(projectConfigClasses.toArray(new Class<?>[]{}));
-			guiContext = JAXBContext.newInstance(Gui.class);
-		} catch (JAXBException e) {
-			throw new ImpExpException("Application environment could not be initialized.", e);
+		// independent initialization tasks are run concurrently. the KML and COLLADA
+		// contexts are only required by the GUI, the KML/COLLADA export and the job server
+		Future<JAXBContext> projectContextTask = executor.submit(() -> startupTimer.time("Creating project context",
+				() -> JAXBContext.newInstance(projectConfigClasses.toArray(new Class<?>[]{}))));
+		Future<JAXBContext> guiContextTask = !shell ? executor.submit(() -> startupTimer.time("Creating GUI context",
+				() -> JAXBContext.newInstance(Gui.class))) : null;
+
+		Future<JAXBContext> kmlContextTask = null;
+		Future<JAXBContext> colladaContextTask = null;
+		if (!shell || kmlExportFile != null || serverPort != null) {
+			kmlContextTask = executor.submit(() -> startupTimer.time("Creating KML context",
+					() -> JAXBContext.newInstance("net.opengis.kml._2", this.getClass().getClassLoader())));
+			colladaContextTask = executor.submit(() -> startupTimer.time("Creating COLLADA context",
+					() -> JAXBContext.newInstance("org.collada._2005._11.colladaschema", this.getClass().getClassLoader())));
 		}
-		
+
 		// read database schema mapping and register with ObjectRegistry
 		printInfoMessage("Loading database schema mapping");
-		SchemaMapping schemaMapping = null;
-		try {
-			schemaMapping = SchemaMappingUtil.getInstance().unmarshal(CoreConstants.CITYDB_SCHEMA_MAPPING_FILE);
-			ObjectRegistry.getInstance().setSchemaMapping(schemaMapping);
-		} catch (JAXBException | SchemaMappingException | SchemaMappingValidationException e) {
-			throw new ImpExpException("Failed to process 3DCityDB schema mapping file.", e);
-		}
+		Future<SchemaMapping> schemaMappingTask = executor.submit(() -> startupTimer.time("Loading database schema mapping",
+				() -> SchemaMappingUtil.getInstance().unmarshal(CoreConstants.CITYDB_SCHEMA_MAPPING_FILE,
+						CoreConstants.IMPEXP_DATA_DIR.resolve(ClientConstants.CACHE_DIR))));
 
 		// load ADE extensions	
 		printInfoMessage("Loading ADE extensions");
 		try {
+			phaseStart = System.currentTimeMillis();
 			Path adeExtensionsDir = ClientConstants.IMPEXP_HOME.resolve(ClientConstants.ADE_EXTENSIONS_DIR);
 			if (Files.exists(adeExtensionsDir)) {
 				try (Stream<Path> stream = Files.walk(adeExtensionsDir)
@@ -335,6 +368,9 @@ public class ImpExp {
 			}
 
 			adeManager.loadExtensions(externalLoader);
+
+			SchemaMapping schemaMapping = get(schemaMappingTask, "Failed to process 3DCityDB schema mapping file.");
+			ObjectRegistry.getInstance().setSchemaMapping(schemaMapping);
 			adeManager.loadSchemaMappings(schemaMapping);
 
 			for (ADEExtension extension : adeManager.getExtensions())
@@ -345,26 +381,26 @@ public class ImpExp {
 				adeManager.logExceptions();
 				throw new ImpExpException("Failed to load ADE extensions.");
 			}
+
+			startupTimer.record("Loading ADE extensions", phaseStart);
 		} catch (IOException e) {
 			throw new ImpExpException("Failed to initialize ADE extension support.", e);
 		}
 		
 		// load CityGML and ADE context
 		printInfoMessage("Loading CityGML and ADE contexts");
-		try {
+		Future<CityGMLBuilder> cityGMLBuilderTask = executor.submit(() -> startupTimer.time("Loading CityGML and ADE contexts", () -> {
 			CityGMLContext context = CityGMLContext.getInstance();
 			for (ADEContext adeContext : adeManager.getADEContexts())
 				context.registerADEContext(adeContext);
-			
-			// create CityGML builder and register with object registry
-			CityGMLBuilder cityGMLBuilder = context.createCityGMLBuilder(externalLoader);
-			ObjectRegistry.getInstance().setCityGMLBuilder(cityGMLBuilder);
-		} catch (CityGMLBuilderException | ADEException e) {
-			throw new ImpExpException("CityGML context could not be initialized.", e);
-		}
-		
+
+			return context.createCityGMLBuilder(externalLoader);
+		}));
+
 		// initialize config
 		printInfoMessage("Loading project settings");		
+		projectContext = get(projectContextTask, "Application environment could not be initialized.");
+		phaseStart = System.currentTimeMillis();
 		if (configFile != null) {
 			if (!configFile.isAbsolute())
 				configFile = ClientConstants.WORKING_DIR.resolve(configFile);
@@ -411,6 +447,7 @@ public class ImpExp {
 		}
 
 		if (!shell) {
+			guiContext = get(guiContextTask, "Application environment could not be initialized.");
 			Path guiFile = CoreConstants.IMPEXP_DATA_DIR
 					.resolve(ClientConstants.CONFIG_DIR).resolve(ClientConstants.GUI_SETTINGS_FILE);
 			try {
@@ -431,6 +468,8 @@ public class ImpExp {
 			}
 		}
 
+		startupTimer.record("Loading project settings", phaseStart);
+
 		// init logging environment
 		Logging logging = config.getProject().getGlobal().getLogging();
 		log.setConsoleLogLevel(logging.getConsole().getLogLevel());
@@ -461,6 +500,16 @@ public class ImpExp {
 			}
 		}
 
+		// create CityGML builder and register with object registry
+		ObjectRegistry.getInstance().setCityGMLBuilder(get(cityGMLBuilderTask, "CityGML context could not be initialized."));
+
+		if (kmlContextTask != null) {
+			kmlContext = get(kmlContextTask, "Application environment could not be initialized.");
+			colladaContext = get(colladaContextTask, "Application environment could not be initialized.");
+		}
+
+		startupTimer.report(log);
+
 		// init internationalized labels 
 		LanguageType lang = config.getProject().getGlobal().getLanguage();
 		if (lang == null)
@@ -530,12 +579,27 @@ public class ImpExp {
 				success= cmd.doKmlExport(kmlExportFile);
 			else if (testConnection)
 				success = cmd.doTestConnection();
+			else if (serverPort != null)
+				success = new JobServer(cmd, projectContext, config, serverQueueSize).run(serverPort);
 
 			if (!success)
 				System.exit(1);
 		}
 	}
 
+	private <T> T get(Future<T> task, String errorMessage) throws ImpExpException {
+		try {
+			return task.get();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof ImpExpException)
+				throw (ImpExpException) e.getCause();
+
+			throw new ImpExpException(errorMessage, e.getCause());
+		} catch (InterruptedException e) {
+			throw new ImpExpException(errorMessage, e);
+		}
+	}
+
 	private void setLookAndFeel() throws ImpExpException {
 		try {
 			// set look & feel
@@ -574,4 +638,29 @@ public class ImpExp {
 		out.println();
 	}
 
+	private static final class StartupTimer {
+		private final long start = System.currentTimeMillis();
+		private final Map<String, Long> phases = new LinkedHashMap<>();
+
+		private <T> T time(String phase, Callable<T> task) throws Exception {
+			long phaseStart = System.currentTimeMillis();
+			try {
+				return task.call();
+			} finally {
+				record(phase, phaseStart);
+			}
+		}
+
+		private synchronized void record(String phase, long phaseStart) {
+			phases.put(phase, System.currentTimeMillis() - phaseStart);
+		}
+
+		private synchronized void report(Logger log) {
+			log.debug("Startup phase timing (concurrent phases overlap):");
+			for (Map.Entry<String, Long> entry : phases.entrySet())
+				log.debug(entry.getKey() + ": " + entry.getValue() + " ms");
+
+			log.debug("Total startup time: " + (System.currentTimeMillis() - start) + " ms");
+		}
+	}
 }
@@ -62,6 +62,7 @@ public class ImpExpCli {
 	private JAXBContext jaxbKmlContext;
 	private JAXBContext jaxbColladaContext;
 	private Config config;
+	private boolean keepConnection;
 
 	public ImpExpCli(JAXBContext jaxbKmlContext,
 			JAXBContext jaxbColladaContext,
@@ -75,6 +76,10 @@ public class ImpExpCli {
 		schemaMapping = ObjectRegistry.getInstance().getSchemaMapping();
 	}
 
+	public void setKeepConnection(boolean keepConnection) {
+		this.keepConnection = keepConnection;
+	}
+
 	public boolean doImport(String importFiles) throws ImpExpException {
 		// prepare list of files to be validated
 		List<Path> files = getFiles(importFiles);
@@ -102,7 +107,7 @@ public class ImpExpCli {
 				//
 			}
 
-			databaseController.disconnect();
+			disconnect();
 		}
 
 		if (success)
@@ -169,7 +174,7 @@ public class ImpExpCli {
 				//
 			}
 
-			databaseController.disconnect();
+			disconnect();
 		}
 
 		if (success)
@@ -201,7 +206,7 @@ public class ImpExpCli {
 				//
 			}
 
-			databaseController.disconnect();
+			disconnect();
 		}
 
 		if (success)
@@ -235,7 +240,7 @@ public class ImpExpCli {
 				//
 			}
 
-			databaseController.disconnect();
+			disconnect();
 		}
 
 		if (success)
@@ -256,13 +261,18 @@ public class ImpExpCli {
 
 	public boolean doTestConnection() throws ImpExpException {
 		if (databaseController.connect()) {
-			databaseController.disconnect();
+			disconnect();
 			return true;
 		} else {
 			return false;
 		}
 	}
 
+	private void disconnect() {
+		if (!keepConnection)
+			databaseController.disconnect();
+	}
+
 	private List<Path> getFiles(String fileNames) {
 		List<Path> files = new ArrayList<>();
 
@@ -0,0 +1,376 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * http://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2019
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.gis.bgu.tum.de/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * virtualcitySYSTEMS GmbH, Berlin <http://www.virtualcitysystems.de/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.cli;
+
+import org.citydb.ImpExpException;
+import org.citydb.concurrent.DefaultWorker;
+import org.citydb.concurrent.PoolSizeAdaptationStrategy;
+import org.citydb.concurrent.WorkerPool;
+import org.citydb.config.Config;
+import org.citydb.config.ConfigUtil;
+import org.citydb.config.project.Project;
+import org.citydb.config.project.database.DBConnection;
+import org.citydb.config.project.global.LogLevel;
+import org.citydb.database.DatabaseController;
+import org.citydb.log.ConsoleLogger;
+import org.citydb.log.DefaultConsoleLogger;
+import org.citydb.log.Logger;
+import org.citydb.registry.ObjectRegistry;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Keeps a warmed-up application environment and database connection alive and
+ * executes jobs received over a loopback socket.
+ * <p>
+ * A job is sent as a single line <code>&lt;operation&gt; [argument]</code>, where the operation
+ * is one of <code>import</code>, <code>validate</code>, <code>export</code>, <code>delete</code>,
+ * <code>kmlExport</code>, <code>testConnection</code> or <code>shutdown</code> and the argument
+ * takes the same values as the corresponding command line option. An optional line
+ * <code>config &lt;fileName&gt;</code> selects a project settings file for the job. The request
+ * is terminated by an empty line. All log messages of the job are streamed back to the client,
+ * followed by a final line <code>RESULT SUCCESS</code> or <code>RESULT FAILURE</code>.
+ * <p>
+ * Requests are read concurrently so that a slow client cannot block the server from accepting
+ * further connections. Jobs are queued and executed one after the other since the operations
+ * share the global configuration, event dispatcher and database connection pool of the process.
+ */
+public class JobServer {
+	private final Logger log = Logger.getInstance();
+	private final ImpExpCli cli;
+	private final JAXBContext projectContext;
+	private final Config config;
+	private final Project defaultProject;
+	private final DatabaseController databaseController;
+	private final JobConsoleLogger consoleLogger;
+	private final int queueSize;
+
+	private volatile boolean shouldRun = true;
+	private volatile ServerSocket serverSocket;
+	private List<Object> activeConnection;
+
+	private enum Operation {
+		IMPORT, VALIDATE, EXPORT, DELETE, KMLEXPORT, TESTCONNECTION, SHUTDOWN
+	}
+
+	private static final class Job {
+		private final Socket socket;
+		private Operation operation;
+		private String argument;
+		private Project project;
+
+		private Job(Socket socket) {
+			this.socket = socket;
+		}
+	}
+
+	public JobServer(ImpExpCli cli, JAXBContext projectContext, Config config, int queueSize) {
+		this.cli = cli;
+		this.projectContext = projectContext;
+		this.config = config;
+		this.queueSize = Math.max(1, queueSize);
+
+		defaultProject = config.getProject();
+		databaseController = ObjectRegistry.getInstance().getDatabaseController();
+		consoleLogger = new JobConsoleLogger();
+	}
+
+	public boolean run(int port) throws ImpExpException {
+		WorkerPool<Job> jobPool = new WorkerPool<>(
+				"job_server_pool",
+				1,
+				1,
+				PoolSizeAdaptationStrategy.NONE,
+				JobWorker::new,
+				queueSize,
+				false);
+
+		// requests are read on separate threads and handed over to the job pool
+		WorkerPool<Job> requestPool = new WorkerPool<>(
+				"job_request_pool",
+				1,
+				queueSize,
+				PoolSizeAdaptationStrategy.AGGRESSIVE,
+				() -> new RequestWorker(jobPool),
+				queueSize,
+				false);
+
+		log.setConsoleLogger(consoleLogger);
+		cli.setKeepConnection(true);
+		jobPool.prestartCoreWorkers();
+		requestPool.prestartCoreWorkers();
+
+		try (ServerSocket serverSocket = new ServerSocket(port, queueSize, InetAddress.getLoopbackAddress())) {
+			this.serverSocket = serverSocket;
+			log.info("Job server listening on " + serverSocket.getLocalSocketAddress() + ".");
+
+			while (shouldRun) {
+				Socket socket;
+				try {
+					socket = serverSocket.accept();
+				} catch (IOException e) {
+					// the server socket is closed on shutdown requests
+					if (!shouldRun)
+						break;
+
+					throw e;
+				}
+
+				requestPool.addWork(new Job(socket));
+			}
+		} catch (IOException e) {
+			throw new ImpExpException("Failed to run job server on port " + port + ".", e);
+		} finally {
+			shouldRun = false;
+
+			try {
+				requestPool.shutdownAndWait();
+				jobPool.shutdownAndWait();
+			} catch (InterruptedException e) {
+				requestPool.shutdownNow();
+				jobPool.shutdownNow();
+			}
+
+			cli.setKeepConnection(false);
+			databaseController.disconnect();
+		}
+
+		return true;
+	}
+
+	private void stopServer() {
+		log.info("Shutting down job server...");
+		shouldRun = false;
+
+		try {
+			ServerSocket serverSocket = this.serverSocket;
+			if (serverSocket != null)
+				serverSocket.close();
+		} catch (IOException e) {
+			//
+		}
+	}
+
+	private boolean readJob(Job job) {
+		Socket socket = job.socket;
+
+		try {
+			socket.setSoTimeout(30000);
+			BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+
+			String line;
+			while ((line = reader.readLine()) != null && !(line = line.trim()).isEmpty()) {
+				String[] parts = line.split("\\s+", 2);
+				String argument = parts.length > 1 ? parts[1] : null;
+
+				if (job.operation == null) {
+					job.operation = Operation.valueOf(parts[0].toUpperCase());
+					job.argument = argument;
+				} else if (parts[0].equalsIgnoreCase("config") && argument != null) {
+					Object object = ConfigUtil.unmarshal(new File(argument), projectContext);
+					if (!(object instanceof Project))
+						throw new JAXBException("Failed to interpret project file '" + argument + "'.");
+
+					job.project = (Project) object;
+				} else
+					throw new IllegalArgumentException("Unsupported job parameter '" + line + "'.");
+			}
+
+			if (job.operation == null)
+				throw new IllegalArgumentException("No operation specified.");
+
+			if (job.argument == null && (job.operation == Operation.IMPORT || job.operation == Operation.VALIDATE
+					|| job.operation == Operation.EXPORT || job.operation == Operation.KMLEXPORT))
+				throw new IllegalArgumentException("Missing argument for operation '" + job.operation.name().toLowerCase() + "'.");
+
+			socket.setSoTimeout(0);
+			return true;
+		} catch (IOException | JAXBException | IllegalArgumentException e) {
+			log.warn("Rejected invalid job request.", e);
+			respond(socket, "ERROR " + e.getMessage() + System.lineSeparator() + "RESULT FAILURE");
+			return false;
+		}
+	}
+
+	private void respond(Socket socket, String message) {
+		try (Socket client = socket) {
+			PrintStream out = new PrintStream(client.getOutputStream(), true, "UTF-8");
+			out.println(message);
+		} catch (IOException e) {
+			//
+		}
+	}
+
+	private boolean execute(Job job) throws ImpExpException {
+		Project project = job.project != null ? job.project : defaultProject;
+		config.setProject(project);
+
+		// reuse the open database connection unless the job targets another database
+		List<Object> connection = getConnectionKey(project.getDatabase().getActiveConnection());
+		if (activeConnection != null && !activeConnection.equals(connection))
+			databaseController.disconnect();
+
+		activeConnection = connection;
+
+		switch (job.operation) {
+			case IMPORT:
+				return cli.doImport(job.argument);
+			case VALIDATE:
+				return cli.doValidate(job.argument);
+			case EXPORT:
+				return cli.doExport(job.argument);
+			case DELETE:
+				return cli.doDelete();
+			case KMLEXPORT:
+				return cli.doKmlExport(job.argument);
+			case TESTCONNECTION:
+				return cli.doTestConnection();
+			default:
+				return false;
+		}
+	}
+
+	private List<Object> getConnectionKey(DBConnection connection) {
+		// compare by value since the connection settings of a project may be changed in place
+		return connection != null ? Arrays.asList(
+				connection.getDatabaseType(),
+				connection.getServer(),
+				connection.getPort(),
+				connection.getSid(),
+				connection.getSchema(),
+				connection.getUser(),
+				connection.getPassword()) : null;
+	}
+
+	private final class RequestWorker extends DefaultWorker<Job> {
+		private final WorkerPool<Job> jobPool;
+
+		private RequestWorker(WorkerPool<Job> jobPool) {
+			this.jobPool = jobPool;
+		}
+
+		@Override
+		public void doWork(Job job) {
+			if (!readJob(job))
+				return;
+
+			if (job.operation == Operation.SHUTDOWN) {
+				stopServer();
+				respond(job.socket, "RESULT SUCCESS");
+			} else if (shouldRun)
+				jobPool.addWork(job);
+			else
+				respond(job.socket, "ERROR The job server is shutting down." + System.lineSeparator() + "RESULT FAILURE");
+		}
+
+		@Override
+		public void shutdown() {
+			// nothing to do
+		}
+	}
+
+	private final class JobWorker extends DefaultWorker<Job> {
+
+		@Override
+		public void doWork(Job job) {
+			try (Socket socket = job.socket) {
+				PrintStream out = new PrintStream(socket.getOutputStream(), true, "UTF-8");
+				consoleLogger.setJobStream(out);
+				boolean success = false;
+
+				try {
+					log.info("Starting job '" + job.operation.name().toLowerCase() +
+							(job.argument != null ? " " + job.argument : "") + "'.");
+					success = execute(job);
+				} catch (ImpExpException e) {
+					log.error(e.getMessage(), e.getCause());
+				} catch (Throwable e) {
+					log.error("Job failed due to an unexpected error.", e);
+				} finally {
+					consoleLogger.setJobStream(null);
+				}
+
+				out.println(success ? "RESULT SUCCESS" : "RESULT FAILURE");
+			} catch (IOException e) {
+				log.warn("Failed to send job result to client.", e);
+			}
+		}
+
+		@Override
+		public void shutdown() {
+			// nothing to do
+		}
+	}
+
+	private static final class JobConsoleLogger implements ConsoleLogger {
+		private final ConsoleLogger defaultLogger = new DefaultConsoleLogger();
+		private volatile PrintStream jobStream;
+
+		private void setJobStream(PrintStream jobStream) {
+			this.jobStream = jobStream;
+		}
+
+		@Override
+		public void log(LogLevel level, String msg) {
+			defaultLogger.log(level, msg);
+			PrintStream stream = jobStream;
+			if (stream != null)
+				stream.println(msg);
+		}
+
+		@Override
+		public void log(String msg) {
+			defaultLogger.log(msg);
+			PrintStream stream = jobStream;
+			if (stream != null)
+				stream.println(msg);
+		}
+
+		@Override
+		public PrintStream out() {
+			return defaultLogger.out();
+		}
+
+		@Override
+		public PrintStream err() {
+			return defaultLogger.err();
+		}
+	}
+}
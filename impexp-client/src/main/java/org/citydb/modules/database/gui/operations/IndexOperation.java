@@ -212,16 +212,17 @@ public class IndexOperation extends DatabaseOperationView {
 				dialog.setVisible(true);
 			});
 
+			int parallelism = config.getProject().getImporter().getIndexes().getParallelism();
 			try {
 				for (IndexType type : IndexType.values()) {
 					IndexStatusInfo indexStatus = null;
 
 					if (type == IndexType.SPATIAL && spatial.isSelected()) {
 						LOG.info("Activating spatial indexes...");
-						indexStatus = dbConnectionPool.getActiveDatabaseAdapter().getUtil().createSpatialIndexes();
+						indexStatus = dbConnectionPool.getActiveDatabaseAdapter().getUtil().createSpatialIndexes(parallelism);
 					} else if (type == IndexType.NORMAL && normal.isSelected()) {
 						LOG.info("Activating normal indexes...");
-						indexStatus = dbConnectionPool.getActiveDatabaseAdapter().getUtil().createNormalIndexes();
+						indexStatus = dbConnectionPool.getActiveDatabaseAdapter().getUtil().createNormalIndexes(parallelism);
 					}
 
 					if (indexStatus != null) {				
@@ -440,6 +441,7 @@ public class IndexOperation extends DatabaseOperationView {
 				dialog.setVisible(true);
 			});
 			
+			int parallelism = config.getProject().getImporter().getIndexes().getParallelism();
 			try {
 				boolean statsUpdated = true;
 				
@@ -447,10 +449,10 @@ public class IndexOperation extends DatabaseOperationView {
 					if (statsUpdated) {
 						if (type == IndexType.SPATIAL && spatial.isSelected()) {
 							LOG.info("Updating table statistics for columns with spatial index...");
-							statsUpdated = dbConnectionPool.getActiveDatabaseAdapter().getUtil().updateTableStatsSpatialColumns();
+							statsUpdated = dbConnectionPool.getActiveDatabaseAdapter().getUtil().updateTableStatsSpatialColumns(parallelism);
 						} else if (type == IndexType.NORMAL && normal.isSelected()) {
 							LOG.info("Updating table statistics for columns with normal index...");
-							statsUpdated = dbConnectionPool.getActiveDatabaseAdapter().getUtil().updateTableStatsNormalColumns();
+							statsUpdated = dbConnectionPool.getActiveDatabaseAdapter().getUtil().updateTableStatsNormalColumns(parallelism);
 						}
 					}
 				}
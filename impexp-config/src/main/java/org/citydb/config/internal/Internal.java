@@ -29,6 +29,7 @@ package org.citydb.config.internal;
 
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
 
 public class Internal {
 	public static boolean IS_GUI_MODE = false;
@@ -39,6 +40,7 @@ public class Internal {
 
 	// internal variables
 	private String currentGmlIdCodespace = null;
+	private Map<String, String> stagingTables = null;
 
 	// internal flags
 	private boolean transformCoordinates = false;
@@ -86,6 +88,14 @@ public class Internal {
 			this.currentGmlIdCodespace = currentGmlIdCodespace.trim();
 	}
 	
+	public Map<String, String> getStagingTables() {
+		return stagingTables;
+	}
+
+	public void setStagingTables(Map<String, String> stagingTables) {
+		this.stagingTables = stagingTables;
+	}
+
 	public boolean isExportGlobalAppearances() {
 		return exportGlobalAppearances;
 	}
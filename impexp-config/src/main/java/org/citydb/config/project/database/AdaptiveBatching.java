@@ -0,0 +1,95 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * http://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2019
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.gis.bgu.tum.de/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * virtualcitySYSTEMS GmbH, Berlin <http://www.virtualcitysystems.de/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.config.project.database;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlSchemaType;
+import javax.xml.bind.annotation.XmlType;
+
+@XmlType(name = "AdaptiveBatchingType", propOrder = {
+		"enabled",
+		"minFeatureBatchSize",
+		"maxFeatureBatchSize",
+		"targetLatency"
+})
+public class AdaptiveBatching {
+	public static final int DEFAULT_MIN_FEATURE_BATCH_SIZE = 10;
+	public static final int DEFAULT_MAX_FEATURE_BATCH_SIZE = 1000;
+	public static final int DEFAULT_TARGET_LATENCY = 1000;
+
+	@XmlElement(required = true, defaultValue = "false")
+	private Boolean enabled = false;
+	@XmlElement(defaultValue = "10")
+	@XmlSchemaType(name = "positiveInteger")
+	private int minFeatureBatchSize = DEFAULT_MIN_FEATURE_BATCH_SIZE;
+	@XmlElement(defaultValue = "1000")
+	@XmlSchemaType(name = "positiveInteger")
+	private int maxFeatureBatchSize = DEFAULT_MAX_FEATURE_BATCH_SIZE;
+	@XmlElement(defaultValue = "1000")
+	@XmlSchemaType(name = "positiveInteger")
+	private int targetLatency = DEFAULT_TARGET_LATENCY;
+
+	public boolean isEnabled() {
+		if (enabled != null)
+			return enabled.booleanValue();
+
+		return false;
+	}
+
+	public void setEnabled(Boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public int getMinFeatureBatchSize() {
+		return minFeatureBatchSize > 0 ? minFeatureBatchSize : DEFAULT_MIN_FEATURE_BATCH_SIZE;
+	}
+
+	public void setMinFeatureBatchSize(int minFeatureBatchSize) {
+		if (minFeatureBatchSize > 0 && minFeatureBatchSize <= ImportBatching.MAX_BATCH_SIZE)
+			this.minFeatureBatchSize = minFeatureBatchSize;
+	}
+
+	public int getMaxFeatureBatchSize() {
+		return Math.max(maxFeatureBatchSize > 0 ? maxFeatureBatchSize : DEFAULT_MAX_FEATURE_BATCH_SIZE, getMinFeatureBatchSize());
+	}
+
+	public void setMaxFeatureBatchSize(int maxFeatureBatchSize) {
+		if (maxFeatureBatchSize > 0 && maxFeatureBatchSize <= ImportBatching.MAX_BATCH_SIZE)
+			this.maxFeatureBatchSize = maxFeatureBatchSize;
+	}
+
+	public int getTargetLatency() {
+		return targetLatency > 0 ? targetLatency : DEFAULT_TARGET_LATENCY;
+	}
+
+	public void setTargetLatency(int targetLatency) {
+		if (targetLatency > 0)
+			this.targetLatency = targetLatency;
+	}
+
+}
@@ -34,7 +34,9 @@ import javax.xml.bind.annotation.XmlType;
 @XmlType(name = "ImportBatchingType", propOrder = {
 		"featureBatchSize",
 		"gmlIdCacheBatchSize",
-		"tempBatchSize"
+		"tempBatchSize",
+		"pipelinedExecution",
+		"adaptiveBatching"
 })
 public class ImportBatching {
 	public static final int MAX_BATCH_SIZE = 65535;
@@ -48,6 +50,13 @@ public class ImportBatching {
 	@XmlElement(defaultValue = "1000")
 	@XmlSchemaType(name = "positiveInteger")
 	private int tempBatchSize = 1000;
+	@XmlElement(defaultValue = "false")
+	private Boolean pipelinedExecution = false;
+	private AdaptiveBatching adaptiveBatching;
+
+	public ImportBatching() {
+		adaptiveBatching = new AdaptiveBatching();
+	}
 
 	public int getFeatureBatchSize() {
 		return featureBatchSize > 0 ? featureBatchSize : 20;
@@ -75,5 +84,22 @@ public class ImportBatching {
 		if (tempBatchSize > 0 && tempBatchSize <= MAX_BATCH_SIZE)
 			this.tempBatchSize = tempBatchSize;
 	}
+
+	public boolean isPipelinedExecution() {
+		return pipelinedExecution != null ? pipelinedExecution : false;
+	}
+
+	public void setPipelinedExecution(Boolean pipelinedExecution) {
+		this.pipelinedExecution = pipelinedExecution;
+	}
+
+	public AdaptiveBatching getAdaptiveBatching() {
+		return adaptiveBatching;
+	}
+
+	public void setAdaptiveBatching(AdaptiveBatching adaptiveBatching) {
+		if (adaptiveBatching != null)
+			this.adaptiveBatching = adaptiveBatching;
+	}
 	
 }
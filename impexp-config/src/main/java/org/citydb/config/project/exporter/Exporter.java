@@ -30,7 +30,6 @@ package org.citydb.config.project.exporter;
 import org.citydb.config.project.general.Path;
 import org.citydb.config.project.general.XSLTransformation;
 import org.citydb.config.project.query.Query;
-import org.citydb.config.project.resources.Resources;
 
 import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlType;
@@ -40,6 +39,7 @@ import javax.xml.bind.annotation.XmlType;
 		"simpleQuery",
 		"path",
 		"continuation",
+		"incrementalExport",
 		"cityObjectGroup",
 		"address",
 		"appearances",
@@ -56,6 +56,7 @@ public class Exporter {
 	private SimpleQuery simpleQuery;
 	private Path path;
 	private Continuation continuation;
+	private IncrementalExport incrementalExport;
 	private ExportCityObjectGroup cityObjectGroup;
 	private ExportAddress address;
 	private ExportAppearance appearances;
@@ -63,20 +64,21 @@ public class Exporter {
 	private XSLTransformation xslTransformation;
 	private String metadataProvider;
 	private CityGMLOptions cityGMLOptions;
-	private Resources resources;
+	private ExportResources resources;
 
 	public Exporter() {
 		query = new Query();
 		simpleQuery = new SimpleQuery();
 		path = new Path();
 		continuation = new Continuation();
+		incrementalExport = new IncrementalExport();
 		cityObjectGroup = new ExportCityObjectGroup();
 		address = new ExportAddress();
 		appearances = new ExportAppearance();
 		xlink = new XLink();
 		xslTransformation = new XSLTransformation();
 		cityGMLOptions = new CityGMLOptions();
-		resources = new Resources();
+		resources = new ExportResources();
 	}
 
 	public boolean isUseSimpleQuery() {
@@ -123,6 +125,15 @@ public class Exporter {
 			this.continuation = continuation;
 	}
 
+	public IncrementalExport getIncrementalExport() {
+		return incrementalExport;
+	}
+
+	public void setIncrementalExport(IncrementalExport incrementalExport) {
+		if (incrementalExport != null)
+			this.incrementalExport = incrementalExport;
+	}
+
 	public ExportAddress getAddress() {
 		return address;
 	}
@@ -189,11 +200,11 @@ public class Exporter {
 			this.cityGMLOptions = cityGMLOptions;
 	}
 
-	public Resources getResources() {
+	public ExportResources getResources() {
 		return resources;
 	}
 
-	public void setResources(Resources system) {
+	public void setResources(ExportResources system) {
 		if (system != null)
 			this.resources = system;
 	}
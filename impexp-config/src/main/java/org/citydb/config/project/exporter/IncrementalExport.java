@@ -0,0 +1,76 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * http://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2019
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.gis.bgu.tum.de/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * virtualcitySYSTEMS GmbH, Berlin <http://www.virtualcitysystems.de/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.config.project.exporter;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlType;
+
+@XmlType(name="IncrementalExportType", propOrder={
+		"enabled",
+		"profile",
+		"overlap"
+})
+public class IncrementalExport {
+	public static final String DEFAULT_PROFILE = "default";
+	public static final int DEFAULT_OVERLAP = 600;
+
+	@XmlElement(required=true, defaultValue="false")
+	private Boolean enabled = false;
+	@XmlElement(defaultValue="default")
+	private String profile = DEFAULT_PROFILE;
+	@XmlElement(defaultValue="600")
+	private Integer overlap = DEFAULT_OVERLAP;
+
+	public boolean isEnabled() {
+		if (enabled != null)
+			return enabled.booleanValue();
+
+		return false;
+	}
+
+	public void setEnabled(Boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public String getProfile() {
+		return profile != null && !profile.trim().isEmpty() ? profile.trim() : DEFAULT_PROFILE;
+	}
+
+	public void setProfile(String profile) {
+		this.profile = profile;
+	}
+
+	public int getOverlap() {
+		return overlap != null && overlap >= 0 ? overlap : DEFAULT_OVERLAP;
+	}
+
+	public void setOverlap(Integer overlap) {
+		this.overlap = overlap;
+	}
+
+}
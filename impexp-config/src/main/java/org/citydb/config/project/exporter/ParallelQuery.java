@@ -0,0 +1,83 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * http://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2019
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.gis.bgu.tum.de/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * virtualcitySYSTEMS GmbH, Berlin <http://www.virtualcitysystems.de/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.config.project.exporter;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlSchemaType;
+import javax.xml.bind.annotation.XmlType;
+
+@XmlType(name="ParallelQueryType", propOrder={
+		"enabled",
+		"partitions",
+		"fetchSize"
+})
+public class ParallelQuery {
+	public static final int DEFAULT_FETCH_SIZE = 1000;
+
+	@XmlElement(required=true, defaultValue="false")
+	private Boolean enabled = false;
+	@XmlSchemaType(name="positiveInteger")
+	private Integer partitions;
+	@XmlElement(defaultValue="1000")
+	@XmlSchemaType(name="positiveInteger")
+	private int fetchSize = DEFAULT_FETCH_SIZE;
+
+	public boolean isEnabled() {
+		if (enabled != null)
+			return enabled.booleanValue();
+
+		return false;
+	}
+
+	public void setEnabled(Boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public boolean isSetPartitions() {
+		return partitions != null;
+	}
+
+	public Integer getPartitions() {
+		return partitions;
+	}
+
+	public void setPartitions(Integer partitions) {
+		if (partitions != null && partitions > 0)
+			this.partitions = partitions;
+	}
+
+	public int getFetchSize() {
+		return fetchSize > 0 ? fetchSize : DEFAULT_FETCH_SIZE;
+	}
+
+	public void setFetchSize(int fetchSize) {
+		if (fetchSize > 0)
+			this.fetchSize = fetchSize;
+	}
+
+}
@@ -35,11 +35,18 @@ import javax.xml.bind.annotation.XmlType;
 
 @XmlType(name="CacheType", propOrder={
 		"mode",
+		"backend",
 		"localPath"
 })
 public class Cache {
 	@XmlElement(required=true)
 	private CacheMode mode = CacheMode.DATABASE;
+	// the mapped file backend only replaces the key-value caches (gml:id and texture
+	// image lookups, linear rings). the remaining xlink cache tables such as texture
+	// params, surface geometries and global appearances are queried and joined in SQL
+	// and are therefore always kept as tables.
+	@XmlElement(defaultValue="table")
+	private CacheBackend backend = CacheBackend.TABLE;
 	private String localPath;
 
 	public Cache() {
@@ -64,6 +71,18 @@ public class Cache {
 		this.mode = mode;
 	}
 
+	public boolean isUseMappedFiles() {
+		return backend == CacheBackend.MAPPED_FILE;
+	}
+
+	public CacheBackend getBackend() {
+		return backend != null ? backend : CacheBackend.TABLE;
+	}
+
+	public void setBackend(CacheBackend backend) {
+		this.backend = backend;
+	}
+
 	public String getLocalCachePath() {	
 		return localPath;
 	}
@@ -0,0 +1,64 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * http://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2019
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.gis.bgu.tum.de/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * virtualcitySYSTEMS GmbH, Berlin <http://www.virtualcitysystems.de/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.config.project.importer;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlType;
+
+@XmlType(name="BulkLoadType", propOrder={
+		"enabled",
+		"tablePrefix"
+})
+public class BulkLoad {
+	public static final String DEFAULT_TABLE_PREFIX = "stg_";
+
+	@XmlElement(required=true, defaultValue="false")
+	private Boolean enabled = false;
+	@XmlElement(defaultValue="stg_")
+	private String tablePrefix = DEFAULT_TABLE_PREFIX;
+
+	public boolean isEnabled() {
+		if (enabled != null)
+			return enabled.booleanValue();
+
+		return false;
+	}
+
+	public void setEnabled(Boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public String getTablePrefix() {
+		return tablePrefix != null && !tablePrefix.trim().isEmpty() ? tablePrefix.trim() : DEFAULT_TABLE_PREFIX;
+	}
+
+	public void setTablePrefix(String tablePrefix) {
+		this.tablePrefix = tablePrefix;
+	}
+
+}
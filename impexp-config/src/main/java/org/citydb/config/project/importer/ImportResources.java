@@ -30,18 +30,35 @@ package org.citydb.config.project.importer;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlType;
 
+import org.citydb.config.project.resources.MemoryBudgetConfig;
 import org.citydb.config.project.resources.Resources;
+import org.citydb.config.project.resources.SpatialOrdering;
 import org.citydb.config.project.resources.UIDCacheConfig;
 
 @XmlType(name="ImportResourcesType", propOrder={
-		"texImageCache"
+		"texImageCache",
+		"parallelParsing",
+		"xlinkResolution",
+		"spatialOrdering",
+		"bulkLoad",
+		"memoryBudget"
 })
 public class ImportResources extends Resources {
 	@XmlElement(required=true)
 	private UIDCacheConfig texImageCache;
+	private ParallelParsing parallelParsing;
+	private XlinkResolution xlinkResolution;
+	private SpatialOrdering spatialOrdering;
+	private BulkLoad bulkLoad;
+	private MemoryBudgetConfig memoryBudget;
 	
 	public ImportResources() {
 		texImageCache = new UIDCacheConfig();
+		parallelParsing = new ParallelParsing();
+		xlinkResolution = new XlinkResolution();
+		spatialOrdering = new SpatialOrdering();
+		bulkLoad = new BulkLoad();
+		memoryBudget = new MemoryBudgetConfig();
 	}
 
 	public UIDCacheConfig getTexImageCache() {
@@ -51,4 +68,49 @@ public class ImportResources extends Resources {
 	public void setTexImageCache(UIDCacheConfig texImageCache) {
 		this.texImageCache = texImageCache;
 	}
+
+	public ParallelParsing getParallelParsing() {
+		return parallelParsing;
+	}
+
+	public void setParallelParsing(ParallelParsing parallelParsing) {
+		if (parallelParsing != null)
+			this.parallelParsing = parallelParsing;
+	}
+
+	public XlinkResolution getXlinkResolution() {
+		return xlinkResolution;
+	}
+
+	public void setXlinkResolution(XlinkResolution xlinkResolution) {
+		if (xlinkResolution != null)
+			this.xlinkResolution = xlinkResolution;
+	}
+
+	public SpatialOrdering getSpatialOrdering() {
+		return spatialOrdering;
+	}
+
+	public void setSpatialOrdering(SpatialOrdering spatialOrdering) {
+		if (spatialOrdering != null)
+			this.spatialOrdering = spatialOrdering;
+	}
+
+	public BulkLoad getBulkLoad() {
+		return bulkLoad;
+	}
+
+	public void setBulkLoad(BulkLoad bulkLoad) {
+		if (bulkLoad != null)
+			this.bulkLoad = bulkLoad;
+	}
+
+	public MemoryBudgetConfig getMemoryBudget() {
+		return memoryBudget;
+	}
+
+	public void setMemoryBudget(MemoryBudgetConfig memoryBudget) {
+		if (memoryBudget != null)
+			this.memoryBudget = memoryBudget;
+	}
 }
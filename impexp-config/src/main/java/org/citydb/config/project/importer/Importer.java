@@ -36,6 +36,8 @@ import org.citydb.config.project.general.XSLTransformation;
 @XmlType(name="ImportType", propOrder={
 		"filter",
 		"continuation",
+		"changeDetection",
+		"resumableImport",
 		"path",
 		"gmlId",
 		"address",
@@ -50,6 +52,8 @@ import org.citydb.config.project.general.XSLTransformation;
 public class Importer {
 	private ImportFilter filter;
 	private Continuation continuation;
+	private ChangeDetection changeDetection;
+	private ResumableImport resumableImport;
 	private Path path;
 	private ImportGmlId gmlId;
 	private ImportAddress address;
@@ -63,6 +67,8 @@ public class Importer {
 
 	public Importer() {
 		continuation = new Continuation();
+		changeDetection = new ChangeDetection();
+		resumableImport = new ResumableImport();
 		path = new Path();
 		gmlId = new ImportGmlId();
 		address = new ImportAddress();
@@ -85,6 +91,24 @@ public class Importer {
 			this.continuation = continuation;
 	}
 
+	public ChangeDetection getChangeDetection() {
+		return changeDetection;
+	}
+
+	public void setChangeDetection(ChangeDetection changeDetection) {
+		if (changeDetection != null)
+			this.changeDetection = changeDetection;
+	}
+
+	public ResumableImport getResumableImport() {
+		return resumableImport;
+	}
+
+	public void setResumableImport(ResumableImport resumableImport) {
+		if (resumableImport != null)
+			this.resumableImport = resumableImport;
+	}
+
 	public Path getPath() {
 		return path;
 	}
@@ -27,15 +27,23 @@
  */
 package org.citydb.config.project.importer;
 
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlSchemaType;
 import javax.xml.bind.annotation.XmlType;
 
 @XmlType(name="IndexType", propOrder={
 		"spatial",
-		"normal"
+		"normal",
+		"parallelism"
 		})
 public class Index {
+	public static final int DEFAULT_PARALLELISM = 4;
+
 	private IndexMode spatial = IndexMode.UNCHANGED;
 	private IndexMode normal = IndexMode.UNCHANGED;
+	@XmlElement(defaultValue="4")
+	@XmlSchemaType(name="positiveInteger")
+	private int parallelism = DEFAULT_PARALLELISM;
 	
 	public Index() {
 	}
@@ -56,6 +64,15 @@ public class Index {
 		this.normal = normal;
 	}
 	
+	public int getParallelism() {
+		return parallelism > 0 ? parallelism : DEFAULT_PARALLELISM;
+	}
+
+	public void setParallelism(int parallelism) {
+		if (parallelism > 0)
+			this.parallelism = parallelism;
+	}
+
 	public boolean isSpatialIndexModeUnchanged() {
 		return spatial == IndexMode.UNCHANGED;
 	}
@@ -0,0 +1,97 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * http://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2019
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.gis.bgu.tum.de/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * virtualcitySYSTEMS GmbH, Berlin <http://www.virtualcitysystems.de/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.config.project.importer;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlSchemaType;
+import javax.xml.bind.annotation.XmlType;
+
+@XmlType(name="ParallelParsingType", propOrder={
+		"enabled",
+		"minFileSize",
+		"rangeSize",
+		"threads"
+})
+public class ParallelParsing {
+	public static final int DEFAULT_MIN_FILE_SIZE = 512;
+	public static final int DEFAULT_RANGE_SIZE = 64;
+
+	@XmlElement(required=true, defaultValue="false")
+	private Boolean enabled = false;
+	@XmlElement(defaultValue="512")
+	@XmlSchemaType(name="positiveInteger")
+	private int minFileSize = DEFAULT_MIN_FILE_SIZE;
+	@XmlElement(defaultValue="64")
+	@XmlSchemaType(name="positiveInteger")
+	private int rangeSize = DEFAULT_RANGE_SIZE;
+	@XmlSchemaType(name="positiveInteger")
+	private Integer threads;
+
+	public boolean isEnabled() {
+		if (enabled != null)
+			return enabled.booleanValue();
+
+		return false;
+	}
+
+	public void setEnabled(Boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public int getMinFileSize() {
+		return minFileSize > 0 ? minFileSize : DEFAULT_MIN_FILE_SIZE;
+	}
+
+	public void setMinFileSize(int minFileSize) {
+		if (minFileSize > 0)
+			this.minFileSize = minFileSize;
+	}
+
+	public int getRangeSize() {
+		return rangeSize > 0 ? rangeSize : DEFAULT_RANGE_SIZE;
+	}
+
+	public void setRangeSize(int rangeSize) {
+		if (rangeSize > 0)
+			this.rangeSize = rangeSize;
+	}
+
+	public boolean isSetThreads() {
+		return threads != null;
+	}
+
+	public Integer getThreads() {
+		return threads;
+	}
+
+	public void setThreads(Integer threads) {
+		if (threads != null && threads > 0)
+			this.threads = threads;
+	}
+
+}
@@ -0,0 +1,81 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * http://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2019
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.gis.bgu.tum.de/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * virtualcitySYSTEMS GmbH, Berlin <http://www.virtualcitysystems.de/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.config.project.importer;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlSchemaType;
+import javax.xml.bind.annotation.XmlType;
+
+@XmlType(name="ResumableImportType", propOrder={
+		"enabled",
+		"jobId",
+		"checkpointInterval"
+})
+public class ResumableImport {
+	public static final int DEFAULT_CHECKPOINT_INTERVAL = 300;
+
+	@XmlElement(required=true, defaultValue="false")
+	private Boolean enabled = false;
+	private String jobId;
+	@XmlElement(defaultValue="300")
+	@XmlSchemaType(name="positiveInteger")
+	private int checkpointInterval = DEFAULT_CHECKPOINT_INTERVAL;
+
+	public boolean isEnabled() {
+		if (enabled != null)
+			return enabled.booleanValue();
+
+		return false;
+	}
+
+	public void setEnabled(Boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public boolean isSetJobId() {
+		return jobId != null && !jobId.trim().isEmpty();
+	}
+
+	public String getJobId() {
+		return jobId;
+	}
+
+	public void setJobId(String jobId) {
+		this.jobId = jobId;
+	}
+
+	public int getCheckpointInterval() {
+		return checkpointInterval > 0 ? checkpointInterval : DEFAULT_CHECKPOINT_INTERVAL;
+	}
+
+	public void setCheckpointInterval(int checkpointInterval) {
+		if (checkpointInterval > 0)
+			this.checkpointInterval = checkpointInterval;
+	}
+
+}
@@ -28,17 +28,27 @@
 package org.citydb.config.project.importer;
 
 import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlSchemaType;
 import javax.xml.bind.annotation.XmlType;
 
 @XmlType(name="XMLValidationType", propOrder={
 		"useXMLValidation",
-		"reportOneErrorPerFeature"
+		"reportOneErrorPerFeature",
+		"maxErrorsPerFile",
+		"threads"
 })
 public class XMLValidation {
+	public static final int DEFAULT_MAX_ERRORS_PER_FILE = 1000;
+
 	@XmlElement(required=true, defaultValue="false")
 	private Boolean useXMLValidation = false;
 	@XmlElement(defaultValue="false")
 	private Boolean reportOneErrorPerFeature = false;
+	@XmlElement(defaultValue="1000")
+	@XmlSchemaType(name="positiveInteger")
+	private int maxErrorsPerFile = DEFAULT_MAX_ERRORS_PER_FILE;
+	@XmlSchemaType(name="positiveInteger")
+	private Integer threads;
 
 	public XMLValidation() {
 	}
@@ -72,5 +82,27 @@ public class XMLValidation {
 	public void setReportOneErrorPerFeature(Boolean reportOneErrorPerFeature) {
 		this.reportOneErrorPerFeature = reportOneErrorPerFeature;
 	}
+
+	public int getMaxErrorsPerFile() {
+		return maxErrorsPerFile > 0 ? maxErrorsPerFile : DEFAULT_MAX_ERRORS_PER_FILE;
+	}
+
+	public void setMaxErrorsPerFile(int maxErrorsPerFile) {
+		if (maxErrorsPerFile > 0)
+			this.maxErrorsPerFile = maxErrorsPerFile;
+	}
+
+	public boolean isSetThreads() {
+		return threads != null;
+	}
+
+	public Integer getThreads() {
+		return threads;
+	}
+
+	public void setThreads(Integer threads) {
+		if (threads != null && threads > 0)
+			this.threads = threads;
+	}
 	
 }
@@ -0,0 +1,83 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * http://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2019
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.gis.bgu.tum.de/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * virtualcitySYSTEMS GmbH, Berlin <http://www.virtualcitysystems.de/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.config.project.importer;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlSchemaType;
+import javax.xml.bind.annotation.XmlType;
+
+@XmlType(name="XlinkResolutionType", propOrder={
+		"parallel",
+		"partitionThreshold",
+		"threads"
+})
+public class XlinkResolution {
+	public static final int DEFAULT_PARTITION_THRESHOLD = 100000;
+
+	@XmlElement(required=true, defaultValue="false")
+	private Boolean parallel = false;
+	@XmlElement(defaultValue="100000")
+	@XmlSchemaType(name="positiveInteger")
+	private int partitionThreshold = DEFAULT_PARTITION_THRESHOLD;
+	@XmlSchemaType(name="positiveInteger")
+	private Integer threads;
+
+	public boolean isParallel() {
+		if (parallel != null)
+			return parallel.booleanValue();
+
+		return false;
+	}
+
+	public void setParallel(Boolean parallel) {
+		this.parallel = parallel;
+	}
+
+	public int getPartitionThreshold() {
+		return partitionThreshold > 0 ? partitionThreshold : DEFAULT_PARTITION_THRESHOLD;
+	}
+
+	public void setPartitionThreshold(int partitionThreshold) {
+		if (partitionThreshold > 0)
+			this.partitionThreshold = partitionThreshold;
+	}
+
+	public boolean isSetThreads() {
+		return threads != null;
+	}
+
+	public Integer getThreads() {
+		return threads;
+	}
+
+	public void setThreads(Integer threads) {
+		if (threads != null && threads > 0)
+			this.threads = threads;
+	}
+
+}
@@ -35,7 +35,8 @@ import javax.xml.bind.annotation.XmlType;
 @XmlType(name="AbstractTilingType", propOrder={
 		"extent",
 		"rows",
-		"columns"
+		"columns",
+		"singleQuery"
 })
 public abstract class AbstractTiling {
 	@XmlElement(required=true)
@@ -44,6 +45,8 @@ public abstract class AbstractTiling {
 	private int rows = 1;
 	@XmlElement(required=true, defaultValue="1")
 	private int columns = 1;
+	@XmlElement(defaultValue="false")
+	private Boolean singleQuery = false;
 
 	public AbstractTiling() {
 		extent = new BoundingBox();
@@ -80,4 +83,12 @@ public abstract class AbstractTiling {
 		this.columns = columns;
 	}
 
+	public boolean isSingleQuery() {
+		return singleQuery != null ? singleQuery : false;
+	}
+
+	public void setSingleQuery(boolean singleQuery) {
+		this.singleQuery = singleQuery;
+	}
+
 }
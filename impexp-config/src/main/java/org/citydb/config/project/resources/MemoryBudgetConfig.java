@@ -0,0 +1,80 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * http://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2019
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.gis.bgu.tum.de/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * virtualcitySYSTEMS GmbH, Berlin <http://www.virtualcitysystems.de/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.config.project.resources;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlSchemaType;
+import javax.xml.bind.annotation.XmlType;
+
+@XmlType(name="MemoryBudgetType", propOrder={
+		"enabled",
+		"heapFraction",
+		"maxQueueSize"
+})
+public class MemoryBudgetConfig {
+	public static final double DEFAULT_HEAP_FRACTION = 0.25;
+	public static final int DEFAULT_MAX_QUEUE_SIZE = 1000;
+
+	@XmlElement(required=true, defaultValue="false")
+	private Boolean enabled = false;
+	@XmlElement(defaultValue="0.25")
+	private double heapFraction = DEFAULT_HEAP_FRACTION;
+	@XmlElement(defaultValue="1000")
+	@XmlSchemaType(name="positiveInteger")
+	private int maxQueueSize = DEFAULT_MAX_QUEUE_SIZE;
+
+	public boolean isEnabled() {
+		if (enabled != null)
+			return enabled.booleanValue();
+
+		return false;
+	}
+
+	public void setEnabled(Boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public double getHeapFraction() {
+		return heapFraction > 0 && heapFraction < 1 ? heapFraction : DEFAULT_HEAP_FRACTION;
+	}
+
+	public void setHeapFraction(double heapFraction) {
+		if (heapFraction > 0 && heapFraction < 1)
+			this.heapFraction = heapFraction;
+	}
+
+	public int getMaxQueueSize() {
+		return maxQueueSize > 0 ? maxQueueSize : DEFAULT_MAX_QUEUE_SIZE;
+	}
+
+	public void setMaxQueueSize(int maxQueueSize) {
+		if (maxQueueSize > 0)
+			this.maxQueueSize = maxQueueSize;
+	}
+
+}
@@ -29,6 +29,7 @@ package org.citydb.citygml.common.database.cache;
 
 import org.citydb.citygml.common.database.cache.model.AbstractCacheTableModel;
 import org.citydb.citygml.common.database.cache.model.CacheTableBasic;
+import org.citydb.citygml.common.database.cache.model.CacheTableDatabaseId;
 import org.citydb.citygml.common.database.cache.model.CacheTableDeprecatedMaterial;
 import org.citydb.citygml.common.database.cache.model.CacheTableFeatureGmlId;
 import org.citydb.citygml.common.database.cache.model.CacheTableGeometryGmlId;
@@ -37,6 +38,7 @@ import org.citydb.citygml.common.database.cache.model.CacheTableGroupToCityObjec
 import org.citydb.citygml.common.database.cache.model.CacheTableLibraryObject;
 import org.citydb.citygml.common.database.cache.model.CacheTableLinearRing;
 import org.citydb.citygml.common.database.cache.model.CacheTableModel;
+import org.citydb.citygml.common.database.cache.model.CacheTableResourceId;
 import org.citydb.citygml.common.database.cache.model.CacheTableSolidGeometry;
 import org.citydb.citygml.common.database.cache.model.CacheTableSurfaceDataToTexImage;
 import org.citydb.citygml.common.database.cache.model.CacheTableSurfaceGeometry;
@@ -50,7 +52,10 @@ import org.citydb.database.adapter.AbstractSQLAdapter;
 import org.citygml4j.util.gmlid.DefaultGMLIdManager;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.concurrent.locks.ReentrantLock;
 
 public class CacheTable extends AbstractCacheTable {	
@@ -63,7 +68,7 @@ public class CacheTable extends AbstractCacheTable {
 	private volatile boolean isCreated = false;
 	private volatile boolean isIndexed = false;
 
-	protected CacheTable(CacheTableModel model, Connection connection, AbstractSQLAdapter sqlAdapter, boolean isStandAlone) {
+	private CacheTable(CacheTableModel model, Connection connection, AbstractSQLAdapter sqlAdapter, boolean isStandAlone, String tableName) {
 		super(connection, sqlAdapter);
 		
 		switch (model) {
@@ -118,17 +123,33 @@ public class CacheTable extends AbstractCacheTable {
 		case GLOBAL_APPEARANCE:
 			this.model = CacheTableGlobalAppearance.getInstance();
 			break;
+		case RESOURCE_ID:
+			this.model = CacheTableResourceId.getInstance();
+			break;
+		case DATABASE_ID:
+			this.model = CacheTableDatabaseId.getInstance();
+			break;
 		default:
 			throw new IllegalArgumentException("Unsupported cache table type " + model);
 		}
 
 		this.isStandAlone = isStandAlone;
-		tableName = generateUniqueTableName();
+		this.tableName = tableName != null ? tableName : generateUniqueTableName();
+	}
+
+	protected CacheTable(CacheTableModel model, Connection connection, AbstractSQLAdapter sqlAdapter, boolean isStandAlone) {
+		this(model, connection, sqlAdapter, isStandAlone, null);
 	}
 
 	protected CacheTable(CacheTableModel model, Connection connection, AbstractSQLAdapter sqlAdapter) {
 		this(model, connection, sqlAdapter, true);
 	}
+
+	protected CacheTable(CacheTableModel model, String tableName, Connection connection, AbstractSQLAdapter sqlAdapter) {
+		// attaches a cache table that has been created before
+		this(model, connection, sqlAdapter, true, tableName);
+		isCreated = true;
+	}
 	
 	@Override
 	protected void create() throws SQLException {		
@@ -209,6 +230,28 @@ public class CacheTable extends AbstractCacheTable {
 		return model.size(connection, tableName);
 	}
 
+	public long getLastRowId() throws SQLException {
+		// row ids are only available for tables of the local H2 cache
+		if (!isCreated)
+			return 0;
+
+		try (Statement stmt = connection.createStatement();
+				ResultSet rs = stmt.executeQuery("select max(_ROWID_) from " + tableName)) {
+			return rs.next() ? rs.getLong(1) : 0;
+		}
+	}
+
+	public void deleteRowsAfter(long rowId) throws SQLException {
+		if (!isCreated)
+			return;
+
+		try (PreparedStatement stmt = connection.prepareStatement("delete from " + tableName + " where _ROWID_ > ?")) {
+			stmt.setLong(1, rowId);
+			stmt.executeUpdate();
+			connection.commit();
+		}
+	}
+
 	public String getTableName() {
 		return tableName;
 	}
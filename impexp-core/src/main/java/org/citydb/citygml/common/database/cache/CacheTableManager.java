@@ -37,9 +37,12 @@ import org.citygml4j.util.gmlid.DefaultGMLIdManager;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class CacheTableManager {
@@ -47,23 +50,30 @@ public class CacheTableManager {
 	private final AbstractDatabaseAdapter cacheAdapter;	
 	private final Connection cacheConnection;
 	private final Config config;
+	private final boolean isPersistent;
 
 	private String cacheDir;
+	private File storeDir;
 	private AbstractDatabaseAdapter databaseAdapter;
 	private Connection databaseConnection;
 
 	private ConcurrentHashMap<CacheTableModel, CacheTable> cacheTables;
 	private ConcurrentHashMap<CacheTableModel, BranchCacheTable> branchCacheTables;
+	private ConcurrentHashMap<String, MappedKeyValueStore> keyValueStores;
 
 	public CacheTableManager(int concurrencyLevel, Config config) throws SQLException, IOException {
-		if (config.getProject().getGlobal().getCache().isUseDatabase()) {
+		this(concurrencyLevel, null, config);
+	}
+
+	public CacheTableManager(int concurrencyLevel, Path persistentDir, Config config) throws SQLException, IOException {
+		isPersistent = persistentDir != null;
+
+		if (!isPersistent && config.getProject().getGlobal().getCache().isUseDatabase()) {
 			cacheAdapter = DatabaseConnectionPool.getInstance().getActiveDatabaseAdapter();
 			cacheConnection = DatabaseConnectionPool.getInstance().getConnection();
 		}
 
 		else {
-			File tempDir = checkTempDir(config.getProject().getGlobal().getCache().getLocalCachePath());
-			log.debug("Local cache directory is '" + tempDir.getAbsolutePath() + "'.");
 			cacheAdapter = new H2Adapter();
 
 			try {
@@ -72,12 +82,30 @@ public class CacheTableManager {
 				throw new SQLException(e);
 			}
 
-			try {
-				cacheDir = tempDir.getAbsolutePath() + File.separator + DefaultGMLIdManager.getInstance().generateUUID("");		
+			if (isPersistent) {
+				// a persistent cache is always a local cache so that its tables
+				// can be reset to a saved state after the import has been interrupted
+				File dir = checkTempDir(persistentDir.toString());
+				log.debug("Persistent local cache directory is '" + dir.getAbsolutePath() + "'.");
+				cacheDir = dir.getAbsolutePath();
+
+				// key-value stores are not persisted
+				File kvDir = new File(cacheDir, "kv");
+				if (kvDir.exists())
+					deleteTempFiles(kvDir);
+
 				cacheConnection = DriverManager.getConnection(cacheAdapter.getJDBCUrl(cacheDir + File.separator + "tmp", -1, null), "sa", "");
-			} catch (SQLException e) {
-				deleteTempFiles(new File(cacheDir));
-				throw e;
+			} else {
+				File tempDir = checkTempDir(config.getProject().getGlobal().getCache().getLocalCachePath());
+				log.debug("Local cache directory is '" + tempDir.getAbsolutePath() + "'.");
+
+				try {
+					cacheDir = tempDir.getAbsolutePath() + File.separator + DefaultGMLIdManager.getInstance().generateUUID("");
+					cacheConnection = DriverManager.getConnection(cacheAdapter.getJDBCUrl(cacheDir + File.separator + "tmp", -1, null), "sa", "");
+				} catch (SQLException e) {
+					deleteTempFiles(new File(cacheDir));
+					throw e;
+				}
 			}
 		}
 
@@ -85,6 +113,7 @@ public class CacheTableManager {
 
 		cacheTables = new ConcurrentHashMap<>(CacheTableModel.values().length, 0.75f, concurrencyLevel);
 		branchCacheTables = new ConcurrentHashMap<>(CacheTableModel.values().length, 0.75f, concurrencyLevel);
+		keyValueStores = new ConcurrentHashMap<>();
 		this.config = config;
 	}
 
@@ -92,6 +121,22 @@ public class CacheTableManager {
 		return cacheAdapter;
 	}
 
+	public Connection openConnection() throws SQLException {
+		// opens an additional connection to the cache, for instance, to
+		// read from cache tables in parallel. rows written through the cache
+		// connection are only visible after committing them.
+		Connection connection = cacheDir == null ?
+				DatabaseConnectionPool.getInstance().getConnection() :
+				DriverManager.getConnection(cacheAdapter.getJDBCUrl(cacheDir + File.separator + "tmp", -1, null), "sa", "");
+
+		connection.setAutoCommit(false);
+		return connection;
+	}
+
+	public void commit() throws SQLException {
+		cacheConnection.commit();
+	}
+
 	public CacheTable createCacheTable(CacheTableModel model) throws SQLException {
 		return createCacheTable(model, cacheConnection, cacheAdapter);		
 	}
@@ -133,10 +178,73 @@ public class CacheTableManager {
 		return branchCacheTable;
 	}
 
+	public MappedKeyValueStore createKeyValueStore(String name) throws IOException {
+		MappedKeyValueStore store = keyValueStores.get(name);
+		if (store == null) {
+			synchronized (this) {
+				store = keyValueStores.get(name);
+				if (store == null) {
+					// key-value stores are always kept in the local cache directory
+					// even if cache tables are created in the database
+					if (storeDir == null) {
+						storeDir = cacheDir != null ?
+								new File(cacheDir, "kv") :
+								new File(checkTempDir(config.getProject().getGlobal().getCache().getLocalCachePath()), DefaultGMLIdManager.getInstance().generateUUID(""));
+
+						if (!storeDir.exists() && !storeDir.mkdirs())
+							throw new IOException("Failed to create cache directory '" + storeDir.getAbsolutePath() + "'.");
+
+						log.debug("Local key-value store directory is '" + storeDir.getAbsolutePath() + "'.");
+					}
+
+					store = new MappedKeyValueStore(storeDir, name);
+					keyValueStores.put(name, store);
+				}
+			}
+		}
+
+		return store;
+	}
+
+	public MappedKeyValueStore getKeyValueStore(String name) {
+		return keyValueStores.get(name);
+	}
+
+	public boolean isUseMappedFiles() {
+		// key-value stores are not restored when a persistent cache is attached again
+		return !isPersistent && config.getProject().getGlobal().getCache().isUseMappedFiles();
+	}
+
+	public CacheTable attachCacheTable(CacheTableModel model, String tableName, long lastRowId) throws SQLException {
+		if (!isPersistent)
+			throw new IllegalStateException("Cache tables can only be attached to a persistent cache.");
+
+		// rows added after the saved state are discarded
+		CacheTable cacheTable = new CacheTable(model, tableName, cacheConnection, cacheAdapter.getSQLAdapter());
+		cacheTable.deleteRowsAfter(lastRowId);
+		cacheTables.put(model, cacheTable);
+
+		return cacheTable;
+	}
+
 	public CacheTable getCacheTable(CacheTableModel type) {
 		return cacheTables.get(type);
 	}
 
+	public List<CacheTable> getCacheTables() {
+		List<CacheTable> tables = new ArrayList<>();
+		for (CacheTable cacheTable : cacheTables.values()) {
+			if (cacheTable.isCreated())
+				tables.add(cacheTable);
+		}
+
+		return tables;
+	}
+
+	public boolean isPersistent() {
+		return isPersistent;
+	}
+
 	public boolean existsCacheTable(CacheTableModel type) {
 		CacheTable cacheTable = cacheTables.get(type);
 		return (cacheTable != null && cacheTable.isCreated());
@@ -164,6 +272,18 @@ public class CacheTableManager {
 			cacheTables.clear();
 			branchCacheTables.clear();
 
+			for (MappedKeyValueStore store : keyValueStores.values())
+				store.close();
+
+			keyValueStores.clear();
+			if (storeDir != null) {
+				try {
+					deleteTempFiles(storeDir);
+				} catch (IOException e) {
+					log.error("Failed to delete key-value store directory.", e);
+				}
+			}
+
 			try {
 				cacheConnection.close();
 			} catch (SQLException e) {
@@ -191,6 +311,39 @@ public class CacheTableManager {
 		}
 	}
 
+	public void close() throws SQLException {
+		// keeps the tables of a persistent cache for resuming an interrupted import
+		if (!isPersistent) {
+			dropAll();
+			return;
+		}
+
+		cacheTables.clear();
+		branchCacheTables.clear();
+
+		for (MappedKeyValueStore store : keyValueStores.values())
+			store.close();
+
+		keyValueStores.clear();
+
+		try {
+			cacheConnection.close();
+		} catch (SQLException e) {
+			//
+		}
+
+		if (databaseConnection != null) {
+			try {
+				databaseConnection.close();
+			} catch (SQLException e) {
+				//
+			} finally {
+				databaseConnection = null;
+				databaseAdapter = null;
+			}
+		}
+	}
+
 	private CacheTable getOrCreateCacheTable(CacheTableModel model, AbstractDatabaseAdapter adapter, Connection connection) {
 		CacheTable cacheTable = cacheTables.get(model);
 		if (cacheTable == null) {
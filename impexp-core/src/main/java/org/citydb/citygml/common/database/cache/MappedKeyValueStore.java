@@ -0,0 +1,286 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * http://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2019
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.gis.bgu.tum.de/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * virtualcitySYSTEMS GmbH, Berlin <http://www.virtualcitysystems.de/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.citygml.common.database.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class MappedKeyValueStore {
+	private static final int DEFAULT_SEGMENT_SIZE = 1 << 26;
+	private static final int RECORD_HEADER_SIZE = 8;
+	private static final float LOAD_FACTOR = 0.6f;
+
+	private final File directory;
+	private final String name;
+	private final int segmentSize;
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private final List<MappedByteBuffer> segments = new ArrayList<>();
+	private final List<File> files = new ArrayList<>();
+	private MappedByteBuffer current;
+
+	// open addressing index mapping 64-bit key hashes to record addresses.
+	// an address encodes the segment number in the upper and the record offset
+	// in the lower 32 bits. addresses are stored incremented by one so that
+	// zero denotes an empty slot.
+	private long[] hashes;
+	private long[] addresses;
+	private int entries;
+	private long bytes;
+	private boolean isClosed;
+
+	protected MappedKeyValueStore(File directory, String name, int segmentSize) {
+		this.directory = directory;
+		this.name = name;
+		this.segmentSize = segmentSize;
+
+		hashes = new long[1024];
+		addresses = new long[1024];
+	}
+
+	protected MappedKeyValueStore(File directory, String name) {
+		this(directory, name, DEFAULT_SEGMENT_SIZE);
+	}
+
+	public void put(String key, byte[] value) throws IOException {
+		byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+		long hash = hash(keyBytes);
+
+		lock.writeLock().lock();
+		try {
+			if (isClosed)
+				throw new IOException("The key-value store '" + name + "' has already been closed.");
+
+			long address = append(keyBytes, value);
+			if (entries + 1 > hashes.length * LOAD_FACTOR)
+				resize();
+
+			int slot = findSlot(hash, keyBytes);
+			if (addresses[slot] == 0)
+				entries++;
+
+			hashes[slot] = hash;
+			addresses[slot] = address + 1;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public byte[] get(String key) throws IOException {
+		byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+		long hash = hash(keyBytes);
+
+		lock.readLock().lock();
+		try {
+			if (isClosed)
+				throw new IOException("The key-value store '" + name + "' has already been closed.");
+
+			int slot = findSlot(hash, keyBytes);
+			if (addresses[slot] == 0)
+				return null;
+
+			ByteBuffer record = record(addresses[slot] - 1);
+			int keyLength = record.getInt();
+			int valueLength = record.getInt();
+			record.position(record.position() + keyLength);
+
+			byte[] value = new byte[valueLength];
+			record.get(value);
+			return value;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return entries;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public long getDataSize() {
+		lock.readLock().lock();
+		try {
+			return bytes;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	protected void close() {
+		lock.writeLock().lock();
+		try {
+			// release the mapped segments explicitly since the backing files
+			// cannot be deleted on some platforms as long as they are mapped
+			isClosed = true;
+			for (int i = 0; i < segments.size(); i++) {
+				if (!unmap(segments.get(i)))
+					files.get(i).deleteOnExit();
+			}
+
+			segments.clear();
+			files.clear();
+			current = null;
+			hashes = null;
+			addresses = null;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private long append(byte[] key, byte[] value) throws IOException {
+		int length = RECORD_HEADER_SIZE + key.length + value.length;
+		if (current == null || current.remaining() < length)
+			current = createSegment(Math.max(segmentSize, length));
+
+		long address = ((long) (segments.size() - 1) << 32) | current.position();
+		current.putInt(key.length).putInt(value.length).put(key).put(value);
+		bytes += length;
+
+		return address;
+	}
+
+	private MappedByteBuffer createSegment(int size) throws IOException {
+		File file = new File(directory, name + "_" + segments.size() + ".seg");
+		try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+			// the mapping stays valid after closing the file
+			FileChannel channel = randomAccessFile.getChannel();
+			MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+			segments.add(segment);
+			files.add(file);
+			return segment;
+		}
+	}
+
+	private ByteBuffer record(long address) {
+		ByteBuffer record = segments.get((int) (address >>> 32)).duplicate();
+		record.position((int) address);
+		return record;
+	}
+
+	private int findSlot(long hash, byte[] key) {
+		int mask = hashes.length - 1;
+		int slot = (int) (hash ^ (hash >>> 32)) & mask;
+
+		while (addresses[slot] != 0) {
+			if (hashes[slot] == hash && matches(addresses[slot] - 1, key))
+				return slot;
+
+			slot = (slot + 1) & mask;
+		}
+
+		return slot;
+	}
+
+	private boolean matches(long address, byte[] key) {
+		ByteBuffer record = record(address);
+		if (record.getInt() != key.length)
+			return false;
+
+		record.getInt();
+		byte[] candidate = new byte[key.length];
+		record.get(candidate);
+		return Arrays.equals(candidate, key);
+	}
+
+	private void resize() {
+		long[] newHashes = new long[hashes.length << 1];
+		long[] newAddresses = new long[addresses.length << 1];
+
+		for (int i = 0; i < hashes.length; i++) {
+			if (addresses[i] != 0) {
+				// keys are unique in the old index, so we just need a free slot
+				int mask = newHashes.length - 1;
+				int slot = (int) (hashes[i] ^ (hashes[i] >>> 32)) & mask;
+				while (newAddresses[slot] != 0)
+					slot = (slot + 1) & mask;
+
+				newHashes[slot] = hashes[i];
+				newAddresses[slot] = addresses[i];
+			}
+		}
+
+		hashes = newHashes;
+		addresses = newAddresses;
+	}
+
+	private boolean unmap(MappedByteBuffer buffer) {
+		try {
+			try {
+				// Java 9 and later
+				Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+				Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+				Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+				theUnsafe.setAccessible(true);
+				invokeCleaner.invoke(theUnsafe.get(null), buffer);
+			} catch (NoSuchMethodException e) {
+				// Java 8
+				Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+				cleanerMethod.setAccessible(true);
+				Object cleaner = cleanerMethod.invoke(buffer);
+				if (cleaner != null)
+					cleaner.getClass().getMethod("clean").invoke(cleaner);
+			}
+
+			return true;
+		} catch (Exception e) {
+			// the segment is released by the garbage collector
+			return false;
+		}
+	}
+
+	private long hash(byte[] key) {
+		// 64-bit FNV-1a
+		long hash = 0xcbf29ce484222325L;
+		for (byte b : key) {
+			hash ^= b & 0xff;
+			hash *= 0x100000001b3L;
+		}
+
+		return hash;
+	}
+
+}
@@ -0,0 +1,99 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * http://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2019
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.gis.bgu.tum.de/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * virtualcitySYSTEMS GmbH, Berlin <http://www.virtualcitysystems.de/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.citygml.common.database.cache;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.citydb.citygml.common.database.cache.model.CacheTableModel;
+import org.citydb.citygml.common.database.xlink.DBXlinkLinearRing;
+
+public class MappedLinearRingStore {
+	private final MappedKeyValueStore exteriorRings;
+	private final MappedKeyValueStore ringIds;
+
+	private MappedLinearRingStore(MappedKeyValueStore exteriorRings, MappedKeyValueStore ringIds) {
+		this.exteriorRings = exteriorRings;
+		this.ringIds = ringIds;
+	}
+
+	public static MappedLinearRingStore create(CacheTableManager cacheTableManager) throws IOException {
+		return new MappedLinearRingStore(
+				cacheTableManager.createKeyValueStore(CacheTableModel.LINEAR_RING.value() + "_exterior"),
+				cacheTableManager.createKeyValueStore(CacheTableModel.LINEAR_RING.value() + "_ring"));
+	}
+
+	public static MappedLinearRingStore get(CacheTableManager cacheTableManager) {
+		MappedKeyValueStore exteriorRings = cacheTableManager.getKeyValueStore(CacheTableModel.LINEAR_RING.value() + "_exterior");
+		MappedKeyValueStore ringIds = cacheTableManager.getKeyValueStore(CacheTableModel.LINEAR_RING.value() + "_ring");
+		return exteriorRings != null && ringIds != null ? new MappedLinearRingStore(exteriorRings, ringIds) : null;
+	}
+
+	public void put(DBXlinkLinearRing linearRing) throws IOException {
+		// only exterior rings are looked up by their gml:id. all rings of a
+		// polygon are numbered consecutively starting from zero
+		if (linearRing.getRingNo() == 0) {
+			exteriorRings.put(linearRing.getGmlId(), ByteBuffer.allocate(9)
+					.putLong(linearRing.getParentId())
+					.put((byte) (linearRing.isReverse() ? 1 : 0))
+					.array());
+		}
+
+		ringIds.put(linearRing.getParentId() + "_" + linearRing.getRingNo(), linearRing.getGmlId().getBytes(StandardCharsets.UTF_8));
+	}
+
+	public DBXlinkLinearRing getExteriorRing(String gmlId) throws IOException {
+		byte[] value = exteriorRings.get(gmlId);
+		if (value == null)
+			return null;
+
+		ByteBuffer buffer = ByteBuffer.wrap(value);
+		return new DBXlinkLinearRing(gmlId, buffer.getLong(), 0, buffer.get() == 1);
+	}
+
+	public Map<String, Integer> getRingNumbers(long parentId) throws IOException {
+		Map<String, Integer> ringNos = new HashMap<>();
+		for (int ringNo = 0; ; ringNo++) {
+			byte[] value = ringIds.get(parentId + "_" + ringNo);
+			if (value == null)
+				break;
+
+			ringNos.put(new String(value, StandardCharsets.UTF_8), ringNo);
+		}
+
+		return ringNos;
+	}
+
+	public int size() {
+		return exteriorRings.size();
+	}
+
+}
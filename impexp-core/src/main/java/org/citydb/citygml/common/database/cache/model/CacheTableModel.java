@@ -46,7 +46,9 @@ public enum CacheTableModel {
 	LIBRARY_OBJECT("LO"),
 	DEPRECATED_MATERIAL("DP"),
 	GROUP_TO_CITYOBJECT("GTC"),
-	GLOBAL_APPEARANCE("GA");
+	GLOBAL_APPEARANCE("GA"),
+	RESOURCE_ID("RID"),
+	DATABASE_ID("DID");
 
 	private final String value;
 
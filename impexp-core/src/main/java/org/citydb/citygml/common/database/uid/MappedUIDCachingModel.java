@@ -0,0 +1,165 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * http://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2019
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.gis.bgu.tum.de/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * virtualcitySYSTEMS GmbH, Berlin <http://www.virtualcitysystems.de/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.citygml.common.database.uid;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.citydb.citygml.common.database.cache.CacheTableManager;
+import org.citydb.citygml.common.database.cache.MappedKeyValueStore;
+import org.citydb.citygml.common.database.cache.model.CacheTableModel;
+import org.citydb.log.Logger;
+
+public class MappedUIDCachingModel implements UIDCachingModel {
+	private final Logger log = Logger.getInstance();
+	private final CacheTableManager cacheTableManager;
+	private final CacheTableModel cacheTableModel;
+	private final String type;
+	private final AtomicReferenceArray<MappedKeyValueStore> stores;
+
+	public MappedUIDCachingModel(CacheTableManager cacheTableManager, CacheTableModel cacheTableModel, String type, int partitions) {
+		this.cacheTableManager = cacheTableManager;
+		this.cacheTableModel = cacheTableModel;
+		this.type = type;
+
+		stores = new AtomicReferenceArray<>(Math.max(partitions, 1));
+	}
+
+	@Override
+	public void drainToDB(ConcurrentHashMap<String, UIDCacheEntry> map, int drain) throws SQLException {
+		int drainCounter = 0;
+
+		// firstly, try and write those entries which have not been requested so far
+		Iterator<Map.Entry<String, UIDCacheEntry>> iter = map.entrySet().iterator();
+		while (drainCounter <= drain && iter.hasNext()) {
+			Map.Entry<String, UIDCacheEntry> entry = iter.next();
+			if (!entry.getValue().isRequested()) {
+				write(entry.getKey(), entry.getValue());
+				iter.remove();
+				++drainCounter;
+			}
+		}
+
+		// secondly, drain remaining entries until drain limit
+		iter = map.entrySet().iterator();
+		while (drainCounter <= drain && iter.hasNext()) {
+			Map.Entry<String, UIDCacheEntry> entry = iter.next();
+			write(entry.getKey(), entry.getValue());
+			iter.remove();
+			++drainCounter;
+		}
+	}
+
+	@Override
+	public UIDCacheEntry lookupDB(String key) throws SQLException {
+		MappedKeyValueStore store = stores.get(partition(key));
+		if (store == null)
+			return null;
+
+		try {
+			byte[] value = store.get(key);
+			if (value == null)
+				return null;
+
+			ByteBuffer buffer = ByteBuffer.wrap(value);
+			long id = buffer.getLong();
+			long rootId = buffer.getLong();
+			boolean reverse = buffer.get() == 1;
+			int objectClassId = buffer.getInt();
+
+			String mapping = null;
+			int length = buffer.getInt();
+			if (length >= 0)
+				mapping = new String(value, buffer.position(), length, StandardCharsets.UTF_8);
+
+			return new UIDCacheEntry(id, rootId, reverse, mapping, objectClassId);
+		} catch (IOException e) {
+			throw new SQLException("Failed to read from " + type + " key-value store.", e);
+		}
+	}
+
+	@Override
+	public void close() throws SQLException {
+		int entries = 0;
+		long bytes = 0;
+
+		for (int i = 0; i < stores.length(); i++) {
+			MappedKeyValueStore store = stores.get(i);
+			if (store != null) {
+				entries += store.size();
+				bytes += store.getDataSize();
+			}
+		}
+
+		if (entries > 0)
+			log.debug("Wrote " + entries + " entries (" + (bytes / 1024) + " KB) to " + type + " key-value store.");
+	}
+
+	@Override
+	public String getType() {
+		return type;
+	}
+
+	private void write(String key, UIDCacheEntry entry) throws SQLException {
+		byte[] mapping = entry.getMapping() != null ? entry.getMapping().getBytes(StandardCharsets.UTF_8) : null;
+		ByteBuffer buffer = ByteBuffer.allocate(25 + (mapping != null ? mapping.length : 0))
+				.putLong(entry.getId())
+				.putLong(entry.getRootId())
+				.put((byte) (entry.isReverse() ? 1 : 0))
+				.putInt(entry.getObjectClassId())
+				.putInt(mapping != null ? mapping.length : -1);
+
+		if (mapping != null)
+			buffer.put(mapping);
+
+		try {
+			int partition = partition(key);
+			MappedKeyValueStore store = stores.get(partition);
+			if (store == null) {
+				// the cache table manager returns the same store for concurrent requests
+				stores.compareAndSet(partition, null, cacheTableManager.createKeyValueStore(cacheTableModel.value() + "_" + partition));
+				store = stores.get(partition);
+			}
+
+			store.put(key, buffer.array());
+		} catch (IOException e) {
+			throw new SQLException("Failed to write to " + type + " key-value store.", e);
+		}
+	}
+
+	private int partition(String key) {
+		return Math.abs(key.hashCode() % stores.length());
+	}
+
+}
@@ -0,0 +1,196 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * http://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2019
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.gis.bgu.tum.de/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * virtualcitySYSTEMS GmbH, Berlin <http://www.virtualcitysystems.de/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.citygml.common.database.uid;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A thread-safe scalable Bloom filter for string keys. The filter starts with
+ * a single slice sized for the initial capacity. Whenever the current slice
+ * is full, a new slice with twice the capacity and half the false positive
+ * probability is added. The first slice uses half of the target probability,
+ * so the overall false positive probability stays below the target
+ * independent of the number of keys.
+ */
+class ScalableBloomFilter {
+	private static final double TIGHTENING_RATIO = 0.5;
+	private static final int GROWTH_FACTOR = 2;
+
+	private final ReentrantLock growLock = new ReentrantLock();
+	private volatile Slice[] slices;
+
+	ScalableBloomFilter(int initialCapacity, double falsePositiveProbability) {
+		slices = new Slice[]{new Slice(Math.max(initialCapacity, 64), falsePositiveProbability * (1 - TIGHTENING_RATIO))};
+	}
+
+	void add(String key) {
+		long hash = hash(key);
+		Slice[] slices = this.slices;
+		Slice slice = slices[slices.length - 1];
+
+		if (slice.add(hash) && slice.isFull())
+			grow(slice);
+	}
+
+	boolean mightContain(String key) {
+		long hash = hash(key);
+		for (Slice slice : slices) {
+			if (slice.mightContain(hash))
+				return true;
+		}
+
+		return false;
+	}
+
+	long getMemorySize() {
+		long size = 0;
+		for (Slice slice : slices)
+			size += slice.bits.length() * 8L;
+
+		return size;
+	}
+
+	double getExpectedFalsePositiveProbability() {
+		// probability that at least one slice reports a false positive
+		double p = 1;
+		for (Slice slice : slices)
+			p *= 1 - slice.getExpectedFalsePositiveProbability();
+
+		return 1 - p;
+	}
+
+	private void grow(Slice full) {
+		final ReentrantLock lock = this.growLock;
+		lock.lock();
+		try {
+			Slice[] slices = this.slices;
+			Slice last = slices[slices.length - 1];
+			if (last != full)
+				return;
+
+			Slice[] tmp = new Slice[slices.length + 1];
+			System.arraycopy(slices, 0, tmp, 0, slices.length);
+			tmp[slices.length] = new Slice(last.capacity * GROWTH_FACTOR, last.falsePositiveProbability * TIGHTENING_RATIO);
+			this.slices = tmp;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private long hash(String key) {
+		// 64-bit FNV-1a followed by the MurmurHash3 finalizer
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0; i < key.length(); i++) {
+			hash ^= key.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+
+	private static final class Slice {
+		private final AtomicLongArray bits;
+		private final AtomicLong count = new AtomicLong();
+		private final long numBits;
+		private final int numHashes;
+		private final long capacity;
+		private final double falsePositiveProbability;
+
+		Slice(long capacity, double falsePositiveProbability) {
+			this.capacity = capacity;
+			this.falsePositiveProbability = falsePositiveProbability;
+
+			double ln2 = Math.log(2);
+			long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveProbability) / (ln2 * ln2));
+			int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (optimalBits + 63) >>> 6));
+
+			bits = new AtomicLongArray(words);
+			numBits = words * 64L;
+			numHashes = Math.max(1, (int) Math.round((double) numBits / capacity * ln2));
+		}
+
+		boolean add(long hash) {
+			// Kirsch-Mitzenmacher double hashing
+			long hash1 = (int) hash;
+			long hash2 = (int) (hash >>> 32);
+			boolean changed = false;
+
+			for (int i = 1; i <= numHashes; i++) {
+				long index = ((hash1 + i * hash2) & Long.MAX_VALUE) % numBits;
+				changed |= set(index);
+			}
+
+			if (changed)
+				count.incrementAndGet();
+
+			return changed;
+		}
+
+		boolean mightContain(long hash) {
+			long hash1 = (int) hash;
+			long hash2 = (int) (hash >>> 32);
+
+			for (int i = 1; i <= numHashes; i++) {
+				long index = ((hash1 + i * hash2) & Long.MAX_VALUE) % numBits;
+				if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0)
+					return false;
+			}
+
+			return true;
+		}
+
+		boolean isFull() {
+			return count.get() >= capacity;
+		}
+
+		double getExpectedFalsePositiveProbability() {
+			return Math.pow(1 - Math.exp(-numHashes * (double) count.get() / numBits), numHashes);
+		}
+
+		private boolean set(long index) {
+			int word = (int) (index >>> 6);
+			long mask = 1L << index;
+
+			for (;;) {
+				long current = bits.get(word);
+				if ((current & mask) != 0)
+					return false;
+
+				if (bits.compareAndSet(word, current, current | mask))
+					return true;
+			}
+		}
+	}
+}
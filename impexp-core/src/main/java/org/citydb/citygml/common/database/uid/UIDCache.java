@@ -31,15 +31,18 @@ import java.sql.SQLException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.citydb.log.Logger;
 
 public class UIDCache {
+	private static final double BLOOM_FILTER_FALSE_POSITIVE_PROBABILITY = 0.01;
 	private final Logger log = Logger.getInstance();
 	
 	private final ConcurrentHashMap<String, UIDCacheEntry> map;
+	private final ScalableBloomFilter bloomFilter;
 	private final UIDCachingModel cacheModel;
 	private final int capacity;
 	private final float drainFactor;
@@ -51,6 +54,10 @@ public class UIDCache {
 	private final AtomicInteger entries = new AtomicInteger(0);
 	private volatile boolean backUp = false;
 
+	private final LongAdder definiteMisses = new LongAdder();
+	private final LongAdder falsePositives = new LongAdder();
+	private final LongAdder backUpHits = new LongAdder();
+
 	public UIDCache(
 			UIDCachingModel cacheModel,
 			int capacity,
@@ -61,6 +68,10 @@ public class UIDCache {
 		this.drainFactor = drainFactor;
 
 		map = new ConcurrentHashMap<String, UIDCacheEntry>(capacity, .75f, concurrencyLevel);
+
+		// keeps track of all keys so that lookups of unknown keys do
+		// not have to query the backup table once entries have been drained
+		bloomFilter = new ScalableBloomFilter(capacity, BLOOM_FILTER_FALSE_POSITIVE_PROBABILITY);
 	}
 
 	public void put(String key, long id, long rootId, boolean reverse, String mapping, int objectClassId) {
@@ -120,6 +131,9 @@ public class UIDCache {
 	private UIDCacheEntry getOrCreate(String key, long id, long rootId, boolean reverse, String mapping, int objectClassId) {
 		UIDCacheEntry entry = map.get(key);
 		if (entry == null) {
+			// the key must be known to the Bloom filter before it can be drained
+			bloomFilter.add(key);
+
 			UIDCacheEntry newEntry = new UIDCacheEntry(id, rootId, reverse, mapping, objectClassId);
 			entry = map.putIfAbsent(key, newEntry);
 			if (entry == null)
@@ -158,6 +172,11 @@ public class UIDCache {
 	}
 
 	private UIDCacheEntry lookupDB(String key) {
+		if (!bloomFilter.mightContain(key)) {
+			definiteMisses.increment();
+			return null;
+		}
+
 		if (isDraining.get()) {
 			final ReentrantLock lock = this.mainLock;
 			lock.lock();
@@ -173,7 +192,13 @@ public class UIDCache {
 		}
 
 		try {			
-			return cacheModel.lookupDB(key);
+			UIDCacheEntry entry = cacheModel.lookupDB(key);
+			if (entry != null)
+				backUpHits.increment();
+			else
+				falsePositives.increment();
+
+			return entry;
 		} catch (SQLException e) {
 			log.error("SQL error while querying the " + cacheModel.getType() + " cache.", e);
 			return null;
@@ -181,6 +206,17 @@ public class UIDCache {
 	}
 	
 	public void shutdown() throws SQLException {
+		if (backUp) {
+			long misses = definiteMisses.sum();
+			long falsePositives = this.falsePositives.sum();
+			double rate = misses + falsePositives > 0 ? (double) falsePositives / (misses + falsePositives) : 0;
+
+			log.debug("Bloom filter of " + cacheModel.getType() + " cache: " + misses + " lookup(s) answered in memory, " +
+					backUpHits.sum() + " hit(s) and " + falsePositives + " false positive(s) in backup table, " +
+					String.format("false positive rate %.3f%% (expected %.3f%%), ", rate * 100, bloomFilter.getExpectedFalsePositiveProbability() * 100) +
+					(bloomFilter.getMemorySize() / 1024) + " KB.");
+		}
+
 		cacheModel.close();
 	}
 }
@@ -27,6 +27,7 @@
  */
 package org.citydb.citygml.deleter.controller;
 
+import org.citydb.citygml.common.database.cache.CacheTableManager;
 import org.citydb.citygml.deleter.CityGMLDeleteException;
 import org.citydb.citygml.deleter.concurrent.DBDeleteWorkerFactory;
 import org.citydb.citygml.deleter.database.BundledConnection;
@@ -52,6 +53,7 @@ import org.citydb.query.builder.QueryBuildException;
 import org.citydb.query.builder.config.ConfigQueryBuilder;
 import org.citydb.util.Util;
 
+import java.io.IOException;
 import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.Map;
@@ -71,6 +73,7 @@ public class Deleter implements EventHandler {
 	private WorkerPool<DBSplittingResult> dbWorkerPool;
 	private Map<Integer, Long> objectCounter;
 	private BundledConnection bundledConnection;
+	private CacheTableManager cacheTableManager;
 	
 	public Deleter(Config config, 
 			SchemaMapping schemaMapping, 
@@ -134,11 +137,21 @@ public class Deleter implements EventHandler {
 			if (dbWorkerPool.getPoolSize() == 0)
 				throw new CityGMLDeleteException("Failed to start database delete worker pool. Check the database connection pool settings.");
 
+			// create instance of temp table manager for id filters exceeding the IN list limit
+			if (query.isSetSelection() && query.getSelection().getMaximumNumberOfIds() >
+					databaseAdapter.getSQLAdapter().getMaximumNumberOfItemsForInOperator()) {
+				try {
+					cacheTableManager = new CacheTableManager(1, config);
+				} catch (SQLException | IOException e) {
+					throw new CityGMLDeleteException("Failed to initialize internal cache manager.", e);
+				}
+			}
+
 			log.info("Deleting city objects from database.");
 
 			// get database splitter and start query
 			try {
-				dbSplitter = new DBSplitter(schemaMapping, dbWorkerPool, query, config, eventDispatcher);
+				dbSplitter = new DBSplitter(schemaMapping, dbWorkerPool, cacheTableManager, query, config, eventDispatcher);
 				if (shouldRun) {
 					dbSplitter.setCalculateNumberMatched(Internal.IS_GUI_MODE);
 					dbSplitter.startQuery();
@@ -167,6 +180,16 @@ public class Deleter implements EventHandler {
 			if (dbWorkerPool != null)
 				dbWorkerPool.shutdownNow();
 
+			if (cacheTableManager != null) {
+				try {
+					log.info("Cleaning temporary cache.");
+					cacheTableManager.dropAll();
+					cacheTableManager = null;
+				} catch (SQLException e) {
+					log.error("Failed to clean temporary cache.", e);
+				}
+			}
+
 			try {
 				eventDispatcher.flushEvents();
 			} catch (InterruptedException e) {
@@ -27,6 +27,7 @@
  */
 package org.citydb.citygml.deleter.database;
 
+import org.citydb.citygml.common.database.cache.CacheTableManager;
 import org.citydb.citygml.exporter.database.content.DBSplittingResult;
 import org.citydb.concurrent.WorkerPool;
 import org.citydb.config.Config;
@@ -83,6 +84,7 @@ public class DBSplitter {
 
 	public DBSplitter(SchemaMapping schemaMapping,
 			WorkerPool<DBSplittingResult> dbWorkerPool, 
+			CacheTableManager cacheTableManager,
 			Query query,
 			Config config,
 			EventDispatcher eventDispatcher) throws SQLException {
@@ -105,7 +107,7 @@ public class DBSplitter {
 		builder = new SQLQueryBuilder(
 				schemaMapping, 
 				databaseAdapter,
-				BuildProperties.defaults());
+				BuildProperties.defaults().useCacheTablesForIds(cacheTableManager));
 	}
 
 	public boolean isCalculateNumberMatched() {
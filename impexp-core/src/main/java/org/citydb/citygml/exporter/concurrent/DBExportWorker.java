@@ -177,6 +177,7 @@ public class DBExportWorker extends Worker<DBSplittingResult> implements EventHa
 				return;
 
 			AbstractFeature feature = null;
+			boolean isWritten = false;
 			if (work.getObjectType().getObjectClassId() == MappingConstants.APPEARANCE_OBJECTCLASS_ID) {
 				feature = exporter.exportGlobalAppearance(work.getId());
 				if (feature != null && ++globalAppearanceCounter == 20) {
@@ -185,10 +186,17 @@ public class DBExportWorker extends Worker<DBSplittingResult> implements EventHa
 					globalAppearanceCounter = 0;
 				}
 			} else {
-				if (!useTiling || isOnTile(work.getEnvelope())) {
-					AbstractGML object = exporter.exportObject(work.getId(), work.getObjectType());
-					if (object instanceof AbstractFeature) {
-						feature = (AbstractFeature) object;
+				// features assigned by a single tiling query are known to be on the active tile
+				if (!useTiling || !work.isCheckTile() || isOnTile(work.getEnvelope())) {
+					// stream the features that the main query marked as simple directly to the output
+					isWritten = work.isDirectExport() && exporter.exportObjectDirectly(work.getId(), work.getObjectType(), work.getSequenceId());
+					if (!isWritten) {
+						AbstractGML object = exporter.exportObject(work.getId(), work.getObjectType());
+						if (object instanceof AbstractFeature)
+							feature = (AbstractFeature) object;
+					}
+
+					if (isWritten || feature != null) {
 						if (++topLevelFeatureCounter == 20) {
 							eventDispatcher.triggerEvent(new CounterEvent(CounterType.TOPLEVEL_FEATURE, topLevelFeatureCounter, this));
 							eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, topLevelFeatureCounter, this));
@@ -208,7 +216,7 @@ public class DBExportWorker extends Worker<DBSplittingResult> implements EventHa
 				
 				// update export counter
 				exporter.updateExportCounter(feature);
-			} else
+			} else if (!isWritten)
 				featureWriter.updateSequenceId(work.getSequenceId());
 
 		} catch (SQLException | CityGMLExportException | FeatureWriteException e) {
@@ -28,16 +28,20 @@
 package org.citydb.citygml.exporter.controller;
 
 import org.citydb.citygml.common.database.cache.CacheTableManager;
+import org.citydb.citygml.common.database.cache.model.CacheTableModel;
+import org.citydb.citygml.common.database.uid.MappedUIDCachingModel;
 import org.citydb.citygml.common.database.uid.UIDCacheManager;
 import org.citydb.citygml.common.database.uid.UIDCacheType;
 import org.citydb.citygml.common.database.xlink.DBXlink;
 import org.citydb.citygml.exporter.CityGMLExportException;
 import org.citydb.citygml.exporter.concurrent.DBExportWorkerFactory;
 import org.citydb.citygml.exporter.concurrent.DBExportXlinkWorkerFactory;
+import org.citydb.citygml.exporter.database.content.DBDirectFeatureExporter;
 import org.citydb.citygml.exporter.database.content.DBSplitter;
 import org.citydb.citygml.exporter.database.content.DBSplittingResult;
 import org.citydb.citygml.exporter.database.uid.FeatureGmlIdCache;
 import org.citydb.citygml.exporter.database.uid.GeometryGmlIdCache;
+import org.citydb.citygml.exporter.util.ExportWatermark;
 import org.citydb.citygml.exporter.writer.FeatureWriteException;
 import org.citydb.citygml.exporter.writer.FeatureWriter;
 import org.citydb.citygml.exporter.writer.FeatureWriterFactory;
@@ -49,13 +53,18 @@ import org.citydb.config.i18n.Language;
 import org.citydb.config.internal.Internal;
 import org.citydb.config.project.database.DatabaseSrs;
 import org.citydb.config.project.database.Workspace;
+import org.citydb.config.project.exporter.IncrementalExport;
 import org.citydb.config.project.exporter.SimpleTilingOptions;
 import org.citydb.config.project.exporter.TileNameSuffixMode;
 import org.citydb.config.project.exporter.TileSuffixMode;
 import org.citydb.database.adapter.AbstractDatabaseAdapter;
 import org.citydb.database.adapter.IndexStatusInfo.IndexType;
 import org.citydb.database.connection.DatabaseConnectionPool;
+import org.citydb.database.schema.mapping.FeatureType;
+import org.citydb.database.schema.mapping.MappingConstants;
 import org.citydb.database.schema.mapping.SchemaMapping;
+import org.citydb.database.schema.path.InvalidSchemaPathException;
+import org.citydb.database.schema.path.SchemaPath;
 import org.citydb.event.Event;
 import org.citydb.event.EventDispatcher;
 import org.citydb.event.EventHandler;
@@ -78,18 +87,27 @@ import org.citydb.plugin.extension.export.MetadataProvider;
 import org.citydb.query.Query;
 import org.citydb.query.builder.QueryBuildException;
 import org.citydb.query.builder.config.ConfigQueryBuilder;
+import org.citydb.query.builder.sql.IdCacheTables;
 import org.citydb.query.filter.FilterException;
 import org.citydb.query.filter.selection.Predicate;
 import org.citydb.query.filter.selection.SelectionFilter;
+import org.citydb.query.filter.selection.expression.TimestampLiteral;
+import org.citydb.query.filter.selection.expression.ValueReference;
+import org.citydb.query.filter.selection.operator.comparison.ComparisonFactory;
 import org.citydb.query.filter.selection.operator.logical.LogicalOperationFactory;
 import org.citydb.query.filter.tiling.Tile;
+import org.citydb.query.filter.tiling.TileBuckets;
 import org.citydb.query.filter.tiling.Tiling;
+import org.citydb.registry.ObjectRegistry;
+import org.citydb.util.MarshallerPool;
 import org.citydb.util.Util;
 import org.citygml4j.builder.jaxb.CityGMLBuilder;
 import org.citygml4j.model.citygml.cityobjectgroup.CityObjectGroup;
 import org.citygml4j.model.gml.GMLClass;
 import org.citygml4j.model.module.citygml.CityGMLModuleType;
+import org.citygml4j.model.module.citygml.CoreModule;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
@@ -98,10 +116,18 @@ import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -115,6 +141,7 @@ public class Exporter implements EventHandler {
 	private final Config config;
 	private final EventDispatcher eventDispatcher;
 	private DBSplitter dbSplitter;
+	private TileBuckets tileBuckets;
 
 	private volatile boolean shouldRun = true;
 	private AtomicBoolean isInterrupted = new AtomicBoolean(false);
@@ -122,6 +149,8 @@ public class Exporter implements EventHandler {
 	private WorkerPool<DBSplittingResult> dbWorkerPool;
 	private WorkerPool<DBXlink> xlinkExporterPool;
 	private CacheTableManager cacheTableManager;
+	private CacheTableManager idCacheTableManager;
+	private IdCacheTables idCacheTables;
 	private UIDCacheManager uidCacheManager;
 	private boolean useTiling;
 
@@ -148,6 +177,8 @@ public class Exporter implements EventHandler {
 
 	public void cleanup() {
 		eventDispatcher.removeEventHandler(this);
+		closeTileBuckets();
+		closeIdCacheTables();
 	}
 
 	public boolean doProcess() throws CityGMLExportException {
@@ -176,6 +207,47 @@ public class Exporter implements EventHandler {
 			throw new CityGMLExportException("Failed to build the export query expression.", e);
 		}
 
+		// restrict the query to features that have changed since the last incremental export
+		IncrementalExport incrementalExport = config.getProject().getExporter().getIncrementalExport();
+		ExportWatermark watermark = null;
+		ExportWatermark nextWatermark = null;
+		Instant lowerBound = null;
+		if (incrementalExport.isEnabled()) {
+			String profile = incrementalExport.getProfile();
+			try {
+				watermark = ExportWatermark.load(profile);
+			} catch (IOException e) {
+				throw new CityGMLExportException("Failed to load the watermark of the incremental export profile '" + profile + "'.", e);
+			}
+
+			try {
+				Instant lastModificationDate = getLastModificationDate();
+				if (lastModificationDate == null)
+					lastModificationDate = watermark != null ? watermark.getLastModificationDate() : Instant.EPOCH;
+
+				nextWatermark = new ExportWatermark(profile, lastModificationDate);
+			} catch (SQLException e) {
+				throw new CityGMLExportException("Database error while querying the last modification date.", e);
+			}
+
+			// features whose transaction committed after the previous watermark had been taken may carry
+			// an earlier modification date, so the lower bound is moved back by a safety overlap
+			if (watermark != null) {
+				lowerBound = watermark.getLastModificationDate().minusSeconds(incrementalExport.getOverlap());
+				log.info("Exporting features modified since " + lowerBound + " (incremental export profile '" + profile + "').");
+			} else
+				log.info("No watermark found for the incremental export profile '" + profile + "'. Exporting all features.");
+
+			try {
+				Predicate incrementalFilter = buildIncrementalFilter(query, lowerBound, nextWatermark);
+				query.setSelection(new SelectionFilter(query.isSetSelection() ?
+						LogicalOperationFactory.AND(query.getSelection().getPredicate(), incrementalFilter) :
+						incrementalFilter));
+			} catch (FilterException e) {
+				throw new CityGMLExportException("Failed to build the incremental export filter.", e);
+			}
+		}
+
 		// create feature writer factory
 		FeatureWriterFactory writerFactory;
 		try {
@@ -302,6 +374,41 @@ public class Exporter implements EventHandler {
 			}
 		}
 
+		// load the identifiers of large id filters only once for all tiles
+		if (useTiling && query.isSetSelection() && shouldRun) {
+			try {
+				idCacheTableManager = new CacheTableManager(1, config);
+				idCacheTables = new IdCacheTables(idCacheTableManager);
+			} catch (SQLException | IOException e) {
+				throw new CityGMLExportException("Failed to initialize internal cache manager.", e);
+			}
+		}
+
+		// assign all top-level features to their tiles using a single query
+		if (useTiling && tiling.isSingleQuery() && shouldRun) {
+			if (query.isSetSorting() || query.isSetCounterFilter())
+				log.warn("Single query tiling is not supported with sorting or counter settings. Querying each tile separately.");
+			else {
+				log.info("Assigning top-level features to tiles using a single query...");
+				try (Connection connection = DatabaseConnectionPool.getInstance().getConnection()) {
+					if (databaseAdapter.hasVersioningSupport())
+						databaseAdapter.getWorkspaceManager().gotoWorkspace(connection, workspace);
+
+					Path tempDir = Paths.get(config.getProject().getGlobal().getCache().getLocalCachePath());
+					Files.createDirectories(tempDir);
+
+					tileBuckets = new TileBuckets(tiling, databaseAdapter, Runtime.getRuntime().maxMemory() / 16, tempDir);
+					// the direct export eligibility is evaluated along with the tile assignment
+					String directExportCondition = DBDirectFeatureExporter.getDirectExportCondition(
+							"q." + MappingConstants.ID, "q." + MappingConstants.OBJECTCLASS_ID, query, config, databaseAdapter.getConnectionDetails().getSchema());
+					long features = tileBuckets.fill(query, schemaMapping, connection, directExportCondition, idCacheTables);
+					log.debug(features + " top-level features assigned to tiles, " + tileBuckets.getNumberOfDiscardedEntries() + " features outside the tiling extent.");
+				} catch (SQLException | QueryBuildException | FilterException | IOException e) {
+					throw new CityGMLExportException("Failed to assign top-level features to tiles.", e);
+				}
+			}
+		}
+
 		int remainingTiles = rows * columns;
 		long start = System.currentTimeMillis();
 
@@ -411,21 +518,32 @@ public class Exporter implements EventHandler {
 					uidCacheManager = new UIDCacheManager();
 
 					// ...and start servers
+					boolean useMappedFiles = config.getProject().getGlobal().getCache().isUseMappedFiles();
 					try {
 						uidCacheManager.initCache(
 								UIDCacheType.GEOMETRY,
-								new GeometryGmlIdCache(cacheTableManager,
-										config.getProject().getExporter().getResources().getGmlIdCache().getGeometry().getPartitions(),
-										config.getProject().getDatabase().getImportBatching().getGmlIdCacheBatchSize()),
+								useMappedFiles ?
+										new MappedUIDCachingModel(cacheTableManager,
+												CacheTableModel.GMLID_GEOMETRY,
+												"geometry",
+												config.getProject().getExporter().getResources().getGmlIdCache().getGeometry().getPartitions()) :
+										new GeometryGmlIdCache(cacheTableManager,
+												config.getProject().getExporter().getResources().getGmlIdCache().getGeometry().getPartitions(),
+												config.getProject().getDatabase().getImportBatching().getGmlIdCacheBatchSize()),
 								config.getProject().getExporter().getResources().getGmlIdCache().getGeometry().getCacheSize(),
 								config.getProject().getExporter().getResources().getGmlIdCache().getGeometry().getPageFactor(),
 								config.getProject().getExporter().getResources().getThreadPool().getDefaultPool().getMaxThreads());
 
 						uidCacheManager.initCache(
 								UIDCacheType.OBJECT,
-								new FeatureGmlIdCache(cacheTableManager,
-										config.getProject().getExporter().getResources().getGmlIdCache().getFeature().getPartitions(),
-										config.getProject().getDatabase().getImportBatching().getGmlIdCacheBatchSize()),
+								useMappedFiles ?
+										new MappedUIDCachingModel(cacheTableManager,
+												CacheTableModel.GMLID_FEATURE,
+												"feature",
+												config.getProject().getExporter().getResources().getGmlIdCache().getFeature().getPartitions()) :
+										new FeatureGmlIdCache(cacheTableManager,
+												config.getProject().getExporter().getResources().getGmlIdCache().getFeature().getPartitions(),
+												config.getProject().getDatabase().getImportBatching().getGmlIdCacheBatchSize()),
 								config.getProject().getExporter().getResources().getGmlIdCache().getFeature().getCacheSize(),
 								config.getProject().getExporter().getResources().getGmlIdCache().getFeature().getPageFactor(),
 								config.getProject().getExporter().getResources().getThreadPool().getDefaultPool().getMaxThreads());
@@ -483,12 +601,14 @@ public class Exporter implements EventHandler {
 								query,
 								uidCacheManager.getCache(UIDCacheType.OBJECT),
 								cacheTableManager,
+								idCacheTables != null ? idCacheTables : new IdCacheTables(cacheTableManager),
 								eventDispatcher,
 								config);
 
 						if (shouldRun) {
 							dbSplitter.setMetadataProvider(metadataProvider);
 							dbSplitter.setCalculateNumberMatched(Internal.IS_GUI_MODE);
+							dbSplitter.setTileBuckets(tileBuckets);
 							dbSplitter.startQuery();
 						}
 					} catch (SQLException | QueryBuildException | FilterException e) {
@@ -580,6 +700,9 @@ public class Exporter implements EventHandler {
 			}
 		}
 
+		closeTileBuckets();
+		closeIdCacheTables();
+
 		// show totally exported features
 		if (useTiling && (rows > 1 || columns > 1)) {
 			if (!totalObjectCounter.isEmpty()) {
@@ -592,12 +715,150 @@ public class Exporter implements EventHandler {
 				log.info("Total processed objects: " + totalGeometryCounter.values().stream().reduce(0L, Long::sum));
 		}
 
+		// write deletion manifest and move the watermark of the incremental export
+		if (shouldRun && nextWatermark != null) {
+			try {
+				writeDeletionManifest(query, watermark, lowerBound, nextWatermark, exportFile);
+				nextWatermark.save();
+				log.info("Updated watermark of the incremental export profile '" + nextWatermark.getProfile() + "' to " + nextWatermark.getLastModificationDate() + ".");
+			} catch (IOException e) {
+				throw new CityGMLExportException("Failed to write the results of the incremental export.", e);
+			} catch (SQLException e) {
+				throw new CityGMLExportException("Database error while querying terminated features.", e);
+			}
+		}
+
+		MarshallerPool marshallerPool = ObjectRegistry.getInstance().getMarshallerPool(cityGMLBuilder.getJAXBContext());
+		log.debug("JAXB marshaller pool: " + marshallerPool.getStatistics() + ".");
+		marshallerPool.resetStatistics();
+
 		if (shouldRun)
 			log.info("Total export time: " + Util.formatElapsedTime(System.currentTimeMillis() - start) + ".");
 
 		return shouldRun;
 	}
 
+	private void closeTileBuckets() {
+		if (tileBuckets != null) {
+			try {
+				tileBuckets.close();
+			} catch (IOException e) {
+				log.warn("Failed to delete the temporary tile assignment file.");
+			}
+
+			tileBuckets = null;
+		}
+	}
+
+	private void closeIdCacheTables() {
+		if (idCacheTableManager != null) {
+			try {
+				idCacheTableManager.dropAll();
+			} catch (SQLException e) {
+				log.warn("Failed to clean the temporary identifier cache.");
+			}
+
+			idCacheTableManager = null;
+			idCacheTables = null;
+		}
+	}
+
+	private Instant getLastModificationDate() throws SQLException {
+		String schema = databaseAdapter.getConnectionDetails().getSchema();
+		try (Connection connection = DatabaseConnectionPool.getInstance().getConnection();
+			 Statement stmt = connection.createStatement();
+			 ResultSet rs = stmt.executeQuery("select max(" + MappingConstants.LAST_MODIFICATION_DATE + ") from " +
+					 schema + ".cityobject")) {
+			Timestamp timestamp = rs.next() ? rs.getTimestamp(1) : null;
+			return timestamp != null ? timestamp.toInstant() : null;
+		}
+	}
+
+	private Predicate buildIncrementalFilter(Query query, Instant lowerBound, ExportWatermark nextWatermark) throws FilterException {
+		FeatureType featureType = !query.getFeatureTypeFilter().isEmpty() ?
+				schemaMapping.getCommonSuperType(query.getFeatureTypeFilter().getFeatureTypes()) :
+				schemaMapping.getFeatureType("_CityObject", CoreModule.v2_0_0.getNamespaceURI());
+
+		ValueReference lastModificationDate;
+		ValueReference terminationDate;
+		try {
+			SchemaPath schemaPath = new SchemaPath(featureType);
+			schemaPath.appendChild(featureType.getProperty("lastModificationDate", MappingConstants.CITYDB_SCHEMA_NAMESPACE_URI, true));
+			lastModificationDate = new ValueReference(schemaPath);
+
+			schemaPath = new SchemaPath(featureType);
+			schemaPath.appendChild(featureType.getProperty("terminationDate", CoreModule.v2_0_0.getNamespaceURI(), true));
+			terminationDate = new ValueReference(schemaPath);
+		} catch (InvalidSchemaPathException e) {
+			throw new FilterException("Failed to build schema path.", e);
+		}
+
+		// terminated features are reported in the deletion manifest instead
+		List<Predicate> predicates = new ArrayList<>();
+		Predicate upperBound = ComparisonFactory.lessThanOrEqualTo(lastModificationDate, new TimestampLiteral(nextWatermark.getLastModificationDate()));
+		if (lowerBound != null) {
+			predicates.add(upperBound);
+			predicates.add(ComparisonFactory.greaterThan(lastModificationDate, new TimestampLiteral(lowerBound)));
+		} else {
+			// the first export also includes features without modification date
+			predicates.add(LogicalOperationFactory.OR(upperBound, ComparisonFactory.isNull(lastModificationDate)));
+		}
+
+		predicates.add(ComparisonFactory.isNull(terminationDate));
+		return LogicalOperationFactory.AND(predicates);
+	}
+
+	private void writeDeletionManifest(Query query, ExportWatermark watermark, Instant lowerBound, ExportWatermark nextWatermark, Path exportFile) throws SQLException, IOException {
+		String fileName = exportFile.getFileName().toString();
+		int index = fileName.indexOf('.');
+		Path manifestFile = exportFile.resolveSibling((index > 0 ? fileName.substring(0, index) : fileName) + ".deletions.csv");
+
+		String schema = databaseAdapter.getConnectionDetails().getSchema();
+		StringBuilder select = new StringBuilder("select id, gmlid, objectclass_id, termination_date from ")
+				.append(schema + ".cityobject")
+				.append(" where termination_date is not null");
+		if (lowerBound != null)
+			select.append(" and last_modification_date <= ? and last_modification_date > ?");
+		else
+			select.append(" and (last_modification_date <= ? or last_modification_date is null)");
+
+		int deletions = 0;
+		try (Connection connection = DatabaseConnectionPool.getInstance().getConnection();
+			 PreparedStatement stmt = connection.prepareStatement(select.toString());
+			 BufferedWriter writer = Files.newBufferedWriter(manifestFile, StandardCharsets.UTF_8)) {
+			stmt.setTimestamp(1, Timestamp.from(nextWatermark.getLastModificationDate()));
+			if (lowerBound != null)
+				stmt.setTimestamp(2, Timestamp.from(lowerBound));
+
+			writer.write("GMLID,FEATURE_TYPE,TERMINATION_DATE");
+			writer.newLine();
+
+			try (ResultSet rs = stmt.executeQuery()) {
+				while (rs.next()) {
+					long id = rs.getLong(1);
+					FeatureType featureType = schemaMapping.getFeatureType(rs.getInt(3));
+					if (featureType == null
+							|| !featureType.isTopLevel()
+							|| query.getFeatureTypeFilter().getFeatureTypes().stream().noneMatch(featureType::isEqualToOrSubTypeOf))
+						continue;
+
+					// terminated features that have been reported before are skipped
+					nextWatermark.addTerminatedObject(id);
+					if (watermark != null && watermark.getTerminatedObjects().contains(id))
+						continue;
+
+					String gmlId = rs.getString(2);
+					Timestamp terminationDate = rs.getTimestamp(4);
+					writer.write((gmlId != null ? gmlId : "") + ',' + featureType.getPath() + ',' + terminationDate.toInstant());
+					writer.newLine();
+					deletions++;
+				}
+			}
+		}
+
+		log.info("Wrote " + deletions + " terminated feature(s) to deletion manifest '" + manifestFile + "'.");
+	}
+
 	@Override
 	public void handleEvent(Event e) throws Exception {
 		if (e.getEventType() == EventType.OBJECT_COUNTER) {
@@ -646,6 +907,9 @@ public class Exporter implements EventHandler {
 				if (msg != null)
 					log.log(interruptEvent.getLogLevelType(), msg);
 
+				if (tileBuckets != null)
+					tileBuckets.shutdown();
+
 				if (dbSplitter != null)
 					dbSplitter.shutdown();
 
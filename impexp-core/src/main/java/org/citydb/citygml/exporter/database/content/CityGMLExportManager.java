@@ -43,12 +43,15 @@ import org.citydb.citygml.exporter.util.AppearanceRemover;
 import org.citydb.citygml.exporter.util.AttributeValueSplitter;
 import org.citydb.citygml.exporter.util.ExportCounter;
 import org.citydb.citygml.exporter.util.LodGeometryChecker;
+import org.citydb.citygml.exporter.util.PushdownLodFilter;
+import org.citydb.citygml.exporter.writer.CityGMLWriter;
 import org.citydb.citygml.exporter.writer.FeatureWriteException;
 import org.citydb.citygml.exporter.writer.FeatureWriter;
 import org.citydb.concurrent.WorkerPool;
 import org.citydb.config.Config;
 import org.citydb.config.geometry.GeometryObject;
 import org.citydb.config.project.exporter.Exporter;
+import org.citydb.config.project.exporter.SimpleTilingOptions;
 import org.citydb.database.adapter.AbstractDatabaseAdapter;
 import org.citydb.database.schema.TableEnum;
 import org.citydb.database.schema.mapping.AbstractObjectType;
@@ -67,13 +70,16 @@ import org.citydb.plugin.PluginManager;
 import org.citydb.plugin.extension.export.CityGMLExportExtension;
 import org.citydb.query.Query;
 import org.citydb.query.filter.lod.LodFilter;
+import org.citydb.query.filter.lod.LodFilterMode;
 import org.citydb.query.filter.projection.CombinedProjectionFilter;
 import org.citydb.query.filter.projection.ProjectionFilter;
+import org.citydb.registry.ObjectRegistry;
 import org.citydb.sqlbuilder.expression.IntegerLiteral;
 import org.citydb.sqlbuilder.schema.Column;
 import org.citydb.sqlbuilder.select.ProjectionToken;
 import org.citydb.sqlbuilder.select.projection.Function;
 import org.citydb.util.CoreConstants;
+import org.citydb.util.MarshallerPool;
 import org.citydb.util.Util;
 import org.citygml4j.builder.jaxb.CityGMLBuilder;
 import org.citygml4j.builder.jaxb.CityGMLBuilderException;
@@ -163,10 +169,13 @@ public class CityGMLExportManager implements CityGMLExportHelper {
 	private final AttributeValueSplitter attributeValueSplitter;
 	private final ExportCounter exportCounter;
 	private final JAXBUnmarshaller jaxbUnmarshaller;
+	private final MarshallerPool marshallerPool;
 	private final boolean hasADESupport;
+	private final boolean useDirectWriting;
 
 	private GMLConverter gmlConverter;
 	private LodGeometryChecker lodGeometryChecker;
+	private PushdownLodFilter pushdownLodFilter;
 	private AppearanceRemover appearanceRemover;
 	private Document document;
 	private boolean failOnError;
@@ -202,11 +211,33 @@ public class CityGMLExportManager implements CityGMLExportHelper {
 		exportCounter = new ExportCounter(schemaMapping);
 
 		if (!query.getLodFilter().preservesGeometry()) {
+			// restrict the LoDs to be queried per top-level feature for minimum and maximum LoD filters
+			LodFilterMode mode = query.getLodFilter().getFilterMode();
+			if (mode == LodFilterMode.MINIMUM || mode == LodFilterMode.MAXIMUM)
+				pushdownLodFilter = new PushdownLodFilter(query.getLodFilter());
+
 			lodGeometryChecker = new LodGeometryChecker(this, schemaMapping);
 			if (config.getProject().getExporter().getAppearances().isSetExportAppearance())
 				appearanceRemover = new AppearanceRemover();
 		}
 
+		// direct writing bypasses the citygml4j object model and is therefore
+		// only possible if no component needs to process the exported objects
+		useDirectWriting = config.getProject().getExporter().getResources().isDirectWriting()
+				&& featureWriter instanceof CityGMLWriter
+				&& ((CityGMLWriter) featureWriter).supportsDirectWriting()
+				&& !hasADESupport
+				&& plugins.isEmpty()
+				&& query.getLodFilter().preservesGeometry()
+				&& !query.isSetProjection()
+				&& !config.getInternal().isExportGlobalAppearances()
+				&& !config.getProject().getExporter().getContinuation().isExportCityDBMetadata()
+				&& !(query.isSetTiling()
+						&& query.getTiling().getTilingOptions() instanceof SimpleTilingOptions
+						&& ((SimpleTilingOptions) query.getTiling().getTilingOptions()).isIncludeTileAsGenericAttribute());
+
+		marshallerPool = ObjectRegistry.getInstance().getMarshallerPool(cityGMLBuilder.getJAXBContext());
+
 		try {
 			jaxbUnmarshaller = cityGMLBuilder.createJAXBUnmarshaller();
 			jaxbUnmarshaller.setThrowMissingADESchema(false);
@@ -217,10 +248,35 @@ public class CityGMLExportManager implements CityGMLExportHelper {
 	}
 
 	public AbstractGML exportObject(long objectId, AbstractObjectType<?> objectType) throws CityGMLExportException, SQLException {
-		AbstractGML object = exportObject(objectId, objectType, false);
+		AbstractGML object;
+		if (pushdownLodFilter != null && objectType instanceof FeatureType) {
+			// only query the LoDs that may survive the LoD filter
+			int[] lodRange = getExporter(DBLodPushdown.class).getLodRange(objectId, (FeatureType) objectType);
+			if (lodRange != null)
+				pushdownLodFilter.restrict(lodRange[0], lodRange[1]);
+
+			try {
+				object = exportObject(objectId, objectType, false);
+				if (object != null)
+					executeBatch();
+			} finally {
+				pushdownLodFilter.unrestrict();
+			}
+		} else
+			object = exportObject(objectId, objectType, false);
+
 		return object != null ? processObject(object) : null;
 	}
 
+	public boolean exportObjectDirectly(long objectId, AbstractObjectType<?> objectType, long sequenceId) throws CityGMLExportException, SQLException {
+		if (!useDirectWriting)
+			return false;
+
+		DBDirectFeatureExporter directExporter = getExporter(DBDirectFeatureExporter.class);
+		return directExporter.isSupported(objectType.getObjectClassId())
+				&& directExporter.doExport(objectId, objectType.getObjectClassId(), sequenceId);
+	}
+
 	private AbstractGML processObject(AbstractGML object) throws CityGMLExportException, SQLException {
 		// execute batch export
 		executeBatch();
@@ -591,7 +647,7 @@ public class CityGMLExportManager implements CityGMLExportHelper {
 
 	@Override
 	public LodFilter getLodFilter() {
-		return query.getLodFilter();
+		return pushdownLodFilter != null ? pushdownLodFilter : query.getLodFilter();
 	}
 
 	@Override
@@ -767,6 +823,10 @@ public class CityGMLExportManager implements CityGMLExportHelper {
 		return property.getSchema().getXMLPrefix() + ":" + property.getPath();
 	}
 
+	protected boolean isRegisterGmlIdInCache() {
+		return config.getInternal().isRegisterGmlIdInCache();
+	}
+
 	public void setFailOnError(boolean failOnError) {
 		this.failOnError = failOnError;
 	}
@@ -821,7 +881,7 @@ public class CityGMLExportManager implements CityGMLExportHelper {
 		Object object;
 
 		try {
-			Unmarshaller unmarshaller = cityGMLBuilder.getJAXBContext().createUnmarshaller();
+			Unmarshaller unmarshaller = marshallerPool.getUnmarshaller();
 			object = unmarshaller.unmarshal(reader);
 			if (object != null)
 				object = jaxbUnmarshaller.unmarshal(object);
@@ -904,6 +964,9 @@ public class CityGMLExportManager implements CityGMLExportHelper {
 		DBExporter exporter = exporters.get(type);
 
 		if (exporter == null) {
+			// exporters must prepare their statements for all LoDs of the LoD filter
+			boolean isSuspended = pushdownLodFilter != null && pushdownLodFilter.suspend();
+
 			// core module
 			if (type == DBSurfaceGeometry.class)
 				exporter = new DBSurfaceGeometry(connection, this, config);
@@ -917,6 +980,10 @@ public class CityGMLExportManager implements CityGMLExportHelper {
 				exporter = new DBAddress(connection, this);
 			else if (type == DBImplicitGeometry.class)
 				exporter = new DBImplicitGeometry(connection, this);
+			else if (type == DBDirectFeatureExporter.class)
+				exporter = new DBDirectFeatureExporter(connection, query, (CityGMLWriter) featureWriter, exportCounter, this);
+			else if (type == DBLodPushdown.class)
+				exporter = new DBLodPushdown(connection, query.getLodFilter(), this);
 
 			// building module
 			else if (type == DBBuilding.class)
@@ -1015,6 +1082,9 @@ public class CityGMLExportManager implements CityGMLExportHelper {
 			} else if (type == DBLocalAppearance.class)
 				exporter = new DBLocalAppearance(connection, query, this, config);
 
+			if (isSuspended)
+				pushdownLodFilter.resume();
+
 			if (exporter == null)
 				throw new CityGMLExportException("Failed to build database exporter of type " + type.getName() + ".");
 
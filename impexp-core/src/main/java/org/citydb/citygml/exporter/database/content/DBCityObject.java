@@ -53,6 +53,7 @@ import org.citydb.sqlbuilder.select.Select;
 import org.citydb.sqlbuilder.select.join.JoinFactory;
 import org.citydb.sqlbuilder.select.operator.comparison.ComparisonFactory;
 import org.citydb.sqlbuilder.select.operator.comparison.ComparisonName;
+import org.citydb.util.Util;
 import org.citygml4j.geometry.Point;
 import org.citygml4j.model.citygml.core.AbstractCityObject;
 import org.citygml4j.model.citygml.core.ExternalObject;
@@ -318,14 +319,14 @@ public class DBCityObject implements DBExporter {
 			if (context.projectionFilter.containsProperty("creationDate", coreModule)) {
 				OffsetDateTime creationDate = rs.getObject("creation_date", OffsetDateTime.class);
 				if (!rs.wasNull())
-					cityObject.setCreationDate(creationDate.atZoneSameInstant(ZoneId.systemDefault()));
+					cityObject.setCreationDate(Util.toZonedDateTime(creationDate));
 			}
 
 			// core:terminationDate
 			if (context.projectionFilter.containsProperty("terminationDate", coreModule)) {
 				OffsetDateTime terminationDate = rs.getObject("termination_date", OffsetDateTime.class);
 				if (terminationDate != null)
-					cityObject.setTerminationDate(terminationDate.atZoneSameInstant(ZoneId.systemDefault()));
+					cityObject.setTerminationDate(Util.toZonedDateTime(terminationDate));
 			}
 
 			// core:relativeToTerrain
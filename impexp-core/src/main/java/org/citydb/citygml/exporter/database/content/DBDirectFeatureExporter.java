@@ -0,0 +1,959 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * http://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2019
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.gis.bgu.tum.de/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * virtualcitySYSTEMS GmbH, Berlin <http://www.virtualcitysystems.de/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.citygml.exporter.database.content;
+
+import org.citydb.citygml.exporter.CityGMLExportException;
+import org.citydb.citygml.exporter.util.AttributeValueSplitter;
+import org.citydb.citygml.exporter.util.AttributeValueSplitter.SplitValue;
+import org.citydb.citygml.exporter.util.ExportCounter;
+import org.citydb.citygml.exporter.writer.CityGMLWriter;
+import org.citydb.citygml.exporter.writer.FeatureWriteException;
+import org.citydb.config.Config;
+import org.citydb.config.geometry.GeometryObject;
+import org.citydb.config.project.exporter.FeatureEnvelopeMode;
+import org.citydb.database.schema.TableEnum;
+import org.citydb.query.Query;
+import org.citydb.util.Util;
+import org.citygml4j.model.citygml.building.AbstractBoundarySurface;
+import org.citygml4j.model.citygml.building.Building;
+import org.citygml4j.model.citygml.building.CeilingSurface;
+import org.citygml4j.model.citygml.building.ClosureSurface;
+import org.citygml4j.model.citygml.building.FloorSurface;
+import org.citygml4j.model.citygml.building.GroundSurface;
+import org.citygml4j.model.citygml.building.InteriorWallSurface;
+import org.citygml4j.model.citygml.building.OuterCeilingSurface;
+import org.citygml4j.model.citygml.building.OuterFloorSurface;
+import org.citygml4j.model.citygml.building.RoofSurface;
+import org.citygml4j.model.citygml.building.WallSurface;
+import org.citygml4j.model.citygml.cityfurniture.CityFurniture;
+import org.citygml4j.model.citygml.core.RelativeToTerrain;
+import org.citygml4j.model.citygml.core.RelativeToWater;
+import org.citygml4j.model.citygml.generics.GenericCityObject;
+import org.citygml4j.model.gml.GMLClass;
+import org.citygml4j.model.module.Module;
+import org.citygml4j.model.module.citygml.CityGMLModuleType;
+import org.citygml4j.model.module.citygml.CityGMLVersion;
+import org.citygml4j.model.module.gml.GMLCoreModule;
+import org.citygml4j.model.module.gml.XLinkModule;
+import org.citygml4j.util.gmlid.DefaultGMLIdManager;
+import org.citygml4j.util.xml.SAXEventBuffer;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+
+import javax.xml.datatype.DatatypeConfigurationException;
+import javax.xml.datatype.DatatypeConstants;
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.XMLGregorianCalendar;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Streams simple top-level buildings, city furniture and generic city objects
+ * directly from the result sets into SAX events without building citygml4j
+ * objects first. Whether a feature is simple enough is decided by the main
+ * query using {@link #getDirectExportCondition}, so features using content
+ * that is not covered here never reach this exporter.
+ */
+public class DBDirectFeatureExporter implements DBExporter {
+	private static final List<Class<? extends AbstractBoundarySurface>> BOUNDARY_SURFACES = Arrays.asList(
+			RoofSurface.class, WallSurface.class, GroundSurface.class, ClosureSurface.class,
+			FloorSurface.class, InteriorWallSurface.class, CeilingSurface.class,
+			OuterCeilingSurface.class, OuterFloorSurface.class);
+
+	private final Connection connection;
+	private final CityGMLExportManager exporter;
+	private final CityGMLWriter writer;
+	private final ExportCounter exportCounter;
+	private final AttributeValueSplitter valueSplitter;
+	private final AttributesImpl attributes = new AttributesImpl();
+	private final List<GMLClass> geometryTypes = new ArrayList<>();
+	private final Map<Long, GeometryNode> geometries = new HashMap<>();
+	private final Map<Integer, String> boundarySurfaces = new HashMap<>();
+	private final DatatypeFactory datatypeFactory;
+
+	private final PreparedStatement psCityObject;
+	private final PreparedStatement psSurfaceGeometry;
+	private PreparedStatement psBuilding;
+	private PreparedStatement psBuildingGeometry;
+	private PreparedStatement psThematicSurface;
+	private PreparedStatement psCityFurniture;
+	private PreparedStatement psGenericCityObject;
+
+	private final String cityObjectColumns;
+	private final String gmlSrsName;
+	private final boolean setEnvelope;
+	private final boolean setNestedEnvelope;
+	private final boolean isCityGMLv2;
+	private final boolean registerGmlIdInCache;
+	private final boolean useXLink;
+	private final int buildingClassId;
+	private final int cityFurnitureClassId;
+	private final int genericCityObjectClassId;
+
+	private final Module gmlModule;
+	private final Module xlinkModule;
+	private final Module coreModule;
+	private final Module buildingModule;
+	private final Module cityFurnitureModule;
+	private final Module genericsModule;
+
+	private boolean appendOldGmlId;
+	private String gmlIdPrefix;
+
+	public DBDirectFeatureExporter(Connection connection, Query query, CityGMLWriter writer, ExportCounter exportCounter, CityGMLExportManager exporter) throws SQLException {
+		this.connection = connection;
+		this.writer = writer;
+		this.exportCounter = exportCounter;
+		this.exporter = exporter;
+
+		valueSplitter = exporter.getAttributeValueSplitter();
+		gmlSrsName = query.getTargetSrs().getGMLSrsName();
+		FeatureEnvelopeMode envelopeMode = exporter.getExportConfig().getCityGMLOptions().getGMLEnvelope().getFeatureMode();
+		setEnvelope = envelopeMode == FeatureEnvelopeMode.ALL || envelopeMode == FeatureEnvelopeMode.TOP_LEVEL;
+		setNestedEnvelope = envelopeMode == FeatureEnvelopeMode.ALL;
+
+		registerGmlIdInCache = exporter.isRegisterGmlIdInCache();
+		useXLink = exporter.getExportConfig().getXlink().getGeometry().isModeXLink();
+		if (!useXLink) {
+			appendOldGmlId = exporter.getExportConfig().getXlink().getGeometry().isSetAppendId();
+			gmlIdPrefix = exporter.getExportConfig().getXlink().getGeometry().getIdPrefix();
+		}
+
+		try {
+			datatypeFactory = DatatypeFactory.newInstance();
+		} catch (DatatypeConfigurationException e) {
+			throw new SQLException("Failed to initialize datatype factory.", e);
+		}
+
+		CityGMLVersion version = writer.getCityGMLVersion();
+		isCityGMLv2 = version == CityGMLVersion.v2_0_0;
+		gmlModule = GMLCoreModule.v3_1_1;
+		xlinkModule = XLinkModule.v3_1_1;
+		coreModule = version.getCityGMLModule(CityGMLModuleType.CORE);
+		buildingModule = version.getCityGMLModule(CityGMLModuleType.BUILDING);
+		cityFurnitureModule = version.getCityGMLModule(CityGMLModuleType.CITY_FURNITURE);
+		genericsModule = version.getCityGMLModule(CityGMLModuleType.GENERICS);
+
+		buildingClassId = Util.getObjectClassId(Building.class);
+		cityFurnitureClassId = Util.getObjectClassId(CityFurniture.class);
+		genericCityObjectClassId = Util.getObjectClassId(GenericCityObject.class);
+
+		for (Class<? extends AbstractBoundarySurface> type : getBoundarySurfaces(version))
+			boundarySurfaces.put(Util.getObjectClassId(type), type.getSimpleName());
+
+		cityObjectColumns = "co.gmlid, " + exporter.getGeometryColumn("co.envelope") +
+				", co.name, co.name_codespace, co.description, co.creation_date, co.termination_date, co.relative_to_terrain, co.relative_to_water";
+
+		psCityObject = connection.prepareStatement("select " + cityObjectColumns + " from " +
+				exporter.getTableNameWithSchema(TableEnum.CITYOBJECT.getName()) + " co where co.id = ?");
+
+		psSurfaceGeometry = connection.prepareStatement(getSurfaceGeometrySelect() + " where cityobject_id = ?");
+	}
+
+	/**
+	 * Returns a condition for the main query that evaluates to 1 for the top-level
+	 * features identified by the given id and objectclass_id columns that can be
+	 * exported by this exporter, or null if direct writing is disabled.
+	 */
+	public static String getDirectExportCondition(String id, String objectClassId, Query query, Config config, String schema) {
+		if (!config.getProject().getExporter().getResources().isDirectWriting())
+			return null;
+
+		boolean exportAppearance = config.getProject().getExporter().getAppearances().isSetExportAppearance();
+		int buildingClassId = Util.getObjectClassId(Building.class);
+		int cityFurnitureClassId = Util.getObjectClassId(CityFurniture.class);
+		int genericCityObjectClassId = Util.getObjectClassId(GenericCityObject.class);
+
+		StringBuilder building = new StringBuilder("select 1 from ").append(schema).append('.').append(TableEnum.BUILDING.getName())
+				.append(" b where b.id = ").append(id)
+				.append(" and b.storey_heights_above_ground is null and b.storey_heights_below_ground is null");
+		for (int lod = 1; lod < 5; lod++)
+			building.append(" and b.lod").append(lod).append("_terrain_intersection is null");
+		for (int lod = 2; lod < 5; lod++)
+			building.append(" and b.lod").append(lod).append("_multi_curve is null");
+
+		building.append(" and not ").append(exists(schema, TableEnum.BUILDING, "building_parent_id", "b.id"))
+				.append(" and not ").append(exists(schema, TableEnum.BUILDING_INSTALLATION, "building_id", "b.id"))
+				.append(" and not ").append(exists(schema, TableEnum.ROOM, "building_id", "b.id"))
+				.append(" and not ").append(exists(schema, TableEnum.ADDRESS_TO_BUILDING, "building_id", "b.id"))
+				.append(" and not exists (select 1 from ").append(schema).append('.').append(TableEnum.THEMATIC_SURFACE.getName())
+				.append(" ts where ts.building_id = b.id and (ts.objectclass_id not in (")
+				.append(getBoundarySurfaces(query.getTargetVersion()).stream()
+						.map(type -> String.valueOf(Util.getObjectClassId(type)))
+						.collect(Collectors.joining(", ")))
+				.append(") or ").append(exists(schema, TableEnum.OPENING_TO_THEM_SURFACE, "thematic_surface_id", "ts.id"))
+				.append(" or ").append(getUnsupportedCityObjectCondition("ts.id", schema, exportAppearance)).append("))");
+
+		return "case when " + objectClassId + " in (" + buildingClassId + ", " + cityFurnitureClassId + ", " + genericCityObjectClassId + ")" +
+				" and not (" + getUnsupportedCityObjectCondition(id, schema, exportAppearance) + ")" +
+				" and (" + objectClassId + " <> " + buildingClassId + " or exists (" + building + "))" +
+				" and (" + objectClassId + " <> " + cityFurnitureClassId + " or exists (" +
+				getSimpleFeatureCondition(id, schema, TableEnum.CITY_FURNITURE, 1) + "))" +
+				" and (" + objectClassId + " <> " + genericCityObjectClassId + " or exists (" +
+				getSimpleFeatureCondition(id, schema, TableEnum.GENERIC_CITYOBJECT, 0) + "))" +
+				" then 1 else 0 end";
+	}
+
+	private static String getUnsupportedCityObjectCondition(String id, String schema, boolean exportAppearance) {
+		String condition = exists(schema, TableEnum.EXTERNAL_REFERENCE, "cityobject_id", id) +
+				" or " + exists(schema, TableEnum.GENERALIZATION, "cityobject_id", id) +
+				" or " + exists(schema, TableEnum.CITYOBJECT_GENERICATTRIB, "cityobject_id", id);
+
+		return exportAppearance ?
+				condition + " or " + exists(schema, TableEnum.APPEARANCE, "cityobject_id", id) :
+				condition;
+	}
+
+	private static String getSimpleFeatureCondition(String id, String schema, TableEnum table, int minLod) {
+		StringBuilder condition = new StringBuilder("select 1 from ").append(schema).append('.').append(table.getName())
+				.append(" t where t.id = ").append(id);
+
+		for (int lod = minLod; lod < 5; lod++) {
+			condition.append(" and t.lod").append(lod).append("_other_geom is null")
+					.append(" and t.lod").append(lod).append("_implicit_rep_id is null")
+					.append(" and t.lod").append(lod).append("_terrain_intersection is null");
+		}
+
+		return condition.toString();
+	}
+
+	private static List<Class<? extends AbstractBoundarySurface>> getBoundarySurfaces(CityGMLVersion version) {
+		// outer ceiling and floor surfaces are only available in CityGML 2.0
+		return version == CityGMLVersion.v2_0_0 ?
+				BOUNDARY_SURFACES :
+				BOUNDARY_SURFACES.subList(0, BOUNDARY_SURFACES.size() - 2);
+	}
+
+	private static String exists(String schema, TableEnum table, String column, String value) {
+		return "exists (select 1 from " + schema + '.' + table.getName() + " where " + column + " = " + value + ")";
+	}
+
+	public boolean isSupported(int objectClassId) {
+		return objectClassId == buildingClassId
+				|| objectClassId == cityFurnitureClassId
+				|| objectClassId == genericCityObjectClassId;
+	}
+
+	public boolean doExport(long objectId, int objectClassId, long sequenceId) throws CityGMLExportException, SQLException {
+		DirectFeature feature;
+		if (objectClassId == buildingClassId)
+			feature = new DirectFeature(buildingModule, "Building");
+		else if (objectClassId == cityFurnitureClassId)
+			feature = new DirectFeature(cityFurnitureModule, "CityFurniture");
+		else if (objectClassId == genericCityObjectClassId)
+			feature = new DirectFeature(genericsModule, "GenericCityObject");
+		else
+			return false;
+
+		psCityObject.setLong(1, objectId);
+		try (ResultSet rs = psCityObject.executeQuery()) {
+			if (!rs.next())
+				return false;
+
+			addCityObjectProperties(feature, rs, setEnvelope);
+		}
+
+		// fetch all geometries of the feature with a single query and fall back to
+		// the regular exporters for geometries that cannot be written directly
+		boolean isSupported;
+		if (objectClassId == buildingClassId)
+			isSupported = addBuildingProperties(objectId, feature);
+		else if (objectClassId == cityFurnitureClassId)
+			isSupported = addCityFurnitureProperties(objectId, feature);
+		else
+			isSupported = addGenericCityObjectProperties(objectId, feature);
+
+		geometries.clear();
+		if (!isSupported)
+			return false;
+
+		// the buffer is handed over to the writer and therefore cannot be reused
+		SAXEventBuffer buffer = new SAXEventBuffer();
+		geometryTypes.clear();
+
+		try {
+			writeFeature(feature, buffer);
+			writer.write(buffer, feature.gmlId, sequenceId);
+		} catch (SAXException | FeatureWriteException e) {
+			throw new CityGMLExportException("Failed to write " + exporter.getObjectSignature(objectClassId, objectId) + ".", e);
+		}
+
+		// update export counter
+		exportCounter.updateObjectCounter(objectClassId);
+		for (DirectFeature boundarySurface : feature.nestedFeatures)
+			exportCounter.updateObjectCounter(boundarySurface.objectClassId);
+
+		for (GMLClass type : geometryTypes)
+			exportCounter.updateGeometryCounter(type);
+
+		// register gml:id in cache
+		if (registerGmlIdInCache && feature.gmlId != null)
+			exporter.putObjectUID(feature.gmlId, objectId, objectClassId);
+
+		return true;
+	}
+
+	private void addCityObjectProperties(DirectFeature feature, ResultSet rs, boolean setEnvelope) throws SQLException {
+		feature.gmlId = rs.getString("gmlid");
+
+		// gml:description
+		String description = rs.getString("description");
+		if (description != null)
+			feature.gmlProperties.add(new Property(gmlModule, "description", description));
+
+		// gml:name
+		for (SplitValue splitValue : valueSplitter.split(rs.getString("name"), rs.getString("name_codespace")))
+			feature.gmlProperties.add(new Property(gmlModule, "name", splitValue.result(0), "codeSpace", splitValue.result(1)));
+
+		// gml:boundedBy
+		if (setEnvelope) {
+			Object object = rs.getObject("envelope");
+			if (!rs.wasNull())
+				feature.envelope = exporter.getDatabaseAdapter().getGeometryConverter().getEnvelope(object);
+		}
+
+		// core:creationDate
+		OffsetDateTime creationDate = rs.getObject("creation_date", OffsetDateTime.class);
+		if (creationDate != null)
+			feature.properties.add(new Property(coreModule, "creationDate", formatDate(creationDate)));
+
+		// core:terminationDate
+		OffsetDateTime terminationDate = rs.getObject("termination_date", OffsetDateTime.class);
+		if (terminationDate != null)
+			feature.properties.add(new Property(coreModule, "terminationDate", formatDate(terminationDate)));
+
+		// core:relativeToTerrain
+		String relativeToTerrain = rs.getString("relative_to_terrain");
+		if (relativeToTerrain != null && RelativeToTerrain.fromValue(relativeToTerrain) != null)
+			feature.properties.add(new Property(coreModule, "relativeToTerrain", RelativeToTerrain.fromValue(relativeToTerrain).getValue()));
+
+		// core:relativeToWater
+		String relativeToWater = rs.getString("relative_to_water");
+		if (relativeToWater != null && RelativeToWater.fromValue(relativeToWater) != null)
+			feature.properties.add(new Property(coreModule, "relativeToWater", RelativeToWater.fromValue(relativeToWater).getValue()));
+	}
+
+	private boolean addBuildingProperties(long objectId, DirectFeature feature) throws SQLException {
+		if (psBuilding == null) {
+			String building = exporter.getTableNameWithSchema(TableEnum.BUILDING.getName());
+			String thematicSurface = exporter.getTableNameWithSchema(TableEnum.THEMATIC_SURFACE.getName());
+
+			psBuilding = connection.prepareStatement("select b.class, b.class_codespace, b.function, b.function_codespace, b.usage, b.usage_codespace, " +
+					"b.year_of_construction, b.year_of_demolition, b.roof_type, b.roof_type_codespace, b.measured_height, b.measured_height_unit, " +
+					"b.storeys_above_ground, b.storeys_below_ground, b.lod0_footprint_id, b.lod0_roofprint_id, " +
+					"b.lod1_solid_id, b.lod1_multi_surface_id, b.lod2_solid_id, b.lod2_multi_surface_id, " +
+					"b.lod3_solid_id, b.lod3_multi_surface_id, b.lod4_solid_id, b.lod4_multi_surface_id " +
+					"from " + building + " b where b.id = ?");
+
+			psThematicSurface = connection.prepareStatement("select ts.objectclass_id, ts.lod2_multi_surface_id, ts.lod3_multi_surface_id, ts.lod4_multi_surface_id, " +
+					cityObjectColumns + " from " + thematicSurface + " ts, " + exporter.getTableNameWithSchema(TableEnum.CITYOBJECT.getName()) +
+					" co where co.id = ts.id and ts.building_id = ? order by ts.id");
+
+			psBuildingGeometry = connection.prepareStatement(getSurfaceGeometrySelect() + " where cityobject_id = ? " +
+					"or cityobject_id in (select id from " + thematicSurface + " where building_id = ?)");
+		}
+
+		psBuildingGeometry.setLong(1, objectId);
+		psBuildingGeometry.setLong(2, objectId);
+		if (!loadGeometries(psBuildingGeometry))
+			return false;
+
+		psBuilding.setLong(1, objectId);
+
+		try (ResultSet rs = psBuilding.executeQuery()) {
+			if (!rs.next())
+				return false;
+
+			addCodeProperties(feature, rs, "class", false);
+			addCodeProperties(feature, rs, "function", true);
+			addCodeProperties(feature, rs, "usage", true);
+
+			// bldg:yearOfConstruction and bldg:yearOfDemolition
+			LocalDate yearOfConstruction = rs.getObject("year_of_construction", LocalDate.class);
+			if (yearOfConstruction != null)
+				feature.properties.add(new Property(buildingModule, "yearOfConstruction", formatYear(yearOfConstruction)));
+
+			LocalDate yearOfDemolition = rs.getObject("year_of_demolition", LocalDate.class);
+			if (yearOfDemolition != null)
+				feature.properties.add(new Property(buildingModule, "yearOfDemolition", formatYear(yearOfDemolition)));
+
+			// bldg:roofType
+			String roofType = rs.getString("roof_type");
+			if (roofType != null)
+				feature.properties.add(new Property(buildingModule, "roofType", roofType, "codeSpace", rs.getString("roof_type_codespace")));
+
+			// bldg:measuredHeight
+			double measuredHeight = rs.getDouble("measured_height");
+			if (!rs.wasNull())
+				feature.properties.add(new Property(buildingModule, "measuredHeight", String.valueOf(measuredHeight), "uom", rs.getString("measured_height_unit")));
+
+			// bldg:storeysAboveGround and bldg:storeysBelowGround
+			int storeysAboveGround = rs.getInt("storeys_above_ground");
+			if (!rs.wasNull())
+				feature.properties.add(new Property(buildingModule, "storeysAboveGround", String.valueOf(storeysAboveGround)));
+
+			int storeysBelowGround = rs.getInt("storeys_below_ground");
+			if (!rs.wasNull())
+				feature.properties.add(new Property(buildingModule, "storeysBelowGround", String.valueOf(storeysBelowGround)));
+
+			// bldg:lod0FootPrint and bldg:lod0RoofEdge are only available in CityGML 2.0
+			if (isCityGMLv2) {
+				if (!addGeometryProperty(feature, rs, "lod0_footprint_id", "lod0FootPrint", GeometryKind.MULTI_SURFACE)
+						|| !addGeometryProperty(feature, rs, "lod0_roofprint_id", "lod0RoofEdge", GeometryKind.MULTI_SURFACE))
+					return false;
+			}
+
+			// bldg:lodXSolid and bldg:lodXMultiSurface
+			for (int lod = 1; lod < 5; lod++) {
+				if (!addGeometryProperty(feature, rs, "lod" + lod + "_solid_id", "lod" + lod + "Solid", GeometryKind.SOLID)
+						|| !addGeometryProperty(feature, rs, "lod" + lod + "_multi_surface_id", "lod" + lod + "MultiSurface", GeometryKind.MULTI_SURFACE))
+					return false;
+
+				// bldg:boundedBy follows the LoD2 geometries
+				if (lod == 2 && !addBoundarySurfaces(objectId, feature))
+					return false;
+			}
+
+			return true;
+		}
+	}
+
+	private boolean addBoundarySurfaces(long objectId, DirectFeature feature) throws SQLException {
+		psThematicSurface.setLong(1, objectId);
+
+		try (ResultSet rs = psThematicSurface.executeQuery()) {
+			while (rs.next()) {
+				int objectClassId = rs.getInt("objectclass_id");
+				String localName = boundarySurfaces.get(objectClassId);
+				if (localName == null)
+					return false;
+
+				DirectFeature boundarySurface = new DirectFeature(buildingModule, localName);
+				boundarySurface.objectClassId = objectClassId;
+				addCityObjectProperties(boundarySurface, rs, setNestedEnvelope);
+
+				for (int lod = 2; lod < 5; lod++) {
+					if (!addGeometryProperty(boundarySurface, rs, "lod" + lod + "_multi_surface_id", "lod" + lod + "MultiSurface", GeometryKind.MULTI_SURFACE))
+						return false;
+				}
+
+				feature.properties.add(new Property(buildingModule, "boundedBy", boundarySurface));
+				feature.nestedFeatures.add(boundarySurface);
+			}
+		}
+
+		return true;
+	}
+
+	private boolean addCityFurnitureProperties(long objectId, DirectFeature feature) throws SQLException {
+		if (psCityFurniture == null)
+			psCityFurniture = connection.prepareStatement(getSimpleFeatureSelect(TableEnum.CITY_FURNITURE, 1));
+
+		psCityFurniture.setLong(1, objectId);
+		return addSimpleFeatureProperties(objectId, psCityFurniture, feature, 1);
+	}
+
+	private boolean addGenericCityObjectProperties(long objectId, DirectFeature feature) throws SQLException {
+		if (psGenericCityObject == null)
+			psGenericCityObject = connection.prepareStatement(getSimpleFeatureSelect(TableEnum.GENERIC_CITYOBJECT, 0));
+
+		psGenericCityObject.setLong(1, objectId);
+		return addSimpleFeatureProperties(objectId, psGenericCityObject, feature, isCityGMLv2 ? 0 : 1);
+	}
+
+	private String getSimpleFeatureSelect(TableEnum table, int minLod) {
+		StringBuilder select = new StringBuilder("select t.class, t.class_codespace, t.function, t.function_codespace, t.usage, t.usage_codespace");
+		for (int lod = minLod; lod < 5; lod++)
+			select.append(", t.lod").append(lod).append("_brep_id");
+
+		return select.append(" from ").append(exporter.getTableNameWithSchema(table.getName())).append(" t where t.id = ?").toString();
+	}
+
+	private boolean addSimpleFeatureProperties(long objectId, PreparedStatement ps, DirectFeature feature, int minLod) throws SQLException {
+		psSurfaceGeometry.setLong(1, objectId);
+		if (!loadGeometries(psSurfaceGeometry))
+			return false;
+
+		try (ResultSet rs = ps.executeQuery()) {
+			if (!rs.next())
+				return false;
+
+			addCodeProperties(feature, rs, "class", false);
+			addCodeProperties(feature, rs, "function", true);
+
+			// usage is only available in CityGML 2.0
+			if (isCityGMLv2)
+				addCodeProperties(feature, rs, "usage", true);
+
+			for (int lod = minLod; lod < 5; lod++) {
+				if (!addGeometryProperty(feature, rs, "lod" + lod + "_brep_id", "lod" + lod + "Geometry", GeometryKind.ANY))
+					return false;
+			}
+
+			return true;
+		}
+	}
+
+	private void addCodeProperties(DirectFeature feature, ResultSet rs, String name, boolean split) throws SQLException {
+		String value = rs.getString(name);
+		if (value == null)
+			return;
+
+		if (split) {
+			for (SplitValue splitValue : valueSplitter.split(value, rs.getString(name + "_codespace")))
+				feature.properties.add(new Property(feature.module, name, splitValue.result(0), "codeSpace", splitValue.result(1)));
+		} else
+			feature.properties.add(new Property(feature.module, name, value, "codeSpace", rs.getString(name + "_codespace")));
+	}
+
+	private boolean addGeometryProperty(DirectFeature feature, ResultSet rs, String column, String name, GeometryKind kind) throws SQLException {
+		long rootId = rs.getLong(column);
+		if (rs.wasNull())
+			return true;
+
+		GeometryNode root = geometries.get(rootId);
+		if (root == null || root.parentId != 0 || !setGeometryType(root) || !kind.accepts(root.type))
+			return false;
+
+		feature.properties.add(new Property(feature.module, name, root));
+		return true;
+	}
+
+	private String getSurfaceGeometrySelect() {
+		return "select id, gmlid, parent_id, is_solid, is_composite, is_triangulated, is_xlink, is_reverse, " +
+				exporter.getGeometryColumn("geometry") + " from " + exporter.getTableNameWithSchema(TableEnum.SURFACE_GEOMETRY.getName());
+	}
+
+	private boolean loadGeometries(PreparedStatement ps) throws SQLException {
+		geometries.clear();
+		List<GeometryNode> rows = new ArrayList<>();
+
+		try (ResultSet rs = ps.executeQuery()) {
+			while (rs.next()) {
+				GeometryNode node = new GeometryNode();
+				node.id = rs.getLong("id");
+				node.gmlId = rs.getString("gmlid");
+				node.parentId = rs.getLong("parent_id");
+				node.isSolid = rs.getBoolean("is_solid");
+				node.isComposite = rs.getBoolean("is_composite");
+				node.isXlink = rs.getBoolean("is_xlink");
+
+				// reversed and triangulated surfaces are left to the regular exporter
+				node.isUnsupported = rs.getBoolean("is_reverse") || rs.getBoolean("is_triangulated");
+
+				Object object = rs.getObject("geometry");
+				if (!rs.wasNull()) {
+					try {
+						node.geometry = exporter.getDatabaseAdapter().getGeometryConverter().getPolygon(object);
+					} catch (Exception e) {
+						//
+					}
+
+					if (node.geometry == null)
+						node.isUnsupported = true;
+				}
+
+				geometries.put(node.id, node);
+				rows.add(node);
+			}
+		}
+
+		for (GeometryNode node : rows) {
+			if (node.parentId != 0) {
+				GeometryNode parent = geometries.get(node.parentId);
+				if (parent == null)
+					return false;
+
+				parent.childNodes.add(node);
+			}
+		}
+
+		return true;
+	}
+
+	private boolean setGeometryType(GeometryNode node) {
+		if (node.isUnsupported)
+			return false;
+
+		if (node.geometry != null) {
+			node.type = GMLClass.POLYGON;
+			return node.childNodes.isEmpty();
+		}
+
+		if (node.childNodes.isEmpty())
+			return false;
+
+		for (GeometryNode childNode : node.childNodes) {
+			if (!setGeometryType(childNode))
+				return false;
+		}
+
+		if (!node.isSolid && node.isComposite) {
+			node.type = GMLClass.COMPOSITE_SURFACE;
+			return hasChildNodes(node, GeometryKind.SURFACE);
+		} else if (node.isSolid && !node.isComposite) {
+			node.type = GMLClass.SOLID;
+			return node.childNodes.size() == 1 && hasChildNodes(node, GeometryKind.SURFACE);
+		} else if (node.isSolid) {
+			node.type = GMLClass.COMPOSITE_SOLID;
+			return hasChildNodes(node, GeometryKind.SOLID);
+		} else if (hasChildNodes(node, GeometryKind.SOLID)) {
+			node.type = GMLClass.MULTI_SOLID;
+			return true;
+		} else {
+			node.type = GMLClass.MULTI_SURFACE;
+			return hasChildNodes(node, GeometryKind.SURFACE);
+		}
+	}
+
+	private boolean hasChildNodes(GeometryNode node, GeometryKind kind) {
+		for (GeometryNode childNode : node.childNodes) {
+			if (!kind.accepts(childNode.type))
+				return false;
+		}
+
+		return true;
+	}
+
+	private void writeFeature(DirectFeature feature, SAXEventBuffer buffer) throws SAXException {
+		buffer.startPrefixMapping(gmlModule.getNamespacePrefix(), gmlModule.getNamespaceURI());
+		buffer.startPrefixMapping(xlinkModule.getNamespacePrefix(), xlinkModule.getNamespaceURI());
+		buffer.startPrefixMapping(coreModule.getNamespacePrefix(), coreModule.getNamespaceURI());
+		buffer.startPrefixMapping(feature.module.getNamespacePrefix(), feature.module.getNamespaceURI());
+
+		startElement(buffer, coreModule, "cityObjectMember", noAttributes());
+		writeFeatureContent(buffer, feature);
+		endElement(buffer, coreModule, "cityObjectMember");
+
+		buffer.endPrefixMapping(feature.module.getNamespacePrefix());
+		buffer.endPrefixMapping(coreModule.getNamespacePrefix());
+		buffer.endPrefixMapping(xlinkModule.getNamespacePrefix());
+		buffer.endPrefixMapping(gmlModule.getNamespacePrefix());
+	}
+
+	private void writeFeatureContent(SAXEventBuffer buffer, DirectFeature feature) throws SAXException {
+		startElement(buffer, feature.module, feature.localName, gmlId(feature.gmlId));
+
+		for (Property property : feature.gmlProperties)
+			writeProperty(buffer, property);
+
+		if (feature.envelope != null) {
+			double[] coordinates = feature.envelope.getCoordinates(0);
+			startElement(buffer, gmlModule, "boundedBy", noAttributes());
+			startElement(buffer, gmlModule, "Envelope", attributes("srsName", gmlSrsName, "srsDimension", "3"));
+			writeSimpleElement(buffer, gmlModule, "lowerCorner", toString(coordinates, 0, 3));
+			writeSimpleElement(buffer, gmlModule, "upperCorner", toString(coordinates, 3, 6));
+			endElement(buffer, gmlModule, "Envelope");
+			endElement(buffer, gmlModule, "boundedBy");
+		}
+
+		for (Property property : feature.properties)
+			writeProperty(buffer, property);
+
+		endElement(buffer, feature.module, feature.localName);
+	}
+
+	private void writeProperty(SAXEventBuffer buffer, Property property) throws SAXException {
+		if (property.geometry != null)
+			writeGeometryProperty(buffer, property.module, property.localName, property.geometry);
+		else if (property.feature != null) {
+			startElement(buffer, property.module, property.localName, noAttributes());
+			writeFeatureContent(buffer, property.feature);
+			endElement(buffer, property.module, property.localName);
+		} else {
+			startElement(buffer, property.module, property.localName, attributes(property.attributeName, property.attributeValue));
+			characters(buffer, property.value);
+			endElement(buffer, property.module, property.localName);
+		}
+	}
+
+	private void writeGeometryProperty(SAXEventBuffer buffer, Module module, String localName, GeometryNode node) throws SAXException {
+		// geometries shared with other features are written once and referenced afterwards
+		if (node.isXlink && node.gmlId != null && exporter.lookupAndPutGeometryUID(node.gmlId, node.id)) {
+			if (useXLink) {
+				attributes.clear();
+				attributes.addAttribute(xlinkModule.getNamespaceURI(), "href", xlinkModule.getNamespacePrefix() + ":href", "CDATA", "#" + node.gmlId);
+				startElement(buffer, module, localName, attributes);
+				endElement(buffer, module, localName);
+				return;
+			} else {
+				String gmlId = DefaultGMLIdManager.getInstance().generateUUID(gmlIdPrefix);
+				node.gmlId = appendOldGmlId ? gmlId + "-" + node.gmlId : gmlId;
+			}
+		}
+
+		startElement(buffer, module, localName, noAttributes());
+		writeGeometry(buffer, node);
+		endElement(buffer, module, localName);
+	}
+
+	private void writeGeometry(SAXEventBuffer buffer, GeometryNode node) throws SAXException {
+		geometryTypes.add(node.type);
+
+		switch (node.type) {
+			case POLYGON:
+				writePolygon(buffer, node);
+				break;
+			case COMPOSITE_SURFACE:
+				writeAggregate(buffer, node, "CompositeSurface", "surfaceMember");
+				break;
+			case MULTI_SURFACE:
+				writeAggregate(buffer, node, "MultiSurface", "surfaceMember");
+				break;
+			case SOLID:
+				writeAggregate(buffer, node, "Solid", "exterior");
+				break;
+			case COMPOSITE_SOLID:
+				writeAggregate(buffer, node, "CompositeSolid", "solidMember");
+				break;
+			case MULTI_SOLID:
+				writeAggregate(buffer, node, "MultiSolid", "solidMember");
+				break;
+			default:
+				break;
+		}
+	}
+
+	private void writeAggregate(SAXEventBuffer buffer, GeometryNode node, String localName, String memberName) throws SAXException {
+		startElement(buffer, gmlModule, localName, gmlId(node.gmlId));
+		for (GeometryNode childNode : node.childNodes)
+			writeGeometryProperty(buffer, gmlModule, memberName, childNode);
+
+		endElement(buffer, gmlModule, localName);
+	}
+
+	private void writePolygon(SAXEventBuffer buffer, GeometryNode node) throws SAXException {
+		startElement(buffer, gmlModule, "Polygon", gmlId(node.gmlId));
+
+		for (int ringIndex = 0; ringIndex < node.geometry.getNumElements(); ringIndex++) {
+			String ringName = ringIndex == 0 ? "exterior" : "interior";
+			double[] coordinates = node.geometry.getCoordinates(ringIndex);
+			geometryTypes.add(GMLClass.LINEAR_RING);
+
+			startElement(buffer, gmlModule, ringName, noAttributes());
+			startElement(buffer, gmlModule, "LinearRing", gmlId(node.gmlId != null ? node.gmlId + '_' + ringIndex + '_' : null));
+			startElement(buffer, gmlModule, "posList", attributes("srsDimension", "3"));
+			characters(buffer, toString(coordinates, 0, coordinates.length));
+			endElement(buffer, gmlModule, "posList");
+			endElement(buffer, gmlModule, "LinearRing");
+			endElement(buffer, gmlModule, ringName);
+		}
+
+		endElement(buffer, gmlModule, "Polygon");
+	}
+
+	private void writeSimpleElement(SAXEventBuffer buffer, Module module, String localName, String value) throws SAXException {
+		startElement(buffer, module, localName, noAttributes());
+		characters(buffer, value);
+		endElement(buffer, module, localName);
+	}
+
+	private void startElement(SAXEventBuffer buffer, Module module, String localName, AttributesImpl attributes) throws SAXException {
+		buffer.startElement(module.getNamespaceURI(), localName, module.getNamespacePrefix() + ':' + localName, attributes);
+	}
+
+	private void endElement(SAXEventBuffer buffer, Module module, String localName) throws SAXException {
+		buffer.endElement(module.getNamespaceURI(), localName, module.getNamespacePrefix() + ':' + localName);
+	}
+
+	private void characters(SAXEventBuffer buffer, String value) throws SAXException {
+		char[] characters = value.toCharArray();
+		buffer.characters(characters, 0, characters.length);
+	}
+
+	private AttributesImpl noAttributes() {
+		attributes.clear();
+		return attributes;
+	}
+
+	private AttributesImpl gmlId(String gmlId) {
+		attributes.clear();
+		if (gmlId != null)
+			attributes.addAttribute(gmlModule.getNamespaceURI(), "id", gmlModule.getNamespacePrefix() + ":id", "ID", gmlId);
+
+		return attributes;
+	}
+
+	private AttributesImpl attributes(String... namesAndValues) {
+		attributes.clear();
+		for (int i = 0; i < namesAndValues.length - 1; i += 2) {
+			if (namesAndValues[i] != null && namesAndValues[i + 1] != null)
+				attributes.addAttribute("", namesAndValues[i], namesAndValues[i], "CDATA", namesAndValues[i + 1]);
+		}
+
+		return attributes;
+	}
+
+	private String toString(double[] coordinates, int from, int to) {
+		StringBuilder builder = new StringBuilder();
+		for (int i = from; i < to; i++) {
+			if (i > from)
+				builder.append(' ');
+
+			builder.append(coordinates[i]);
+		}
+
+		return builder.toString();
+	}
+
+	private String formatDate(OffsetDateTime date) {
+		// convert and print dates like the regular exporter and the xs:date binding of the marshaller
+		XMLGregorianCalendar calendar = datatypeFactory.newXMLGregorianCalendar(GregorianCalendar.from(Util.toZonedDateTime(date)));
+		calendar.setTime(DatatypeConstants.FIELD_UNDEFINED, DatatypeConstants.FIELD_UNDEFINED, DatatypeConstants.FIELD_UNDEFINED, DatatypeConstants.FIELD_UNDEFINED);
+		return calendar.toXMLFormat();
+	}
+
+	private String formatYear(LocalDate date) {
+		return String.format("%04d", date.getYear());
+	}
+
+	@Override
+	public void close() throws SQLException {
+		psCityObject.close();
+		psSurfaceGeometry.close();
+
+		if (psBuilding != null) {
+			psBuilding.close();
+			psBuildingGeometry.close();
+			psThematicSurface.close();
+		}
+
+		if (psCityFurniture != null)
+			psCityFurniture.close();
+
+		if (psGenericCityObject != null)
+			psGenericCityObject.close();
+	}
+
+	private enum GeometryKind {
+		SURFACE(GMLClass.POLYGON, GMLClass.COMPOSITE_SURFACE),
+		SOLID(GMLClass.SOLID, GMLClass.COMPOSITE_SOLID),
+		MULTI_SURFACE(GMLClass.MULTI_SURFACE),
+		ANY(GMLClass.POLYGON, GMLClass.COMPOSITE_SURFACE, GMLClass.MULTI_SURFACE,
+				GMLClass.SOLID, GMLClass.COMPOSITE_SOLID, GMLClass.MULTI_SOLID);
+
+		private final GMLClass[] types;
+
+		GeometryKind(GMLClass... types) {
+			this.types = types;
+		}
+
+		boolean accepts(GMLClass type) {
+			for (GMLClass candidate : types) {
+				if (candidate == type)
+					return true;
+			}
+
+			return false;
+		}
+	}
+
+	private static final class DirectFeature {
+		final Module module;
+		final String localName;
+		final List<Property> gmlProperties = new ArrayList<>();
+		final List<Property> properties = new ArrayList<>();
+		final List<DirectFeature> nestedFeatures = new ArrayList<>();
+		int objectClassId;
+		String gmlId;
+		GeometryObject envelope;
+
+		DirectFeature(Module module, String localName) {
+			this.module = module;
+			this.localName = localName;
+		}
+	}
+
+	private static final class Property {
+		final Module module;
+		final String localName;
+		final String value;
+		final String attributeName;
+		final String attributeValue;
+		final GeometryNode geometry;
+		final DirectFeature feature;
+
+		Property(Module module, String localName, String value, String attributeName, String attributeValue) {
+			this.module = module;
+			this.localName = localName;
+			this.value = value;
+			this.attributeName = attributeName;
+			this.attributeValue = attributeValue;
+			geometry = null;
+			feature = null;
+		}
+
+		Property(Module module, String localName, String value) {
+			this(module, localName, value, null, null);
+		}
+
+		Property(Module module, String localName, GeometryNode geometry) {
+			this.module = module;
+			this.localName = localName;
+			this.geometry = geometry;
+			value = null;
+			attributeName = null;
+			attributeValue = null;
+			feature = null;
+		}
+
+		Property(Module module, String localName, DirectFeature feature) {
+			this.module = module;
+			this.localName = localName;
+			this.feature = feature;
+			value = null;
+			attributeName = null;
+			attributeValue = null;
+			geometry = null;
+		}
+	}
+
+	private static final class GeometryNode {
+		long id;
+		String gmlId;
+		long parentId;
+		boolean isSolid;
+		boolean isComposite;
+		boolean isXlink;
+		boolean isUnsupported;
+		GeometryObject geometry;
+		GMLClass type;
+		final List<GeometryNode> childNodes = new ArrayList<>();
+	}
+}
@@ -0,0 +1,145 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * http://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2019
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.gis.bgu.tum.de/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * virtualcitySYSTEMS GmbH, Berlin <http://www.virtualcitysystems.de/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.citygml.exporter.database.content;
+
+import org.citydb.database.schema.mapping.AbstractProperty;
+import org.citydb.database.schema.mapping.FeatureType;
+import org.citydb.database.schema.mapping.GeometryProperty;
+import org.citydb.query.filter.lod.LodFilter;
+import org.citydb.query.filter.lod.LodFilterMode;
+import org.citydb.query.filter.lod.LodIterator;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class DBLodPushdown implements DBExporter {
+	private final Connection connection;
+	private final CityGMLExportManager exporter;
+	private final LodFilter lodFilter;
+	private final boolean isMaximumMode;
+	private final Map<Integer, PreparedStatement> statements = new HashMap<>();
+
+	public DBLodPushdown(Connection connection, LodFilter lodFilter, CityGMLExportManager exporter) {
+		this.connection = connection;
+		this.lodFilter = lodFilter;
+		this.exporter = exporter;
+
+		isMaximumMode = lodFilter.getFilterMode() == LodFilterMode.MAXIMUM;
+	}
+
+	protected int[] getLodRange(long objectId, FeatureType featureType) throws SQLException {
+		PreparedStatement ps = getStatement(featureType);
+		if (ps == null)
+			return null;
+
+		ps.setLong(1, objectId);
+		try (ResultSet rs = ps.executeQuery()) {
+			int lod = rs.next() ? rs.getInt(1) : -1;
+			if (lod < 0)
+				return null;
+
+			// the target LoD of the whole feature cannot be lower (MAXIMUM) or higher (MINIMUM)
+			// than the highest or lowest LoD found for the top-level feature itself
+			return isMaximumMode ? new int[]{lod, 4} : new int[]{0, lod};
+		}
+	}
+
+	private PreparedStatement getStatement(FeatureType featureType) throws SQLException {
+		int objectClassId = featureType.getObjectClassId();
+		if (statements.containsKey(objectClassId))
+			return statements.get(objectClassId);
+
+		// collect the LoD geometry columns stored in the table of the feature type
+		Map<Integer, List<String>> columns = new HashMap<>();
+		for (FeatureType type = featureType; type != null; type = type.isSetExtension() ? type.getExtension().getBase() : null) {
+			if (!featureType.getTable().equals(type.getTable()))
+				continue;
+
+			for (AbstractProperty property : type.getProperties()) {
+				if (!(property instanceof GeometryProperty))
+					continue;
+
+				GeometryProperty geometryProperty = (GeometryProperty) property;
+				if (!geometryProperty.isSetLod()
+						|| geometryProperty.isSetJoin()
+						|| !lodFilter.isEnabled(geometryProperty.getLod()))
+					continue;
+
+				List<String> lodColumns = columns.computeIfAbsent(geometryProperty.getLod(), v -> new ArrayList<>());
+				if (geometryProperty.isSetRefColumn())
+					lodColumns.add(geometryProperty.getRefColumn());
+				if (geometryProperty.isSetInlineColumn())
+					lodColumns.add(geometryProperty.getInlineColumn());
+			}
+		}
+
+		PreparedStatement ps = null;
+		if (!columns.isEmpty()) {
+			StringBuilder select = new StringBuilder("select case");
+			LodIterator lodIterator = lodFilter.iterator(0, 4, isMaximumMode);
+			while (lodIterator.hasNext()) {
+				int lod = lodIterator.next();
+				List<String> lodColumns = columns.get(lod);
+				if (lodColumns == null || lodColumns.isEmpty())
+					continue;
+
+				select.append(" when ");
+				for (int i = 0; i < lodColumns.size(); i++) {
+					if (i > 0)
+						select.append(" or ");
+
+					select.append(lodColumns.get(i)).append(" is not null");
+				}
+
+				select.append(" then ").append(lod);
+			}
+
+			select.append(" else -1 end from ").append(exporter.getTableNameWithSchema(featureType.getTable()))
+					.append(" where id = ?");
+
+			ps = connection.prepareStatement(select.toString());
+		}
+
+		statements.put(objectClassId, ps);
+		return ps;
+	}
+
+	@Override
+	public void close() throws SQLException {
+		for (PreparedStatement ps : statements.values()) {
+			if (ps != null)
+				ps.close();
+		}
+	}
+}
@@ -31,14 +31,18 @@ import org.citydb.citygml.common.database.cache.CacheTable;
 import org.citydb.citygml.common.database.cache.CacheTableManager;
 import org.citydb.citygml.common.database.cache.model.CacheTableModel;
 import org.citydb.citygml.common.database.uid.UIDCache;
+import org.citydb.citygml.exporter.writer.CityGMLWriter;
 import org.citydb.citygml.exporter.writer.FeatureWriteException;
 import org.citydb.citygml.exporter.writer.FeatureWriter;
+import org.citydb.concurrent.DefaultWorker;
+import org.citydb.concurrent.PoolSizeAdaptationStrategy;
 import org.citydb.concurrent.WorkerPool;
 import org.citydb.config.Config;
 import org.citydb.config.geometry.BoundingBox;
 import org.citydb.config.geometry.GeometryObject;
 import org.citydb.config.geometry.Position;
 import org.citydb.config.i18n.Language;
+import org.citydb.config.project.exporter.ParallelQuery;
 import org.citydb.database.adapter.AbstractDatabaseAdapter;
 import org.citydb.database.connection.DatabaseConnectionPool;
 import org.citydb.database.schema.mapping.AbstractObjectType;
@@ -56,12 +60,16 @@ import org.citydb.query.Query;
 import org.citydb.query.builder.QueryBuildException;
 import org.citydb.query.builder.sql.AppearanceFilterBuilder;
 import org.citydb.query.builder.sql.BuildProperties;
+import org.citydb.query.builder.sql.IdCacheTables;
 import org.citydb.query.builder.sql.SQLQueryBuilder;
 import org.citydb.query.filter.FilterException;
 import org.citydb.query.filter.selection.Predicate;
 import org.citydb.query.filter.selection.SelectionFilter;
+import org.citydb.query.filter.tiling.Tile;
+import org.citydb.query.filter.tiling.TileBuckets;
 import org.citydb.query.filter.type.FeatureTypeFilter;
 import org.citydb.sqlbuilder.expression.LiteralList;
+import org.citydb.sqlbuilder.expression.LongLiteral;
 import org.citydb.sqlbuilder.schema.Column;
 import org.citydb.sqlbuilder.schema.Table;
 import org.citydb.sqlbuilder.select.PredicateToken;
@@ -73,20 +81,27 @@ import org.citydb.sqlbuilder.select.operator.logical.LogicalOperationFactory;
 import org.citydb.sqlbuilder.select.operator.set.SetOperationFactory;
 import org.citydb.sqlbuilder.select.projection.Function;
 import org.citydb.sqlbuilder.select.projection.WildCardColumn;
+import org.citydb.util.HilbertOrderBuffer;
 import org.citygml4j.model.module.citygml.AppearanceModule;
 import org.citygml4j.model.module.citygml.CityObjectGroupModule;
 import org.citygml4j.model.module.citygml.CoreModule;
 
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class DBSplitter {
+	private static final String DIRECT_EXPORT = "direct_export";
 	private final Logger log = Logger.getInstance();
 
 	private final WorkerPool<DBSplittingResult> dbWorkerPool;
@@ -103,11 +118,18 @@ public class DBSplitter {
 	private final SchemaMapping schemaMapping;
 	private final SQLQueryBuilder builder;
 	private final boolean calculateExtent;
+	private final boolean useSpatialOrdering;
+	private final int partitions;
+	private final int fetchSize;
+	private final String directExportCondition;
+	private final AtomicLong sequenceId = new AtomicLong();
 
 	private MetadataProvider metadataProvider;
+	private TileBuckets tileBuckets;
 	private volatile boolean shouldRun = true;
+	private volatile Exception partitionException;
+	private boolean isHeaderWritten;
 	private boolean calculateNumberMatched;
-	private long sequenceId;
 
 	public DBSplitter(FeatureWriter writer,
 			SchemaMapping schemaMapping,
@@ -115,6 +137,7 @@ public class DBSplitter {
 			Query query,
 			UIDCache featureGmlIdCache,
 			CacheTableManager cacheTableManager,
+			IdCacheTables idCacheTables,
 			EventDispatcher eventDispatcher, 
 			Config config) throws SQLException {
 		this.writer = writer;
@@ -131,6 +154,14 @@ public class DBSplitter {
 		connection.setAutoCommit(false);
 		schema = databaseAdapter.getConnectionDetails().getSchema();
 		calculateExtent = config.getProject().getExporter().getCityGMLOptions().getGMLEnvelope().isUseEnvelopeOnCityModel();
+		useSpatialOrdering = config.getProject().getExporter().getResources().getSpatialOrdering().isEnabled()
+				&& !query.isSetSorting();
+
+		ParallelQuery parallelQuery = config.getProject().getExporter().getResources().getParallelQuery();
+		fetchSize = parallelQuery.getFetchSize();
+		partitions = !parallelQuery.isEnabled() ? 1 : parallelQuery.isSetPartitions() ?
+				parallelQuery.getPartitions() :
+				Math.max(Runtime.getRuntime().availableProcessors() / 2, 2);
 
 		// try and change workspace for connection
 		if (databaseAdapter.hasVersioningSupport()) {
@@ -152,16 +183,26 @@ public class DBSplitter {
 		}
 
 		BuildProperties buildProperties = BuildProperties.defaults()
-				.addProjectionColumn(MappingConstants.GMLID);
+				.addProjectionColumn(MappingConstants.GMLID)
+				.useCacheTablesForIds(idCacheTables);
 
-		// add envelope column in case of tiled exports or if we must export the extent of the result set
-		if (query.isSetTiling() || calculateExtent)
+		// add envelope column in case of tiled exports, if we must export the extent of the result set
+		// or if top-level features shall be ordered along a space-filling curve
+		if (query.isSetTiling() || calculateExtent || useSpatialOrdering)
 			buildProperties.addProjectionColumn(MappingConstants.ENVELOPE);
 
 		builder = new SQLQueryBuilder(
 				schemaMapping, 
 				databaseAdapter, 
 				buildProperties);
+
+		// let the main query decide which top-level features can be written directly. the
+		// wrapping query does not guarantee the order of sorted results, so skip it for these
+		directExportCondition = writer instanceof CityGMLWriter
+				&& ((CityGMLWriter) writer).supportsDirectWriting()
+				&& !query.isSetSorting() ?
+				DBDirectFeatureExporter.getDirectExportCondition("q." + MappingConstants.ID, "q." + MappingConstants.OBJECTCLASS_ID, query, config, schema) :
+				null;
 	}
 
 	public MetadataProvider getMetadataProvider() {
@@ -172,6 +213,10 @@ public class DBSplitter {
 		this.metadataProvider = metadataProvider;
 	}
 
+	public void setTileBuckets(TileBuckets tileBuckets) {
+		this.tileBuckets = tileBuckets;
+	}
+
 	public boolean isCalculateNumberMatched() {
 		return calculateNumberMatched;
 	}
@@ -189,7 +234,7 @@ public class DBSplitter {
 		try {
 			FeatureType cityObjectGroupType = schemaMapping.getFeatureType("CityObjectGroup", CityObjectGroupModule.v2_0_0.getNamespaceURI());
 			Map<Long, DBSplittingResult> cityObjectGroups = new LinkedHashMap<>();
-			sequenceId = 0;
+			sequenceId.set(0);
 
 			queryCityObject(cityObjectGroupType, cityObjectGroups);
 
@@ -213,7 +258,7 @@ public class DBSplitter {
 				}
 			}
 
-			if (config.getInternal().isExportGlobalAppearances() && sequenceId > 0)
+			if (config.getInternal().isExportGlobalAppearances() && sequenceId.get() > 0)
 				queryGlobalAppearance();
 
 		} finally {
@@ -229,6 +274,22 @@ public class DBSplitter {
 		if (query.getFeatureTypeFilter().isEmpty())
 			return;
 
+		// top-level features have already been assigned to their tiles
+		if (tileBuckets != null && query.isSetTiling()) {
+			queryCityObjectFromBucket(cityObjectGroupType, cityObjectGroups);
+			return;
+		}
+
+		// scan contiguous id ranges in parallel if possible
+		if (partitions > 1
+				&& !calculateExtent
+				&& !query.isSetSorting()
+				&& !query.isSetCounterFilter()
+				&& !useSpatialOrdering) {
+			queryCityObjectInPartitions(cityObjectGroupType, cityObjectGroups);
+			return;
+		}
+
 		// create query statement
 		Select select = builder.buildQuery(query);
 
@@ -252,7 +313,7 @@ public class DBSplitter {
 		}
 
 		// issue query
-		try (PreparedStatement stmt = databaseAdapter.getSQLAdapter().prepareStatement(select, connection);
+		try (PreparedStatement stmt = prepareTopLevelStatement(select, connection);
 			 ResultSet rs = stmt.executeQuery()) {
 			if (rs.next()) {
 				if (calculateNumberMatched) {
@@ -295,6 +356,12 @@ public class DBSplitter {
 
 				writeDocumentHeader();
 
+				// order top-level features along a Hilbert curve through their envelope centers
+				HilbertOrderBuffer<DBSplittingResult> orderBuffer = useSpatialOrdering ?
+						new HilbertOrderBuffer<>(config.getProject().getExporter().getResources().getSpatialOrdering().getWindowSize(),
+								splitter -> dbWorkerPool.addWork(new DBSplittingResult(splitter, sequenceId.getAndIncrement()))) :
+						null;
+
 				do {
 					long id = rs.getLong(MappingConstants.ID);
 					int objectClassId = rs.getInt(MappingConstants.OBJECTCLASS_ID);
@@ -306,6 +373,7 @@ public class DBSplitter {
 					}
 
 					Object envelope = query.isSetTiling() ? rs.getObject(MappingConstants.ENVELOPE) : null;
+					boolean directExport = directExportCondition != null && rs.getInt(DIRECT_EXPORT) == 1;
 
 					if (objectType.isEqualToOrSubTypeOf(cityObjectGroupType)) {
 						String gmlId = rs.getString(MappingConstants.GMLID);
@@ -318,10 +386,28 @@ public class DBSplitter {
 						continue;
 					}
 
+					if (orderBuffer != null) {
+						Object envelopeObj = rs.getObject(MappingConstants.ENVELOPE);
+						if (!rs.wasNull() && envelopeObj != null) {
+							double[] coordinates = databaseAdapter.getGeometryConverter().getEnvelope(envelopeObj).getCoordinates(0);
+							orderBuffer.add(new DBSplittingResult(id, objectType, envelope, -1, directExport),
+									(coordinates[0] + coordinates[3]) / 2.0,
+									(coordinates[1] + coordinates[4]) / 2.0);
+							continue;
+						}
+					}
+
 					// set initial context...
-					DBSplittingResult splitter = new DBSplittingResult(id, objectType, envelope, sequenceId++);
+					DBSplittingResult splitter = new DBSplittingResult(id, objectType, envelope, sequenceId.getAndIncrement(), directExport);
 					dbWorkerPool.addWork(splitter);
 				} while (rs.next() && shouldRun);
+
+				if (orderBuffer != null) {
+					if (shouldRun)
+						orderBuffer.flush();
+					else
+						orderBuffer.clear();
+				}
 			} else {
 				log.info("No top-level feature matches the query expression.");
 
@@ -341,6 +427,122 @@ public class DBSplitter {
 		}
 	}
 
+	private void queryCityObjectFromBucket(FeatureType cityObjectGroupType, Map<Long, DBSplittingResult> cityObjectGroups) throws SQLException, FeatureWriteException {
+		Tile activeTile = query.getTiling().getActiveTile();
+
+		List<TileBuckets.Entry> entries;
+		try {
+			entries = tileBuckets.get(activeTile);
+			tileBuckets.remove(activeTile);
+		} catch (IOException e) {
+			throw new SQLException("Failed to read the features assigned to the tile.", e);
+		}
+
+		if (entries.isEmpty()) {
+			log.info("No top-level feature matches the query expression.");
+
+			if (calculateExtent && config.getProject().getExporter().getCityGMLOptions().getGMLEnvelope().getCityModelEnvelopeMode().isUseTileExtent()) {
+				BoundingBox extent = new BoundingBox(activeTile.getExtent());
+				if (!extent.isSetSrs())
+					extent.setSrs(databaseAdapter.getConnectionMetaData().getReferenceSystem());
+
+				GeometryObject extentObj = GeometryObject.createEnvelope(extent, true);
+				writer.getMetadata().setSpatialExtent(getSpatialExtent(extentObj));
+			}
+
+			writeDocumentHeader();
+			return;
+		}
+
+		if (calculateNumberMatched) {
+			log.info("Found " + entries.size() + " top-level feature(s) matching the request.");
+			eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.INIT, entries.size(), this));
+		}
+
+		if (calculateExtent) {
+			double[] coordinates = new double[]{Double.MAX_VALUE, Double.MAX_VALUE, Double.MAX_VALUE,
+					-Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE};
+
+			for (TileBuckets.Entry entry : entries) {
+				GeometryObject envelope = entry.getEnvelope();
+				double[] values = envelope.getCoordinates(0);
+				int dimension = envelope.getDimension();
+				for (int i = 0; i < dimension; i++) {
+					coordinates[i] = Math.min(coordinates[i], values[i]);
+					coordinates[i + 3] = Math.max(coordinates[i + 3], values[i + dimension]);
+				}
+			}
+
+			if (config.getProject().getExporter().getCityGMLOptions().getGMLEnvelope().getCityModelEnvelopeMode().isUseTileExtent()) {
+				BoundingBox tileExtent = activeTile.getExtent();
+				coordinates[0] = tileExtent.getLowerCorner().getX();
+				coordinates[1] = tileExtent.getLowerCorner().getY();
+				coordinates[3] = tileExtent.getUpperCorner().getX();
+				coordinates[4] = tileExtent.getUpperCorner().getY();
+			}
+
+			if (coordinates[2] > coordinates[5]) {
+				coordinates[2] = 0;
+				coordinates[5] = 0;
+			}
+
+			GeometryObject extent = GeometryObject.createEnvelope(coordinates, 3,
+					databaseAdapter.getConnectionMetaData().getReferenceSystem().getSrid());
+			writer.getMetadata().setSpatialExtent(getSpatialExtent(extent));
+		}
+
+		writeDocumentHeader();
+
+		// order top-level features along a Hilbert curve through their envelope centers
+		HilbertOrderBuffer<DBSplittingResult> orderBuffer = useSpatialOrdering ?
+				new HilbertOrderBuffer<>(config.getProject().getExporter().getResources().getSpatialOrdering().getWindowSize(),
+						splitter -> dbWorkerPool.addWork(new DBSplittingResult(splitter, sequenceId.getAndIncrement()))) :
+				null;
+
+		for (Iterator<TileBuckets.Entry> iter = entries.iterator(); shouldRun && iter.hasNext(); ) {
+			TileBuckets.Entry entry = iter.next();
+			long id = entry.getId();
+			int objectClassId = entry.getObjectClassId();
+
+			AbstractObjectType<?> objectType = schemaMapping.getAbstractObjectType(objectClassId);
+			if (objectType == null) {
+				log.error("Failed to map the object class id '" + objectClassId + "' to an object type (ID: " + id + ").");
+				continue;
+			}
+
+			GeometryObject envelope = entry.getEnvelope();
+
+			if (objectType.isEqualToOrSubTypeOf(cityObjectGroupType)) {
+				String gmlId = entry.getGmlId();
+				cityObjectGroups.put(id, new DBSplittingResult(id, objectType, envelope, -1, false, false));
+
+				// register group in gml:id cache
+				if (gmlId != null && gmlId.length() > 0)
+					featureGmlIdCache.put(gmlId, id, -1, false, null, objectClassId);
+
+				continue;
+			}
+
+			if (orderBuffer != null) {
+				double[] coordinates = envelope.getCoordinates(0);
+				int dimension = envelope.getDimension();
+				orderBuffer.add(new DBSplittingResult(id, objectType, envelope, -1, entry.isDirectExport(), false),
+						(coordinates[0] + coordinates[dimension]) / 2.0,
+						(coordinates[1] + coordinates[dimension + 1]) / 2.0);
+				continue;
+			}
+
+			dbWorkerPool.addWork(new DBSplittingResult(id, objectType, envelope, sequenceId.getAndIncrement(), entry.isDirectExport(), false));
+		}
+
+		if (orderBuffer != null) {
+			if (shouldRun)
+				orderBuffer.flush();
+			else
+				orderBuffer.clear();
+		}
+	}
+
 	private void queryCityObjectGroups(FeatureType cityObjectGroupType, Map<Long, DBSplittingResult> cityObjectGroups) throws SQLException, FilterException, QueryBuildException {
 		if (!shouldRun)
 			return;
@@ -400,7 +602,7 @@ public class DBSplitter {
 			}
 
 			// issue query
-			try (PreparedStatement stmt = databaseAdapter.getSQLAdapter().prepareStatement(select, connection);
+			try (PreparedStatement stmt = prepareStatement(select, connection);
 				 ResultSet rs = stmt.executeQuery()) {
 				if (rs.next()) {
 					if (calculateNumberMatched) {
@@ -456,7 +658,7 @@ public class DBSplitter {
 
 		for (Iterator<Entry<Long, DBSplittingResult>> iter = cityObjectGroups.entrySet().iterator(); shouldRun && iter.hasNext(); ) {
 			Entry<Long, DBSplittingResult> entry = iter.next();
-			DBSplittingResult splitter = new DBSplittingResult(entry.getValue(), sequenceId++);
+			DBSplittingResult splitter = new DBSplittingResult(entry.getValue(), sequenceId.getAndIncrement());
 			dbWorkerPool.addWork(splitter);
 		}
 	}
@@ -499,7 +701,7 @@ public class DBSplitter {
 			hits = getNumberMatched(select, globalAppTempTable.getConnection());
 		}
 
-		try (PreparedStatement stmt = databaseAdapter.getSQLAdapter().prepareStatement(select, globalAppTempTable.getConnection());
+		try (PreparedStatement stmt = prepareStatement(select, globalAppTempTable.getConnection());
 			 ResultSet rs = stmt.executeQuery()) {
 			if (rs.next()) {
 				if (calculateNumberMatched) {
@@ -519,6 +721,107 @@ public class DBSplitter {
 		}
 	}
 
+	private void queryCityObjectInPartitions(FeatureType cityObjectGroupType, Map<Long, DBSplittingResult> cityObjectGroups) throws SQLException, QueryBuildException, FeatureWriteException {
+		// determine the id space of top-level features
+		long minId = 0, maxId = -1;
+		try (Statement stmt = connection.createStatement();
+			 ResultSet rs = stmt.executeQuery("select min(id), max(id) from " + schema + ".cityobject")) {
+			if (rs.next()) {
+				minId = rs.getLong(1);
+				maxId = rs.getLong(2);
+			}
+		}
+
+		List<IdRange> ranges = new ArrayList<>();
+		if (maxId >= minId) {
+			// split the id space into contiguous ranges that are scanned concurrently
+			long span = (maxId - minId) / partitions + 1;
+			for (long lower = minId; lower <= maxId; lower += span) {
+				Select select = builder.buildQuery(query);
+				Column id = (Column) select.getProjection().get(0);
+				select.addSelection(ComparisonFactory.greaterThanOrEqualTo(id, new LongLiteral(lower)));
+				select.addSelection(ComparisonFactory.lessThan(id, new LongLiteral(lower + span)));
+
+				ranges.add(new IdRange(select, cityObjectGroupType, cityObjectGroups));
+			}
+		}
+
+		log.debug("Querying top-level features using " + ranges.size() + " parallel id range(s).");
+		WorkerPool<IdRange> rangePool = new WorkerPool<>(
+				"db_splitter_pool",
+				Math.max(ranges.size(), 1),
+				Math.max(ranges.size(), 1),
+				PoolSizeAdaptationStrategy.NONE,
+				IdRangeWorker::new,
+				Math.max(ranges.size(), 1),
+				false);
+
+		rangePool.prestartCoreWorkers();
+
+		try {
+			// counting the hits per id range would scan every range twice. so the
+			// number of matching features is only reported after the ranges have
+			// been scanned and the progress bar is indeterminate until then
+			if (calculateNumberMatched)
+				eventDispatcher.triggerEvent(new StatusDialogProgressBar(true, this));
+
+			for (IdRange range : ranges)
+				rangePool.addWork(range);
+
+			join(rangePool);
+		} finally {
+			rangePool.shutdownNow();
+		}
+
+		long numberMatched = 0;
+		for (IdRange range : ranges)
+			numberMatched += range.numberMatched;
+
+		if (numberMatched == 0) {
+			if (shouldRun)
+				log.info("No top-level feature matches the query expression.");
+
+			writeDocumentHeaderOnce();
+		} else if (calculateNumberMatched) {
+			log.info("Found " + numberMatched + " top-level feature(s) matching the request.");
+			if (query.isSetTiling())
+				log.info("The total number of exported features might be less due to tiling settings.");
+		}
+	}
+
+	private void join(WorkerPool<IdRange> rangePool) throws SQLException, FeatureWriteException {
+		try {
+			rangePool.join();
+		} catch (InterruptedException e) {
+			//
+		}
+
+		if (partitionException instanceof SQLException)
+			throw (SQLException) partitionException;
+		else if (partitionException instanceof FeatureWriteException)
+			throw (FeatureWriteException) partitionException;
+	}
+
+	private PreparedStatement prepareStatement(Select select, Connection connection) throws SQLException {
+		PreparedStatement stmt = databaseAdapter.getSQLAdapter().prepareStatement(select, connection);
+
+		// use a server-side cursor instead of materializing the result set on the client
+		stmt.setFetchSize(fetchSize);
+		return stmt;
+	}
+
+	private PreparedStatement prepareTopLevelStatement(Select select, Connection connection) throws SQLException {
+		if (directExportCondition == null)
+			return prepareStatement(select, connection);
+
+		// evaluate whether the features can be written directly as part of the main query
+		PreparedStatement stmt = connection.prepareStatement("select q.*, " + directExportCondition + " as " + DIRECT_EXPORT +
+				" from (" + select + ") q");
+		databaseAdapter.getSQLAdapter().fillPlaceHolders(select, stmt, connection);
+		stmt.setFetchSize(fetchSize);
+		return stmt;
+	}
+
 	private long getNumberMatched(Query query, Connection connection) throws QueryBuildException, SQLException {
 		Query hitsQuery = new Query(query);
 		hitsQuery.unsetCounterFilter();
@@ -562,4 +865,104 @@ public class DBSplitter {
 		writer.writeHeader();
 	}
 
+	private synchronized void writeDocumentHeaderOnce() throws FeatureWriteException {
+		// id ranges are scanned concurrently, so the header is written
+		// by the first range that finds a matching feature
+		if (!isHeaderWritten) {
+			writeDocumentHeader();
+			isHeaderWritten = true;
+		}
+	}
+
+	private static final class IdRange {
+		private final Select select;
+		private final FeatureType cityObjectGroupType;
+		private final Map<Long, DBSplittingResult> cityObjectGroups;
+		private volatile long numberMatched;
+
+		private IdRange(Select select, FeatureType cityObjectGroupType, Map<Long, DBSplittingResult> cityObjectGroups) {
+			this.select = select;
+			this.cityObjectGroupType = cityObjectGroupType;
+			this.cityObjectGroups = cityObjectGroups;
+		}
+	}
+
+	private final class IdRangeWorker extends DefaultWorker<IdRange> {
+		private Connection connection;
+
+		@Override
+		public void doWork(IdRange range) {
+			try {
+				if (connection == null) {
+					connection = DatabaseConnectionPool.getInstance().getConnection();
+					connection.setAutoCommit(false);
+
+					// try and change workspace for connection
+					if (databaseAdapter.hasVersioningSupport()) {
+						databaseAdapter.getWorkspaceManager().gotoWorkspace(
+								connection,
+								config.getProject().getDatabase().getWorkspaces().getExportWorkspace());
+					}
+				}
+
+				scan(range);
+			} catch (SQLException | FeatureWriteException e) {
+				synchronized (DBSplitter.this) {
+					if (partitionException == null)
+						partitionException = e;
+				}
+			}
+		}
+
+		private void scan(IdRange range) throws SQLException, FeatureWriteException {
+			try (PreparedStatement stmt = prepareTopLevelStatement(range.select, connection);
+				 ResultSet rs = stmt.executeQuery()) {
+				while (rs.next() && shouldRun && partitionException == null) {
+					if (range.numberMatched++ == 0)
+						writeDocumentHeaderOnce();
+
+					long id = rs.getLong(MappingConstants.ID);
+					int objectClassId = rs.getInt(MappingConstants.OBJECTCLASS_ID);
+
+					AbstractObjectType<?> objectType = schemaMapping.getAbstractObjectType(objectClassId);
+					if (objectType == null) {
+						log.error("Failed to map the object class id '" + objectClassId + "' to an object type (ID: " + id + ").");
+						continue;
+					}
+
+					Object envelope = query.isSetTiling() ? rs.getObject(MappingConstants.ENVELOPE) : null;
+					boolean directExport = directExportCondition != null && rs.getInt(DIRECT_EXPORT) == 1;
+
+					if (objectType.isEqualToOrSubTypeOf(range.cityObjectGroupType)) {
+						String gmlId = rs.getString(MappingConstants.GMLID);
+						synchronized (range.cityObjectGroups) {
+							range.cityObjectGroups.put(id, new DBSplittingResult(id, objectType, envelope));
+						}
+
+						// register group in gml:id cache
+						if (gmlId != null && gmlId.length() > 0)
+							featureGmlIdCache.put(gmlId, id, -1, false, null, objectClassId);
+
+						continue;
+					}
+
+					// set initial context...
+					DBSplittingResult splitter = new DBSplittingResult(id, objectType, envelope, sequenceId.getAndIncrement(), directExport);
+					dbWorkerPool.addWork(splitter);
+				}
+			}
+		}
+
+		@Override
+		public void shutdown() {
+			if (connection != null) {
+				try {
+					connection.close();
+				} catch (SQLException e) {
+					//
+				}
+			}
+		}
+	}
+
 }
@@ -34,12 +34,24 @@ public class DBSplittingResult {
 	private final AbstractObjectType<?> objectType;
 	private final Object envelope;
 	private final long sequenceId;
+	private final boolean directExport;
+	private final boolean checkTile;
 
-	public DBSplittingResult(long id, AbstractObjectType<?> objectType, Object envelope, long sequenceId) {
+	public DBSplittingResult(long id, AbstractObjectType<?> objectType, Object envelope, long sequenceId, boolean directExport, boolean checkTile) {
 		this.id = id;
 		this.objectType = objectType;
 		this.envelope = envelope;
 		this.sequenceId = sequenceId;
+		this.directExport = directExport;
+		this.checkTile = checkTile;
+	}
+
+	public DBSplittingResult(long id, AbstractObjectType<?> objectType, Object envelope, long sequenceId, boolean directExport) {
+		this(id, objectType, envelope, sequenceId, directExport, true);
+	}
+
+	public DBSplittingResult(long id, AbstractObjectType<?> objectType, Object envelope, long sequenceId) {
+		this(id, objectType, envelope, sequenceId, false);
 	}
 
 	public DBSplittingResult(long id, AbstractObjectType<?> objectType, Object envelope) {
@@ -51,7 +63,7 @@ public class DBSplittingResult {
 	}
 
 	public DBSplittingResult(DBSplittingResult other, long sequenceId) {
-		this(other.id, other.objectType, other.envelope, sequenceId);
+		this(other.id, other.objectType, other.envelope, sequenceId, other.directExport, other.checkTile);
 	}
 
 	public long getId() {
@@ -69,4 +81,12 @@ public class DBSplittingResult {
 	public long getSequenceId() {
 		return sequenceId;
 	}
+
+	public boolean isDirectExport() {
+		return directExport;
+	}
+
+	public boolean isCheckTile() {
+		return checkTile;
+	}
 }
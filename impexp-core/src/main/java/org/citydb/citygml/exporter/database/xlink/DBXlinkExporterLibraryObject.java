@@ -54,7 +54,8 @@ public class DBXlinkExporterLibraryObject implements DBXlinkExporter {
 		outputFile = exporterManager.getOutputFile();
 		blobExporter = exporterManager.getDatabaseAdapter().getSQLAdapter()
 				.getBlobExportAdapter(connection, BlobType.LIBRARY_OBJECT)
-				.withBatchSize(exporterManager.getBlobBatchSize());
+				.withBatchSize(exporterManager.getBlobBatchSize())
+				.withAsyncWrites(exporterManager.getBlobBatchSize());
 	}
 
 	public boolean export(DBXlinkLibraryObject xlink) throws SQLException {
@@ -89,11 +90,9 @@ public class DBXlinkExporterLibraryObject implements DBXlinkExporter {
 		}
 
 		try {
-			blobExporter.addBatch(xlink.getId(), new BlobExportAdapter.BatchEntry(
-					() -> file != null ?
-							Files.newOutputStream(file) :
-							outputFile.newOutputStream(outputFile.resolve(CoreConstants.LIBRARY_OBJECTS_DIR, fileURI)),
-					() -> file == null || !Files.exists(file)));
+			blobExporter.addBatch(xlink.getId(), file != null ?
+					new BlobExportAdapter.BatchEntry(file, () -> !Files.exists(file)) :
+					new BlobExportAdapter.BatchEntry(() -> outputFile.newOutputStream(outputFile.resolve(CoreConstants.LIBRARY_OBJECTS_DIR, fileURI)), () -> true));
 
 			return true;
 		} catch (IOException e) {
@@ -110,7 +109,12 @@ public class DBXlinkExporterLibraryObject implements DBXlinkExporter {
 			log.error("Failed to batch export library objects.", e);
 		}
 
-		blobExporter.close();
+		try {
+			// waits for pending library objects to be written
+			blobExporter.close();
+		} catch (IOException e) {
+			log.error("Failed to write library objects.", e);
+		}
 	}
 
 	@Override
@@ -75,7 +75,8 @@ public class DBXlinkExporterTextureImage implements DBXlinkExporter {
 
         blobExporter = exporterManager.getDatabaseAdapter().getSQLAdapter()
                 .getBlobExportAdapter(connection, BlobType.TEXTURE_IMAGE)
-                .withBatchSize(exporterManager.getBlobBatchSize());
+                .withBatchSize(exporterManager.getBlobBatchSize())
+                .withAsyncWrites(exporterManager.getBlobBatchSize());
     }
 
     public boolean export(DBXlinkTextureFile xlink) throws SQLException {
@@ -117,11 +118,9 @@ public class DBXlinkExporterTextureImage implements DBXlinkExporter {
         }
 
         try {
-            int exported = blobExporter.addBatch(xlink.getId(), new BlobExportAdapter.BatchEntry(
-                    () -> file != null ?
-                            Files.newOutputStream(file) :
-                            outputFile.newOutputStream(outputFile.resolve(textureURI, fileURI)),
-                    () -> file == null || overwriteTextureImage || !Files.exists(file)));
+            int exported = blobExporter.addBatch(xlink.getId(), file != null ?
+                    new BlobExportAdapter.BatchEntry(file, () -> overwriteTextureImage || !Files.exists(file)) :
+                    new BlobExportAdapter.BatchEntry(() -> outputFile.newOutputStream(outputFile.resolve(textureURI, fileURI)), () -> true));
 
             if (exported > 0)
                 exporterManager.propagateEvent(new CounterEvent(CounterType.TEXTURE_IMAGE, exported, this));
@@ -135,15 +134,23 @@ public class DBXlinkExporterTextureImage implements DBXlinkExporter {
 
     @Override
     public void close() throws SQLException {
+        int exported = 0;
         try {
-            int exported = blobExporter.executeBatch();
-            if (exported > 0)
-                exporterManager.propagateEvent(new CounterEvent(CounterType.TEXTURE_IMAGE, exported, this));
+            exported = blobExporter.executeBatch();
         } catch (IOException e) {
             log.error("Failed to batch export texture files.", e);
         }
 
-        blobExporter.close();
+        try {
+            // waits for pending texture files to be written
+            blobExporter.close();
+        } catch (IOException e) {
+            log.error("Failed to write texture files.", e);
+        } finally {
+            exported += blobExporter.getAndResetWriteCounter();
+            if (exported > 0)
+                exporterManager.propagateEvent(new CounterEvent(CounterType.TEXTURE_IMAGE, exported, this));
+        }
     }
 
     @Override
@@ -59,7 +59,7 @@ public class ExportCounter {
 		object.accept(counterWalker);
 	}
 
-	private void updateObjectCounter(int objectClassId) {
+	public void updateObjectCounter(int objectClassId) {
 		Long counter = objectCounter.get(objectClassId);
 		if (counter == null)
 			objectCounter.put(objectClassId, 1L);
@@ -67,7 +67,7 @@ public class ExportCounter {
 			objectCounter.put(objectClassId, counter + 1);		
 	}
 
-	private void updateGeometryCounter(GMLClass type) {
+	public void updateGeometryCounter(GMLClass type) {
 		Long counter = geometryCounter.get(type);
 		if (counter == null)
 			geometryCounter.put(type, 1L);
@@ -0,0 +1,126 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * http://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2019
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.gis.bgu.tum.de/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * virtualcitySYSTEMS GmbH, Berlin <http://www.virtualcitysystems.de/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.citygml.exporter.util;
+
+import org.citydb.util.CoreConstants;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class ExportWatermark {
+	public static final String WATERMARK_DIR = "export-watermarks";
+	private static final String LAST_MODIFICATION_DATE = "lastModificationDate";
+	private static final String TERMINATED_OBJECTS = "terminatedObjects";
+
+	private final String profile;
+	private final Instant lastModificationDate;
+	private final Set<Long> terminatedObjects = new HashSet<>();
+
+	public ExportWatermark(String profile, Instant lastModificationDate) {
+		this.profile = profile;
+		this.lastModificationDate = lastModificationDate;
+	}
+
+	public static ExportWatermark load(String profile) throws IOException {
+		Path file = getFile(profile);
+		if (!Files.exists(file))
+			return null;
+
+		Properties properties = new Properties();
+		try (InputStream stream = Files.newInputStream(file)) {
+			properties.load(stream);
+		}
+
+		String lastModificationDate = properties.getProperty(LAST_MODIFICATION_DATE);
+		if (lastModificationDate == null)
+			return null;
+
+		try {
+			ExportWatermark watermark = new ExportWatermark(profile, Instant.parse(lastModificationDate));
+			String terminatedObjects = properties.getProperty(TERMINATED_OBJECTS);
+			if (terminatedObjects != null && !terminatedObjects.isEmpty()) {
+				for (String id : terminatedObjects.split(","))
+					watermark.terminatedObjects.add(Long.parseLong(id.trim()));
+			}
+
+			return watermark;
+		} catch (DateTimeParseException | NumberFormatException e) {
+			throw new IOException("Failed to parse export watermark file '" + file + "'.", e);
+		}
+	}
+
+	public void save() throws IOException {
+		Path file = getFile(profile);
+		Files.createDirectories(file.getParent());
+
+		Properties properties = new Properties();
+		properties.setProperty(LAST_MODIFICATION_DATE, lastModificationDate.toString());
+		properties.setProperty(TERMINATED_OBJECTS, terminatedObjects.stream()
+				.map(String::valueOf)
+				.collect(Collectors.joining(",")));
+
+		// replace the previous watermark only once the new one has been written completely
+		Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+		try (OutputStream stream = Files.newOutputStream(tmp)) {
+			properties.store(stream, "Watermark of the incremental export profile '" + profile + "'");
+		}
+
+		Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	public String getProfile() {
+		return profile;
+	}
+
+	public Instant getLastModificationDate() {
+		return lastModificationDate;
+	}
+
+	public Set<Long> getTerminatedObjects() {
+		return terminatedObjects;
+	}
+
+	public void addTerminatedObject(long id) {
+		terminatedObjects.add(id);
+	}
+
+	private static Path getFile(String profile) {
+		return CoreConstants.IMPEXP_DATA_DIR.resolve(WATERMARK_DIR)
+				.resolve(profile.replaceAll("[^A-Za-z0-9._-]", "_") + ".properties");
+	}
+}
@@ -0,0 +1,85 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * http://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2019
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.gis.bgu.tum.de/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * virtualcitySYSTEMS GmbH, Berlin <http://www.virtualcitysystems.de/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.citygml.exporter.util;
+
+import org.citydb.query.filter.lod.LodFilter;
+
+/**
+ * LoD filter whose enabled LoDs can be further restricted while a single
+ * top-level feature is exported. The restriction only affects
+ * {@link #isEnabled(int)} and the LoD iterators, so geometries of LoDs that
+ * cannot become the target LoD of the MINIMUM or MAXIMUM filter mode are never
+ * fetched from the database.
+ */
+public class PushdownLodFilter extends LodFilter {
+	private int fromLod = 0;
+	private int toLod = 4;
+	private int suspended;
+
+	public PushdownLodFilter(LodFilter lodFilter) {
+		super(false, lodFilter.getFilterMode());
+		for (int lod = 0; lod < 5; lod++)
+			setEnabled(lod, lodFilter.isEnabled(lod));
+
+		if (lodFilter.isSetSearchDepth())
+			setSearchDepth(lodFilter.getSearchDepth());
+	}
+
+	public void restrict(int fromLod, int toLod) {
+		this.fromLod = fromLod;
+		this.toLod = toLod;
+	}
+
+	public boolean isRestricted() {
+		return fromLod > 0 || toLod < 4;
+	}
+
+	public void unrestrict() {
+		fromLod = 0;
+		toLod = 4;
+		suspended = 0;
+	}
+
+	public boolean suspend() {
+		if (!isRestricted())
+			return false;
+
+		suspended++;
+		return true;
+	}
+
+	public void resume() {
+		if (suspended > 0)
+			suspended--;
+	}
+
+	@Override
+	public boolean isEnabled(int lod) {
+		return super.isEnabled(lod) && (suspended > 0 || (lod >= fromLod && lod <= toLod));
+	}
+}
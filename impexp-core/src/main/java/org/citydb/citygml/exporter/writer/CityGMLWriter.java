@@ -35,6 +35,7 @@ import org.citydb.event.EventDispatcher;
 import org.citydb.event.EventHandler;
 import org.citydb.event.global.EventType;
 import org.citydb.registry.ObjectRegistry;
+import org.citydb.util.MarshallerPool;
 import org.citydb.writer.SequentialWriter;
 import org.citydb.writer.XMLWriterWorkerFactory;
 import org.citygml4j.builder.jaxb.CityGMLBuilder;
@@ -74,6 +75,7 @@ public class CityGMLWriter implements FeatureWriter, EventHandler {
 	private final SAXWriter saxWriter;
 	private final CityGMLBuilder cityGMLBuilder;
 	private final JAXBMarshaller jaxbMarshaller;
+	private final MarshallerPool marshallerPool;
 	private final CityGMLVersion version;
 	private final TransformerChainFactory transformerChainFactory;
 	private final boolean useSequentialWriting;
@@ -92,6 +94,7 @@ public class CityGMLWriter implements FeatureWriter, EventHandler {
 
 		cityGMLBuilder = ObjectRegistry.getInstance().getCityGMLBuilder();
 		jaxbMarshaller = cityGMLBuilder.createJAXBMarshaller(version);
+		marshallerPool = ObjectRegistry.getInstance().getMarshallerPool(cityGMLBuilder.getJAXBContext());
 
 		eventDispatcher = ObjectRegistry.getInstance().getEventDispatcher();
 		eventDispatcher.addEventHandler(EventType.INTERRUPT, this);
@@ -154,7 +157,7 @@ public class CityGMLWriter implements FeatureWriter, EventHandler {
 		try {
 			JAXBElement<?> jaxbElement = jaxbMarshaller.marshalJAXBElement(member);
 			if (jaxbElement != null) {
-				Marshaller marshaller = cityGMLBuilder.getJAXBContext().createMarshaller();
+				Marshaller marshaller = marshallerPool.getMarshaller();
 				marshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.TRUE);
 
 				if (transformerChainFactory == null)
@@ -171,8 +174,16 @@ public class CityGMLWriter implements FeatureWriter, EventHandler {
 			throw new FeatureWriteException("Failed to write feature with gml:id '" + feature.getId() + "'.", e);
 		}
 
+		write(buffer, feature.getId(), sequenceId);
+	}
+
+	/**
+	 * Writes a feature member whose SAX events have already been created by the caller,
+	 * bypassing the citygml4j object model and the JAXB marshaller.
+	 */
+	public void write(SAXEventBuffer buffer, String gmlId, long sequenceId) throws FeatureWriteException {
 		if (buffer.isEmpty())
-			throw new FeatureWriteException("Failed to write feature with gml:id '" + feature.getId() + "'.");
+			throw new FeatureWriteException("Failed to write feature with gml:id '" + gmlId + "'.");
 
 		if (!useSequentialWriting)
 			writerPool.addWork(buffer);
@@ -180,11 +191,19 @@ public class CityGMLWriter implements FeatureWriter, EventHandler {
 			try {
 				sequentialWriter.write(buffer, sequenceId);
 			} catch (InterruptedException e) {
-				throw new FeatureWriteException("Failed to write feature with gml:id '" + feature.getId() + "'.", e);
+				throw new FeatureWriteException("Failed to write feature with gml:id '" + gmlId + "'.", e);
 			}
 		}
 	}
 
+	public boolean supportsDirectWriting() {
+		return transformerChainFactory == null;
+	}
+
+	public CityGMLVersion getCityGMLVersion() {
+		return version;
+	}
+
 	@Override
 	public void updateSequenceId(long sequenceId) throws FeatureWriteException {
 		if (useSequentialWriting) {
@@ -246,7 +265,8 @@ public class CityGMLWriter implements FeatureWriter, EventHandler {
 
 			JAXBElement<?> jaxbElement = jaxbMarshaller.marshalJAXBElement(cityModel);
 			if (jaxbElement != null) {
-				Marshaller marshaller = cityGMLBuilder.getJAXBContext().createMarshaller();
+				Marshaller marshaller = marshallerPool.getMarshaller();
+				marshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.FALSE);
 
 				if (transformerChainFactory == null)
 					marshaller.marshal(jaxbElement, fragmentWriter);
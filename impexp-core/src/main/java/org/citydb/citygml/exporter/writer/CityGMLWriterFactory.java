@@ -81,7 +81,9 @@ public class CityGMLWriterFactory implements FeatureWriterFactory {
 		cityGMLOptions = config.getProject().getExporter().getCityGMLOptions();
 
 		// require sequential writing if a sorting clause is defined for the query
-		useSequentialWriting = query.isSetSorting();
+		// or if top-level features are ordered along a space-filling curve
+		useSequentialWriting = query.isSetSorting()
+				|| config.getProject().getExporter().getResources().getSpatialOrdering().isEnabled();
 
 		// build XSLT transformer chain
 		if (config.getProject().getExporter().getXSLTransformation().isEnabled()
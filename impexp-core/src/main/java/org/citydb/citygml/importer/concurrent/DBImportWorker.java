@@ -32,12 +32,21 @@ import org.citydb.citygml.common.database.xlink.DBXlink;
 import org.citydb.citygml.importer.CityGMLImportException;
 import org.citydb.citygml.importer.database.content.CityGMLImportManager;
 import org.citydb.citygml.importer.filter.CityGMLFilter;
+import org.citydb.citygml.importer.util.AdaptiveBatchSize;
 import org.citydb.citygml.importer.util.AffineTransformer;
+import org.citydb.citygml.importer.util.ChangeDetector;
+import org.citydb.citygml.importer.util.ChangeDetector.StoredFeature;
+import org.citydb.citygml.importer.util.ImportCheckpoint;
 import org.citydb.citygml.importer.util.ImportLogger;
 import org.citydb.citygml.importer.util.ImportLogger.ImportLogEntry;
+import org.citydb.citygml.importer.util.StoredFeatureLookup;
+import org.citydb.concurrent.DefaultWorker;
+import org.citydb.concurrent.SingleWorkerPool;
 import org.citydb.concurrent.Worker;
 import org.citydb.concurrent.WorkerPool;
 import org.citydb.config.Config;
+import org.citydb.config.project.database.ImportBatching;
+import org.citydb.config.project.importer.Importer;
 import org.citydb.config.project.global.LogLevel;
 import org.citydb.database.adapter.AbstractDatabaseAdapter;
 import org.citydb.database.schema.mapping.SchemaMapping;
@@ -52,16 +61,24 @@ import org.citydb.event.global.InterruptEvent;
 import org.citydb.event.global.ObjectCounterEvent;
 import org.citydb.file.InputFile;
 import org.citydb.log.Logger;
+import org.citydb.registry.ObjectRegistry;
 import org.citygml4j.builder.jaxb.CityGMLBuilder;
 import org.citygml4j.model.citygml.CityGML;
 import org.citygml4j.model.citygml.appearance.Appearance;
+import org.citygml4j.model.citygml.core.AbstractCityObject;
 import org.citygml4j.model.gml.base.AbstractGML;
 import org.citygml4j.model.gml.feature.AbstractFeature;
 import org.citygml4j.util.bbox.BoundingBoxOptions;
 
+import javax.xml.bind.JAXBException;
 import java.io.IOException;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.locks.ReentrantLock;
 
 public class DBImportWorker extends Worker<CityGML> implements EventHandler {
@@ -69,17 +86,22 @@ public class DBImportWorker extends Worker<CityGML> implements EventHandler {
 	private volatile boolean shouldRun = true;
 	private volatile boolean shouldWork = true;
 
-	private final Connection connection;
 	private final boolean isManagedTransaction;
 	private final CityGMLFilter filter;
 	private final ImportLogger importLogger;
+	private final ImportCheckpoint checkpoint;
 	private final EventDispatcher eventDispatcher;
 
 	private final BoundingBoxOptions bboxOptions;
-	private final CityGMLImportManager importer;
+	private final ImportBuffer[] buffers;
+	private final SingleWorkerPool<ImportBuffer> flushPool;
+	private final List<AbstractCityObject> pendingFeatures = new ArrayList<>();
+	private final List<String> pendingFingerprints = new ArrayList<>();
+	private final List<AbstractCityObject> committedFeatures = new ArrayList<>();
 
-	private int globalAppearanceCounter = 0;
-	private int topLevelFeatureCounter = 0;
+	private final AdaptiveBatchSize adaptiveBatchSize;
+
+	private ImportBuffer buffer;
 	private int commitAfter;
 
 	public DBImportWorker(InputFile inputFile,
@@ -95,26 +117,80 @@ public class DBImportWorker extends Worker<CityGML> implements EventHandler {
 			ImportLogger importLogger,
 			Config config,
 			EventDispatcher eventDispatcher) throws SQLException {
-		this.connection = connection;
+		this(inputFile, connection, null, isManagedTransaction, databaseAdapter, schemaMapping, cityGMLBuilder, xlinkPool,
+				uidCacheManager, filter, affineTransformer, importLogger, config, eventDispatcher);
+	}
+
+	public DBImportWorker(InputFile inputFile,
+			Connection connection,
+			Connection flushConnection,
+			boolean isManagedTransaction,
+			AbstractDatabaseAdapter databaseAdapter,
+			SchemaMapping schemaMapping,
+			CityGMLBuilder cityGMLBuilder,
+			WorkerPool<DBXlink> xlinkPool,
+			UIDCacheManager uidCacheManager,
+			CityGMLFilter filter,
+			AffineTransformer affineTransformer,
+			ImportLogger importLogger,
+			Config config,
+			EventDispatcher eventDispatcher) throws SQLException {
 		this.isManagedTransaction = isManagedTransaction;
 		this.filter = filter;
 		this.importLogger = importLogger;
 		this.eventDispatcher = eventDispatcher;
 
-		importer = new CityGMLImportManager(inputFile,
-				connection,
-				databaseAdapter,
-				schemaMapping,
-				cityGMLBuilder,
-				xlinkPool,
-				uidCacheManager,
-				affineTransformer,
-				config);
-
-		commitAfter = config.getProject().getDatabase().getImportBatching().getFeatureBatchSize();
+		// imported objects can only be checkpointed if we control the commits
+		checkpoint = !isManagedTransaction ? ObjectRegistry.getInstance().lookup(ImportCheckpoint.class) : null;
+
+		ImportBatching importBatching = config.getProject().getDatabase().getImportBatching();
+		commitAfter = importBatching.getFeatureBatchSize();
 		if (commitAfter > databaseAdapter.getMaxBatchSize())
 			commitAfter = databaseAdapter.getMaxBatchSize();
 
+		adaptiveBatchSize = importBatching.getAdaptiveBatching().isEnabled() ?
+				new AdaptiveBatchSize(importBatching.getAdaptiveBatching(), commitAfter, databaseAdapter.getMaxBatchSize()) :
+				null;
+
+		Importer importerConfig = config.getProject().getImporter();
+		boolean useChangeDetection = importerConfig.getChangeDetection().isEnabled()
+				&& !importerConfig.getGmlId().isUUIDModeReplace()
+				&& config.getInternal().getStagingTables() == null;
+
+		// stored features are looked up to skip unchanged features and to restore
+		// the gml:id caches for features committed before an interrupted import
+		boolean useStoredFeatureLookup = useChangeDetection || checkpoint != null;
+		String gmlIdCodespace = config.getInternal().getCurrentGmlIdCodespace();
+
+		// with a second connection, filled batches are executed by a flush worker
+		// while the next batch is populated on the other connection
+		boolean usePipelining = flushConnection != null && !isManagedTransaction;
+		buffers = new ImportBuffer[usePipelining ? 2 : 1];
+		for (int i = 0; i < buffers.length; i++) {
+			Connection bufferConnection = i == 0 ? connection : flushConnection;
+			buffers[i] = new ImportBuffer(bufferConnection,
+					new CityGMLImportManager(inputFile,
+							bufferConnection,
+							databaseAdapter,
+							schemaMapping,
+							cityGMLBuilder,
+							xlinkPool,
+							uidCacheManager,
+							affineTransformer,
+							config),
+					useChangeDetection ? new ChangeDetector(bufferConnection, databaseAdapter, cityGMLBuilder, gmlIdCodespace, commitAfter) : null,
+					useStoredFeatureLookup ? new StoredFeatureLookup(bufferConnection, databaseAdapter, gmlIdCodespace, commitAfter) : null);
+		}
+
+		buffer = buffers[0];
+		buffer.permit.acquireUninterruptibly();
+
+		if (usePipelining) {
+			flushPool = new SingleWorkerPool<>("db_import_flush_pool", FlushWorker::new, 1, false);
+			flushPool.prestartCoreWorkers();
+		} else
+			flushPool = null;
+
 		bboxOptions = BoundingBoxOptions.defaults()				
 				.useExistingEnvelopes(true)
 				.assignResultToFeatures(true)
@@ -145,18 +221,41 @@ public class DBImportWorker extends Worker<CityGML> implements EventHandler {
 				}
 			}
 
+			// wait for pending batch executions
+			if (flushPool != null) {
+				try {
+					flushPool.shutdownAndWait();
+				} catch (InterruptedException e) {
+					flushPool.shutdownNow();
+				}
+			}
+
+			// a failed batch aborts the import. so roll back both buffers since
+			// the batch in the other buffer must not be committed either
+			if (!shouldWork && !isManagedTransaction) {
+				for (ImportBuffer importBuffer : buffers) {
+					try {
+						importBuffer.connection.rollback();
+					} catch (SQLException e) {
+						//
+					}
+				}
+			}
+
 			try {
 				if (shouldWork) {
-					importer.executeBatch();					
-					if (!isManagedTransaction)
-						connection.commit();
+					if (!committedFeatures.isEmpty())
+						registerCommittedFeatures();
 
-					updateImportContext();
+					if (buffer.changeDetector != null)
+						importPendingFeatures();
+
+					executeBatch(buffer);
 				}
 			} catch (CityGMLImportException | SQLException e) {
 				if (!isManagedTransaction) {
 					try {
-						connection.rollback();
+						buffer.connection.rollback();
 					} catch (SQLException sql) {
 						//
 					}
@@ -167,18 +266,42 @@ public class DBImportWorker extends Worker<CityGML> implements EventHandler {
 				eventDispatcher.triggerEvent(new InterruptEvent("Aborting import due to I/O errors.", LogLevel.WARN, e, eventChannel, this));
 			}
 
+			if (adaptiveBatchSize != null)
+				eventDispatcher.triggerEvent(adaptiveBatchSize.createEvent(this));
+
 		} finally {
-			try {
-				importer.close();
-			} catch (CityGMLImportException | SQLException e) {
-				// 
-			}
+			if (flushPool != null && !flushPool.isTerminated())
+				flushPool.shutdownNow();
 
-			if (!isManagedTransaction) {
+			for (ImportBuffer importBuffer : buffers) {
 				try {
-					connection.close();
-				} catch (SQLException e) {
-					//
+					importBuffer.importer.close();
+				} catch (CityGMLImportException | SQLException e) {
+					// 
+				}
+
+				if (importBuffer.changeDetector != null) {
+					try {
+						importBuffer.changeDetector.close();
+					} catch (SQLException e) {
+						//
+					}
+				}
+
+				if (importBuffer.storedFeatureLookup != null) {
+					try {
+						importBuffer.storedFeatureLookup.close();
+					} catch (SQLException e) {
+						//
+					}
+				}
+
+				if (!isManagedTransaction) {
+					try {
+						importBuffer.connection.close();
+					} catch (SQLException e) {
+						//
+					}
 				}
 			}
 
@@ -194,15 +317,26 @@ public class DBImportWorker extends Worker<CityGML> implements EventHandler {
 			if (!shouldWork)
 				return;
 
+			if (checkpoint != null && ImportCheckpoint.isMarkedCommitted(work)) {
+				restoreFeature(work);
+				return;
+			}
+
+			if (!committedFeatures.isEmpty())
+				registerCommittedFeatures();
+
 			long id = 0;
 
 			if (work instanceof Appearance) {
 				// global appearances
 				Appearance appearance = (Appearance)work;
-				id = importer.importGlobalAppearance(appearance);
+				id = buffer.importer.importGlobalAppearance(appearance);
 
-				if (id != 0)
-					globalAppearanceCounter++;
+				if (id != 0) {
+					buffer.globalAppearanceCounter++;
+					if (checkpoint != null)
+						buffer.appearanceIds.add(id);
+				}
 			} 
 
 			else if (work instanceof AbstractFeature) {
@@ -213,37 +347,36 @@ public class DBImportWorker extends Worker<CityGML> implements EventHandler {
 
 				// check import filter
 				if (!filter.getSelectionFilter().isSatisfiedBy(feature))
-					return;			
+					return;
 
-				id = importer.importObject(feature);
-				if (id == 0)
-					importer.logOrThrowErrorMessage("Failed to import object " + importer.getObjectSignature(feature) + ".");
+				if (buffer.changeDetector != null && feature instanceof AbstractCityObject && feature.isSetId())
+					detectChanges((AbstractCityObject) feature);
 				else
-					topLevelFeatureCounter++;
+					importFeature(feature);
 			}
 
 			else {
 				String msg = (work instanceof AbstractGML ?
-						importer.getObjectSignature((AbstractGML) work) : work.getCityGMLClass()) +
+						buffer.importer.getObjectSignature((AbstractGML) work) : work.getCityGMLClass()) +
 						": Unsupported top-level object type. Skipping import.";
 
-				if (!importer.isFailOnError())
+				if (!buffer.importer.isFailOnError())
 					Logger.getInstance().error(msg);
 				else
 					throw new CityGMLImportException(msg);
 			}
 
-			if (globalAppearanceCounter + topLevelFeatureCounter == commitAfter) {
-				importer.executeBatch();
-				if (!isManagedTransaction)
-					connection.commit();
-
-				updateImportContext();
+			int batchSize = adaptiveBatchSize != null ? adaptiveBatchSize.getBatchSize() : commitAfter;
+			if (buffer.globalAppearanceCounter + buffer.topLevelFeatureCounter >= batchSize) {
+				if (flushPool != null)
+					flushBatch();
+				else
+					executeBatch(buffer);
 			}
 
 		} catch (CityGMLImportException | SQLException e) {
 			try {
-				connection.rollback();
+				buffer.connection.rollback();
 			} catch (SQLException sql) {
 				//
 			}
@@ -257,19 +390,167 @@ public class DBImportWorker extends Worker<CityGML> implements EventHandler {
 		}
 	}
 
-	private void updateImportContext() throws IOException {
-		eventDispatcher.triggerEvent(new ObjectCounterEvent(importer.getAndResetObjectCounter(), this));
-		eventDispatcher.triggerEvent(new GeometryCounterEvent(importer.getAndResetGeometryCounter(), this));
-		eventDispatcher.triggerEvent(new CounterEvent(CounterType.GLOBAL_APPEARANCE, globalAppearanceCounter, this));
-		eventDispatcher.triggerEvent(new CounterEvent(CounterType.TOPLEVEL_FEATURE, topLevelFeatureCounter, this));
-		globalAppearanceCounter = 0;
-		topLevelFeatureCounter = 0;
+	private void flushBatch() {
+		// hand over the filled batch and its permit to the flush worker
+		flushPool.addWork(buffer);
+
+		// continue on the other buffer as soon as its previous batch has been executed
+		buffer = buffers[buffer == buffers[0] ? 1 : 0];
+		buffer.permit.acquireUninterruptibly();
+	}
+
+	private void executeBatch(ImportBuffer buffer) throws CityGMLImportException, SQLException, IOException {
+		long start = System.nanoTime();
+		buffer.importer.executeBatch();
+		if (buffer.changeDetector != null)
+			buffer.changeDetector.executeBatch();
+
+		// record the objects before they are committed so that a resumed import
+		// never misses an object when cleaning up the interrupted file
+		if (checkpoint != null) {
+			checkpoint.record(buffer.cityObjectIds, buffer.appearanceIds);
+			buffer.cityObjectIds.clear();
+			buffer.appearanceIds.clear();
+		}
+
+		if (!isManagedTransaction)
+			buffer.connection.commit();
+
+		long elapsed = System.nanoTime() - start;
+		int features = buffer.globalAppearanceCounter + buffer.topLevelFeatureCounter;
+		long objects = updateImportContext(buffer);
+
+		if (adaptiveBatchSize != null && features > 0)
+			adaptiveBatchSize.update(features, objects, elapsed);
+	}
+
+	private long importFeature(AbstractFeature feature) throws CityGMLImportException, SQLException {
+		long id = buffer.importer.importObject(feature);
+		if (id == 0)
+			buffer.importer.logOrThrowErrorMessage("Failed to import object " + buffer.importer.getObjectSignature(feature) + ".");
+		else {
+			buffer.topLevelFeatureCounter++;
+			if (checkpoint != null)
+				buffer.cityObjectIds.add(id);
+		}
+
+		return id;
+	}
+
+	private void restoreFeature(CityGML work) throws SQLException {
+		// the feature has been committed before the import was interrupted
+		if (!(work instanceof AbstractCityObject) || !((AbstractCityObject) work).isSetId())
+			return;
+
+		AbstractCityObject cityObject = (AbstractCityObject) work;
+		cityObject.calcBoundedBy(bboxOptions);
+		if (!filter.getSelectionFilter().isSatisfiedBy(cityObject))
+			return;
+
+		committedFeatures.add(cityObject);
+		if (committedFeatures.size() >= buffer.storedFeatureLookup.getBatchSize())
+			registerCommittedFeatures();
+	}
+
+	private void registerCommittedFeatures() throws SQLException {
+		// keep the committed features resolvable for XLinks of the remaining features
+		StoredFeatureLookup lookup = buffer.storedFeatureLookup;
+		lookup.register(lookup.lookup(committedFeatures, buffer.importer), buffer.importer);
+		committedFeatures.clear();
+	}
+
+	private void detectChanges(AbstractCityObject cityObject) throws CityGMLImportException, SQLException {
+		String fingerprint;
+		try {
+			fingerprint = buffer.changeDetector.computeFingerprint(cityObject);
+		} catch (JAXBException e) {
+			throw new CityGMLImportException("Failed to compute content fingerprint of " + buffer.importer.getObjectSignature(cityObject) + ".", e);
+		}
+
+		if (fingerprint == null) {
+			importFeature(cityObject);
+			return;
+		}
+
+		pendingFeatures.add(cityObject);
+		pendingFingerprints.add(fingerprint);
+
+		if (pendingFeatures.size() >= buffer.changeDetector.getBatchSize())
+			importPendingFeatures();
+	}
+
+	private void importPendingFeatures() throws CityGMLImportException, SQLException {
+		if (pendingFeatures.isEmpty())
+			return;
+
+		CityGMLImportManager importer = buffer.importer;
+		ChangeDetector changeDetector = buffer.changeDetector;
+		Map<AbstractCityObject, StoredFeature> storedFeatures = changeDetector.lookup(pendingFeatures, importer);
+		Map<AbstractCityObject, Long> unchangedFeatures = new IdentityHashMap<>();
+		List<Long> replacedIds = new ArrayList<>();
+		long[] replaced = new long[pendingFeatures.size()];
+		boolean[] skip = new boolean[pendingFeatures.size()];
+
+		for (int i = 0; i < pendingFeatures.size(); i++) {
+			AbstractCityObject cityObject = pendingFeatures.get(i);
+			StoredFeature storedFeature = storedFeatures.get(cityObject);
+			if (storedFeature == null)
+				continue;
+
+			if (storedFeature.isAmbiguous()) {
+				Logger.getInstance().warn(importer.getObjectSignature(cityObject) + ": " + storedFeature.getIds().size() +
+						" stored features share this gml:id. Importing without replacing them.");
+			} else if (storedFeature.isUnchanged(pendingFingerprints.get(i))) {
+				unchangedFeatures.put(cityObject, storedFeature.getIds().get(0));
+				skip[i] = true;
+				Logger.getInstance().debug(importer.getObjectSignature(cityObject) + ": Content is unchanged. Skipping import.");
+			} else {
+				replaced[i] = storedFeature.getIds().get(0);
+				replacedIds.add(replaced[i]);
+				Logger.getInstance().debug(importer.getObjectSignature(cityObject) + ": Content has changed. Replacing stored version.");
+			}
+		}
+
+		// keep the stored features resolvable for XLinks of other features
+		if (!unchangedFeatures.isEmpty())
+			buffer.storedFeatureLookup.register(unchangedFeatures, importer);
+
+		// replace the previous versions of changed features
+		if (!replacedIds.isEmpty())
+			changeDetector.delete(replacedIds);
+
+		for (int i = 0; i < pendingFeatures.size(); i++) {
+			AbstractCityObject cityObject = pendingFeatures.get(i);
+			if (!skip[i]) {
+				long id = importFeature(cityObject);
+				if (id != 0) {
+					changeDetector.addFingerprint(id, pendingFingerprints.get(i));
+					if (replaced[i] != 0)
+						changeDetector.restoreReferences(replaced[i], id);
+				}
+			}
+		}
+
+		pendingFeatures.clear();
+		pendingFingerprints.clear();
+	}
+
+	private long updateImportContext(ImportBuffer buffer) throws IOException {
+		Map<Integer, Long> objectCounter = buffer.importer.getAndResetObjectCounter();
+		eventDispatcher.triggerEvent(new ObjectCounterEvent(objectCounter, this));
+		eventDispatcher.triggerEvent(new GeometryCounterEvent(buffer.importer.getAndResetGeometryCounter(), this));
+		eventDispatcher.triggerEvent(new CounterEvent(CounterType.GLOBAL_APPEARANCE, buffer.globalAppearanceCounter, this));
+		eventDispatcher.triggerEvent(new CounterEvent(CounterType.TOPLEVEL_FEATURE, buffer.topLevelFeatureCounter, this));
+		buffer.globalAppearanceCounter = 0;
+		buffer.topLevelFeatureCounter = 0;
 
 		// log imported top-level features
 		if (importLogger != null) {
-			for (ImportLogEntry entry : importer.getAndResetImportLogEntries())
+			for (ImportLogEntry entry : buffer.importer.getAndResetImportLogEntries())
 				importLogger.write(entry);
 		}
+
+		return objectCounter.values().stream().mapToLong(Long::longValue).sum();
 	}
 
 	@Override
@@ -278,4 +559,53 @@ public class DBImportWorker extends Worker<CityGML> implements EventHandler {
 			shouldWork = false;
 	}
 
+	private static final class ImportBuffer {
+		private final Connection connection;
+		private final CityGMLImportManager importer;
+		private final ChangeDetector changeDetector;
+		private final StoredFeatureLookup storedFeatureLookup;
+		private final Semaphore permit = new Semaphore(1);
+		private final List<Long> cityObjectIds = new ArrayList<>();
+		private final List<Long> appearanceIds = new ArrayList<>();
+		private int globalAppearanceCounter = 0;
+		private int topLevelFeatureCounter = 0;
+
+		private ImportBuffer(Connection connection, CityGMLImportManager importer, ChangeDetector changeDetector, StoredFeatureLookup storedFeatureLookup) {
+			this.connection = connection;
+			this.importer = importer;
+			this.changeDetector = changeDetector;
+			this.storedFeatureLookup = storedFeatureLookup;
+		}
+	}
+
+	private final class FlushWorker extends DefaultWorker<ImportBuffer> {
+
+		@Override
+		public void doWork(ImportBuffer buffer) {
+			try {
+				if (shouldWork)
+					executeBatch(buffer);
+			} catch (CityGMLImportException | SQLException e) {
+				try {
+					buffer.connection.rollback();
+				} catch (SQLException sql) {
+					//
+				}
+
+				eventDispatcher.triggerSyncEvent(new InterruptEvent("Aborting import due to errors.", LogLevel.WARN, e, eventChannel, DBImportWorker.this));
+			} catch (IOException e) {
+				eventDispatcher.triggerSyncEvent(new InterruptEvent("Aborting import due to I/O errors.", LogLevel.WARN, e, eventChannel, DBImportWorker.this));
+			} catch (Throwable e) {
+				eventDispatcher.triggerSyncEvent(new InterruptEvent("Aborting due to an unexpected " + e.getClass().getName() + " error.", LogLevel.ERROR, e, eventChannel, DBImportWorker.this));
+			} finally {
+				buffer.permit.release();
+			}
+		}
+
+		@Override
+		public void shutdown() {
+			// nothing to do
+		}
+	}
+
 }
@@ -128,24 +128,57 @@ public class DBImportWorkerFactory implements WorkerFactory<CityGML> {
 	@Override
 	public Worker<CityGML> createWorker() {
 		DBImportWorker dbWorker = null;
+		Connection connection = null;
+		Connection flushConnection = null;
 
 		try {
-			Connection connection = connectionManager.getConnection();
-			if (!isManagedTransaction)
-				connection.setAutoCommit(false);
-
-			// try and change workspace for both connections if needed
-			if (databaseAdapter.hasVersioningSupport()) {
-				Workspace workspace = config.getProject().getDatabase().getWorkspaces().getImportWorkspace();
-				databaseAdapter.getWorkspaceManager().gotoWorkspace(connection, workspace);
+			connection = createConnection();
+
+			// batches are executed on a second connection in pipelined mode
+			if (!isManagedTransaction && config.getProject().getDatabase().getImportBatching().isPipelinedExecution()) {
+				try {
+					flushConnection = createConnection();
+				} catch (SQLException e) {
+					// fall back to executing batches on the import connection
+					log.warn("Failed to open a second database connection for pipelined batch execution. " +
+							"The import worker executes batches itself.", e);
+				}
 			}
 
-			dbWorker = new DBImportWorker(inputFile, connection, isManagedTransaction, databaseAdapter, schemaMapping, cityGMLBuilder,
+			dbWorker = new DBImportWorker(inputFile, connection, flushConnection, isManagedTransaction, databaseAdapter, schemaMapping, cityGMLBuilder,
 					xlinkWorkerPool, uidCacheManager, filter, affineTransformer, importLogger, config, eventDispatcher);
 		} catch (SQLException e) {
 			log.error("Failed to create import worker.", e);
+			if (!isManagedTransaction) {
+				closeConnection(connection);
+				closeConnection(flushConnection);
+			}
 		}
 
 		return dbWorker;
 	}
+
+	private Connection createConnection() throws SQLException {
+		Connection connection = connectionManager.getConnection();
+		if (!isManagedTransaction)
+			connection.setAutoCommit(false);
+
+		// try and change workspace for the connection if needed
+		if (databaseAdapter.hasVersioningSupport()) {
+			Workspace workspace = config.getProject().getDatabase().getWorkspaces().getImportWorkspace();
+			databaseAdapter.getWorkspaceManager().gotoWorkspace(connection, workspace);
+		}
+
+		return connection;
+	}
+
+	private void closeConnection(Connection connection) {
+		if (connection != null) {
+			try {
+				connection.close();
+			} catch (SQLException e) {
+				//
+			}
+		}
+	}
 }
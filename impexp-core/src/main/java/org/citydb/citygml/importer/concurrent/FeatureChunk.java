@@ -0,0 +1,69 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * http://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2019
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.gis.bgu.tum.de/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * virtualcitySYSTEMS GmbH, Berlin <http://www.virtualcitysystems.de/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.citygml.importer.concurrent;
+
+import org.citygml4j.xml.io.reader.XMLChunk;
+
+public class FeatureChunk {
+	private final XMLChunk chunk;
+	private final boolean isCommitted;
+	private final Runnable onUnmarshalled;
+	private final long size;
+
+	public FeatureChunk(XMLChunk chunk, boolean isCommitted, Runnable onUnmarshalled, long size) {
+		this.chunk = chunk;
+		this.isCommitted = isCommitted;
+		this.onUnmarshalled = onUnmarshalled;
+		this.size = size;
+	}
+
+	public FeatureChunk(XMLChunk chunk, boolean isCommitted, Runnable onUnmarshalled) {
+		this(chunk, isCommitted, onUnmarshalled, 0);
+	}
+
+	public FeatureChunk(XMLChunk chunk, boolean isCommitted) {
+		this(chunk, isCommitted, null);
+	}
+
+	public XMLChunk getChunk() {
+		return chunk;
+	}
+
+	public long getSize() {
+		return size;
+	}
+
+	public boolean isCommitted() {
+		return isCommitted;
+	}
+
+	public void unmarshalled() {
+		if (onUnmarshalled != null)
+			onUnmarshalled.run();
+	}
+}
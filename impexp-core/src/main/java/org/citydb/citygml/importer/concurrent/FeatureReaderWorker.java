@@ -27,6 +27,7 @@
  */
 package org.citydb.citygml.importer.concurrent;
 
+import org.citydb.citygml.importer.util.ImportCheckpoint;
 import org.citydb.concurrent.Worker;
 import org.citydb.concurrent.WorkerPool;
 import org.citydb.config.Config;
@@ -41,7 +42,7 @@ import org.citygml4j.xml.io.reader.XMLChunk;
 
 import java.util.concurrent.locks.ReentrantLock;
 
-public class FeatureReaderWorker extends Worker<XMLChunk> {
+public class FeatureReaderWorker extends Worker<FeatureChunk> {
 	private final Logger log = Logger.getInstance();
 	private final ReentrantLock runLock = new ReentrantLock();
 	private volatile boolean shouldRun = true;
@@ -73,7 +74,7 @@ public class FeatureReaderWorker extends Worker<XMLChunk> {
 
 		while (shouldRun) {
 			try {
-				XMLChunk work = workQueue.take();				
+				FeatureChunk work = workQueue.take();				
 				doWork(work);
 			} catch (InterruptedException ie) {
 				// re-check state
@@ -81,23 +82,32 @@ public class FeatureReaderWorker extends Worker<XMLChunk> {
 		}
 	}
 
-	private void doWork(XMLChunk work) {
+	private void doWork(FeatureChunk work) {
 		final ReentrantLock runLock = this.runLock;
 		runLock.lock();
 
+		XMLChunk chunk = work.getChunk();
+
 		try {
 			try {
-				CityGML cityGML = work.unmarshal();
-				if (!useValidation || work.hasPassedXMLValidation())
+				CityGML cityGML = chunk.unmarshal();
+				if (!useValidation || chunk.hasPassedXMLValidation()) {
+					if (work.isCommitted())
+						ImportCheckpoint.markCommitted(cityGML);
+
 					dbWorkerPool.addWork(cityGML);
+				}
 			} catch (UnmarshalException e) {
-				if (!useValidation || work.hasPassedXMLValidation())
+				if (!useValidation || chunk.hasPassedXMLValidation())
 					log.error("Failed to unmarshal XML chunk.", e);
 			} catch (MissingADESchemaException e) {
 				eventDispatcher.triggerEvent(new InterruptEvent("Failed to read an ADE XML Schema.", LogLevel.ERROR, e, eventChannel, this));
 			} catch (Exception e) {
 				// this is to catch general exceptions that may occur during the import
 				eventDispatcher.triggerEvent(new InterruptEvent("Aborting due to an unexpected " + e.getClass().getName() + " error.", LogLevel.ERROR, e, eventChannel, this));
+			} finally {
+				// the source of the chunk may be released once it has been unmarshalled
+				work.unmarshalled();
 			}
 		} finally {
 			runLock.unlock();
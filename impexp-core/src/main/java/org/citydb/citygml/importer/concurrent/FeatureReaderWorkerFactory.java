@@ -33,9 +33,8 @@ import org.citydb.concurrent.WorkerPool;
 import org.citydb.config.Config;
 import org.citydb.event.EventDispatcher;
 import org.citygml4j.model.citygml.CityGML;
-import org.citygml4j.xml.io.reader.XMLChunk;
 
-public class FeatureReaderWorkerFactory implements WorkerFactory<XMLChunk> {
+public class FeatureReaderWorkerFactory implements WorkerFactory<FeatureChunk> {
 	private final WorkerPool<CityGML> dbWorkerPool;
 	private final Config config;
 	private final EventDispatcher eventDispatcher;
@@ -49,7 +48,7 @@ public class FeatureReaderWorkerFactory implements WorkerFactory<XMLChunk> {
 	}
 
 	@Override
-	public Worker<XMLChunk> createWorker() {
+	public Worker<FeatureChunk> createWorker() {
 		return new FeatureReaderWorker(dbWorkerPool, config, eventDispatcher);
 	}
 }
@@ -0,0 +1,180 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * http://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2019
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.gis.bgu.tum.de/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * virtualcitySYSTEMS GmbH, Berlin <http://www.virtualcitysystems.de/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.citygml.importer.concurrent;
+
+import org.citydb.citygml.importer.util.FeatureSizeEstimator;
+import org.citydb.concurrent.MemoryBudget;
+import org.citydb.concurrent.Worker;
+import org.citydb.concurrent.WorkerPool;
+import org.citydb.event.Event;
+import org.citydb.event.EventDispatcher;
+import org.citydb.event.EventHandler;
+import org.citydb.event.global.EventType;
+import org.citydb.util.HilbertOrderBuffer;
+import org.citygml4j.geometry.BoundingBox;
+import org.citygml4j.model.citygml.CityGML;
+import org.citygml4j.model.gml.feature.AbstractFeature;
+import org.citygml4j.model.gml.feature.BoundingShape;
+import org.citygml4j.util.bbox.BoundingBoxOptions;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class SpatialOrderingWorker extends Worker<CityGML> implements EventHandler {
+	private final ReentrantLock runLock = new ReentrantLock();
+	private volatile boolean shouldRun = true;
+	private volatile boolean shouldWork = true;
+
+	private final WorkerPool<CityGML> dbWorkerPool;
+	private final EventDispatcher eventDispatcher;
+	private final HilbertOrderBuffer<CityGML> orderBuffer;
+	private final BoundingBoxOptions bboxOptions;
+	private final MemoryBudget memoryBudget;
+	private final FeatureSizeEstimator sizeEstimator;
+	private final Map<CityGML, Long> windowSizes;
+
+	public SpatialOrderingWorker(WorkerPool<CityGML> dbWorkerPool, int windowSize, MemoryBudget memoryBudget, EventDispatcher eventDispatcher) {
+		this.dbWorkerPool = dbWorkerPool;
+		this.memoryBudget = memoryBudget;
+		this.eventDispatcher = eventDispatcher;
+
+		orderBuffer = new HilbertOrderBuffer<>(windowSize, this::pass);
+
+		// features in the window are no longer accounted for by a work queue
+		sizeEstimator = memoryBudget != null ? new FeatureSizeEstimator() : null;
+		windowSizes = memoryBudget != null ? new IdentityHashMap<>() : null;
+
+		// the envelope is assigned to the feature and reused by the import workers
+		bboxOptions = BoundingBoxOptions.defaults()
+				.useExistingEnvelopes(true)
+				.assignResultToFeatures(true)
+				.useReferencePointAsFallbackForImplicitGeometries(true);
+
+		eventDispatcher.addEventHandler(EventType.INTERRUPT, this);
+	}
+
+	@Override
+	public void interrupt() {
+		shouldRun = false;
+	}
+
+	@Override
+	public void run() {
+		try {
+			if (firstWork != null) {
+				doWork(firstWork);
+				firstWork = null;
+			}
+
+			while (shouldRun) {
+				try {
+					CityGML work = workQueue.take();
+					doWork(work);
+				} catch (InterruptedException ie) {
+					// re-check state
+				}
+			}
+
+			// pass the remaining features to the import workers
+			if (shouldWork)
+				orderBuffer.flush();
+			else {
+				orderBuffer.clear();
+				if (windowSizes != null) {
+					windowSizes.values().forEach(memoryBudget::release);
+					windowSizes.clear();
+				}
+			}
+		} finally {
+			eventDispatcher.removeEventHandler(this);
+		}
+	}
+
+	private void doWork(CityGML work) {
+		final ReentrantLock runLock = this.runLock;
+		runLock.lock();
+
+		try {
+			if (!shouldWork)
+				return;
+
+			if (work instanceof AbstractFeature) {
+				BoundingShape boundedBy = ((AbstractFeature) work).calcBoundedBy(bboxOptions);
+				if (boundedBy != null && boundedBy.isSetEnvelope()) {
+					BoundingBox bbox = boundedBy.getEnvelope().toBoundingBox();
+					if (bbox != null) {
+						if (memoryBudget != null)
+							acquire(work);
+
+						orderBuffer.add(work,
+								(bbox.getLowerCorner().getX() + bbox.getUpperCorner().getX()) / 2.0,
+								(bbox.getLowerCorner().getY() + bbox.getUpperCorner().getY()) / 2.0);
+						return;
+					}
+				}
+			}
+
+			// objects without a spatial extent are not reordered
+			dbWorkerPool.addWork(work);
+		} finally {
+			runLock.unlock();
+		}
+	}
+
+	private void acquire(CityGML work) {
+		long size = Math.max(0, sizeEstimator.applyAsLong(work));
+
+		// pass the window on early if the budget is exhausted. the feature has
+		// already been taken from the queue, so it is charged without waiting
+		// since this worker must keep draining the queue its producers block on
+		if (!memoryBudget.tryAcquire(size)) {
+			orderBuffer.flush();
+			if (!memoryBudget.tryAcquire(size))
+				memoryBudget.charge(size);
+		}
+
+		windowSizes.put(work, size);
+	}
+
+	private void pass(CityGML work) {
+		if (windowSizes != null) {
+			Long size = windowSizes.remove(work);
+			if (size != null)
+				memoryBudget.release(size);
+		}
+
+		dbWorkerPool.addWork(work);
+	}
+
+	@Override
+	public void handleEvent(Event event) throws Exception {
+		if (event.getChannel() == eventChannel)
+			shouldWork = false;
+	}
+}
@@ -28,7 +28,10 @@
 package org.citydb.citygml.importer.controller;
 
 import org.apache.tika.exception.TikaException;
+import org.citydb.citygml.common.database.cache.CacheTable;
 import org.citydb.citygml.common.database.cache.CacheTableManager;
+import org.citydb.citygml.common.database.cache.model.CacheTableModel;
+import org.citydb.citygml.common.database.uid.MappedUIDCachingModel;
 import org.citydb.citygml.common.database.uid.UIDCacheManager;
 import org.citydb.citygml.common.database.uid.UIDCacheType;
 import org.citydb.citygml.common.database.xlink.DBXlink;
@@ -36,6 +39,8 @@ import org.citydb.citygml.importer.CityGMLImportException;
 import org.citydb.citygml.importer.concurrent.DBImportWorkerFactory;
 import org.citydb.citygml.importer.concurrent.DBImportXlinkResolverWorkerFactory;
 import org.citydb.citygml.importer.concurrent.DBImportXlinkWorkerFactory;
+import org.citydb.citygml.importer.concurrent.SpatialOrderingWorkerFactory;
+import org.citydb.citygml.importer.database.StagingTableManager;
 import org.citydb.citygml.importer.database.uid.FeatureGmlIdCache;
 import org.citydb.citygml.importer.database.uid.GeometryGmlIdCache;
 import org.citydb.citygml.importer.database.uid.TextureImageCache;
@@ -46,9 +51,16 @@ import org.citydb.citygml.importer.reader.FeatureReadException;
 import org.citydb.citygml.importer.reader.FeatureReader;
 import org.citydb.citygml.importer.reader.FeatureReaderFactory;
 import org.citydb.citygml.importer.reader.FeatureReaderFactoryBuilder;
+import org.citydb.citygml.importer.util.AdaptiveBatchSize;
 import org.citydb.citygml.importer.util.AffineTransformer;
+import org.citydb.citygml.importer.util.ChangeDetector;
+import org.citydb.citygml.importer.util.FeatureSizeEstimator;
+import org.citydb.citygml.importer.util.ImportCheckpoint;
 import org.citydb.citygml.importer.util.ImportLogger;
+import org.citydb.citygml.importer.util.ObjectDeleter;
+import org.citydb.concurrent.MemoryBudget;
 import org.citydb.concurrent.PoolSizeAdaptationStrategy;
+import org.citydb.concurrent.SingleWorkerPool;
 import org.citydb.concurrent.WorkerPool;
 import org.citydb.config.Config;
 import org.citydb.config.i18n.Language;
@@ -58,6 +70,9 @@ import org.citydb.config.project.database.Workspace;
 import org.citydb.config.project.importer.ImportGmlId;
 import org.citydb.config.project.importer.ImportResources;
 import org.citydb.config.project.importer.Index;
+import org.citydb.config.project.importer.ResumableImport;
+import org.citydb.config.project.resources.MemoryBudgetConfig;
+import org.citydb.config.project.resources.SpatialOrdering;
 import org.citydb.database.adapter.AbstractDatabaseAdapter;
 import org.citydb.database.adapter.AbstractUtilAdapter;
 import org.citydb.database.adapter.IndexStatusInfo;
@@ -72,6 +87,7 @@ import org.citydb.event.EventHandler;
 import org.citydb.event.global.CounterEvent;
 import org.citydb.event.global.CounterType;
 import org.citydb.event.global.EventType;
+import org.citydb.event.global.BatchSizeEvent;
 import org.citydb.event.global.GeometryCounterEvent;
 import org.citydb.event.global.InterruptEvent;
 import org.citydb.event.global.ObjectCounterEvent;
@@ -84,7 +100,9 @@ import org.citydb.file.input.AbstractArchiveInputFile;
 import org.citydb.file.input.DirectoryScanner;
 import org.citydb.log.Logger;
 import org.citydb.query.filter.FilterException;
+import org.citydb.registry.ObjectRegistry;
 import org.citydb.util.CoreConstants;
+import org.citydb.util.MarshallerPool;
 import org.citydb.util.Util;
 import org.citygml4j.builder.jaxb.CityGMLBuilder;
 import org.citygml4j.model.citygml.CityGML;
@@ -93,7 +111,9 @@ import org.citygml4j.model.gml.GMLClass;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
@@ -114,6 +134,7 @@ public class Importer implements EventHandler {
 	private AtomicBoolean isInterrupted = new AtomicBoolean(false);
 	private HashMap<Integer, Long> objectCounter;
 	private EnumMap<GMLClass, Long> geometryCounter;
+	private List<BatchSizeEvent> batchSizeEvents;
 	private DirectoryScanner directoryScanner;
 
 	public Importer(CityGMLBuilder cityGMLBuilder, 
@@ -128,16 +149,31 @@ public class Importer implements EventHandler {
 		databaseAdapter = DatabaseConnectionPool.getInstance().getActiveDatabaseAdapter();
 		objectCounter = new HashMap<>();
 		geometryCounter = new EnumMap<>(GMLClass.class);
+		batchSizeEvents = new ArrayList<>();
 	}
 
 	public void cleanup() {
 		eventDispatcher.removeEventHandler(this);
+
+		ImportCheckpoint checkpoint = ObjectRegistry.getInstance().lookup(ImportCheckpoint.class);
+		if (checkpoint != null) {
+			try {
+				checkpoint.close();
+			} catch (IOException e) {
+				//
+			}
+
+			ObjectRegistry.getInstance().unregister(ImportCheckpoint.class);
+		}
+
+		ObjectRegistry.getInstance().unregister(MemoryBudget.class);
 	}
 
 	public boolean doProcess() throws CityGMLImportException {
 		// adding listeners
 		eventDispatcher.addEventHandler(EventType.OBJECT_COUNTER, this);
 		eventDispatcher.addEventHandler(EventType.GEOMETRY_COUNTER, this);
+		eventDispatcher.addEventHandler(EventType.BATCH_SIZE, this);
 		eventDispatcher.addEventHandler(EventType.INTERRUPT, this);
 
 		// get config shortcuts
@@ -153,6 +189,20 @@ public class Importer implements EventHandler {
 		int maxThreads = resourcesConfig.getThreadPool().getDefaultPool().getMaxThreads();
 		int queueSize = maxThreads * 2;
 
+		// optionally bound the feature queues by an estimated memory budget
+		// rather than by the number of queued features only
+		MemoryBudget memoryBudget = null;
+		int featureQueueSize = queueSize;
+		MemoryBudgetConfig memoryBudgetConfig = resourcesConfig.getMemoryBudget();
+		if (memoryBudgetConfig.isEnabled()) {
+			memoryBudget = MemoryBudget.ofMaxHeap(memoryBudgetConfig.getHeapFraction());
+			featureQueueSize = Math.max(queueSize, memoryBudgetConfig.getMaxQueueSize());
+			log.info("Using a memory budget of " + (memoryBudget.getCapacity() >> 20) + " MB for queued features.");
+
+			// the feature readers charge their parsed chunks against the same budget
+			ObjectRegistry.getInstance().register(memoryBudget);
+		}
+
 		// gml:id lookup cache update
 		int lookupCacheBatchSize = databaseConfig.getImportBatching().getGmlIdCacheBatchSize();
 
@@ -211,6 +261,48 @@ public class Importer implements EventHandler {
 		log.info("List of import files successfully created.");
 		log.info(remainingFiles + " file(s) will be imported.");
 
+		// change detection
+		if (importerConfig.getChangeDetection().isEnabled()) {
+			if (importerConfig.getGmlId().isUUIDModeReplace())
+				log.warn("Change detection is disabled because gml:ids are replaced during import.");
+			else if (resourcesConfig.getBulkLoad().isEnabled())
+				log.warn("Change detection is disabled because features are bulk loaded into staging tables.");
+			else {
+				try (Connection connection = DatabaseConnectionPool.getInstance().getConnection()) {
+					if (!ChangeDetector.existsFingerprintTable(connection, databaseAdapter))
+						throw new CityGMLImportException("Change detection requires the table '" + ChangeDetector.FINGERPRINT_TABLE +
+								"', which is missing in the database schema. Upgrade the database using the 3D City Database scripts shipped with this version.");
+				} catch (SQLException e) {
+					throw new CityGMLImportException("SQL error while checking the fingerprint table for change detection.", e);
+				}
+
+				log.info("Skipping top-level features whose content is unchanged in the database.");
+			}
+		}
+
+		// resumable import
+		ImportCheckpoint checkpoint = null;
+		ResumableImport resumableImport = importerConfig.getResumableImport();
+		if (resumableImport.isEnabled()) {
+			if (!resumableImport.isSetJobId())
+				throw new CityGMLImportException("A job id must be provided for a resumable import.");
+
+			String jobId = resumableImport.getJobId().trim();
+			try {
+				// staged objects are not durable before they have been merged at the end of a file
+				checkpoint = ImportCheckpoint.open(jobId, resumableImport.getCheckpointInterval(), !resourcesConfig.getBulkLoad().isEnabled());
+			} catch (IOException e) {
+				throw new CityGMLImportException("Failed to open the checkpoint of import job '" + jobId + "'.", e);
+			}
+
+			if (checkpoint.isResumed())
+				log.info("Resuming import job '" + jobId + "' from checkpoint " + checkpoint.getCheckpointFile() + ".");
+			else
+				log.info("Saving checkpoints of import job '" + jobId + "' to " + checkpoint.getCheckpointFile() + ".");
+
+			ObjectRegistry.getInstance().register(checkpoint);
+		}
+
 		// affine transformation
 		AffineTransformer affineTransformer = null;
 		if (importerConfig.getAffineTransformation().isEnabled()) {
@@ -231,12 +323,19 @@ public class Importer implements EventHandler {
 			throw new CityGMLImportException("Failed to build the import filter.", e);
 		}
 
+		// checkpoints within a file require stable gml:ids to rebuild the gml:id caches on resume
+		boolean useFileCheckpoints = checkpoint != null && checkpoint.isTrackingFeatures() && !gmlIdConfig.isUUIDModeReplace();
+		if (checkpoint != null && checkpoint.isTrackingFeatures() && !useFileCheckpoints)
+			log.warn("Interrupted files are imported again from their beginning because gml:ids are replaced during import.");
+
 		// create reader factory builder
 		FeatureReaderFactoryBuilder builder = new FeatureReaderFactoryBuilder();
 
 		CacheTableManager cacheTableManager = null;
+		StagingTableManager stagingTableManager = null;
 		UIDCacheManager uidCacheManager = null;
 		WorkerPool<CityGML> dbWorkerPool = null;
+		WorkerPool<CityGML> spatialOrderingPool = null;
 		WorkerPool<DBXlink> tmpXlinkPool = null;
 		WorkerPool<DBXlink> xlinkResolverPool = null;
 		DBXlinkSplitter splitter;
@@ -249,10 +348,31 @@ public class Importer implements EventHandler {
 			if (filter.isSetCounterFilter() && !filter.getCounterFilter().isCountSatisfied())
 				break;
 
+			boolean isFileFinished = false;
 			try (InputFile file = importFiles.get(fileCounter++)) {
 				Path contentFile = file.getType() != FileType.ARCHIVE ?
 						file.getFile() : Paths.get(file.getFile().toString(), ((AbstractArchiveInputFile) file).getContentFile());
 
+				if (checkpoint != null) {
+					if (checkpoint.isFinished(contentFile)) {
+						log.info("Skipping file imported before the job was interrupted: " + contentFile.toString());
+						eventDispatcher.triggerEvent(new CounterEvent(CounterType.FILE, --remainingFiles, this));
+						continue;
+					}
+
+					// objects committed after the last checkpoint of an interrupted file are
+					// not covered by its cache tables and must be imported again
+					ImportCheckpoint.CommittedObjects committed = checkpoint.begin(contentFile);
+					if (!committed.isEmpty()) {
+						log.info("Deleting " + committed.size() + " object(s) committed after the last checkpoint.");
+						deleteCommittedObjects(committed);
+						checkpoint.resume();
+					}
+
+					if (checkpoint.getOrdinal() > 0)
+						log.info("Resuming the import of the file after " + checkpoint.getOrdinal() + " top-level feature(s).");
+				}
+
 				eventDispatcher.triggerEvent(new StatusDialogTitle(contentFile.getFileName().toString(), this));
 				eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("import.dialog.cityObj.msg"), this));
 				eventDispatcher.triggerEvent(new StatusDialogProgressBar(true, this));
@@ -289,32 +409,64 @@ public class Importer implements EventHandler {
 
 				// create instance of the cache table manager
 				try {
-					cacheTableManager = new CacheTableManager(maxThreads, config);
+					if (useFileCheckpoints) {
+						cacheTableManager = new CacheTableManager(maxThreads, checkpoint.getCacheDir(), config);
+						for (ImportCheckpoint.CachedTable cachedTable : checkpoint.getCachedTables())
+							cacheTableManager.attachCacheTable(cachedTable.getModel(), cachedTable.getTableName(), cachedTable.getRowId());
+					} else
+						cacheTableManager = new CacheTableManager(maxThreads, config);
 				} catch (SQLException e) {
 					throw new CityGMLImportException("SQL error while initializing cache manager.", e);
 				} catch (IOException e) {
 					throw new CityGMLImportException("I/O error while initializing cache manager.", e);
 				}
 
+				// create unlogged staging tables for bulk loading
+				if (resourcesConfig.getBulkLoad().isEnabled()) {
+					stagingTableManager = new StagingTableManager(databaseAdapter, schemaMapping, resourcesConfig.getBulkLoad().getTablePrefix());
+					try (Connection connection = DatabaseConnectionPool.getInstance().getConnection()) {
+						stagingTableManager.create(connection);
+					} catch (SQLException e) {
+						throw new CityGMLImportException("SQL error while creating staging tables for bulk loading.", e);
+					}
+
+					internalConfig.setStagingTables(stagingTableManager.getStagingTables());
+				}
+
 				// create instance of gml:id lookup server manager...
 				uidCacheManager = new UIDCacheManager();
 
 				// ...and start servers
+				boolean useMappedFiles = config.getProject().getGlobal().getCache().isUseMappedFiles();
+				if (useMappedFiles)
+					log.debug("Using memory-mapped key-value stores for gml:id lookups and linear rings. " +
+							"Cache tables that are joined or scanned in SQL are kept as tables.");
+
 				try {
 					uidCacheManager.initCache(
 							UIDCacheType.GEOMETRY,
-							new GeometryGmlIdCache(cacheTableManager, 
-									resourcesConfig.getGmlIdCache().getGeometry().getPartitions(), 
-									lookupCacheBatchSize),
+							useMappedFiles ?
+									new MappedUIDCachingModel(cacheTableManager,
+											CacheTableModel.GMLID_GEOMETRY,
+											"geometry",
+											resourcesConfig.getGmlIdCache().getGeometry().getPartitions()) :
+									new GeometryGmlIdCache(cacheTableManager, 
+											resourcesConfig.getGmlIdCache().getGeometry().getPartitions(), 
+											lookupCacheBatchSize),
 							resourcesConfig.getGmlIdCache().getGeometry().getCacheSize(),
 							resourcesConfig.getGmlIdCache().getGeometry().getPageFactor(),
 							maxThreads);
 
 					uidCacheManager.initCache(
 							UIDCacheType.OBJECT,
-							new FeatureGmlIdCache(cacheTableManager, 
-									resourcesConfig.getGmlIdCache().getFeature().getPartitions(),
-									lookupCacheBatchSize),
+							useMappedFiles ?
+									new MappedUIDCachingModel(cacheTableManager,
+											CacheTableModel.GMLID_FEATURE,
+											"feature",
+											resourcesConfig.getGmlIdCache().getFeature().getPartitions()) :
+									new FeatureGmlIdCache(cacheTableManager, 
+											resourcesConfig.getGmlIdCache().getFeature().getPartitions(),
+											lookupCacheBatchSize),
 							resourcesConfig.getGmlIdCache().getFeature().getCacheSize(),
 							resourcesConfig.getGmlIdCache().getFeature().getPageFactor(),
 							maxThreads);
@@ -323,9 +475,14 @@ public class Importer implements EventHandler {
 							config.getProject().getImporter().getAppearances().isSetImportTextureFiles()) {
 						uidCacheManager.initCache(
 								UIDCacheType.TEXTURE_IMAGE,
-								new TextureImageCache(cacheTableManager, 
-										resourcesConfig.getTexImageCache().getPartitions(),
-										lookupCacheBatchSize),
+								useMappedFiles ?
+										new MappedUIDCachingModel(cacheTableManager,
+												CacheTableModel.TEXTURE_FILE_ID,
+												"texture image",
+												resourcesConfig.getTexImageCache().getPartitions()) :
+										new TextureImageCache(cacheTableManager, 
+												resourcesConfig.getTexImageCache().getPartitions(),
+												lookupCacheBatchSize),
 								resourcesConfig.getTexImageCache().getCacheSize(),
 								resourcesConfig.getTexImageCache().getPageFactor(),
 								maxThreads);
@@ -345,6 +502,16 @@ public class Importer implements EventHandler {
 						queueSize,
 						false);
 
+				// pipelined import workers hold a second connection for executing batches
+				if (databaseConfig.getImportBatching().isPipelinedExecution()) {
+					int maxActive = DatabaseConnectionPool.getInstance().getMaxActive();
+					if (2 * maxThreads > maxActive) {
+						log.warn("Pipelined batch execution requires up to " + (2 * maxThreads) + " database connections " +
+								"but the connection pool is limited to " + maxActive + ".");
+						log.warn("Increase the maximum number of active connections or reduce the number of import threads.");
+					}
+				}
+
 				// this pool basically works on the data import
 				dbWorkerPool = new WorkerPool<>(
 						"db_importer_pool",
@@ -361,9 +528,12 @@ public class Importer implements EventHandler {
 								importLogger,
 								config,
 								eventDispatcher),
-						queueSize,
+						featureQueueSize,
 						false);
 
+				if (memoryBudget != null)
+					dbWorkerPool.setMemoryBudget(memoryBudget, new FeatureSizeEstimator());
+
 				// prestart threads
 				tmpXlinkPool.prestartCoreWorkers();
 				dbWorkerPool.prestartCoreWorkers();
@@ -374,6 +544,30 @@ public class Importer implements EventHandler {
 					return false;
 				}
 
+				// optionally reorder features along a space-filling curve before they are imported
+				SpatialOrdering spatialOrdering = resourcesConfig.getSpatialOrdering();
+				if (spatialOrdering.isEnabled()) {
+					spatialOrderingPool = new SingleWorkerPool<>(
+							"spatial_ordering_pool",
+							new SpatialOrderingWorkerFactory(dbWorkerPool, spatialOrdering.getWindowSize(), memoryBudget, eventDispatcher),
+							featureQueueSize,
+							false);
+
+					if (memoryBudget != null)
+						spatialOrderingPool.setMemoryBudget(memoryBudget, new FeatureSizeEstimator());
+
+					spatialOrderingPool.prestartCoreWorkers();
+				}
+
+				// the reader saves checkpoints after the import has been flushed
+				if (useFileCheckpoints) {
+					WorkerPool<CityGML> orderingPool = spatialOrderingPool;
+					WorkerPool<CityGML> importPool = dbWorkerPool;
+					WorkerPool<DBXlink> xlinkPool = tmpXlinkPool;
+					CacheTableManager cacheManager = cacheTableManager;
+					checkpoint.setFlusher(() -> flushImport(orderingPool, importPool, xlinkPool, cacheManager));
+				}
+
 				FeatureReaderFactory factory;
 				try {
 					factory = builder.buildFactory(file, filter, config);
@@ -384,7 +578,7 @@ public class Importer implements EventHandler {
 				// ok, preparation done. start parsing the input file
 				log.info("Importing file: " + contentFile.toString());
 				try (FeatureReader reader = factory.createFeatureReader()) {
-					reader.read(file, dbWorkerPool);
+					reader.read(file, spatialOrderingPool != null ? spatialOrderingPool : dbWorkerPool);
 
 					// show XML validation errors
 					if (reader.getValidationErrors() > 0)
@@ -396,12 +590,35 @@ public class Importer implements EventHandler {
 				// we are done with parsing the file. so shutdown the workers.
 				// the xlink pool is not shutdown because we need it afterwards
 				try {
+					if (spatialOrderingPool != null)
+						spatialOrderingPool.shutdownAndWait();
+
 					dbWorkerPool.shutdownAndWait();
 					tmpXlinkPool.join();
 				} catch (InterruptedException e) {
 					throw new CityGMLImportException("Failed to shutdown worker pools.", e);
 				}
 
+				// resolving XLinks cannot be resumed, so an interrupted file is imported again
+				if (checkpoint != null) {
+					checkpoint.setFlusher(null);
+					if (shouldRun)
+						checkpoint.setResolving();
+				}
+
+				// move staged data into the target tables before resolving xlinks
+				if (shouldRun && stagingTableManager != null) {
+					log.info("Moving staged data into database tables.");
+					try (Connection connection = DatabaseConnectionPool.getInstance().getConnection()) {
+						if (databaseAdapter.hasVersioningSupport())
+							databaseAdapter.getWorkspaceManager().gotoWorkspace(connection, databaseConfig.getWorkspaces().getImportWorkspace());
+
+						stagingTableManager.merge(connection);
+					} catch (SQLException e) {
+						throw new CityGMLImportException("SQL error while moving staged data into database tables.", e);
+					}
+				}
+
 				if (shouldRun) {
 					// get an xlink resolver pool
 					log.info("Resolving XLink references.");
@@ -427,6 +644,7 @@ public class Importer implements EventHandler {
 						splitter = new DBXlinkSplitter(cacheTableManager,
 								xlinkResolverPool, 
 								tmpXlinkPool,
+								config,
 								Event.GLOBAL_CHANNEL,
 								eventDispatcher);
 
@@ -448,6 +666,12 @@ public class Importer implements EventHandler {
 					throw new CityGMLImportException("Failed to shutdown worker pools.", e);
 				}
 
+				// the file has been imported completely
+				if (shouldRun && checkpoint != null) {
+					checkpoint.finish(contentFile);
+					isFileFinished = true;
+				}
+
 				eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("import.dialog.finish.msg"), this));
 				eventDispatcher.triggerEvent(new StatusDialogProgressBar(true, this));
 			} catch (CityGMLImportException e) {
@@ -458,6 +682,9 @@ public class Importer implements EventHandler {
 				throw new CityGMLImportException("An unexpected error occurred.", e);
 			} finally {
 				// clean up
+				if (spatialOrderingPool != null && !spatialOrderingPool.isTerminated())
+					spatialOrderingPool.shutdownNow();
+
 				if (dbWorkerPool != null && !dbWorkerPool.isTerminated())
 					dbWorkerPool.shutdownNow();
 
@@ -482,10 +709,27 @@ public class Importer implements EventHandler {
 					}
 				}
 
+				if (stagingTableManager != null) {
+					internalConfig.setStagingTables(null);
+					try (Connection connection = DatabaseConnectionPool.getInstance().getConnection()) {
+						stagingTableManager.drop(connection);
+					} catch (SQLException e) {
+						log.error("SQL error while dropping staging tables.", e);
+						shouldRun = false;
+					}
+
+					stagingTableManager = null;
+				}
+
 				if (cacheTableManager != null) {
 					try {
-						log.info("Cleaning temporary cache.");
-						cacheTableManager.dropAll();
+						if (cacheTableManager.isPersistent() && !isFileFinished) {
+							// keep the cache tables of the last checkpoint for resuming the file
+							cacheTableManager.close();
+						} else {
+							log.info("Cleaning temporary cache.");
+							cacheTableManager.dropAll();
+						}
 					} catch (SQLException e) {
 						log.error("SQL error while cleaning temporary cache.", e);
 						shouldRun = false;
@@ -504,6 +748,15 @@ public class Importer implements EventHandler {
 			}
 		} 
 
+		// the import job is complete
+		if (checkpoint != null && shouldRun) {
+			try {
+				checkpoint.delete();
+			} catch (IOException e) {
+				log.warn("Failed to delete the import checkpoint " + checkpoint.getCheckpointFile() + ".");
+			}
+		}
+
 		// reactivate database indexes
 		if (shouldRun) {
 			if (indexConfig.isSpatialIndexModeDeactivateActivate() || indexConfig.isNormalIndexModeDeactivateActivate()) {
@@ -532,19 +785,81 @@ public class Importer implements EventHandler {
 		if (!geometryCounter.isEmpty())
 			log.info("Processed geometry objects: " + geometryCounter.values().stream().reduce(0L, Long::sum));
 
+		// show adaptive batch sizes
+		if (!batchSizeEvents.isEmpty())
+			log.info("Adaptive feature batch size: " + AdaptiveBatchSize.getStatistics(batchSizeEvents) + ".");
+
+		MarshallerPool marshallerPool = ObjectRegistry.getInstance().getMarshallerPool(cityGMLBuilder.getJAXBContext());
+		log.debug("JAXB marshaller pool: " + marshallerPool.getStatistics() + ".");
+		marshallerPool.resetStatistics();
+
 		if (shouldRun)
 			log.info("Total import time: " + Util.formatElapsedTime(System.currentTimeMillis() - start) + ".");
 
 		return shouldRun;
 	}
 
+	private List<ImportCheckpoint.CachedTable> flushImport(WorkerPool<CityGML> spatialOrderingPool,
+			WorkerPool<CityGML> dbWorkerPool,
+			WorkerPool<DBXlink> tmpXlinkPool,
+			CacheTableManager cacheTableManager) throws SQLException, InterruptedException {
+		// joining the pools commits all imported features and writes their XLinks to the cache
+		if (spatialOrderingPool != null)
+			spatialOrderingPool.join();
+
+		dbWorkerPool.join();
+		tmpXlinkPool.join();
+		eventDispatcher.flushEvents();
+
+		// do not save a checkpoint if a worker has failed in the meantime
+		if (!shouldRun)
+			return null;
+
+		cacheTableManager.commit();
+		List<ImportCheckpoint.CachedTable> cachedTables = new ArrayList<>();
+		for (CacheTable cacheTable : cacheTableManager.getCacheTables())
+			cachedTables.add(new ImportCheckpoint.CachedTable(cacheTable.getModelType(), cacheTable.getTableName(), cacheTable.getLastRowId()));
+
+		return cachedTables;
+	}
+
+	private void deleteCommittedObjects(ImportCheckpoint.CommittedObjects committed) throws CityGMLImportException {
+		Database databaseConfig = config.getProject().getDatabase();
+		int batchSize = Math.min(databaseConfig.getImportBatching().getFeatureBatchSize(), databaseAdapter.getMaxBatchSize());
+
+		try (Connection connection = DatabaseConnectionPool.getInstance().getConnection()) {
+			connection.setAutoCommit(false);
+			if (databaseAdapter.hasVersioningSupport())
+				databaseAdapter.getWorkspaceManager().gotoWorkspace(connection, databaseConfig.getWorkspaces().getImportWorkspace());
+
+			deleteObjects(committed.getCityObjectIds(), "citydb_delete.delete_cityobject", batchSize, connection);
+			deleteObjects(committed.getAppearanceIds(), "citydb_delete.delete_appearance", batchSize, connection);
+		} catch (SQLException e) {
+			throw new CityGMLImportException("Failed to delete objects committed after the last checkpoint.", e);
+		}
+	}
+
+	private void deleteObjects(List<Long> ids, String operation, int batchSize, Connection connection) throws SQLException {
+		ObjectDeleter deleter = new ObjectDeleter(connection, databaseAdapter, operation, batchSize);
+		try {
+			// the journal is kept until the file has been resumed, so each batch can be committed
+			for (int from = 0; from < ids.size(); from += batchSize) {
+				deleter.deleteBatch(ids.subList(from, Math.min(from + batchSize, ids.size())));
+				connection.commit();
+			}
+		} finally {
+			deleter.close();
+		}
+	}
+
 	private void manageIndexes(boolean enable, boolean workOnSpatialIndexes) throws SQLException {
 		AbstractUtilAdapter utilAdapter = databaseAdapter.getUtil();
 		log.info((enable ? "Activating " : "Deactivating ") + (workOnSpatialIndexes ? "spatial" : "normal") + " indexes...");
 
 		IndexStatusInfo indexStatus;
 		if (enable) {
-			indexStatus = workOnSpatialIndexes ? utilAdapter.createSpatialIndexes() : utilAdapter.createNormalIndexes();
+			int parallelism = config.getProject().getImporter().getIndexes().getParallelism();
+			indexStatus = workOnSpatialIndexes ? utilAdapter.createSpatialIndexes(parallelism) : utilAdapter.createNormalIndexes(parallelism);
 		} else {
 			indexStatus = workOnSpatialIndexes ? utilAdapter.dropSpatialIndexes() : utilAdapter.dropNormalIndexes();
 		}
@@ -581,6 +896,9 @@ public class Importer implements EventHandler {
 			}
 		}
 
+		else if (e.getEventType() == EventType.BATCH_SIZE)
+			batchSizeEvents.add((BatchSizeEvent) e);
+
 		else if (e.getEventType() == EventType.INTERRUPT) {
 			if (isInterrupted.compareAndSet(false, true)) {
 				shouldRun = false;
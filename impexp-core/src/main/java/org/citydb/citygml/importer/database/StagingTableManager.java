@@ -0,0 +1,164 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * http://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2019
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.gis.bgu.tum.de/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * virtualcitySYSTEMS GmbH, Berlin <http://www.virtualcitysystems.de/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.citygml.importer.database;
+
+import org.citydb.database.adapter.AbstractDatabaseAdapter;
+import org.citydb.database.schema.mapping.SchemaMapping;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class StagingTableManager {
+	private final AbstractDatabaseAdapter databaseAdapter;
+	private final String schema;
+	private final String basePrefix;
+	private final List<String> tables;
+	private final Map<String, String> stagingTables = new LinkedHashMap<>();
+
+	public StagingTableManager(AbstractDatabaseAdapter databaseAdapter, SchemaMapping schemaMapping, String prefix) {
+		this.databaseAdapter = databaseAdapter;
+		basePrefix = prefix;
+
+		schema = databaseAdapter.getConnectionDetails().getSchema();
+		tables = new TableHelper(schemaMapping).getCommitOrder();
+		createStagingTableNames();
+	}
+
+	public Map<String, String> getStagingTables() {
+		return Collections.unmodifiableMap(stagingTables);
+	}
+
+	public List<String> getTables() {
+		return tables;
+	}
+
+	public void create(Connection connection) throws SQLException {
+		// every import uses its own staging tables so that concurrent
+		// imports neither share nor drop each other's tables
+		while (exists(connection))
+			createStagingTableNames();
+
+		int maxLength = databaseAdapter.getSQLAdapter().getMaximumIdentifierLength();
+		for (String name : stagingTables.values()) {
+			if (name.length() > maxLength)
+				throw new SQLException("The staging table name '" + name + "' exceeds the maximum identifier length of " +
+						maxLength + " characters. Please choose a shorter table prefix.");
+		}
+
+		try (Statement stmt = connection.createStatement()) {
+			for (String table : tables) {
+				stmt.executeUpdate(databaseAdapter.getSQLAdapter().getCreateUnloggedTableAsSelect(
+						getStagingTableName(table),
+						"select * from " + schema + "." + table + " where 1 = 0"));
+			}
+		}
+
+		if (!connection.getAutoCommit())
+			connection.commit();
+	}
+
+	public void merge(Connection connection) throws SQLException {
+		boolean autoCommit = connection.getAutoCommit();
+		connection.setAutoCommit(false);
+
+		try (Statement stmt = connection.createStatement()) {
+			// the commit order guarantees that referenced rows are inserted first
+			for (String table : tables) {
+				stmt.executeUpdate("insert into " + schema + "." + table + " select * from " + getStagingTableName(table));
+				stmt.executeUpdate("delete from " + getStagingTableName(table));
+			}
+
+			connection.commit();
+		} catch (SQLException e) {
+			connection.rollback();
+			throw e;
+		} finally {
+			connection.setAutoCommit(autoCommit);
+		}
+	}
+
+	public void drop(Connection connection) throws SQLException {
+		DatabaseMetaData metaData = connection.getMetaData();
+
+		try (Statement stmt = connection.createStatement()) {
+			for (String table : tables) {
+				if (exists(table, metaData))
+					stmt.executeUpdate("drop table " + getStagingTableName(table));
+			}
+		}
+
+		if (!connection.getAutoCommit())
+			connection.commit();
+	}
+
+	private boolean exists(Connection connection) throws SQLException {
+		DatabaseMetaData metaData = connection.getMetaData();
+		for (String table : tables) {
+			if (exists(table, metaData))
+				return true;
+		}
+
+		return false;
+	}
+
+	private boolean exists(String table, DatabaseMetaData metaData) throws SQLException {
+		String name = stagingTables.get(table);
+		if (metaData.storesUpperCaseIdentifiers())
+			name = name.toUpperCase();
+
+		try (ResultSet rs = metaData.getTables(null, metaData.storesUpperCaseIdentifiers() ? schema.toUpperCase() : schema, name, null)) {
+			return rs.next();
+		}
+	}
+
+	private void createStagingTableNames() {
+		// the names of the staging tables do not depend on the names of the base tables
+		// so that they stay within the identifier length limits of the database systems,
+		// e.g., 30 characters for Oracle versions prior to 12.2 and 63 for PostgreSQL
+		StringBuilder token = new StringBuilder(basePrefix);
+		for (int i = 0; i < 4; i++)
+			token.append(Character.forDigit(ThreadLocalRandom.current().nextInt(36), 36));
+
+		stagingTables.clear();
+		for (int i = 0; i < tables.size(); i++)
+			stagingTables.put(tables.get(i), token.toString() + '_' + i);
+	}
+
+	private String getStagingTableName(String table) {
+		return schema + "." + stagingTables.get(table);
+	}
+
+}
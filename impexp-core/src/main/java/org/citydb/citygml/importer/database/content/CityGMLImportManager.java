@@ -60,7 +60,9 @@ import org.citydb.database.schema.mapping.ObjectType;
 import org.citydb.database.schema.mapping.SchemaMapping;
 import org.citydb.file.InputFile;
 import org.citydb.log.Logger;
+import org.citydb.registry.ObjectRegistry;
 import org.citydb.util.CoreConstants;
+import org.citydb.util.MarshallerPool;
 import org.citydb.util.Util;
 import org.citygml4j.builder.jaxb.CityGMLBuilder;
 import org.citygml4j.builder.jaxb.marshal.JAXBMarshaller;
@@ -160,8 +162,11 @@ public class CityGMLImportManager implements CityGMLImportHelper {
 	private ExternalFileChecker externalFileChecker;
 	private CityGMLVersion cityGMLVersion;
 	private JAXBMarshaller jaxbMarshaller;
+	private MarshallerPool marshallerPool;
 	private SAXWriter saxWriter;
 
+	private Map<String, String> stagingTables;
+
 	private boolean failOnError = false;
 	private boolean hasADESupport = false;
 
@@ -206,11 +211,14 @@ public class CityGMLImportManager implements CityGMLImportHelper {
 		if (config.getProject().getImporter().getAddress().isSetImportXAL()) {
 			cityGMLVersion = CityGMLVersion.DEFAULT;
 			jaxbMarshaller = cityGMLBuilder.createJAXBMarshaller(cityGMLVersion);
+			marshallerPool = ObjectRegistry.getInstance().getMarshallerPool(cityGMLBuilder.getJAXBContext());
 			saxWriter = new SAXWriter();
 		}
 
 		if (hasADESupport)
 			propertyCollector = new ADEPropertyCollector();
+
+		stagingTables = config.getInternal().getStagingTables();
 	}
 
 	@Override
@@ -472,6 +480,9 @@ public class CityGMLImportManager implements CityGMLImportHelper {
 
 	@Override
 	public String getTableNameWithSchema(String tableName) {
+		if (stagingTables != null)
+			tableName = stagingTables.getOrDefault(tableName.toLowerCase(), tableName);
+
 		return databaseAdapter.getConnectionDetails().getSchema() + '.' + tableName;
 	}
 
@@ -707,7 +718,8 @@ public class CityGMLImportManager implements CityGMLImportHelper {
 			saxWriter.setOutput(out);
 			saxWriter.setNamespaceContext(ctx);
 
-			Marshaller marshaller = cityGMLBuilder.getJAXBContext().createMarshaller();
+			Marshaller marshaller = marshallerPool.getMarshaller();
+			marshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.FALSE);
 			JAXBElement<?> jaxbElement = jaxbMarshaller.marshalJAXBElement(object);
 			if (jaxbElement != null)
 				marshaller.marshal(jaxbElement, saxWriter);
@@ -69,7 +69,6 @@ public class DBAddress implements DBImporter {
 		this.importer = importer;
 
 		importXALSource = config.getProject().getImporter().getAddress().isSetImportXAL();
-		String schema = importer.getDatabaseAdapter().getConnectionDetails().getSchema();
 		hasGmlIdColumn = importer.getDatabaseAdapter().getConnectionMetaData().getCityDBVersion().compareTo(3, 1, 0) >= 0;
 		replaceGmlId = config.getProject().getImporter().getGmlId().isUUIDModeReplace();
 		String gmlIdCodespace = null;
@@ -80,7 +79,7 @@ public class DBAddress implements DBImporter {
 				gmlIdCodespace = "'" + gmlIdCodespace + "', ";
 		}
 
-		String stmt = "insert into " + schema + ".address (id, " + (hasGmlIdColumn ? "gmlid, " : "") + (gmlIdCodespace != null ? "gmlid_codespace, " : "") +
+		String stmt = "insert into " + importer.getTableNameWithSchema("address") + " (id, " + (hasGmlIdColumn ? "gmlid, " : "") + (gmlIdCodespace != null ? "gmlid_codespace, " : "") +
 				"street, house_number, po_box, zip_code, city, country, multi_point, xal_source) values " +
 				"(?, " + (hasGmlIdColumn ? "?, " : "") + (gmlIdCodespace != null ? gmlIdCodespace : "") + "?, ?, ?, ?, ?, ?, ?, ?)";
 		psAddress = batchConn.prepareStatement(stmt);
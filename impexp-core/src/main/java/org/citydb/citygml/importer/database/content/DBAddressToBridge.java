@@ -44,9 +44,7 @@ public class DBAddressToBridge implements DBImporter {
 	public DBAddressToBridge(Connection batchConn, Config config, CityGMLImportManager importer) throws SQLException {
 		this.importer = importer;
 
-		String schema = importer.getDatabaseAdapter().getConnectionDetails().getSchema();
-
-		String stmt = "insert into " + schema + ".address_to_bridge (bridge_id, address_id) values " +
+		String stmt = "insert into " + importer.getTableNameWithSchema("address_to_bridge") + " (bridge_id, address_id) values " +
 				"(?, ?)";
 		psAddressToBridge = batchConn.prepareStatement(stmt);
 	}
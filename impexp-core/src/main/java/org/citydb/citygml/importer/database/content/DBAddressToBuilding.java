@@ -44,9 +44,7 @@ public class DBAddressToBuilding implements DBImporter {
 	public DBAddressToBuilding(Connection batchConn, Config config, CityGMLImportManager importer) throws SQLException {
 		this.importer = importer;
 
-		String schema = importer.getDatabaseAdapter().getConnectionDetails().getSchema();
-
-		String stmt = "insert into " + schema + ".address_to_building (building_id, address_id) values " +
+		String stmt = "insert into " + importer.getTableNameWithSchema("address_to_building") + " (building_id, address_id) values " +
 				"(?, ?)";
 		psAddressToBuilding = batchConn.prepareStatement(stmt);
 	}
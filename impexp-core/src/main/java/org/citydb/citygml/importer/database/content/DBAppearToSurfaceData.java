@@ -44,9 +44,7 @@ public class DBAppearToSurfaceData implements DBImporter {
 	public DBAppearToSurfaceData(Connection batchConn, Config config, CityGMLImportManager importer) throws SQLException {
 		this.importer = importer;
 
-		String schema = importer.getDatabaseAdapter().getConnectionDetails().getSchema();
-
-		String stmt = "insert into " + schema + ".appear_to_surface_data (surface_data_id, appearance_id) values " +
+		String stmt = "insert into " + importer.getTableNameWithSchema("appear_to_surface_data") + " (surface_data_id, appearance_id) values " +
 				"(?, ?)";
 		psAppearToSurfaceData = batchConn.prepareStatement(stmt);
 	}
@@ -65,13 +65,12 @@ public class DBAppearance implements DBImporter {
 		this.importer = importer;
 
 		replaceGmlId = config.getProject().getImporter().getGmlId().isUUIDModeReplace();
-		String schema = importer.getDatabaseAdapter().getConnectionDetails().getSchema();
 
 		String gmlIdCodespace = config.getInternal().getCurrentGmlIdCodespace();
 		if (gmlIdCodespace != null)
 			gmlIdCodespace = "'" + gmlIdCodespace + "', ";
 
-		String stmt = "insert into " + schema + ".appearance (id, gmlid, " + (gmlIdCodespace != null ? "gmlid_codespace, " : "") +
+		String stmt = "insert into " + importer.getTableNameWithSchema("appearance") + " (id, gmlid, " + (gmlIdCodespace != null ? "gmlid_codespace, " : "") +
 				"name, name_codespace, description, theme, citymodel_id, cityobject_id) values " +
 				"(?, ?, " + (gmlIdCodespace != null ? gmlIdCodespace : "") + "?, ?, ?, ?, ?, ?)";
 		psAppearance = batchConn.prepareStatement(stmt);
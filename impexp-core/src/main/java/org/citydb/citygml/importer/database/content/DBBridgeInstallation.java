@@ -78,9 +78,8 @@ public class DBBridgeInstallation implements DBImporter {
 		affineTransformation = config.getProject().getImporter().getAffineTransformation().isEnabled();
 		nullGeometryType = importer.getDatabaseAdapter().getGeometryConverter().getNullGeometryType();
 		nullGeometryTypeName = importer.getDatabaseAdapter().getGeometryConverter().getNullGeometryTypeName();
-		String schema = importer.getDatabaseAdapter().getConnectionDetails().getSchema();
 
-		String stmt = "insert into " + schema + ".bridge_installation (id, objectclass_id, class, class_codespace, function, function_codespace, usage, usage_codespace, bridge_id, bridge_room_id, " +
+		String stmt = "insert into " + importer.getTableNameWithSchema("bridge_installation") + " (id, objectclass_id, class, class_codespace, function, function_codespace, usage, usage_codespace, bridge_id, bridge_room_id, " +
 				"lod2_brep_id, lod3_brep_id, lod4_brep_id, lod2_other_geom, lod3_other_geom, lod4_other_geom, " +
 				"lod2_implicit_rep_id, lod3_implicit_rep_id, lod4_implicit_rep_id, " +
 				"lod2_implicit_ref_point, lod3_implicit_ref_point, lod4_implicit_ref_point, " +
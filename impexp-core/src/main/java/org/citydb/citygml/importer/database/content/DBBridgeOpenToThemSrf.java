@@ -44,9 +44,7 @@ public class DBBridgeOpenToThemSrf implements DBImporter {
 	public DBBridgeOpenToThemSrf(Connection batchConn, Config config, CityGMLImportManager importer) throws SQLException {
 		this.importer = importer;
 
-		String schema = importer.getDatabaseAdapter().getConnectionDetails().getSchema();
-
-		String stmt = "insert into " + schema + ".bridge_open_to_them_srf (bridge_opening_id, bridge_thematic_surface_id) values " +
+		String stmt = "insert into " + importer.getTableNameWithSchema("bridge_open_to_them_srf") + " (bridge_opening_id, bridge_thematic_surface_id) values " +
 				"(?, ?)";
 		psBridgeOpenToThemSrf = batchConn.prepareStatement(stmt);
 	}
@@ -72,9 +72,8 @@ public class DBBridgeOpening implements DBImporter {
 		this.importer = importer;
 
 		affineTransformation = config.getProject().getImporter().getAffineTransformation().isEnabled();
-		String schema = importer.getDatabaseAdapter().getConnectionDetails().getSchema();
 
-		String stmt = "insert into " + schema + ".bridge_opening (id, objectclass_id, address_id, lod3_multi_surface_id, lod4_multi_surface_id, " +
+		String stmt = "insert into " + importer.getTableNameWithSchema("bridge_opening") + " (id, objectclass_id, address_id, lod3_multi_surface_id, lod4_multi_surface_id, " +
 				"lod3_implicit_rep_id, lod4_implicit_rep_id, " +
 				"lod3_implicit_ref_point, lod4_implicit_ref_point, " +
 				"lod3_implicit_transformation, lod4_implicit_transformation) values " +
@@ -66,10 +66,9 @@ public class DBBridgeRoom implements DBImporter {
 	public DBBridgeRoom(Connection batchConn, Config config, CityGMLImportManager importer) throws CityGMLImportException, SQLException {
 		this.importer = importer;
 
-		String schema = importer.getDatabaseAdapter().getConnectionDetails().getSchema();
 		hasObjectClassIdColumn = importer.getDatabaseAdapter().getConnectionMetaData().getCityDBVersion().compareTo(4, 0, 0) >= 0;
 
-		String stmt = "insert into " + schema + ".bridge_room (id, class, class_codespace, function, function_codespace, usage, usage_codespace, bridge_id, " +
+		String stmt = "insert into " + importer.getTableNameWithSchema("bridge_room") + " (id, class, class_codespace, function, function_codespace, usage, usage_codespace, bridge_id, " +
 				"lod4_multi_surface_id, lod4_solid_id" +
 				(hasObjectClassIdColumn ? ", objectclass_id) " : ") ") +
 				"values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?" +
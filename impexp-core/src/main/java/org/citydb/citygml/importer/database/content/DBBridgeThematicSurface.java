@@ -61,9 +61,7 @@ public class DBBridgeThematicSurface implements DBImporter {
 	public DBBridgeThematicSurface(Connection batchConn, Config config, CityGMLImportManager importer) throws CityGMLImportException, SQLException {
 		this.importer = importer;
 
-		String schema = importer.getDatabaseAdapter().getConnectionDetails().getSchema();
-
-		String stmt = "insert into " + schema + ".bridge_thematic_surface (id, objectclass_id, bridge_id, bridge_room_id, bridge_installation_id, bridge_constr_element_id, " +
+		String stmt = "insert into " + importer.getTableNameWithSchema("bridge_thematic_surface") + " (id, objectclass_id, bridge_id, bridge_room_id, bridge_installation_id, bridge_constr_element_id, " +
 				"lod2_multi_surface_id, lod3_multi_surface_id, lod4_multi_surface_id) values " +
 				"(?, ?, ?, ?, ?, ?, ?, ?, ?)";
 		psThematicSurface = batchConn.prepareStatement(stmt);
@@ -67,10 +67,9 @@ public class DBBuildingFurniture implements DBImporter {
 		this.importer = importer;
 
 		affineTransformation = config.getProject().getImporter().getAffineTransformation().isEnabled();
-		String schema = importer.getDatabaseAdapter().getConnectionDetails().getSchema();
 		hasObjectClassIdColumn = importer.getDatabaseAdapter().getConnectionMetaData().getCityDBVersion().compareTo(4, 0, 0) >= 0;
 
-		String stmt = "insert into " + schema + ".building_furniture (id, class, class_codespace, function, function_codespace, usage, usage_codespace, room_id, " +
+		String stmt = "insert into " + importer.getTableNameWithSchema("building_furniture") + " (id, class, class_codespace, function, function_codespace, usage, usage_codespace, room_id, " +
 				"lod4_brep_id, lod4_other_geom, " +
 				"lod4_implicit_rep_id, lod4_implicit_ref_point, lod4_implicit_transformation" +
 				(hasObjectClassIdColumn ? ", objectclass_id) " : ") ") +
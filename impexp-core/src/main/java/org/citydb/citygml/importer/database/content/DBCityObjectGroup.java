@@ -63,10 +63,9 @@ public class DBCityObjectGroup implements DBImporter {
 		this.batchConn = batchConn;
 		this.importer = importer;
 
-		String schema = importer.getDatabaseAdapter().getConnectionDetails().getSchema();
 		hasObjectClassIdColumn = importer.getDatabaseAdapter().getConnectionMetaData().getCityDBVersion().compareTo(4, 0, 0) >= 0;
 
-		String stmt = "insert into " + schema + ".cityobjectgroup (id, class, class_codespace, function, function_codespace, usage, usage_codespace, " +
+		String stmt = "insert into " + importer.getTableNameWithSchema("cityobjectgroup") + " (id, class, class_codespace, function, function_codespace, usage, usage_codespace, " +
 				"brep_id, other_geom" +
 				(hasObjectClassIdColumn ? ", objectclass_id) " : ") ") +
 				"values (?, ?, ?, ?, ?, ?, ?, ?, ?" +
@@ -48,9 +48,7 @@ public class DBExternalReference implements DBImporter {
 	public DBExternalReference(Connection batchConn, Config config, CityGMLImportManager importer) throws SQLException {
 		this.importer = importer;
 
-		String schema = importer.getDatabaseAdapter().getConnectionDetails().getSchema();
-
-		String stmt = "insert into " + schema + ".external_reference (id, infosys, name, uri, cityobject_id) values " +
+		String stmt = "insert into " + importer.getTableNameWithSchema("external_reference") + " (id, infosys, name, uri, cityobject_id) values " +
 				"(" + importer.getDatabaseAdapter().getSQLAdapter().getNextSequenceValue(SequenceEnum.EXTERNAL_REFERENCE_ID_SEQ.getName()) +
 				", ?, ?, ?, ?)";
 		psExternalReference = batchConn.prepareStatement(stmt);
@@ -67,16 +67,22 @@ public class DBImplicitGeometry implements DBImporter {
 	private GeometryConverter geometryConverter;
 	private ExternalFileChecker externalFileChecker;
 	private int batchCounter;
+	private boolean lookupStagingTable;
 
 	public DBImplicitGeometry(Connection batchConn, Config config, CityGMLImportManager importer) throws CityGMLImportException, SQLException {
 		this.batchConn = batchConn;
 		this.importer = importer;
 
-		String schema = importer.getDatabaseAdapter().getConnectionDetails().getSchema();
+		String insertStmt = "insert into " + importer.getTableNameWithSchema("implicit_geometry") + " (id, reference_to_library) values (?, ?)";
+		String updateStmt = "update " + importer.getTableNameWithSchema("implicit_geometry") + " set mime_type=?, relative_brep_id=?, relative_other_geom=? where id=?";
 
-		String insertStmt = "insert into " + schema + ".implicit_geometry (id, reference_to_library) values (?, ?)";
-		String updateStmt = "update " + schema + ".implicit_geometry set mime_type=?, relative_brep_id=?, relative_other_geom=? where id=?";
-		String selectStmt = "select ID from " + schema + ".implicit_geometry where reference_to_library=?";
+		// library objects may be stored in the target table or in the staging table of a bulk load
+		String tableName = importer.getDatabaseAdapter().getConnectionDetails().getSchema() + ".implicit_geometry";
+		String selectStmt = "select ID from " + tableName + " where reference_to_library=?";
+		if (!tableName.equals(importer.getTableNameWithSchema("implicit_geometry"))) {
+			selectStmt += " union all select ID from " + importer.getTableNameWithSchema("implicit_geometry") + " where reference_to_library=?";
+			lookupStagingTable = true;
+		}
 
 		psImplicitGeometry = batchConn.prepareStatement(insertStmt);
 		psUpdateImplicitGeometry = batchConn.prepareStatement(updateStmt);
@@ -132,6 +138,9 @@ public class DBImplicitGeometry implements DBImporter {
 			if (libraryURI != null && !libraryURI.isEmpty()) {
 				// check if we have the same library object in database
 				psSelectLibraryObject.setString(1, libraryURI);
+				if (lookupStagingTable)
+					psSelectLibraryObject.setString(2, libraryURI);
+
 				rs = psSelectLibraryObject.executeQuery();
 				if (rs.next())
 					implicitGeometryId = rs.getLong(1);
@@ -56,10 +56,9 @@ public class DBLandUse implements DBImporter {
 	public DBLandUse(Connection batchConn, Config config, CityGMLImportManager importer) throws CityGMLImportException, SQLException {
 		this.importer = importer;
 
-		String schema = importer.getDatabaseAdapter().getConnectionDetails().getSchema();
 		hasObjectClassIdColumn = importer.getDatabaseAdapter().getConnectionMetaData().getCityDBVersion().compareTo(4, 0, 0) >= 0;
 
-		String stmt = "insert into " + schema + ".land_use (id, class, class_codespace, function, function_codespace, usage, usage_codespace, " +
+		String stmt = "insert into " + importer.getTableNameWithSchema("land_use") + " (id, class, class_codespace, function, function_codespace, usage, usage_codespace, " +
 				"lod0_multi_surface_id, lod1_multi_surface_id, lod2_multi_surface_id, lod3_multi_surface_id, lod4_multi_surface_id" +
 				(hasObjectClassIdColumn ? ", objectclass_id) " : ") ") +
 				"values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?" +
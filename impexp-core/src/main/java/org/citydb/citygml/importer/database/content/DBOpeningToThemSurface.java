@@ -44,9 +44,7 @@ public class DBOpeningToThemSurface implements DBImporter {
 	public DBOpeningToThemSurface(Connection batchConn, Config config, CityGMLImportManager importer) throws SQLException {
 		this.importer = importer;
 
-		String schema = importer.getDatabaseAdapter().getConnectionDetails().getSchema();
-
-		String stmt = "insert into " + schema + ".opening_to_them_surface (opening_id, thematic_surface_id) values " +
+		String stmt = "insert into " + importer.getTableNameWithSchema("opening_to_them_surface") + " (opening_id, thematic_surface_id) values " +
 				"(?, ?)";
 		psOpeningToThemSurface = batchConn.prepareStatement(stmt);
 	}
@@ -57,10 +57,9 @@ public class DBPlantCover implements DBImporter {
 	public DBPlantCover(Connection batchConn, Config config, CityGMLImportManager importer) throws CityGMLImportException, SQLException {
 		this.importer = importer;
 
-		String schema = importer.getDatabaseAdapter().getConnectionDetails().getSchema();
 		hasObjectClassIdColumn = importer.getDatabaseAdapter().getConnectionMetaData().getCityDBVersion().compareTo(4, 0, 0) >= 0;
 
-		String stmt = "insert into " + schema + ".plant_cover (id, class, class_codespace, function, function_codespace, usage, usage_codespace, average_height, average_height_unit, " +
+		String stmt = "insert into " + importer.getTableNameWithSchema("plant_cover") + " (id, class, class_codespace, function, function_codespace, usage, usage_codespace, average_height, average_height_unit, " +
 				"lod1_multi_surface_id, lod2_multi_surface_id, lod3_multi_surface_id, lod4_multi_surface_id, " +
 				"lod1_multi_solid_id, lod2_multi_solid_id, lod3_multi_solid_id, lod4_multi_solid_id" +
 				(hasObjectClassIdColumn ? ", objectclass_id) " : ") ") +
@@ -72,26 +72,25 @@ public class DBReliefComponent implements DBImporter {
 
 		nullGeometryType = importer.getDatabaseAdapter().getGeometryConverter().getNullGeometryType();
 		nullGeometryTypeName = importer.getDatabaseAdapter().getGeometryConverter().getNullGeometryTypeName();
-		String schema = importer.getDatabaseAdapter().getConnectionDetails().getSchema();
 		hasObjectClassIdColumn = importer.getDatabaseAdapter().getConnectionMetaData().getCityDBVersion().compareTo(4, 0, 0) >= 0;
 
-		String componentStmt = "insert into " + schema + ".relief_component (id, objectclass_id, lod, extent) values " +
+		String componentStmt = "insert into " + importer.getTableNameWithSchema("relief_component") + " (id, objectclass_id, lod, extent) values " +
 				"(?, ?, ?, ?)";
 		psReliefComponent = batchConn.prepareStatement(componentStmt);
 
-		String tinStmt = "insert into " + schema + ".tin_relief (id, max_length, max_length_unit, stop_lines, break_lines, control_points, surface_geometry_id" +
+		String tinStmt = "insert into " + importer.getTableNameWithSchema("tin_relief") + " (id, max_length, max_length_unit, stop_lines, break_lines, control_points, surface_geometry_id" +
 				(hasObjectClassIdColumn ? ", objectclass_id) " : ") ") +
 				"values (?, ?, ?, ?, ?, ?, ?" +
 				(hasObjectClassIdColumn ? ", ?)" : ")");
 		psTinRelief = batchConn.prepareStatement(tinStmt);
 
-		String masspointStmt = "insert into " + schema + ".masspoint_relief (id, relief_points" +
+		String masspointStmt = "insert into " + importer.getTableNameWithSchema("masspoint_relief") + " (id, relief_points" +
 				(hasObjectClassIdColumn ? ", objectclass_id) " : ") ") +
 				"values (?, ?" +
 				(hasObjectClassIdColumn ? ", ?)" : ")");
 		psMassPointRelief = batchConn.prepareStatement(masspointStmt);
 
-		String breaklineStmt = "insert into " + schema + ".breakline_relief (id, ridge_or_valley_lines, break_lines" +
+		String breaklineStmt = "insert into " + importer.getTableNameWithSchema("breakline_relief") + " (id, ridge_or_valley_lines, break_lines" +
 				(hasObjectClassIdColumn ? ", objectclass_id) " : ") ") +
 				"values (?, ?, ?" +
 				(hasObjectClassIdColumn ? ", ?)" : ")");
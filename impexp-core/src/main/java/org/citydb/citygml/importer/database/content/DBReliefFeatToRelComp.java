@@ -44,9 +44,7 @@ public class DBReliefFeatToRelComp implements DBImporter {
 	public DBReliefFeatToRelComp(Connection batchConn, Config config, CityGMLImportManager importer) throws SQLException {
 		this.importer = importer;
 
-		String schema = importer.getDatabaseAdapter().getConnectionDetails().getSchema();
-
-		String stmt = "insert into " + schema + ".relief_feat_to_rel_comp (relief_component_id, relief_feature_id) values " +
+		String stmt = "insert into " + importer.getTableNameWithSchema("relief_feat_to_rel_comp") + " (relief_component_id, relief_feature_id) values " +
 				"(?, ?)";
 		psReliefFeatToRelComp = batchConn.prepareStatement(stmt);
 	}
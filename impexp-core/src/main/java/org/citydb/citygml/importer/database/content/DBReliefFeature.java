@@ -54,10 +54,9 @@ public class DBReliefFeature implements DBImporter {
 	public DBReliefFeature(Connection batchConn, Config config, CityGMLImportManager importer) throws CityGMLImportException, SQLException {
 		this.importer = importer;
 
-		String schema = importer.getDatabaseAdapter().getConnectionDetails().getSchema();
 		hasObjectClassIdColumn = importer.getDatabaseAdapter().getConnectionMetaData().getCityDBVersion().compareTo(4, 0, 0) >= 0;
 
-		String stmt = "insert into " + schema + ".relief_feature (id, lod" +
+		String stmt = "insert into " + importer.getTableNameWithSchema("relief_feature") + " (id, lod" +
 				(hasObjectClassIdColumn ? ", objectclass_id) " : ") ") +
 				"values (?, ?" +
 				(hasObjectClassIdColumn ? ", ?)" : ")");
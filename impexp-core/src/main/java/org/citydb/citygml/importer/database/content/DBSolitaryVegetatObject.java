@@ -71,10 +71,9 @@ public class DBSolitaryVegetatObject implements DBImporter {
 		affineTransformation = config.getProject().getImporter().getAffineTransformation().isEnabled();
 		nullGeometryType = importer.getDatabaseAdapter().getGeometryConverter().getNullGeometryType();
 		nullGeometryTypeName = importer.getDatabaseAdapter().getGeometryConverter().getNullGeometryTypeName();
-		String schema = importer.getDatabaseAdapter().getConnectionDetails().getSchema();
 		hasObjectClassIdColumn = importer.getDatabaseAdapter().getConnectionMetaData().getCityDBVersion().compareTo(4, 0, 0) >= 0;
 
-		String stmt = "insert into " + schema + ".solitary_vegetat_object (id, class, class_codespace, function, function_codespace, usage, usage_codespace, " +
+		String stmt = "insert into " + importer.getTableNameWithSchema("solitary_vegetat_object") + " (id, class, class_codespace, function, function_codespace, usage, usage_codespace, " +
 				"species, species_codespace, height, height_unit, trunk_diameter, trunk_diameter_unit, crown_diameter, crown_diameter_unit, " +
 				"lod1_brep_id, lod2_brep_id, lod3_brep_id, lod4_brep_id, " +
 				"lod1_other_geom, lod2_other_geom, lod3_other_geom, lod4_other_geom, " +
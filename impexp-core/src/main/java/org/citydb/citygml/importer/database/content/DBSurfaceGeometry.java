@@ -32,7 +32,6 @@ import org.citydb.citygml.common.database.xlink.DBXlinkSolidGeometry;
 import org.citydb.citygml.common.database.xlink.DBXlinkSurfaceGeometry;
 import org.citydb.citygml.importer.CityGMLImportException;
 import org.citydb.citygml.importer.util.LocalAppearanceHandler;
-import org.citydb.citygml.importer.util.RingValidator;
 import org.citydb.config.Config;
 import org.citydb.config.geometry.GeometryObject;
 import org.citydb.config.project.database.DatabaseType;
@@ -93,7 +92,6 @@ public class DBSurfaceGeometry implements DBImporter {
     private final DBAppearance appearanceImporter;
     private final IdManager ids;
 	private final LocalAppearanceHandler localAppearanceHandler;
-	private final RingValidator ringValidator;
 
 	private final boolean replaceGmlId;
 	private final boolean importAppearance;
@@ -115,14 +113,13 @@ public class DBSurfaceGeometry implements DBImporter {
         applyTransformation = config.getProject().getImporter().getAffineTransformation().isEnabled();
         nullGeometryType = importer.getDatabaseAdapter().getGeometryConverter().getNullGeometryType();
         nullGeometryTypeName = importer.getDatabaseAdapter().getGeometryConverter().getNullGeometryTypeName();
-        String schema = importer.getDatabaseAdapter().getConnectionDetails().getSchema();
 
         String gmlIdCodespace = config.getInternal().getCurrentGmlIdCodespace();
         if (gmlIdCodespace != null)
             gmlIdCodespace = "'" + gmlIdCodespace + "', ";
 
         StringBuilder stmt = new StringBuilder()
-                .append("insert into ").append(schema).append(".surface_geometry (id, gmlid, ").append(gmlIdCodespace != null ? "gmlid_codespace, " : "")
+                .append("insert into ").append(importer.getTableNameWithSchema("surface_geometry")).append(" (id, gmlid, ").append(gmlIdCodespace != null ? "gmlid_codespace, " : "")
                 .append("parent_id, root_id, is_solid, is_composite, is_triangulated, is_xlink, is_reverse, geometry, solid_geometry, implicit_geometry, cityobject_id) values ")
                 .append("(?, ?, ").append(gmlIdCodespace != null ? gmlIdCodespace : "").append("?, ?, ?, ?, ?, ?, ?, ?, ");
 
@@ -143,7 +140,6 @@ public class DBSurfaceGeometry implements DBImporter {
         localAppearanceHandler = importer.getLocalAppearanceHandler();
         geometryConverter = importer.getGeometryConverter();
         ids = new IdManager();
-        ringValidator = new RingValidator();
     }
 
     protected long doImport(AbstractGeometry geometry, long cityObjectId) throws CityGMLImportException, SQLException {
@@ -232,16 +228,13 @@ public class DBSurfaceGeometry implements DBImporter {
             Polygon polygon = (Polygon) geometry;
 
             if (polygon.isSetExterior()) {
-                List<List<Double>> pointList = new ArrayList<>();
+                List<double[]> pointList = new ArrayList<>();
                 AbstractRing exterior = polygon.getExterior().getRing();
                 if (exterior != null) {
-                    List<Double> points = exterior.toList3d(reverse);
-                    if (!ringValidator.validate(points, exterior))
+                    double[] points = geometryConverter.convertRing(exterior, reverse, applyTransformation);
+                    if (points == null)
                         return 0;
 
-                    if (applyTransformation)
-                        importer.getAffineTransformer().transformCoordinates(points);
-
                     pointList.add(points);
                     int ringNo = 0;
                     importer.updateGeometryCounter(GMLClass.LINEAR_RING);
@@ -261,13 +254,10 @@ public class DBSurfaceGeometry implements DBImporter {
                         for (AbstractRingProperty property : polygon.getInterior()) {
                             AbstractRing interior = property.getRing();
                             if (interior != null) {
-                                List<Double> interiorPoints = interior.toList3d(reverse);
-                                if (!ringValidator.validate(interiorPoints, interior))
+                                double[] interiorPoints = geometryConverter.convertRing(interior, reverse, applyTransformation);
+                                if (interiorPoints == null)
                                     continue;
 
-                                if (applyTransformation)
-                                    importer.getAffineTransformer().transformCoordinates(interiorPoints);
-
                                 pointList.add(interiorPoints);
                                 importer.updateGeometryCounter(GMLClass.LINEAR_RING);
 
@@ -283,10 +273,7 @@ public class DBSurfaceGeometry implements DBImporter {
                         }
                     }
 
-                    double[][] coordinates = new double[pointList.size()][];
-                    for (int i = 0; i < pointList.size(); i++)
-						coordinates[i] = pointList.get(i).stream().mapToDouble(Double::doubleValue).toArray();
-
+                    double[][] coordinates = pointList.toArray(new double[pointList.size()][]);
                     GeometryObject geometryObject = GeometryObject.createPolygon(coordinates, 3, dbSrid);
                     Object object = importer.getDatabaseAdapter().getGeometryConverter().getDatabaseObject(geometryObject, batchConn);
 
@@ -60,7 +60,6 @@ public class DBTexImage implements DBImporter {
 	public DBTexImage(Connection connection, Config config, CityGMLImportManager importer) throws SQLException {
 		this.importer = importer;
 
-		String schema = importer.getDatabaseAdapter().getConnectionDetails().getSchema();
 		importTextureImage = config.getProject().getImporter().getAppearances().isSetImportTextureFiles();
 		externalFileChecker = importer.getExternalFileChecker();
 
@@ -70,7 +69,7 @@ public class DBTexImage implements DBImporter {
 			throw new SQLException(e);
 		}
 
-		String stmt = "insert into " + schema + ".tex_image (id, tex_image_uri, tex_mime_type, tex_mime_type_codespace) values " +
+		String stmt = "insert into " + importer.getTableNameWithSchema("tex_image") + " (id, tex_image_uri, tex_mime_type, tex_mime_type_codespace) values " +
 				"(?, ?, ?, ?)";
 		psInsertStmt = connection.prepareStatement(stmt);
 	}
@@ -48,9 +48,7 @@ public class DBTextureParam implements DBImporter {
 		this.batchConn = batchConn;
 		this.importer = importer;
 
-		String schema = importer.getDatabaseAdapter().getConnectionDetails().getSchema();
-
-		String texCoordListStmt = "insert into " + schema + ".textureparam (surface_geometry_id, is_texture_parametrization, world_to_texture, texture_coordinates, surface_data_id) values " +
+		String texCoordListStmt = "insert into " + importer.getTableNameWithSchema("textureparam") + " (surface_geometry_id, is_texture_parametrization, world_to_texture, texture_coordinates, surface_data_id) values " +
 				"(?, ?, ?, ?, ?)";
 		psTextureParam = batchConn.prepareStatement(texCoordListStmt);
 	}
@@ -68,10 +68,9 @@ public class DBTunnelFurniture implements DBImporter {
 		this.importer = importer;
 
 		affineTransformation = config.getProject().getImporter().getAffineTransformation().isEnabled();
-		String schema = importer.getDatabaseAdapter().getConnectionDetails().getSchema();
 		hasObjectClassIdColumn = importer.getDatabaseAdapter().getConnectionMetaData().getCityDBVersion().compareTo(4, 0, 0) >= 0;
 
-		String stmt = "insert into " + schema + ".tunnel_furniture (id, class, class_codespace, function, function_codespace, usage, usage_codespace, tunnel_hollow_space_id, " +
+		String stmt = "insert into " + importer.getTableNameWithSchema("tunnel_furniture") + " (id, class, class_codespace, function, function_codespace, usage, usage_codespace, tunnel_hollow_space_id, " +
 				"lod4_brep_id, lod4_other_geom, " +
 				"lod4_implicit_rep_id, lod4_implicit_ref_point, lod4_implicit_transformation" +
 				(hasObjectClassIdColumn ? ", objectclass_id) " : ") ") +
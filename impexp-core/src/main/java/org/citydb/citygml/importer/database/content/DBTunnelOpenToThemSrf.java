@@ -44,9 +44,7 @@ public class DBTunnelOpenToThemSrf implements DBImporter {
 	public DBTunnelOpenToThemSrf(Connection batchConn, Config config, CityGMLImportManager importer) throws SQLException {
 		this.importer = importer;
 
-		String schema = importer.getDatabaseAdapter().getConnectionDetails().getSchema();
-
-		String stmt = "insert into " + schema + ".tunnel_open_to_them_srf (tunnel_opening_id, tunnel_thematic_surface_id) values " +
+		String stmt = "insert into " + importer.getTableNameWithSchema("tunnel_open_to_them_srf") + " (tunnel_opening_id, tunnel_thematic_surface_id) values " +
 				"(?, ?)";
 		psTunnelOpenToThemSrf = batchConn.prepareStatement(stmt);
 	}
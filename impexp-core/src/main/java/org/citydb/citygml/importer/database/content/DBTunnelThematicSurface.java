@@ -60,9 +60,7 @@ public class DBTunnelThematicSurface implements DBImporter {
 	public DBTunnelThematicSurface(Connection batchConn, Config config, CityGMLImportManager importer) throws CityGMLImportException, SQLException {
 		this.importer = importer;
 
-		String schema = importer.getDatabaseAdapter().getConnectionDetails().getSchema();
-
-		String stmt = "insert into " + schema + ".tunnel_thematic_surface (id, objectclass_id, tunnel_id, tunnel_hollow_space_id, tunnel_installation_id, " +
+		String stmt = "insert into " + importer.getTableNameWithSchema("tunnel_thematic_surface") + " (id, objectclass_id, tunnel_id, tunnel_hollow_space_id, tunnel_installation_id, " +
 				"lod2_multi_surface_id, lod3_multi_surface_id, lod4_multi_surface_id) values " +
 				"(?, ?, ?, ?, ?, ?, ?, ?)";
 		psThematicSurface = batchConn.prepareStatement(stmt);
@@ -44,9 +44,7 @@ public class DBWaterBodToWaterBndSrf implements DBImporter {
 	public DBWaterBodToWaterBndSrf(Connection batchConn, Config config, CityGMLImportManager importer) throws SQLException {
 		this.importer = importer;
 
-		String schema = importer.getDatabaseAdapter().getConnectionDetails().getSchema();
-
-		String stmt = "insert into " + schema + ".waterbod_to_waterbnd_srf (waterboundary_surface_id, waterbody_id) values " +
+		String stmt = "insert into " + importer.getTableNameWithSchema("waterbod_to_waterbnd_srf") + " (waterboundary_surface_id, waterbody_id) values " +
 				"(?, ?)";
 		psWaterBodToWaterBndSrf = batchConn.prepareStatement(stmt);
 	}
@@ -55,9 +55,7 @@ public class DBWaterBoundarySurface implements DBImporter {
 	public DBWaterBoundarySurface(Connection batchConn, Config config, CityGMLImportManager importer) throws CityGMLImportException, SQLException {
 		this.importer = importer;
 
-		String schema = importer.getDatabaseAdapter().getConnectionDetails().getSchema();
-
-		String stmt = "insert into " + schema + ".waterboundary_surface (id, objectclass_id, water_level, water_level_codespace, " +
+		String stmt = "insert into " + importer.getTableNameWithSchema("waterboundary_surface") + " (id, objectclass_id, water_level, water_level_codespace, " +
 				"lod2_surface_id, lod3_surface_id, lod4_surface_id) values " +
 				"(?, ?, ?, ?, ?, ?, ?)";
 		psWaterBoundarySurface = batchConn.prepareStatement(stmt);
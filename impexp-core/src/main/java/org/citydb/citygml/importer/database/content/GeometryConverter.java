@@ -29,6 +29,7 @@ package org.citydb.citygml.importer.database.content;
 
 import org.citydb.citygml.importer.CityGMLImportException;
 import org.citydb.citygml.importer.util.AffineTransformer;
+import org.citydb.citygml.importer.util.CoordinateBuffer;
 import org.citydb.citygml.importer.util.RingValidator;
 import org.citydb.config.Config;
 import org.citydb.config.geometry.GeometryObject;
@@ -75,13 +76,13 @@ import org.citygml4j.util.walker.GeometryWalker;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.IdentityHashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
 public class GeometryConverter {
 	private AffineTransformer affineTransformer;
 	private RingValidator ringValidator;
+	private CoordinateBuffer coordinateBuffer;
 
 	private int dbSrid;
 	private boolean affineTransformation;
@@ -89,6 +90,7 @@ public class GeometryConverter {
 
 	public GeometryConverter(AbstractDatabaseAdapter databaseAdapter) {
 		ringValidator = new RingValidator();
+		coordinateBuffer = new CoordinateBuffer();
 		dbSrid = databaseAdapter.getConnectionMetaData().getReferenceSystem().getSrid();
 
 		// solid geometries are only supported in Oracle 11g or higher
@@ -422,35 +424,41 @@ public class GeometryConverter {
 	}
 
 	private double[] convertPrimitive(List<Double> pointList) {
+		coordinateBuffer.reset().addAll(pointList);
 		if (affineTransformation)
-			affineTransformer.transformCoordinates(pointList);
+			coordinateBuffer.transform(affineTransformer);
 
-		double[] result = new double[pointList.size()];
+		return coordinateBuffer.toArray();
+	}
 
+	private double[][] convertAggregate(List<List<Double>> pointList) {
+		double[][] result = new double[pointList.size()][];
 		int i = 0;
-		for (Double point : pointList)
-			result[i++] = point;
+		for (List<Double> points : pointList)
+			result[i++] = convertPrimitive(points);
 
 		return result;
 	}
 
-	private double[][] convertAggregate(List<List<Double>> pointList) {
-		double[][] result = new double[pointList.size()][];
-		int i = 0;
-		for (List<Double> points : pointList) {
-			if (affineTransformation)
-				affineTransformer.transformCoordinates(points);
+	public double[] convertRing(AbstractRing ring, boolean reverse, boolean applyTransformation) {
+		return convertRing(ring, false, reverse, applyTransformation);
+	}
 
-			double[] coords = new double[points.size()];
+	private double[] convertRing(AbstractRing ring, boolean is2d, boolean reverse) {
+		return convertRing(ring, is2d, reverse, true);
+	}
 
-			int j = 0;
-			for (Double coord : points)
-				coords[j++] = coord;
+	private double[] convertRing(AbstractRing ring, boolean is2d, boolean reverse, boolean applyTransformation) {
+		// the coordinate buffer is reused for all rings and only
+		// copied once into an array of the exact size
+		coordinateBuffer.readRing(ring, reverse);
+		if (!ringValidator.validate(coordinateBuffer, ring))
+			return null;
 
-			result[i++] = coords;					
-		}
+		if (affineTransformation && applyTransformation)
+			coordinateBuffer.transform(affineTransformer);
 
-		return result;
+		return is2d ? coordinateBuffer.toArray2d() : coordinateBuffer.toArray();
 	}
 
 	public GeometryObject get2DPolygon(Polygon polygon) throws CityGMLImportException {
@@ -465,9 +473,9 @@ public class GeometryConverter {
 		GeometryObject polygonGeom = null;
 
 		if (polygon != null) {
-			List<List<Double>> pointList = generatePointList(polygon, is2d, false);
-			if (pointList != null && !pointList.isEmpty())
-				polygonGeom = GeometryObject.createPolygon(convertAggregate(pointList), is2d ? 2 : 3, dbSrid);
+			List<double[]> rings = generateRings(polygon, is2d, false);
+			if (rings != null && !rings.isEmpty())
+				polygonGeom = GeometryObject.createPolygon(rings.toArray(new double[rings.size()][]), is2d ? 2 : 3, dbSrid);
 		}
 
 		return polygonGeom;
@@ -481,52 +489,32 @@ public class GeometryConverter {
 		return polygonProperty != null ? getPolygon(polygonProperty.getPolygon()) : null;
 	}
 
-	private List<List<Double>> generatePointList(Polygon polygon, boolean is2d, boolean reverse) {
-		List<List<Double>> pointList = new ArrayList<>();
+	private List<double[]> generateRings(Polygon polygon, boolean is2d, boolean reverse) {
+		List<double[]> rings = new ArrayList<>();
 
 		if (polygon.isSetExterior()) {
 			AbstractRing exteriorRing = polygon.getExterior().getRing();
 			if (exteriorRing != null) {
-				List<Double> coords = exteriorRing.toList3d(reverse);
-				if (!ringValidator.validate(coords, exteriorRing))
+				double[] coords = convertRing(exteriorRing, is2d, reverse);
+				if (coords == null)
 					return null;
 
-				pointList.add(coords);
+				rings.add(coords);
 
 				if (polygon.isSetInterior()) {
 					for (AbstractRingProperty abstractRingProperty : polygon.getInterior()) {
 						AbstractRing interiorRing = abstractRingProperty.getRing();
 						if (interiorRing != null) {
-							coords = interiorRing.toList3d(reverse);
-							if (!ringValidator.validate(coords, interiorRing))
-								continue;
-
-							pointList.add(coords);
+							coords = convertRing(interiorRing, is2d, reverse);
+							if (coords != null)
+								rings.add(coords);
 						}
 					}
 				}
 			}
-
-			if (is2d) {
-				// if we have to return a 2d polygon we first have to correct the
-				// double lists we retrieved from citygml4j as they are always 3d
-				for (List<Double> coordsList : pointList) {							
-					Iterator<Double> iter = coordsList.iterator();
-
-					int count = 0;							
-					while (iter.hasNext()) {
-						iter.next();
-
-						if (count++ == 2) {
-							count = 0;	
-							iter.remove();
-						}
-					}
-				}						
-			}
 		}
 
-		return pointList;
+		return rings;
 	}
 
 	public GeometryObject getSolid(Solid solid) {
@@ -534,7 +522,7 @@ public class GeometryConverter {
 			return null;
 
 		if (solid != null) {
-			final List<List<Double>> pointList = new ArrayList<>();
+			final List<double[]> pointList = new ArrayList<>();
 			final List<Integer> rings = new ArrayList<>();
 
 			solid.accept(new GeometryWalker() {
@@ -561,7 +549,7 @@ public class GeometryConverter {
 				}
 
 				public void visit(Polygon polygon) {
-					List<List<Double>> points = generatePointList(polygon, false, reverse);
+					List<double[]> points = generateRings(polygon, false, reverse);
 					if (points == null || points.isEmpty()) {
 						setShouldWalk(false);
 						pointList.clear();
@@ -582,8 +570,8 @@ public class GeometryConverter {
 
 				public void visit(AbstractRing ring) {
 					// required to handle surface patches such as triangles and rectangles
-					List<Double> points = ring.toList3d(reverse);
-					if (ringValidator.validate(points, ring)) {
+					double[] points = convertRing(ring, false, reverse);
+					if (points != null) {
 						pointList.add(points);
 						rings.add(ringNo);
 						ringNo++;
@@ -599,7 +587,7 @@ public class GeometryConverter {
 				for (Integer ringNo : rings)
 					exteriorRings[i++] = ringNo;
 
-				return GeometryObject.createSolid(convertAggregate(pointList), exteriorRings, dbSrid);
+				return GeometryObject.createSolid(pointList.toArray(new double[pointList.size()][]), exteriorRings, dbSrid);
 			}
 		}
 
@@ -27,15 +27,18 @@
  */
 package org.citydb.citygml.importer.database.xlink.importer;
 
+import java.io.IOException;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 
 import org.citydb.citygml.common.database.cache.CacheTable;
+import org.citydb.citygml.common.database.cache.MappedLinearRingStore;
 import org.citydb.citygml.common.database.xlink.DBXlinkLinearRing;
 
 public class DBXlinkImporterLinearRing implements DBXlinkImporter {
 	private final DBXlinkImporterManager xlinkImporterManager;
 	private PreparedStatement psLinearRing;
+	private MappedLinearRingStore store;
 	private int batchCounter;
 
 	public DBXlinkImporterLinearRing(CacheTable tempTable, DBXlinkImporterManager xlinkImporterManager) throws SQLException {
@@ -46,7 +49,21 @@ public class DBXlinkImporterLinearRing implements DBXlinkImporter {
 		.append(" (GMLID, PARENT_ID, RING_NO, REVERSE) values (?, ?, ?, ?)").toString());
 	}
 
+	public DBXlinkImporterLinearRing(MappedLinearRingStore store, DBXlinkImporterManager xlinkImporterManager) {
+		this.xlinkImporterManager = xlinkImporterManager;
+		this.store = store;
+	}
+
 	public boolean insert(DBXlinkLinearRing xlinkEntry) throws SQLException {
+		if (store != null) {
+			try {
+				store.put(xlinkEntry);
+				return true;
+			} catch (IOException e) {
+				throw new SQLException("Failed to write to linear ring key-value store.", e);
+			}
+		}
+
 		psLinearRing.setString(1, xlinkEntry.getGmlId());
 		psLinearRing.setLong(2, xlinkEntry.getParentId());
 		psLinearRing.setLong(3, xlinkEntry.getRingNo());
@@ -61,13 +78,16 @@ public class DBXlinkImporterLinearRing implements DBXlinkImporter {
 
 	@Override
 	public void executeBatch() throws SQLException {
-		psLinearRing.executeBatch();
+		if (psLinearRing != null)
+			psLinearRing.executeBatch();
+
 		batchCounter = 0;
 	}
 
 	@Override
 	public void close() throws SQLException {
-		psLinearRing.close();
+		if (psLinearRing != null)
+			psLinearRing.close();
 	}
 
 	@Override
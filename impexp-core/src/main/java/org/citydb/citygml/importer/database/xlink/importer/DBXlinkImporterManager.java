@@ -27,11 +27,13 @@
  */
 package org.citydb.citygml.importer.database.xlink.importer;
 
+import java.io.IOException;
 import java.sql.SQLException;
 import java.util.HashMap;
 
 import org.citydb.citygml.common.database.cache.CacheTable;
 import org.citydb.citygml.common.database.cache.CacheTableManager;
+import org.citydb.citygml.common.database.cache.MappedLinearRingStore;
 import org.citydb.citygml.common.database.cache.model.CacheTableModel;
 import org.citydb.database.adapter.AbstractDatabaseAdapter;
 import org.citydb.event.Event;
@@ -52,6 +54,16 @@ public class DBXlinkImporterManager {
 	public DBXlinkImporter getDBImporterXlink(DBXlinkImporterEnum xlinkType) throws SQLException {
 		DBXlinkImporter dbImporter = dbImporterMap.get(xlinkType);
 
+		if (dbImporter == null && xlinkType == DBXlinkImporterEnum.LINEAR_RING && cacheTableManager.isUseMappedFiles()) {
+			// linear rings are only looked up by key and can therefore be kept in a key-value store
+			try {
+				dbImporter = new DBXlinkImporterLinearRing(MappedLinearRingStore.create(cacheTableManager), this);
+				dbImporterMap.put(xlinkType, dbImporter);
+			} catch (IOException e) {
+				throw new SQLException("Failed to create linear ring key-value store.", e);
+			}
+		}
+
 		if (dbImporter == null) {
 			// firstly create tmp table
 			CacheTable tempTable = null;
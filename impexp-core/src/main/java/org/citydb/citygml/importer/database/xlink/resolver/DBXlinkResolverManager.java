@@ -29,6 +29,7 @@ package org.citydb.citygml.importer.database.xlink.resolver;
 
 import org.citydb.citygml.common.database.cache.CacheTable;
 import org.citydb.citygml.common.database.cache.CacheTableManager;
+import org.citydb.citygml.common.database.cache.MappedLinearRingStore;
 import org.citydb.citygml.common.database.cache.model.CacheTableModel;
 import org.citydb.citygml.common.database.uid.UIDCacheEntry;
 import org.citydb.citygml.common.database.uid.UIDCacheManager;
@@ -117,7 +118,10 @@ public class DBXlinkResolverManager {
 			case TEXCOORDLIST:
 				CacheTable texCoords = cacheTableManager.getCacheTable(CacheTableModel.TEXTURE_COORD_LIST);
 				CacheTable linearRings = cacheTableManager.getCacheTable(CacheTableModel.LINEAR_RING);
-				if (texCoords != null && linearRings != null)
+				MappedLinearRingStore linearRingStore = MappedLinearRingStore.get(cacheTableManager);
+				if (texCoords != null && linearRingStore != null)
+					dbResolver = new XlinkTexCoordList(connection, texCoords, linearRingStore, this);
+				else if (texCoords != null && linearRings != null)
 					dbResolver = new XlinkTexCoordList(connection, texCoords, linearRings, this);
 				break;
 			case TEXTUREPARAM:
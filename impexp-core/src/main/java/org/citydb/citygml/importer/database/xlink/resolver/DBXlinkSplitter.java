@@ -29,12 +29,14 @@ package org.citydb.citygml.importer.database.xlink.resolver;
 
 import org.citydb.citygml.common.database.cache.CacheTable;
 import org.citydb.citygml.common.database.cache.CacheTableManager;
+import org.citydb.citygml.common.database.cache.MappedLinearRingStore;
 import org.citydb.citygml.common.database.cache.model.CacheTableModel;
 import org.citydb.citygml.common.database.xlink.DBXlink;
 import org.citydb.citygml.common.database.xlink.DBXlinkBasic;
 import org.citydb.citygml.common.database.xlink.DBXlinkDeprecatedMaterial;
 import org.citydb.citygml.common.database.xlink.DBXlinkGroupToCityObject;
 import org.citydb.citygml.common.database.xlink.DBXlinkLibraryObject;
+import org.citydb.citygml.common.database.xlink.DBXlinkLinearRing;
 import org.citydb.citygml.common.database.xlink.DBXlinkSolidGeometry;
 import org.citydb.citygml.common.database.xlink.DBXlinkSurfaceDataToTexImage;
 import org.citydb.citygml.common.database.xlink.DBXlinkSurfaceGeometry;
@@ -43,8 +45,12 @@ import org.citydb.citygml.common.database.xlink.DBXlinkTextureCoordList;
 import org.citydb.citygml.common.database.xlink.DBXlinkTextureFile;
 import org.citydb.citygml.common.database.xlink.DBXlinkTextureParam;
 import org.citydb.citygml.common.database.xlink.DBXlinkTextureParamEnum;
+import org.citydb.concurrent.DefaultWorker;
+import org.citydb.concurrent.PoolSizeAdaptationStrategy;
 import org.citydb.concurrent.WorkerPool;
+import org.citydb.config.Config;
 import org.citydb.config.i18n.Language;
+import org.citydb.config.project.importer.XlinkResolution;
 import org.citydb.config.project.global.LogLevel;
 import org.citydb.event.Event;
 import org.citydb.event.EventDispatcher;
@@ -56,10 +62,16 @@ import org.citydb.event.global.StatusDialogMessage;
 import org.citydb.event.global.StatusDialogProgressBar;
 import org.citydb.log.Logger;
 
+import java.io.IOException;
+import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
 
 public class DBXlinkSplitter implements EventHandler {
 	private final Logger log = Logger.getInstance();
@@ -69,11 +81,57 @@ public class DBXlinkSplitter implements EventHandler {
 	private final WorkerPool<DBXlink> tmpXlinkPool;
 	private final Object eventChannel;
 	private final EventDispatcher eventDispatcher;
+	private final int threads;
+	private final int partitionThreshold;
 	private volatile boolean shouldRun = true;
 
+	private final Object cacheLock = new Object();
+	private WorkerPool<Partition> partitionPool;
+	private SQLException exception;
+	private volatile boolean isConcurrentStage;
+
+	// the xlink resolution phases and the phases they depend on. a phase may only
+	// be started after all its dependencies have been queried and the xlink worker
+	// pools have been joined. phases that join the xlink worker pools themselves
+	// would also wait for the xlinks of all other running phases. so only phases
+	// without such joins and without mutual dependencies may run in parallel.
+	private enum Phase {
+		BASIC(CacheTableModel.BASIC, "import.dialog.basicXLink.msg"),
+		GROUP,
+		APPEARANCE,
+		LIBRARY_OBJECT(CacheTableModel.LIBRARY_OBJECT, "import.dialog.libObj.msg"),
+		// xlinks to deprecated appearances can only be handled if
+		// appearances have been fully written - otherwise information is
+		// missing in tables SURFACE_DATA and TEXTURPARAM
+		DEPRECATED_MATERIAL(CacheTableModel.DEPRECATED_MATERIAL, "import.dialog.depMat.msg", BASIC, GROUP, APPEARANCE, LIBRARY_OBJECT),
+		SURFACE_GEOMETRY(BASIC, GROUP, APPEARANCE, LIBRARY_OBJECT),
+		// rebuild solid geometry objects referencing surfaces from other features
+		// this requires that we have resolved surface geometry xlinks first
+		SOLID_GEOMETRY(CacheTableModel.SOLID_GEOMETRY, "import.dialog.solidXLink.msg", SURFACE_GEOMETRY);
+
+		private final CacheTableModel model;
+		private final String messageKey;
+		private final Phase[] dependencies;
+
+		Phase(CacheTableModel model, String messageKey, Phase... dependencies) {
+			this.model = model;
+			this.messageKey = messageKey;
+			this.dependencies = dependencies;
+		}
+
+		Phase(Phase... dependencies) {
+			this(null, null, dependencies);
+		}
+
+		private boolean isJoinFree() {
+			return model != null;
+		}
+	}
+
 	public DBXlinkSplitter(CacheTableManager cacheTableManager, 
 			WorkerPool<DBXlink> xlinkResolverPool, 
 			WorkerPool<DBXlink> tmpXlinkPool,
+			Config config,
 			Object eventChannel,
 			EventDispatcher eventDispatcher) {
 		this.cacheTableManager = cacheTableManager;
@@ -82,54 +140,221 @@ public class DBXlinkSplitter implements EventHandler {
 		this.eventChannel = eventChannel;
 		this.eventDispatcher = eventDispatcher;
 
+		XlinkResolution xlinkResolution = config.getProject().getImporter().getResources().getXlinkResolution();
+		threads = !xlinkResolution.isParallel() ? 1 : xlinkResolution.isSetThreads() ?
+				xlinkResolution.getThreads() :
+				Math.min(Phase.values().length, Math.max(Runtime.getRuntime().availableProcessors() / 2, 1));
+		partitionThreshold = xlinkResolution.getPartitionThreshold();
+
 		eventDispatcher.addEventHandler(EventType.INTERRUPT, this);
 	}
 
 	public void startQuery() {
+		WorkerPool<Phase> phasePool = null;
+
 		try {
-			basicXlinks();
-			groupMemberXLinks();
-			appearanceXlinks();
-			libraryObjectXLinks();
+			if (threads > 1) {
+				phasePool = new WorkerPool<>(
+						"xlink_phase_pool",
+						threads,
+						threads,
+						PoolSizeAdaptationStrategy.NONE,
+						() -> new PhaseWorker(),
+						Phase.values().length,
+						false);
+
+				partitionPool = new WorkerPool<>(
+						"xlink_partition_pool",
+						threads,
+						threads,
+						PoolSizeAdaptationStrategy.NONE,
+						() -> new PartitionWorker(),
+						threads * 2,
+						false);
+
+				phasePool.prestartCoreWorkers();
+				partitionPool.prestartCoreWorkers();
+			}
+
+			EnumSet<Phase> finished = EnumSet.noneOf(Phase.class);
+			while (shouldRun && finished.size() < Phase.values().length) {
+				// collect all phases whose dependencies have been resolved
+				List<Phase> stage = new ArrayList<>();
+				for (Phase phase : Phase.values()) {
+					if (!finished.contains(phase) && isResolved(phase, finished))
+						stage.add(phase);
+				}
 
-			if (!shouldRun)
-				return;
+				// make pending inserts visible to the phase connections
+				commitCache();
 
-			// restart xlink worker pools
-			// just to make sure all appearance xlinks have been handled
-			// before starting to work on geometry xlinks
-			try {
-				xlinkResolverPool.join();
-				tmpXlinkPool.join();
-			} catch (InterruptedException e) {
-				//
-			}
+				List<Phase> concurrent = new ArrayList<>();
+				for (Phase phase : stage) {
+					if (phase.isJoinFree())
+						concurrent.add(phase);
+				}
 
-			// xlinks to deprecated appearances can only be handled if
-			// appearances have been fully written - otherwise information is
-			// missing in tables SURFACE_DATA and TEXTURPARAM
-			deprecatedMaterialXlinks();
-
-			// handling geometry xlinks is more tricky...
-			// the reason is that we really hard copy the entries within the database.
-			// now imagine the following situation: a geometry referenced by an xlink
-			// itself points to another geometry. in order to really copy any information
-			// we have to resolve the inner xlink firstly. afterwards we can deal with the
-			// outer xlink. thus, we need a recursive strategy here...
-			surfaceGeometryXlinks();
-
-			// rebuild solid geometry objects referencing surfaces from other features
-			// this requires that we have resolved surface geometry xlinks first
-			solidGeometryXlinks();
+				if (phasePool != null && concurrent.size() > 1) {
+					runConcurrently(concurrent, phasePool);
+					stage.removeAll(concurrent);
+				}
+
+				// phases joining the xlink worker pools are run one after the other
+				for (Phase phase : stage)
+					runPhase(phase);
+
+				finished.addAll(stage);
+				finished.addAll(concurrent);
+
+				// restart xlink worker pools
+				// just to make sure all xlinks of this stage have been handled
+				// before starting to work on dependent xlinks
+				try {
+					xlinkResolverPool.join();
+					tmpXlinkPool.join();
+				} catch (InterruptedException e) {
+					//
+				}
+			}
 		} catch (SQLException e) {
 			// fire interrupt event to stop other import workers
 			eventDispatcher.triggerEvent(new InterruptEvent("Aborting import due to SQL errors.", LogLevel.WARN, e, eventChannel, this));
 		} finally {
+			if (phasePool != null)
+				phasePool.shutdownNow();
+
+			if (partitionPool != null)
+				partitionPool.shutdownNow();
+
 			eventDispatcher.removeEventHandler(this);
 		}
 	}
 
-	private void basicXlinks() throws SQLException {
+	private void runConcurrently(List<Phase> phases, WorkerPool<Phase> phasePool) throws SQLException {
+		// concurrent phases share a single progress bar covering all of them
+		long size = 0;
+		List<String> messages = new ArrayList<>();
+		try (Connection connection = cacheTableManager.openConnection()) {
+			for (Phase phase : phases) {
+				CacheTable cacheTable = cacheTableManager.getCacheTable(phase.model);
+				if (cacheTable != null) {
+					size += size(cacheTable, connection);
+					messages.add(Language.I18N.getString(phase.messageKey));
+				}
+			}
+		}
+
+		eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.INIT, (int) size, this));
+		if (!messages.isEmpty())
+			eventDispatcher.triggerEvent(new StatusDialogMessage(String.join(" ", messages), this));
+
+		isConcurrentStage = true;
+		try {
+			for (Phase phase : phases)
+				phasePool.addWork(phase);
+
+			try {
+				phasePool.join();
+			} catch (InterruptedException e) {
+				//
+			}
+		} finally {
+			isConcurrentStage = false;
+		}
+
+		if (exception != null)
+			throw exception;
+	}
+
+	private void initProgress(Phase phase, CacheTable cacheTable, Connection connection) throws SQLException {
+		// the progress of concurrent phases has already been initialized for the whole stage
+		if (!isConcurrentStage) {
+			eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.INIT, (int) size(cacheTable, connection), this));
+			eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString(phase.messageKey), this));
+		}
+	}
+
+	private boolean isResolved(Phase phase, EnumSet<Phase> finished) {
+		for (Phase dependency : phase.dependencies) {
+			if (!finished.contains(dependency))
+				return false;
+		}
+
+		return true;
+	}
+
+	private void runPhase(Phase phase) throws SQLException {
+		// every phase reads the cache tables on a dedicated connection since
+		// phases may run in parallel and a connection must not be shared
+		try (Connection connection = cacheTableManager.openConnection()) {
+			switch (phase) {
+				case BASIC:
+					basicXlinks(connection);
+					break;
+				case GROUP:
+					groupMemberXLinks(connection);
+					break;
+				case APPEARANCE:
+					appearanceXlinks(connection);
+					break;
+				case LIBRARY_OBJECT:
+					libraryObjectXLinks(connection);
+					break;
+				case DEPRECATED_MATERIAL:
+					deprecatedMaterialXlinks(connection);
+					break;
+				case SURFACE_GEOMETRY:
+					// handling geometry xlinks is more tricky...
+					// the reason is that we really hard copy the entries within the database.
+					// now imagine the following situation: a geometry referenced by an xlink
+					// itself points to another geometry. in order to really copy any information
+					// we have to resolve the inner xlink firstly. afterwards we can deal with the
+					// outer xlink. thus, we need a recursive strategy here...
+					surfaceGeometryXlinks(connection);
+					break;
+				case SOLID_GEOMETRY:
+					solidGeometryXlinks(connection);
+					break;
+			}
+		}
+	}
+
+	private void commitCache() throws SQLException {
+		onCacheConnection(() -> {});
+	}
+
+	private void onCacheConnection(CacheOperation operation) throws SQLException {
+		// statements on the shared cache connection are serialized between phases
+		// and committed so that their results are visible to the phase connections
+		synchronized (cacheLock) {
+			operation.execute();
+			cacheTableManager.commit();
+		}
+	}
+
+	private <T> T fromCacheConnection(CacheFunction<T> function) throws SQLException {
+		synchronized (cacheLock) {
+			T result = function.apply();
+			cacheTableManager.commit();
+			return result;
+		}
+	}
+
+	private long size(CacheTable cacheTable, Connection connection) throws SQLException {
+		try (Statement stmt = connection.createStatement();
+			 ResultSet rs = stmt.executeQuery("select count(*) from " + cacheTable.getTableName())) {
+			return rs.next() ? rs.getLong(1) : 0;
+		}
+	}
+
+	private synchronized void setException(SQLException e) {
+		if (exception == null)
+			exception = e;
+
+		shouldRun = false;
+	}
+
+	private void basicXlinks(Connection connection) throws SQLException {
 		if (!shouldRun)
 			return;
 
@@ -138,31 +363,25 @@ public class DBXlinkSplitter implements EventHandler {
 			return;
 
 		log.info("Resolving feature XLinks...");
-		eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.INIT, (int)cacheTable.size(), this));
-		eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("import.dialog.basicXLink.msg"), this));
-
-		try (Statement stmt = cacheTable.getConnection().createStatement();
-			 ResultSet rs = stmt.executeQuery("select * from " + cacheTable.getTableName())) {
-			while (rs.next() && shouldRun) {
-				eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, 1, this));
-
-				long id = rs.getLong("ID");
-				String table = rs.getString("TABLE_NAME");
-				String fromColumn = rs.getString("FROM_COLUMN");
-				String toColumn = rs.getString("TO_COLUMN");				
-				String gmlId = rs.getString("GMLID");
-
-				// set initial context...
-				xlinkResolverPool.addWork(new DBXlinkBasic(id,
-						table,
-						fromColumn,
-						toColumn,
-						gmlId));
-			}
-		}
+		initProgress(Phase.BASIC, cacheTable, connection);
+
+		query(cacheTable, connection, "ID", rs -> {
+			long id = rs.getLong("ID");
+			String table = rs.getString("TABLE_NAME");
+			String fromColumn = rs.getString("FROM_COLUMN");
+			String toColumn = rs.getString("TO_COLUMN");				
+			String gmlId = rs.getString("GMLID");
+
+			// set initial context...
+			xlinkResolverPool.addWork(new DBXlinkBasic(id,
+					table,
+					fromColumn,
+					toColumn,
+					gmlId));
+		});
 	}
 
-	private void groupMemberXLinks() throws SQLException {
+	private void groupMemberXLinks(Connection connection) throws SQLException {
 		if (!shouldRun)
 			return;
 
@@ -171,22 +390,26 @@ public class DBXlinkSplitter implements EventHandler {
 			return;
 
 		log.info("Resolving CityObjectGroup XLinks...");
-		queryGroupMemberXLinks(cacheTable, true, -1, 1);
+		queryGroupMemberXLinks(cacheTable, connection, true, -1, 1);
 	}
 
-	private void queryGroupMemberXLinks(CacheTable cacheTable, 
+	private void queryGroupMemberXLinks(CacheTable cacheTable,
+			Connection connection,
 			boolean checkRecursive, 
 			long remaining, 
 			int pass) throws SQLException {
-		eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.INIT, (remaining == -1) ? (int)cacheTable.size() : (int)remaining, this));
+		eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.INIT, (remaining == -1) ? (int) size(cacheTable, connection) : (int)remaining, this));
 		String text = Language.I18N.getString("import.dialog.groupXLink.msg");
 		Object[] args = new Object[]{ pass };
 		eventDispatcher.triggerEvent(new StatusDialogMessage(MessageFormat.format(text, args), this));
 
-		CacheTable mirrorTable = cacheTable.mirrorAndIndex();
-		cacheTable.truncate();
+		CacheTable mirrorTable = fromCacheConnection(() -> {
+			CacheTable mirror = cacheTable.mirrorAndIndex();
+			cacheTable.truncate();
+			return mirror;
+		});
 
-		try (Statement stmt = mirrorTable.getConnection().createStatement();
+		try (Statement stmt = connection.createStatement();
 			 ResultSet rs = stmt.executeQuery("select * from " + mirrorTable.getTableName())) {
 			while (rs.next() && shouldRun) {
 				eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, 1, this));
@@ -215,12 +438,13 @@ public class DBXlinkSplitter implements EventHandler {
 				//
 			}
 
-			long unresolved = cacheTable.size();
+			commitCache();
+			long unresolved = size(cacheTable, connection);
 			if (unresolved > 0) {
 				if (unresolved != remaining) {
 					// we still have unresolved xlinks... so do another recursion
-					cacheTable.dropMirrorTable();
-					queryGroupMemberXLinks(cacheTable, checkRecursive, unresolved, ++pass);
+					onCacheConnection(cacheTable::dropMirrorTable);
+					queryGroupMemberXLinks(cacheTable, connection, checkRecursive, unresolved, ++pass);
 				} else {
 					// we detected a cycle and cannot resolve the remaining xlinks
 					log.error("Illegal graph cycle in grouping detected. XLink references cannot be resolved.");
@@ -229,7 +453,7 @@ public class DBXlinkSplitter implements EventHandler {
 		}
 	}
 
-	private void appearanceXlinks() throws SQLException {
+	private void appearanceXlinks(Connection connection) throws SQLException {
 		if (!shouldRun)
 			return;
 
@@ -240,23 +464,53 @@ public class DBXlinkSplitter implements EventHandler {
 
 		CacheTable texCoordTable = cacheTableManager.getCacheTable(CacheTableModel.TEXTURE_COORD_LIST);
 		CacheTable texParamTableTable = cacheTableManager.getCacheTable(CacheTableModel.TEXTUREPARAM);
-		boolean existsLinearRingTable = cacheTableManager.existsCacheTable(CacheTableModel.LINEAR_RING);
+		MappedLinearRingStore linearRingStore = MappedLinearRingStore.get(cacheTableManager);
+		boolean existsLinearRingTable = cacheTableManager.existsCacheTable(CacheTableModel.LINEAR_RING)
+				|| linearRingStore != null;
 
 		int max = 0;
-		if (texCoordTable != null && existsLinearRingTable) max += (int) texCoordTable.size();
-		if (texParamTableTable != null) max += (int) texParamTableTable.size();
+		if (texCoordTable != null && existsLinearRingTable) max += (int) size(texCoordTable, connection);
+		if (texParamTableTable != null) max += (int) size(texParamTableTable, connection);
 
 		log.info("Resolving appearance XLinks...");
 		eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.INIT, max, this));
 		eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("import.dialog.appXlink.msg"), this));
 
 		// first step: resolve texture coordinates
-		if (texCoordTable != null && existsLinearRingTable) {
+		if (texCoordTable != null && linearRingStore != null) {
+			// exterior rings are looked up in the key-value store instead of joining both tables
+			onCacheConnection(texCoordTable::createIndexes);
+			query(texCoordTable, connection, "ID", rs -> {
+				String gmlId = rs.getString("GMLID");
+				DBXlinkLinearRing linearRing;
+				try {
+					linearRing = linearRingStore.getExteriorRing(gmlId);
+				} catch (IOException e) {
+					throw new SQLException("Failed to read from linear ring key-value store.", e);
+				}
+
+				if (linearRing == null)
+					return;
+
+				DBXlinkTextureCoordList xlink = new DBXlinkTextureCoordList(
+						rs.getLong("ID"),
+						gmlId,
+						rs.getString("TEXPARAM_GMLID"),
+						rs.getLong("TARGET_ID"));
+
+				xlink.setSurfaceGeometryId(linearRing.getParentId());
+				xlink.setReverse(linearRing.isReverse());
+
+				xlinkResolverPool.addWork(xlink);
+			});
+		} else if (texCoordTable != null && existsLinearRingTable) {
 			CacheTable linearRingTable = cacheTableManager.getCacheTable(CacheTableModel.LINEAR_RING);
-			texCoordTable.createIndexes();
-			linearRingTable.createIndexes();
+			onCacheConnection(() -> {
+				texCoordTable.createIndexes();
+				linearRingTable.createIndexes();
+			});
 
-			try (Statement stmt = texCoordTable.getConnection().createStatement();
+			try (Statement stmt = connection.createStatement();
 				 ResultSet rs = stmt.executeQuery("select tc.ID, tc.GMLID, tc.TEXPARAM_GMLID, tc.TARGET_ID, " +
 						 "lr.PARENT_ID, lr.REVERSE from " + texCoordTable.getTableName() + " tc " +
 						 " join " + linearRingTable.getTableName() + " lr on tc.GMLID=lr.GMLID where lr.RING_NO = 0")) {
@@ -286,31 +540,26 @@ public class DBXlinkSplitter implements EventHandler {
 
 		// second step: resolve texture param other than texture coordinates
 		if (texParamTableTable != null) {
-			try (Statement stmt = texParamTableTable.getConnection().createStatement();
-				 ResultSet rs = stmt.executeQuery("select * from " + texParamTableTable.getTableName())) {
-				while (rs.next() && shouldRun) {
-					eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, 1, this));
-
-					long id = rs.getLong("ID");
-					String gmlId = rs.getString("GMLID");
-					DBXlinkTextureParamEnum type = DBXlinkTextureParamEnum.fromInt(rs.getInt("TYPE"));
-					int isTexPara = rs.getInt("IS_TEXTURE_PARAMETERIZATION");
-					String texParamGmlId = rs.getString("TEXPARAM_GMLID");
-					String worldToTexture = rs.getString("WORLD_TO_TEXTURE");
+			query(texParamTableTable, connection, "ID", rs -> {
+				long id = rs.getLong("ID");
+				String gmlId = rs.getString("GMLID");
+				DBXlinkTextureParamEnum type = DBXlinkTextureParamEnum.fromInt(rs.getInt("TYPE"));
+				int isTexPara = rs.getInt("IS_TEXTURE_PARAMETERIZATION");
+				String texParamGmlId = rs.getString("TEXPARAM_GMLID");
+				String worldToTexture = rs.getString("WORLD_TO_TEXTURE");
 
-					// set initial context...
-					DBXlinkTextureParam xlink = new DBXlinkTextureParam(
-							id,
-							gmlId,
-							type);
+				// set initial context...
+				DBXlinkTextureParam xlink = new DBXlinkTextureParam(
+						id,
+						gmlId,
+						type);
 
-					xlink.setTextureParameterization(isTexPara != 0);
-					xlink.setTexParamGmlId(texParamGmlId);
-					xlink.setWorldToTexture(worldToTexture);
+				xlink.setTextureParameterization(isTexPara != 0);
+				xlink.setTexParamGmlId(texParamGmlId);
+				xlink.setWorldToTexture(worldToTexture);
 
-					xlinkResolverPool.addWork(xlink);
-				}
-			}
+				xlinkResolverPool.addWork(xlink);
+			});
 		}
 
 		if (!shouldRun)
@@ -321,10 +570,10 @@ public class DBXlinkSplitter implements EventHandler {
 			CacheTable temporaryTable = cacheTableManager.getCacheTable(CacheTableModel.TEXTURE_FILE);
 
 			log.info("Importing texture images...");
-			eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.INIT, (int) temporaryTable.size(), this));
+			eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.INIT, (int) size(temporaryTable, connection), this));
 			eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("import.dialog.texImg.msg"), this));
 
-			try (Statement stmt = temporaryTable.getConnection().createStatement();
+			try (Statement stmt = connection.createStatement();
 				 ResultSet rs = stmt.executeQuery("select * from " + temporaryTable.getTableName())) {
 				while (rs.next() && shouldRun) {
 					eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, 1, this));
@@ -350,10 +599,10 @@ public class DBXlinkSplitter implements EventHandler {
 			CacheTable temporaryTable = cacheTableManager.getCacheTable(CacheTableModel.SURFACE_DATA_TO_TEX_IMAGE);
 
 			log.info("Linking texture images to surface data...");
-			eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.INIT, (int) temporaryTable.size(), this));
+			eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.INIT, (int) size(temporaryTable, connection), this));
 			eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("import.dialog.linkTexImg.msg"), this));
 
-			try (Statement stmt = temporaryTable.getConnection().createStatement();
+			try (Statement stmt = connection.createStatement();
 				 ResultSet rs = stmt.executeQuery("select * from " + temporaryTable.getTableName())) {
 				while (rs.next() && shouldRun) {
 					eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, 1, this));
@@ -381,12 +630,12 @@ public class DBXlinkSplitter implements EventHandler {
 		if (cacheTableManager.existsCacheTable(CacheTableModel.TEXTUREASSOCIATION) &&
 				cacheTableManager.existsCacheTable(CacheTableModel.TEXTUREASSOCIATION_TARGET)) {
 			CacheTable cacheTable = cacheTableManager.getCacheTable(CacheTableModel.TEXTUREASSOCIATION);
-			cacheTableManager.getCacheTable(CacheTableModel.TEXTUREASSOCIATION_TARGET).createIndexes();
+			onCacheConnection(cacheTableManager.getCacheTable(CacheTableModel.TEXTUREASSOCIATION_TARGET)::createIndexes);
 
-			eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.INIT, (int) cacheTable.size(), this));
+			eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.INIT, (int) size(cacheTable, connection), this));
 			eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("import.dialog.appXlink.msg"), this));
 
-			try (Statement stmt = cacheTable.getConnection().createStatement();
+			try (Statement stmt = connection.createStatement();
 				 ResultSet rs = stmt.executeQuery("select * from " + cacheTable.getTableName())) {
 				while (rs.next() && shouldRun) {
 					eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, 1, this));
@@ -404,7 +653,7 @@ public class DBXlinkSplitter implements EventHandler {
 		}
 	}
 
-	private void libraryObjectXLinks() throws SQLException {
+	private void libraryObjectXLinks(Connection connection) throws SQLException {
 		if (!shouldRun)
 			return;
 
@@ -413,10 +662,9 @@ public class DBXlinkSplitter implements EventHandler {
 			return;
 
 		log.info("Importing library objects...");
-		eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.INIT, (int)cacheTable.size(), this));
-		eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("import.dialog.libObj.msg"), this));
+		initProgress(Phase.LIBRARY_OBJECT, cacheTable, connection);
 
-		try (Statement stmt = cacheTable.getConnection().createStatement();
+		try (Statement stmt = connection.createStatement();
 			 ResultSet rs = stmt.executeQuery("select * from " + cacheTable.getTableName())) {
 			while (rs.next() && shouldRun) {
 				eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, 1, this));
@@ -434,7 +682,7 @@ public class DBXlinkSplitter implements EventHandler {
 		}
 	}
 
-	private void deprecatedMaterialXlinks() throws SQLException {
+	private void deprecatedMaterialXlinks(Connection connection) throws SQLException {
 		if (!shouldRun)
 			return;
 
@@ -443,30 +691,24 @@ public class DBXlinkSplitter implements EventHandler {
 			return;
 
 		log.info("Resolving TexturedSurface XLinks...");
-		eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.INIT, (int)cacheTable.size(), this));
-		eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("import.dialog.depMat.msg"), this));
+		initProgress(Phase.DEPRECATED_MATERIAL, cacheTable, connection);
 
-		try (Statement stmt = cacheTable.getConnection().createStatement();
-			 ResultSet rs = stmt.executeQuery("select * from " + cacheTable.getTableName())) {
-			while (rs.next() && shouldRun) {
-				eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, 1, this));
+		query(cacheTable, connection, "ID", rs -> {
+			long appearanceId = rs.getLong("ID");
+			String gmlId = rs.getString("GMLID");
+			long surfaceGeometryId = rs.getLong("SURFACE_GEOMETRY_ID");
 
-				long appearanceId = rs.getLong("ID");
-				String gmlId = rs.getString("GMLID");
-				long surfaceGeometryId = rs.getLong("SURFACE_GEOMETRY_ID");
+			// set initial context
+			DBXlinkDeprecatedMaterial xlink = new DBXlinkDeprecatedMaterial(
+					appearanceId,
+					gmlId,
+					surfaceGeometryId);
 
-				// set initial context
-				DBXlinkDeprecatedMaterial xlink = new DBXlinkDeprecatedMaterial(
-						appearanceId,
-						gmlId,
-						surfaceGeometryId);
-
-				xlinkResolverPool.addWork(xlink);
-			}
-		}
+			xlinkResolverPool.addWork(xlink);
+		});
 	}
 
-	private void surfaceGeometryXlinks() throws SQLException {
+	private void surfaceGeometryXlinks(Connection connection) throws SQLException {
 		if (!shouldRun)
 			return;
 
@@ -475,49 +717,48 @@ public class DBXlinkSplitter implements EventHandler {
 			return;
 
 		log.info("Resolving geometry XLinks...");
-		querySurfaceGeometryXlinks(cacheTable, true, -1, 1);
+		querySurfaceGeometryXlinks(cacheTable, connection, true, -1, 1);
 	}
 
-	private void querySurfaceGeometryXlinks(CacheTable cacheTable, 
+	private void querySurfaceGeometryXlinks(CacheTable cacheTable,
+			Connection connection,
 			boolean checkRecursive, 
 			long remaining, 
 			int pass) throws SQLException {
-		eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.INIT, (remaining == -1) ? (int)cacheTable.size() : (int)remaining, this));
+		eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.INIT, (remaining == -1) ? (int) size(cacheTable, connection) : (int)remaining, this));
 		String text = Language.I18N.getString("import.dialog.geomXLink.msg");
 		Object[] args = new Object[]{ pass };
 		eventDispatcher.triggerEvent(new StatusDialogMessage(MessageFormat.format(text, args), this));
 
-		CacheTable mirrorTable = cacheTable.mirrorAndIndex();
-		cacheTable.truncate();
-
-		try (Statement stmt = mirrorTable.getConnection().createStatement();
-			 ResultSet rs = stmt.executeQuery("select * from " + mirrorTable.getTableName())) {
-			while (rs.next() && shouldRun) {
-				eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, 1, this));
-
-				long id = rs.getLong("ID");
-				long parentId = rs.getLong("PARENT_ID");
-				long rootId = rs.getLong("ROOT_ID");
-				boolean reverse = rs.getInt("REVERSE") == 1;
-				String gmlId = rs.getString("GMLID");
-				long cityObjectId = rs.getLong("CITYOBJECT_ID");
-				String table = rs.getString("TABLE_NAME");
-				String fromColumn = rs.getString("FROM_COLUMN");
-
-				// set initial context...
-				DBXlinkSurfaceGeometry xlink = new DBXlinkSurfaceGeometry(
-						id,
-						parentId,
-						rootId,
-						reverse,
-						gmlId,
-						cityObjectId,
-						table,
-						fromColumn);
-
-				xlinkResolverPool.addWork(xlink);
-			}
-		}
+		CacheTable mirrorTable = fromCacheConnection(() -> {
+			CacheTable mirror = cacheTable.mirrorAndIndex();
+			cacheTable.truncate();
+			return mirror;
+		});
+
+		query(mirrorTable, connection, "ID", rs -> {
+			long id = rs.getLong("ID");
+			long parentId = rs.getLong("PARENT_ID");
+			long rootId = rs.getLong("ROOT_ID");
+			boolean reverse = rs.getInt("REVERSE") == 1;
+			String gmlId = rs.getString("GMLID");
+			long cityObjectId = rs.getLong("CITYOBJECT_ID");
+			String table = rs.getString("TABLE_NAME");
+			String fromColumn = rs.getString("FROM_COLUMN");
+
+			// set initial context...
+			DBXlinkSurfaceGeometry xlink = new DBXlinkSurfaceGeometry(
+					id,
+					parentId,
+					rootId,
+					reverse,
+					gmlId,
+					cityObjectId,
+					table,
+					fromColumn);
+
+			xlinkResolverPool.addWork(xlink);
+		});
 
 		if (checkRecursive && shouldRun) {
 			try {
@@ -527,12 +768,13 @@ public class DBXlinkSplitter implements EventHandler {
 				//
 			}
 
-			long unresolved = cacheTable.size();
+			commitCache();
+			long unresolved = size(cacheTable, connection);
 			if (unresolved > 0) {
 				if (unresolved != remaining) {
 					// we still have unresolved xlinks... so do another recursion
-					cacheTable.dropMirrorTable();
-					querySurfaceGeometryXlinks(cacheTable, checkRecursive, unresolved, ++pass);
+					onCacheConnection(cacheTable::dropMirrorTable);
+					querySurfaceGeometryXlinks(cacheTable, connection, checkRecursive, unresolved, ++pass);
 				} else {
 					// we detected a cycle and cannot resolve the remaining xlinks
 					log.error("Illegal graph cycle in geometry detected. XLink references cannot be resolved.");
@@ -541,7 +783,7 @@ public class DBXlinkSplitter implements EventHandler {
 		}
 	}
 
-	private void solidGeometryXlinks() throws SQLException {
+	private void solidGeometryXlinks(Connection connection) throws SQLException {
 		if (!shouldRun)
 			return;
 
@@ -549,20 +791,60 @@ public class DBXlinkSplitter implements EventHandler {
 		if (cacheTable == null)
 			return;
 
-		eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.INIT, (int)cacheTable.size(), this));
-		eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("import.dialog.solidXLink.msg"), this));
+		initProgress(Phase.SOLID_GEOMETRY, cacheTable, connection);
 
-		try (Statement stmt = cacheTable.getConnection().createStatement();
-			 ResultSet rs = stmt.executeQuery("select * from " + cacheTable.getTableName())) {
-			while (rs.next() && shouldRun) {
-				eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, 1, this));
+		query(cacheTable, connection, "ID", rs -> {
+			long id = rs.getLong("ID");
 
-				long id = rs.getLong("ID");
+			// set initial context
+			DBXlinkSolidGeometry xlink = new DBXlinkSolidGeometry(id);
+			xlinkResolverPool.addWork(xlink);
+		});
+	}
 
-				// set initial context
-				DBXlinkSolidGeometry xlink = new DBXlinkSolidGeometry(id);
-				xlinkResolverPool.addWork(xlink);
+	private void query(CacheTable cacheTable, Connection connection, String idColumn, RowHandler handler) throws SQLException {
+		long size = partitionPool != null ? size(cacheTable, connection) : 0;
+		if (size < partitionThreshold) {
+			try (Statement stmt = connection.createStatement();
+				 ResultSet rs = stmt.executeQuery("select * from " + cacheTable.getTableName())) {
+				while (rs.next() && shouldRun) {
+					eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, 1, this));
+					handler.handle(rs);
+				}
 			}
+
+			return;
+		}
+
+		// large cache tables are split into partitions by hashing the id column.
+		// each partition is read on a separate connection so that the resolver
+		// workers are fed in parallel. pending inserts have already been committed
+		// before the phase was started. rows without an id are read with the
+		// first partition.
+		int partitions = partitionPool.getMaximumPoolSize();
+		CountDownLatch latch = new CountDownLatch(partitions);
+		Partition[] work = new Partition[partitions];
+		for (int i = 0; i < partitions; i++) {
+			String predicate = "abs(mod(" + idColumn + ", " + partitions + ")) = " + i;
+			if (i == 0)
+				predicate += " or " + idColumn + " is null";
+
+			work[i] = new Partition("select * from " + cacheTable.getTableName() + " where " + predicate, handler, latch);
+			partitionPool.addWork(work[i]);
+		}
+
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			// stop the partition workers and preserve the interrupt status
+			shouldRun = false;
+			Thread.currentThread().interrupt();
+			throw new SQLException("Interrupted while querying cache table " + cacheTable.getTableName() + ".", e);
+		}
+
+		for (Partition partition : work) {
+			if (partition.exception != null)
+				throw partition.exception;
 		}
 	}
 
@@ -572,4 +854,70 @@ public class DBXlinkSplitter implements EventHandler {
 			shouldRun = false;
 	}
 
+	private interface RowHandler {
+		void handle(ResultSet rs) throws SQLException;
+	}
+
+	private interface CacheOperation {
+		void execute() throws SQLException;
+	}
+
+	private interface CacheFunction<T> {
+		T apply() throws SQLException;
+	}
+
+	private static final class Partition {
+		private final String query;
+		private final RowHandler handler;
+		private final CountDownLatch latch;
+		private volatile SQLException exception;
+
+		private Partition(String query, RowHandler handler, CountDownLatch latch) {
+			this.query = query;
+			this.handler = handler;
+			this.latch = latch;
+		}
+	}
+
+	private final class PhaseWorker extends DefaultWorker<Phase> {
+
+		@Override
+		public void doWork(Phase phase) {
+			try {
+				runPhase(phase);
+			} catch (SQLException e) {
+				setException(e);
+			}
+		}
+
+		@Override
+		public void shutdown() {
+			// nothing to do
+		}
+	}
+
+	private final class PartitionWorker extends DefaultWorker<Partition> {
+
+		@Override
+		public void doWork(Partition partition) {
+			try (Connection connection = cacheTableManager.openConnection();
+				 Statement stmt = connection.createStatement();
+				 ResultSet rs = stmt.executeQuery(partition.query)) {
+				while (rs.next() && shouldRun) {
+					eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, 1, DBXlinkSplitter.this));
+					partition.handler.handle(rs);
+				}
+			} catch (SQLException e) {
+				partition.exception = e;
+			} finally {
+				partition.latch.countDown();
+			}
+		}
+
+		@Override
+		public void shutdown() {
+			// nothing to do
+		}
+	}
+
 }
@@ -28,17 +28,20 @@
 package org.citydb.citygml.importer.database.xlink.resolver;
 
 import org.citydb.citygml.common.database.cache.CacheTable;
+import org.citydb.citygml.common.database.cache.MappedLinearRingStore;
 import org.citydb.citygml.common.database.xlink.DBXlinkTextureAssociationTarget;
 import org.citydb.citygml.common.database.xlink.DBXlinkTextureCoordList;
 import org.citydb.config.geometry.GeometryObject;
 import org.citydb.log.Logger;
 import org.citydb.util.Util;
 
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.HashMap;
+import java.util.Map;
 import java.util.Map.Entry;
 
 public class XlinkTexCoordList implements DBXlinkResolver {
@@ -49,12 +52,22 @@ public class XlinkTexCoordList implements DBXlinkResolver {
 	private final PreparedStatement psSelectTexCoords;
 	private final PreparedStatement psSelectTexCoordsByGmlId;
 	private final PreparedStatement psSelectLinearRings;
+	private final MappedLinearRingStore linearRingStore;
 	private final PreparedStatement psTextureParam;
 
 	private int batchCounter;
 	
 	public XlinkTexCoordList(Connection connection, CacheTable texCoords, CacheTable linearRings, DBXlinkResolverManager manager) throws SQLException {
+		this(connection, texCoords, linearRings, null, manager);
+	}
+
+	public XlinkTexCoordList(Connection connection, CacheTable texCoords, MappedLinearRingStore linearRingStore, DBXlinkResolverManager manager) throws SQLException {
+		this(connection, texCoords, null, linearRingStore, manager);
+	}
+
+	private XlinkTexCoordList(Connection connection, CacheTable texCoords, CacheTable linearRings, MappedLinearRingStore linearRingStore, DBXlinkResolverManager manager) throws SQLException {
 		this.connection = connection;
+		this.linearRingStore = linearRingStore;
 		this.manager = manager;
 		String schema = manager.getDatabaseAdapter().getConnectionDetails().getSchema();
 
@@ -64,8 +77,8 @@ public class XlinkTexCoordList implements DBXlinkResolver {
 		psSelectTexCoordsByGmlId = texCoords.getConnection().prepareStatement("select GMLID, TEXTURE_COORDINATES from " +
 				texCoords.getTableName() + " where GMLID=?");
 
-		psSelectLinearRings = linearRings.getConnection().prepareStatement("select GMLID, RING_NO from " +
-				linearRings.getTableName() + " where PARENT_ID = ?");
+		psSelectLinearRings = linearRings != null ? linearRings.getConnection().prepareStatement("select GMLID, RING_NO from " +
+				linearRings.getTableName() + " where PARENT_ID = ?") : null;
 
 		psTextureParam = connection.prepareStatement("insert into " + schema + ".TEXTUREPARAM (SURFACE_GEOMETRY_ID, " +
 				"IS_TEXTURE_PARAMETRIZATION, TEXTURE_COORDINATES, SURFACE_DATA_ID) " +
@@ -82,20 +95,29 @@ public class XlinkTexCoordList implements DBXlinkResolver {
 
 		try {
 			// step 1: get linear rings
-			psSelectLinearRings.setLong(1, xlink.getSurfaceGeometryId());
-			rs = psSelectLinearRings.executeQuery();
-
 			long surfaceGeometryId = xlink.getSurfaceGeometryId();
 			boolean reverse = xlink.isReverse();
 
-			HashMap<String, Integer> ringNos = new HashMap<String, Integer>();
-			while (rs.next()) {
-				String ringId = rs.getString(1);
-				int ringNo = rs.getInt(2);
-				ringNos.put(ringId, ringNo);
-			}
+			Map<String, Integer> ringNos;
+			if (linearRingStore != null) {
+				try {
+					ringNos = linearRingStore.getRingNumbers(surfaceGeometryId);
+				} catch (IOException e) {
+					throw new SQLException("Failed to read from linear ring key-value store.", e);
+				}
+			} else {
+				psSelectLinearRings.setLong(1, surfaceGeometryId);
+				rs = psSelectLinearRings.executeQuery();
+
+				ringNos = new HashMap<String, Integer>();
+				while (rs.next()) {
+					String ringId = rs.getString(1);
+					int ringNo = rs.getInt(2);
+					ringNos.put(ringId, ringNo);
+				}
 
-			rs.close();
+				rs.close();
+			}
 
 			if (surfaceGeometryId == 0)
 				return false;
@@ -186,7 +208,9 @@ public class XlinkTexCoordList implements DBXlinkResolver {
 	public void close() throws SQLException {
 		psSelectTexCoords.close();
 		psSelectTexCoordsByGmlId.close();
-		psSelectLinearRings.close();
+		if (psSelectLinearRings != null)
+			psSelectLinearRings.close();
+
 		psTextureParam.close();
 	}
 
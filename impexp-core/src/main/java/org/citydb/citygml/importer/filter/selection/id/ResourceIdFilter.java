@@ -31,21 +31,21 @@ import org.citydb.config.project.query.filter.selection.id.ResourceIdOperator;
 import org.citydb.query.filter.FilterException;
 import org.citygml4j.model.gml.feature.AbstractFeature;
 
-import java.util.ArrayList;
 import java.util.Collections;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
 
 public class ResourceIdFilter {
-	private final List<String> ids;
+	private final Set<String> ids;
 	
 	public ResourceIdFilter(ResourceIdOperator idOperator) throws FilterException {
 		if (idOperator == null)
 			throw new FilterException("The resource id operator must not be null.");
 		
 		if (idOperator.isSetResourceIds())
-			ids = new ArrayList<>(idOperator.getResourceIds());
+			ids = new HashSet<>(idOperator.getResourceIds());
 		else
-			ids = Collections.emptyList();
+			ids = Collections.emptySet();
 	}
 	
 	public boolean isSatisfiedBy(AbstractFeature feature) {
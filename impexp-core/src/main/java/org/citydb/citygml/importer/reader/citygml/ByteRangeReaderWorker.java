@@ -0,0 +1,109 @@
+package org.citydb.citygml.importer.reader.citygml;
+
+import org.citydb.concurrent.Worker;
+import org.citygml4j.xml.io.CityGMLInputFactory;
+import org.citygml4j.xml.io.reader.CityGMLInputFilter;
+import org.citygml4j.xml.io.reader.XMLChunk;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.SequenceInputStream;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.locks.ReentrantLock;
+
+class ByteRangeReaderWorker extends Worker<ByteRangeTask> {
+    private final ReentrantLock runLock = new ReentrantLock();
+    private volatile boolean shouldRun = true;
+
+    private final FileChannel channel;
+    private final String systemId;
+    private final CityGMLFileSplitter.SplitResult splitResult;
+    private final CityGMLInputFactory factory;
+    private final CityGMLInputFilter typeFilter;
+
+    ByteRangeReaderWorker(FileChannel channel,
+                          String systemId,
+                          CityGMLFileSplitter.SplitResult splitResult,
+                          CityGMLInputFactory factory,
+                          CityGMLInputFilter typeFilter) {
+        this.channel = channel;
+        this.systemId = systemId;
+        this.splitResult = splitResult;
+        this.factory = factory;
+        this.typeFilter = typeFilter;
+    }
+
+    @Override
+    public void interrupt() {
+        shouldRun = false;
+    }
+
+    @Override
+    public void run() {
+        if (firstWork != null) {
+            doWork(firstWork);
+            firstWork = null;
+        }
+
+        while (shouldRun) {
+            try {
+                ByteRangeTask work = workQueue.take();
+                doWork(work);
+            } catch (InterruptedException ie) {
+                // re-check state
+            }
+        }
+    }
+
+    private void doWork(ByteRangeTask work) {
+        final ReentrantLock runLock = this.runLock;
+        runLock.lock();
+
+        try {
+            Exception exception = null;
+
+            // replay the document prolog and root element so that every byte
+            // range is parsed with the namespace context of the entire file
+            CityGMLFileSplitter.ByteRange range = work.getRange();
+            CountingInputStream stream = new CountingInputStream(new SequenceInputStream(Collections.enumeration(Arrays.asList(
+                    new ByteArrayInputStream(splitResult.getHeader()),
+                    new BufferedInputStream(new FileRangeInputStream(channel, range.start, range.end), 65536),
+                    new ByteArrayInputStream(splitResult.getFooter())))));
+
+            try {
+                // the reader is closed by the consumer once all chunks have been unmarshalled
+                org.citygml4j.xml.io.reader.CityGMLReader reader;
+                try {
+                    reader = factory.createFilteredCityGMLReader(factory.createCityGMLReader(systemId, stream), typeFilter);
+                } catch (Exception e) {
+                    stream.close();
+                    throw e;
+                }
+
+                work.open(stream, reader);
+
+                // the bytes consumed by the parser approximate the size of each chunk
+                long position = 0;
+                while (!work.isCancelled() && reader.hasNext()) {
+                    XMLChunk chunk = reader.nextChunk();
+                    work.put(chunk, stream.getCount() - position);
+                    position = stream.getCount();
+                }
+            } catch (InterruptedException e) {
+                work.cancel();
+            } catch (Exception e) {
+                exception = e;
+            }
+
+            try {
+                work.finish(exception);
+            } catch (InterruptedException e) {
+                work.cancel();
+            }
+        } finally {
+            runLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package org.citydb.citygml.importer.reader.citygml;
+
+import org.citygml4j.xml.io.reader.CityGMLReadException;
+import org.citygml4j.xml.io.reader.CityGMLReader;
+import org.citygml4j.xml.io.reader.XMLChunk;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class ByteRangeTask {
+    private static final Object END_OF_RANGE = new Object();
+
+    private final CityGMLFileSplitter.ByteRange range;
+    private final BlockingQueue<Object> chunks;
+    private volatile boolean cancelled;
+    private volatile Exception exception;
+    private volatile Exception closeException;
+
+    // the consumer holds one reference until the range has been drained
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    private InputStream stream;
+    private CityGMLReader reader;
+    private boolean closed;
+
+    ByteRangeTask(CityGMLFileSplitter.ByteRange range, int capacity) {
+        this.range = range;
+        chunks = new ArrayBlockingQueue<>(capacity);
+    }
+
+    CityGMLFileSplitter.ByteRange getRange() {
+        return range;
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    void cancel() {
+        cancelled = true;
+        chunks.clear();
+    }
+
+    /**
+     * Hands over the reader and input stream of this byte range. Both are kept
+     * open until the last reference has been released, since the chunks of the
+     * range are unmarshalled after they have been taken from the queue.
+     */
+    synchronized void open(InputStream stream, CityGMLReader reader) throws CityGMLReadException, IOException {
+        this.stream = stream;
+        this.reader = reader;
+
+        // the range has already been released while it was being opened
+        if (closed) {
+            closed = false;
+            close();
+        }
+    }
+
+    synchronized void close() throws CityGMLReadException, IOException {
+        closed = true;
+
+        try {
+            if (reader != null)
+                reader.close();
+        } finally {
+            reader = null;
+            if (stream != null) {
+                try {
+                    stream.close();
+                } finally {
+                    stream = null;
+                }
+            }
+        }
+    }
+
+    void retain() {
+        references.incrementAndGet();
+    }
+
+    /**
+     * Releases a reference to this byte range. The reader and input stream are
+     * closed as soon as the range has been drained and all of its chunks have
+     * been unmarshalled.
+     */
+    void release() {
+        if (references.decrementAndGet() == 0) {
+            try {
+                close();
+            } catch (CityGMLReadException | IOException e) {
+                closeException = e;
+            }
+        }
+    }
+
+    Exception getCloseException() {
+        return closeException;
+    }
+
+    void put(XMLChunk chunk, long bytes) throws InterruptedException {
+        offer(new Chunk(chunk, bytes));
+    }
+
+    void finish(Exception exception) throws InterruptedException {
+        this.exception = exception;
+        offer(END_OF_RANGE);
+    }
+
+    /**
+     * Returns the next chunk of this byte range in document order or null
+     * once the end of the range has been reached or the range has been cancelled.
+     */
+    Chunk take() throws InterruptedException {
+        // the end of the range is not delivered after the range has been cancelled
+        while (true) {
+            Object chunk = chunks.poll(100, TimeUnit.MILLISECONDS);
+            if (chunk != null)
+                return chunk != END_OF_RANGE ? (Chunk) chunk : null;
+            else if (cancelled)
+                return null;
+        }
+    }
+
+    Exception getException() {
+        return exception;
+    }
+
+    private void offer(Object chunk) throws InterruptedException {
+        while (!cancelled) {
+            if (chunks.offer(chunk, 100, TimeUnit.MILLISECONDS))
+                break;
+        }
+    }
+
+    static final class Chunk {
+        final XMLChunk chunk;
+        final long bytes;
+
+        private Chunk(XMLChunk chunk, long bytes) {
+            this.chunk = chunk;
+            this.bytes = bytes;
+        }
+    }
+}
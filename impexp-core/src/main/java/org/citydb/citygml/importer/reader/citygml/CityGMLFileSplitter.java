@@ -0,0 +1,269 @@
+package org.citydb.citygml.importer.reader.citygml;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class CityGMLFileSplitter {
+    private static final int MAPPING_SIZE = 1 << 29;
+    private static final Pattern ENCODING = Pattern.compile("encoding\\s*=\\s*[\"']([^\"']+)[\"']");
+    private static final Set<String> SUPPORTED_ENCODINGS = new HashSet<>(Arrays.asList(
+            "UTF-8", "UTF8", "US-ASCII", "ASCII"));
+
+    private final FileChannel channel;
+    private final long rangeSize;
+
+    private enum State {
+        TEXT, TAG_OPEN, START_TAG, END_TAG, BANG, COMMENT, CDATA, DOCTYPE, PI
+    }
+
+    public static class ByteRange {
+        public final long start;
+        public final long end;
+        public final long lines;
+
+        ByteRange(long start, long end, long lines) {
+            this.start = start;
+            this.end = end;
+            this.lines = lines;
+        }
+    }
+
+    public static class SplitResult {
+        private final byte[] header;
+        private final byte[] footer;
+        private final List<ByteRange> ranges;
+        private final long headerLines;
+
+        private SplitResult(byte[] header, byte[] footer, List<ByteRange> ranges, long headerLines) {
+            this.header = header;
+            this.footer = footer;
+            this.ranges = ranges;
+            this.headerLines = headerLines;
+        }
+
+        public byte[] getHeader() {
+            return header;
+        }
+
+        public byte[] getFooter() {
+            return footer;
+        }
+
+        public List<ByteRange> getRanges() {
+            return ranges;
+        }
+
+        public long getHeaderLines() {
+            return headerLines;
+        }
+    }
+
+    public CityGMLFileSplitter(FileChannel channel, long rangeSize) {
+        this.channel = channel;
+        this.rangeSize = rangeSize;
+    }
+
+    /**
+     * Scans the file for the start tags of the direct children of the root element
+     * and splits the content of the root element into contiguous byte ranges at these
+     * positions. Every byte range records the number of line breaks preceding it
+     * so that line numbers reported for a range can be mapped to the input file.
+     * Returns null if the file cannot be split safely, for instance, because
+     * it uses a multi-byte encoding or is not well-formed.
+     */
+    public SplitResult split() throws IOException {
+        long size = channel.size();
+        List<ByteRange> ranges = new ArrayList<>();
+        StringBuilder rootName = new StringBuilder();
+
+        State state = State.TEXT;
+        int depth = 0;
+        long headerEnd = -1;
+        long rootEnd = -1;
+        long tagStart = 0;
+        long rangeStart = -1;
+        long rangeLines = 0;
+        long headerLines = 0;
+        long lines = 0;
+        boolean captureName = false;
+        byte quote = 0;
+        byte prev = 0;
+        byte prevPrev = 0;
+        int doctypeNesting = 0;
+
+        for (long offset = 0; offset < size && rootEnd == -1; offset += MAPPING_SIZE) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(MAPPING_SIZE, size - offset));
+
+            while (buffer.hasRemaining()) {
+                long position = offset + buffer.position();
+                byte b = buffer.get();
+                if (b == '\n')
+                    lines++;
+
+                switch (state) {
+                    case TEXT:
+                        if (b == '<') {
+                            tagStart = position;
+                            state = State.TAG_OPEN;
+                        }
+                        break;
+                    case TAG_OPEN:
+                        if (b == '/')
+                            state = State.END_TAG;
+                        else if (b == '!')
+                            state = State.BANG;
+                        else if (b == '?')
+                            state = State.PI;
+                        else {
+                            state = State.START_TAG;
+                            quote = 0;
+                            if (depth == 0) {
+                                captureName = true;
+                                rootName.append((char) b);
+                            } else if (depth == 1) {
+                                // start of a direct child of the root element
+                                if (rangeStart == -1) {
+                                    rangeStart = headerEnd;
+                                    rangeLines = headerLines;
+                                }
+
+                                if (tagStart - rangeStart >= rangeSize) {
+                                    ranges.add(new ByteRange(rangeStart, tagStart, rangeLines));
+                                    rangeStart = tagStart;
+                                    rangeLines = lines;
+                                }
+                            }
+                        }
+                        break;
+                    case START_TAG:
+                        if (quote != 0) {
+                            if (b == quote)
+                                quote = 0;
+                        } else if (b == '"' || b == '\'') {
+                            quote = b;
+                        } else if (b == '>') {
+                            if (prev != '/') {
+                                if (depth == 0) {
+                                    headerEnd = position + 1;
+                                    headerLines = lines;
+                                }
+
+                                depth++;
+                            } else if (depth == 0)
+                                return null;
+
+                            captureName = false;
+                            state = State.TEXT;
+                        } else if (captureName) {
+                            if (b == '/' || b == ' ' || b == '\t' || b == '\r' || b == '\n')
+                                captureName = false;
+                            else
+                                rootName.append((char) b);
+                        }
+                        break;
+                    case END_TAG:
+                        if (b == '>') {
+                            if (--depth == 0)
+                                rootEnd = tagStart;
+                            else if (depth < 0)
+                                return null;
+
+                            state = State.TEXT;
+                        }
+                        break;
+                    case BANG:
+                        if (b == '-')
+                            state = State.COMMENT;
+                        else if (b == '[')
+                            state = State.CDATA;
+                        else {
+                            doctypeNesting = 0;
+                            state = State.DOCTYPE;
+                        }
+                        break;
+                    case COMMENT:
+                        if (b == '>' && prev == '-' && prevPrev == '-' && position - tagStart > 5)
+                            state = State.TEXT;
+                        break;
+                    case CDATA:
+                        if (b == '>' && prev == ']' && prevPrev == ']')
+                            state = State.TEXT;
+                        break;
+                    case DOCTYPE:
+                        if (b == '[')
+                            doctypeNesting++;
+                        else if (b == ']')
+                            doctypeNesting--;
+                        else if (b == '>' && doctypeNesting == 0)
+                            state = State.TEXT;
+                        break;
+                    case PI:
+                        if (b == '>' && prev == '?')
+                            state = State.TEXT;
+                        break;
+                }
+
+                if (rootEnd != -1)
+                    break;
+
+                prevPrev = prev;
+                prev = b;
+            }
+        }
+
+        if (headerEnd == -1 || rootEnd == -1 || headerEnd > Integer.MAX_VALUE)
+            return null;
+
+        if (rangeStart == -1) {
+            rangeStart = headerEnd;
+            rangeLines = headerLines;
+        }
+
+        ranges.add(new ByteRange(rangeStart, rootEnd, rangeLines));
+
+        byte[] header = new byte[(int) headerEnd];
+        ByteBuffer buffer = ByteBuffer.wrap(header);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, buffer.position()) < 0)
+                return null;
+        }
+
+        if (!isSupportedEncoding(header))
+            return null;
+
+        byte[] footer = ("</" + rootName + ">").getBytes(StandardCharsets.US_ASCII);
+        return new SplitResult(header, footer, ranges, headerLines);
+    }
+
+    private boolean isSupportedEncoding(byte[] header) {
+        // UTF-16 and UTF-32 byte order marks
+        if (header.length >= 2 && ((header[0] == (byte) 0xFE && header[1] == (byte) 0xFF)
+                || (header[0] == (byte) 0xFF && header[1] == (byte) 0xFE)))
+            return false;
+
+        String prolog = new String(header, 0, Math.min(header.length, 256), StandardCharsets.US_ASCII);
+        if (!prolog.contains("<?xml"))
+            return true;
+
+        int end = prolog.indexOf("?>");
+        Matcher matcher = ENCODING.matcher(end != -1 ? prolog.substring(0, end) : prolog);
+        if (!matcher.find())
+            return true;
+
+        String encoding = matcher.group(1).toUpperCase(Locale.ROOT);
+        return SUPPORTED_ENCODINGS.contains(encoding)
+                || encoding.startsWith("ISO-8859-")
+                || encoding.startsWith("WINDOWS-125");
+    }
+}
@@ -1,17 +1,23 @@
 package org.citydb.citygml.importer.reader.citygml;
 
+import org.citydb.citygml.importer.concurrent.FeatureChunk;
 import org.citydb.citygml.importer.concurrent.FeatureReaderWorkerFactory;
 import org.citydb.citygml.importer.filter.selection.counter.CounterFilter;
 import org.citydb.citygml.importer.reader.FeatureReadException;
 import org.citydb.citygml.importer.reader.FeatureReader;
+import org.citydb.citygml.importer.util.ImportCheckpoint;
+import org.citydb.concurrent.MemoryBudget;
 import org.citydb.concurrent.PoolSizeAdaptationStrategy;
 import org.citydb.concurrent.WorkerPool;
 import org.citydb.config.Config;
+import org.citydb.config.project.importer.ParallelParsing;
 import org.citydb.event.Event;
 import org.citydb.event.EventDispatcher;
 import org.citydb.event.EventHandler;
 import org.citydb.event.global.EventType;
+import org.citydb.file.FileType;
 import org.citydb.file.InputFile;
+import org.citydb.log.Logger;
 import org.citydb.registry.ObjectRegistry;
 import org.citygml4j.model.citygml.CityGML;
 import org.citygml4j.model.citygml.CityGMLClass;
@@ -21,8 +27,22 @@ import org.citygml4j.xml.io.reader.CityGMLReadException;
 import org.citygml4j.xml.io.reader.XMLChunk;
 
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
 
 public class CityGMLReader implements FeatureReader, EventHandler {
+    // a buffered chunk keeps its SAX events, which take roughly twice the
+    // size of the parsed UTF-8 input, plus a fixed overhead per chunk
+    private static final long CHUNK_SIZE_FACTOR = 2;
+    private static final long CHUNK_OVERHEAD = 1024;
+
+    private final Logger log = Logger.getInstance();
     private final CityGMLInputFilter typeFilter;
     private final CounterFilter counterFilter;
     private final ValidationErrorHandler validationHandler;
@@ -30,8 +50,12 @@ public class CityGMLReader implements FeatureReader, EventHandler {
     private final Config config;
     private final EventDispatcher eventDispatcher;
     private final int minThreads, maxThreads;
+    private final ParallelParsing parallelParsing;
+    private final ImportCheckpoint checkpoint;
+    private final MemoryBudget memoryBudget;
 
     private volatile boolean shouldRun = true;
+    private long ordinal;
 
     CityGMLReader(CityGMLInputFilter typeFilter, CounterFilter counterFilter, ValidationErrorHandler validationHandler, CityGMLInputFactory factory, Config config) {
         this.typeFilter = typeFilter;
@@ -42,6 +66,9 @@ public class CityGMLReader implements FeatureReader, EventHandler {
 
         minThreads = config.getProject().getImporter().getResources().getThreadPool().getDefaultPool().getMinThreads();
         maxThreads = config.getProject().getImporter().getResources().getThreadPool().getDefaultPool().getMaxThreads();
+        parallelParsing = config.getProject().getImporter().getResources().getParallelParsing();
+        checkpoint = ObjectRegistry.getInstance().lookup(ImportCheckpoint.class);
+        memoryBudget = ObjectRegistry.getInstance().lookup(MemoryBudget.class);
 
         eventDispatcher = ObjectRegistry.getInstance().getEventDispatcher();
         eventDispatcher.addEventHandler(EventType.INTERRUPT,this);
@@ -57,7 +84,25 @@ public class CityGMLReader implements FeatureReader, EventHandler {
         if (validationHandler != null)
             validationHandler.reset();
 
-        WorkerPool<XMLChunk> featureWorkerPool = null;
+        ordinal = 0;
+
+        if (useParallelParsing(inputFile)) {
+            try (FileChannel channel = FileChannel.open(inputFile.getFile(), StandardOpenOption.READ)) {
+                CityGMLFileSplitter.SplitResult splitResult = new CityGMLFileSplitter(channel,
+                        parallelParsing.getRangeSize() * 1024L * 1024L).split();
+
+                if (splitResult != null) {
+                    readParallel(inputFile, channel, splitResult, workerPool);
+                    return;
+                }
+
+                log.debug("Failed to split input file into byte ranges. Falling back to sequential parsing.");
+            } catch (IOException e) {
+                throw new FeatureReadException("Failed to split CityGML input file into byte ranges.", e);
+            }
+        }
+
+        WorkerPool<FeatureChunk> featureWorkerPool = null;
         org.citygml4j.xml.io.reader.CityGMLReader reader;
 
         try {
@@ -71,27 +116,21 @@ public class CityGMLReader implements FeatureReader, EventHandler {
                     maxThreads * 2,
                     false);
 
+            if (memoryBudget != null)
+                featureWorkerPool.setMemoryBudget(memoryBudget, FeatureChunk::getSize);
+
             featureWorkerPool.prestartCoreWorkers();
 
             try {
-                reader = factory.createFilteredCityGMLReader(factory.createCityGMLReader(inputFile.getFile().toString(), inputFile.openStream()), typeFilter);
+                CountingInputStream stream = new CountingInputStream(inputFile.openStream());
+                reader = factory.createFilteredCityGMLReader(factory.createCityGMLReader(inputFile.getFile().toString(), stream), typeFilter);
 
+                // the bytes consumed by the parser approximate the size of each chunk
+                long position = 0;
                 while (shouldRun && reader.hasNext()) {
                     XMLChunk chunk = reader.nextChunk();
-                    CityGMLClass type = chunk.getCityGMLClass();
-
-                    if (counterFilter != null && type != CityGMLClass.APPEARANCE) {
-                        if (!counterFilter.isStartIndexSatisfied()) {
-                            counterFilter.incrementStartIndex();
-                            continue;
-                        }
-
-                        counterFilter.incrementCount();
-                        if (!counterFilter.isCountSatisfied())
-                            continue;
-                    }
-
-                    featureWorkerPool.addWork(chunk);
+                    process(chunk, stream.getCount() - position, featureWorkerPool, null);
+                    position = stream.getCount();
                 }
             } catch (CityGMLReadException | IOException e) {
                 throw new FeatureReadException("Failed to read CityGML input file.", e);
@@ -114,6 +153,158 @@ public class CityGMLReader implements FeatureReader, EventHandler {
         }
     }
 
+    private void readParallel(InputFile inputFile, FileChannel channel, CityGMLFileSplitter.SplitResult splitResult, WorkerPool<CityGML> workerPool) throws FeatureReadException {
+        int threads = parallelParsing.isSetThreads() ? parallelParsing.getThreads() : maxThreads;
+        log.debug("Parsing " + splitResult.getRanges().size() + " byte range(s) using " + threads + " thread(s).");
+
+        WorkerPool<FeatureChunk> featureWorkerPool = null;
+        WorkerPool<ByteRangeTask> rangeReaderPool = null;
+        Queue<ByteRangeTask> pending = new ArrayDeque<>();
+        List<ByteRangeTask> tasks = new ArrayList<>();
+
+        try {
+            featureWorkerPool = new WorkerPool<>(
+                    "citygml_parser_pool",
+                    minThreads,
+                    maxThreads,
+                    PoolSizeAdaptationStrategy.AGGRESSIVE,
+                    new FeatureReaderWorkerFactory(workerPool, config, eventDispatcher),
+                    maxThreads * 2,
+                    false);
+
+            // this worker pool tokenizes byte ranges of the input file into feature chunks
+            rangeReaderPool = new WorkerPool<>(
+                    "citygml_range_reader_pool",
+                    threads,
+                    threads,
+                    PoolSizeAdaptationStrategy.NONE,
+                    () -> new ByteRangeReaderWorker(channel, inputFile.getFile().toString(), splitResult, factory, typeFilter),
+                    threads,
+                    false);
+
+            if (memoryBudget != null)
+                featureWorkerPool.setMemoryBudget(memoryBudget, FeatureChunk::getSize);
+
+            featureWorkerPool.prestartCoreWorkers();
+            rangeReaderPool.prestartCoreWorkers();
+
+            // byte ranges are tokenized concurrently but their chunks are consumed
+            // in document order so that the counter filter keeps its semantics
+            Iterator<CityGMLFileSplitter.ByteRange> ranges = splitResult.getRanges().iterator();
+            while (shouldRun && (ranges.hasNext() || !pending.isEmpty())) {
+                while (ranges.hasNext() && pending.size() < threads) {
+                    ByteRangeTask task = new ByteRangeTask(ranges.next(), maxThreads * 4);
+                    pending.add(task);
+                    tasks.add(task);
+                    rangeReaderPool.addWork(task);
+                }
+
+                ByteRangeTask task = pending.poll();
+                ByteRangeTask.Chunk chunk;
+                while (shouldRun && (chunk = task.take()) != null) {
+                    // every chunk keeps the reader of its range open until it has been unmarshalled
+                    task.retain();
+                    process(chunk.chunk, chunk.bytes, featureWorkerPool, task::release);
+                }
+
+                // the range is closed as soon as its last chunk has been unmarshalled
+                task.release();
+
+                if (task.getException() != null)
+                    throw new FeatureReadException("Failed to read CityGML input file.", task.getException());
+                else if (shouldRun && task.isCancelled())
+                    throw new FeatureReadException("Failed to read CityGML input file.",
+                            new InterruptedException("The reader of a byte range has been cancelled."));
+            }
+
+            try {
+                featureWorkerPool.shutdownAndWait();
+            } catch (InterruptedException e) {
+                throw new FeatureReadException("Failed to shutdown CityGML feature reader pool.", e);
+            }
+
+            for (ByteRangeTask task : tasks) {
+                if (task.getCloseException() != null)
+                    throw new FeatureReadException("Failed to close CityGML reader.", task.getCloseException());
+            }
+        } catch (InterruptedException e) {
+            throw new FeatureReadException("Failed to read CityGML input file.", e);
+        } finally {
+            // stop range readers that are still blocked on a full queue
+            tasks.forEach(ByteRangeTask::cancel);
+
+            if (rangeReaderPool != null && !rangeReaderPool.isTerminated())
+                rangeReaderPool.shutdownNow();
+
+            if (featureWorkerPool != null && !featureWorkerPool.isTerminated())
+                featureWorkerPool.shutdownNow();
+
+            for (ByteRangeTask task : tasks) {
+                try {
+                    task.close();
+                } catch (CityGMLReadException | IOException e) {
+                    //
+                }
+            }
+        }
+    }
+
+    private void process(XMLChunk chunk, long bytes, WorkerPool<FeatureChunk> featureWorkerPool, Runnable onUnmarshalled) throws FeatureReadException {
+        CityGMLClass type = chunk.getCityGMLClass();
+        long ordinal = this.ordinal++;
+
+        if (counterFilter != null && type != CityGMLClass.APPEARANCE) {
+            if (!counterFilter.isStartIndexSatisfied()) {
+                counterFilter.incrementStartIndex();
+                if (onUnmarshalled != null)
+                    onUnmarshalled.run();
+
+                return;
+            }
+
+            counterFilter.incrementCount();
+            if (!counterFilter.isCountSatisfied()) {
+                if (onUnmarshalled != null)
+                    onUnmarshalled.run();
+
+                return;
+            }
+        }
+
+        // features before the checkpoint are only used to restore the gml:id caches
+        boolean isCommitted = false;
+        if (checkpoint != null) {
+            isCommitted = checkpoint.isCommitted(ordinal);
+            if (!isCommitted && checkpoint.isDue())
+                saveCheckpoint(ordinal, featureWorkerPool);
+        }
+
+        featureWorkerPool.addWork(new FeatureChunk(chunk, isCommitted, onUnmarshalled, bytes * CHUNK_SIZE_FACTOR + CHUNK_OVERHEAD));
+    }
+
+    private void saveCheckpoint(long ordinal, WorkerPool<FeatureChunk> featureWorkerPool) throws FeatureReadException {
+        try {
+            // all features before the ordinal must have been passed to the import
+            featureWorkerPool.join();
+            checkpoint.save(ordinal);
+        } catch (InterruptedException | IOException e) {
+            throw new FeatureReadException("Failed to save the import checkpoint.", e);
+        }
+    }
+
+    private boolean useParallelParsing(InputFile inputFile) {
+        if (!parallelParsing.isEnabled()
+                || inputFile.getType() != FileType.REGULAR
+                || validationHandler != null)
+            return false;
+
+        try {
+            return Files.size(inputFile.getFile()) >= parallelParsing.getMinFileSize() * 1024L * 1024L;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
     @Override
     public void close() throws FeatureReadException {
         eventDispatcher.removeEventHandler(this);
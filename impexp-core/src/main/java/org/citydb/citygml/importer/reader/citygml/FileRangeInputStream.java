@@ -0,0 +1,52 @@
+package org.citydb.citygml.importer.reader.citygml;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+public class FileRangeInputStream extends InputStream {
+    private final FileChannel channel;
+    private final long end;
+    private long position;
+
+    public FileRangeInputStream(FileChannel channel, long start, long end) {
+        this.channel = channel;
+        this.position = start;
+        this.end = end;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0)
+            return 0;
+
+        if (position >= end)
+            return -1;
+
+        // positional reads do not modify the channel position and are thread-safe
+        int n = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, end - position)), position);
+        if (n > 0)
+            position += n;
+
+        return n;
+    }
+
+    @Override
+    public long skip(long n) {
+        long skipped = Math.max(0, Math.min(n, end - position));
+        position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(Integer.MAX_VALUE, end - position);
+    }
+}
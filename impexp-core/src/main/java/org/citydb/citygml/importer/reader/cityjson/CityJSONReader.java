@@ -3,6 +3,7 @@ package org.citydb.citygml.importer.reader.cityjson;
 import org.citydb.citygml.importer.filter.selection.counter.CounterFilter;
 import org.citydb.citygml.importer.reader.FeatureReadException;
 import org.citydb.citygml.importer.reader.FeatureReader;
+import org.citydb.citygml.importer.util.ImportCheckpoint;
 import org.citydb.concurrent.WorkerPool;
 import org.citydb.event.Event;
 import org.citydb.event.EventDispatcher;
@@ -27,14 +28,17 @@ public class CityJSONReader implements FeatureReader, EventHandler {
     private final CounterFilter counterFilter;
     private final CityJSONInputFactory factory;
     private final EventDispatcher eventDispatcher;
+    private final ImportCheckpoint checkpoint;
 
     private volatile boolean shouldRun = true;
+    private long ordinal;
 
     CityJSONReader(CityGMLInputFilter typeFilter, CounterFilter counterFilter, CityJSONInputFactory factory) {
         this.typeFilter = typeFilter;
         this.counterFilter = counterFilter;
         this.factory = factory;
 
+        checkpoint = ObjectRegistry.getInstance().lookup(ImportCheckpoint.class);
         eventDispatcher = ObjectRegistry.getInstance().getEventDispatcher();
         eventDispatcher.addEventHandler(EventType.INTERRUPT,this);
     }
@@ -46,6 +50,8 @@ public class CityJSONReader implements FeatureReader, EventHandler {
 
     @Override
     public void read(InputFile inputFile, WorkerPool<CityGML> workerPool) throws FeatureReadException {
+        ordinal = 0;
+
         try (org.citygml4j.builder.cityjson.json.io.reader.CityJSONReader reader = factory.createFilteredCityJSONReader(
                 factory.createCityJSONReader(inputFile.openStream()), typeFilter)) {
             // read input file into a city model
@@ -60,7 +66,7 @@ public class CityJSONReader implements FeatureReader, EventHandler {
         }
     }
 
-    private void process(Iterator<? extends FeatureProperty<?>> iter, WorkerPool<CityGML> workerPool) {
+    private void process(Iterator<? extends FeatureProperty<?>> iter, WorkerPool<CityGML> workerPool) throws FeatureReadException {
         while (shouldRun && iter.hasNext()) {
             AbstractFeature feature = iter.next().getFeature();
 
@@ -71,6 +77,8 @@ public class CityJSONReader implements FeatureReader, EventHandler {
             iter.remove();
 
             if (feature instanceof CityGML) {
+                long ordinal = this.ordinal++;
+
                 if (counterFilter != null && !(feature instanceof Appearance)) {
                     if (!counterFilter.isStartIndexSatisfied()) {
                         counterFilter.incrementStartIndex();
@@ -82,11 +90,27 @@ public class CityJSONReader implements FeatureReader, EventHandler {
                         continue;
                 }
 
+                // features before the checkpoint are only used to restore the gml:id caches
+                if (checkpoint != null) {
+                    if (checkpoint.isCommitted(ordinal))
+                        ImportCheckpoint.markCommitted((CityGML) feature);
+                    else if (checkpoint.isDue())
+                        saveCheckpoint(ordinal);
+                }
+
                 workerPool.addWork((CityGML) feature);
             }
         }
     }
 
+    private void saveCheckpoint(long ordinal) throws FeatureReadException {
+        try {
+            checkpoint.save(ordinal);
+        } catch (IOException e) {
+            throw new FeatureReadException("Failed to save the import checkpoint.", e);
+        }
+    }
+
     @Override
     public void close() throws FeatureReadException {
         eventDispatcher.removeEventHandler(this);
@@ -0,0 +1,112 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * http://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2019
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.gis.bgu.tum.de/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * virtualcitySYSTEMS GmbH, Berlin <http://www.virtualcitysystems.de/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.citygml.importer.util;
+
+import org.citydb.config.project.database.AdaptiveBatching;
+import org.citydb.event.global.BatchSizeEvent;
+
+import java.util.Collection;
+
+/**
+ * Adapts the number of features per batch to the observed latency of
+ * executing and committing a batch. The batch size is increased by a
+ * constant step as long as full batches stay below the target latency and
+ * is halved whenever a batch exceeds it (additive increase, multiplicative
+ * decrease). The resulting size is always kept within the configured bounds.
+ */
+public class AdaptiveBatchSize {
+	private final int minBatchSize;
+	private final int maxBatchSize;
+	private final long targetLatency;
+	private final int step;
+
+	private volatile int batchSize;
+
+	private long batches;
+	private long features;
+	private long objects;
+	private long latency;
+	private int smallestBatchSize = Integer.MAX_VALUE;
+	private int largestBatchSize;
+
+	public AdaptiveBatchSize(AdaptiveBatching config, int initialBatchSize, int upperLimit) {
+		maxBatchSize = Math.max(1, Math.min(config.getMaxFeatureBatchSize(), upperLimit));
+		minBatchSize = Math.min(config.getMinFeatureBatchSize(), maxBatchSize);
+		targetLatency = config.getTargetLatency() * 1_000_000L;
+		step = minBatchSize;
+
+		batchSize = Math.max(minBatchSize, Math.min(initialBatchSize, maxBatchSize));
+	}
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	public synchronized void update(int features, long objects, long elapsedNanos) {
+		batches++;
+		this.features += features;
+		this.objects += objects;
+		latency += elapsedNanos;
+		smallestBatchSize = Math.min(smallestBatchSize, batchSize);
+		largestBatchSize = Math.max(largestBatchSize, batchSize);
+
+		if (elapsedNanos > targetLatency)
+			batchSize = Math.max(minBatchSize, batchSize / 2);
+		else if (features >= batchSize)
+			batchSize = Math.min(maxBatchSize, batchSize + step);
+	}
+
+	public synchronized BatchSizeEvent createEvent(Object source) {
+		return new BatchSizeEvent(batches, features, objects, latency,
+				batches > 0 ? smallestBatchSize : batchSize,
+				batches > 0 ? largestBatchSize : batchSize,
+				source);
+	}
+
+	public static String getStatistics(Collection<BatchSizeEvent> events) {
+		long batches = 0, features = 0, objects = 0, latency = 0;
+		int minBatchSize = Integer.MAX_VALUE, maxBatchSize = 0;
+
+		for (BatchSizeEvent event : events) {
+			batches += event.getBatches();
+			features += event.getFeatures();
+			objects += event.getObjects();
+			latency += event.getLatency();
+			minBatchSize = Math.min(minBatchSize, event.getMinBatchSize());
+			maxBatchSize = Math.max(maxBatchSize, event.getMaxBatchSize());
+		}
+
+		if (batches == 0)
+			return "no batches executed";
+
+		return String.format("%d batches, batch size %d-%d, %.1f features and %.1f objects per batch, average latency %.1f ms",
+				batches, minBatchSize, maxBatchSize,
+				(double) features / batches, (double) objects / batches, latency / 1e6 / batches);
+	}
+
+}
@@ -65,6 +65,19 @@ public class AffineTransformer {
 		}
 	}
 	
+	public void transformCoordinates(double[] points, int length) {
+		double m00 = matrix3x4.get(0, 0), m01 = matrix3x4.get(0, 1), m02 = matrix3x4.get(0, 2), m03 = matrix3x4.get(0, 3);
+		double m10 = matrix3x4.get(1, 0), m11 = matrix3x4.get(1, 1), m12 = matrix3x4.get(1, 2), m13 = matrix3x4.get(1, 3);
+		double m20 = matrix3x4.get(2, 0), m21 = matrix3x4.get(2, 1), m22 = matrix3x4.get(2, 2), m23 = matrix3x4.get(2, 3);
+
+		for (int i = 0; i < length; i += 3) {
+			double x = points[i], y = points[i + 1], z = points[i + 2];
+			points[i] = m00 * x + m01 * y + m02 * z + m03;
+			points[i + 1] = m10 * x + m11 * y + m12 * z + m13;
+			points[i + 2] = m20 * x + m21 * y + m22 * z + m23;
+		}
+	}
+	
 	public Matrix transformGeoreferencedTextureOrientation(Matrix orientation) {
 		return orientation.times(inverse2x2);
 	}
@@ -0,0 +1,357 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * http://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2019
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.gis.bgu.tum.de/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * virtualcitySYSTEMS GmbH, Berlin <http://www.virtualcitysystems.de/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.citygml.importer.util;
+
+import org.citydb.citygml.importer.database.content.CityGMLImportManager;
+import org.citydb.database.adapter.AbstractDatabaseAdapter;
+import org.citydb.registry.ObjectRegistry;
+import org.citydb.util.MarshallerPool;
+import org.citygml4j.builder.jaxb.CityGMLBuilder;
+import org.citygml4j.builder.jaxb.marshal.JAXBMarshaller;
+import org.citygml4j.model.citygml.core.AbstractCityObject;
+import org.citygml4j.model.module.citygml.CityGMLVersion;
+
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+public class ChangeDetector {
+	public static final String FINGERPRINT_TABLE = "cityobject_fingerprint";
+
+	private final JAXBMarshaller jaxbMarshaller;
+	private final MarshallerPool marshallerPool;
+	private final MessageDigest digest;
+	private final int batchSize;
+	private final String gmlIdCodespace;
+	private final Map<Long, List<Reference>> references = new HashMap<>();
+
+	private final PreparedStatement psSelect;
+	private final PreparedStatement psInsert;
+	private final PreparedStatement psSelectGroupMembers;
+	private final PreparedStatement psSelectGeneralizations;
+	private final PreparedStatement psSelectModelMembers;
+	private final PreparedStatement psDeleteGroupMembers;
+	private final PreparedStatement psInsertGroupMember;
+	private final PreparedStatement psInsertGeneralization;
+	private final PreparedStatement psInsertModelMember;
+	private final ObjectDeleter deleter;
+	private int insertCounter;
+	private int referenceCounter;
+
+	public ChangeDetector(Connection connection, AbstractDatabaseAdapter databaseAdapter, CityGMLBuilder cityGMLBuilder, String gmlIdCodespace, int batchSize) throws SQLException {
+		this.batchSize = Math.max(1, Math.min(batchSize, databaseAdapter.getSQLAdapter().getMaximumNumberOfItemsForInOperator()));
+		this.gmlIdCodespace = gmlIdCodespace;
+
+		jaxbMarshaller = cityGMLBuilder.createJAXBMarshaller(CityGMLVersion.DEFAULT);
+		marshallerPool = ObjectRegistry.getInstance().getMarshallerPool(cityGMLBuilder.getJAXBContext());
+
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("The SHA-256 message digest is not supported.", e);
+		}
+
+		String schema = databaseAdapter.getConnectionDetails().getSchema();
+		String placeHolders = getPlaceHolders(this.batchSize);
+
+		psSelect = connection.prepareStatement("select co.gmlid, co.id, co.objectclass_id, f.fingerprint from " +
+				schema + ".cityobject co left join " +
+				schema + "." + FINGERPRINT_TABLE + " f on f.cityobject_id = co.id " +
+				"where co.termination_date is null and co.gmlid in (" + placeHolders + ")" +
+				(gmlIdCodespace != null ? " and co.gmlid_codespace = ?" : ""));
+
+		psInsert = connection.prepareStatement("insert into " + schema + "." + FINGERPRINT_TABLE +
+				" (cityobject_id, fingerprint) values (?, ?)");
+
+		// references from other features to a replaced feature are restored for its new version
+		psSelectGroupMembers = connection.prepareStatement("select cityobject_id, cityobjectgroup_id, role from " +
+				schema + ".group_to_cityobject where cityobject_id in (" + placeHolders + ")");
+		psSelectGeneralizations = connection.prepareStatement("select generalizes_to_id, cityobject_id from " +
+				schema + ".generalization where generalizes_to_id in (" + placeHolders + ")");
+		psSelectModelMembers = connection.prepareStatement("select cityobject_id, citymodel_id from " +
+				schema + ".cityobject_member where cityobject_id in (" + placeHolders + ")");
+		psDeleteGroupMembers = connection.prepareStatement("delete from " +
+				schema + ".group_to_cityobject where cityobjectgroup_id in (" + placeHolders + ")");
+
+		// a reference is skipped if the referencing feature has been deleted in the meantime
+		psInsertGroupMember = connection.prepareStatement("insert into " + schema + ".group_to_cityobject " +
+				"(cityobject_id, cityobjectgroup_id, role) select ?, id, ? from " + schema + ".cityobjectgroup where id = ?");
+		psInsertGeneralization = connection.prepareStatement("insert into " + schema + ".generalization " +
+				"(generalizes_to_id, cityobject_id) select ?, id from " + schema + ".cityobject where id = ?");
+		psInsertModelMember = connection.prepareStatement("insert into " + schema + ".cityobject_member " +
+				"(cityobject_id, citymodel_id) select ?, id from " + schema + ".citymodel where id = ?");
+
+		deleter = new ObjectDeleter(connection, databaseAdapter, "citydb_delete.delete_cityobject", this.batchSize);
+	}
+
+	public static boolean existsFingerprintTable(Connection connection, AbstractDatabaseAdapter databaseAdapter) throws SQLException {
+		String schema = databaseAdapter.getConnectionDetails().getSchema();
+		DatabaseMetaData metaData = connection.getMetaData();
+		String table = FINGERPRINT_TABLE;
+		if (metaData.storesUpperCaseIdentifiers()) {
+			schema = schema.toUpperCase();
+			table = table.toUpperCase();
+		}
+
+		try (ResultSet rs = metaData.getTables(null, schema, table, null)) {
+			return rs.next();
+		}
+	}
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	public String computeFingerprint(AbstractCityObject cityObject) throws JAXBException {
+		JAXBElement<?> jaxbElement = jaxbMarshaller.marshalJAXBElement(cityObject);
+		if (jaxbElement == null)
+			return null;
+
+		Marshaller marshaller = marshallerPool.getMarshaller();
+		marshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.TRUE);
+
+		digest.reset();
+		marshaller.marshal(jaxbElement, new DigestOutputStream(NullOutputStream.INSTANCE, digest));
+
+		StringBuilder fingerprint = new StringBuilder();
+		for (byte b : digest.digest())
+			fingerprint.append(String.format("%02x", b));
+
+		return fingerprint.toString();
+	}
+
+	public void addFingerprint(long cityObjectId, String fingerprint) throws SQLException {
+		psInsert.setLong(1, cityObjectId);
+		psInsert.setString(2, fingerprint);
+		psInsert.addBatch();
+		insertCounter++;
+	}
+
+	public void restoreReferences(long replacedId, long cityObjectId) throws SQLException {
+		List<Reference> references = this.references.remove(replacedId);
+		if (references == null)
+			return;
+
+		for (Reference reference : references) {
+			PreparedStatement ps = reference.statement;
+			ps.setLong(1, cityObjectId);
+			if (ps == psInsertGroupMember) {
+				ps.setString(2, reference.role);
+				ps.setLong(3, reference.referencingId);
+			} else
+				ps.setLong(2, reference.referencingId);
+
+			ps.addBatch();
+			referenceCounter++;
+		}
+	}
+
+	public void executeBatch() throws SQLException {
+		// must be called after the city objects have been inserted
+		if (insertCounter > 0) {
+			psInsert.executeBatch();
+			insertCounter = 0;
+		}
+
+		if (referenceCounter > 0) {
+			psInsertGroupMember.executeBatch();
+			psInsertGeneralization.executeBatch();
+			psInsertModelMember.executeBatch();
+			referenceCounter = 0;
+		}
+	}
+
+	public Map<AbstractCityObject, StoredFeature> lookup(List<AbstractCityObject> cityObjects, CityGMLImportManager importer) throws SQLException {
+		Map<String, List<Object[]>> rows = new HashMap<>();
+		Iterator<AbstractCityObject> iter = cityObjects.iterator();
+
+		while (iter.hasNext()) {
+			for (int i = 1; i <= batchSize; i++)
+				psSelect.setString(i, iter.hasNext() ? iter.next().getId() : null);
+
+			if (gmlIdCodespace != null)
+				psSelect.setString(batchSize + 1, gmlIdCodespace);
+
+			try (ResultSet rs = psSelect.executeQuery()) {
+				while (rs.next()) {
+					rows.computeIfAbsent(rs.getString(1), v -> new ArrayList<>())
+							.add(new Object[]{rs.getLong(2), rs.getInt(3), rs.getString(4)});
+				}
+			}
+		}
+
+		// only stored features of the same feature type are candidates for replacement
+		Map<AbstractCityObject, StoredFeature> features = new IdentityHashMap<>();
+		for (AbstractCityObject cityObject : cityObjects) {
+			List<Object[]> candidates = rows.get(cityObject.getId());
+			if (candidates == null)
+				continue;
+
+			int objectClassId = importer.getObjectClassId(cityObject);
+			StoredFeature feature = null;
+			for (Object[] candidate : candidates) {
+				if ((int) candidate[1] == objectClassId) {
+					if (feature == null)
+						feature = new StoredFeature();
+
+					feature.add((long) candidate[0], (String) candidate[2]);
+				}
+			}
+
+			if (feature != null)
+				features.put(cityObject, feature);
+		}
+
+		return features;
+	}
+
+	public void delete(List<Long> ids) throws SQLException {
+		selectReferences(psSelectGroupMembers, ids, psInsertGroupMember);
+		selectReferences(psSelectGeneralizations, ids, psInsertGeneralization);
+		selectReferences(psSelectModelMembers, ids, psInsertModelMember);
+
+		// the members of a replaced group are not deleted with the group,
+		// they are referenced again by the new version of the group
+		for (int from = 0; from < ids.size(); from += batchSize) {
+			List<Long> batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+			for (int i = 0; i < batchSize; i++)
+				psDeleteGroupMembers.setObject(i + 1, i < batch.size() ? batch.get(i) : null, Types.BIGINT);
+
+			psDeleteGroupMembers.executeUpdate();
+		}
+
+		deleter.delete(ids);
+	}
+
+	private void selectReferences(PreparedStatement psSelectReferences, List<Long> ids, PreparedStatement psInsert) throws SQLException {
+		for (int from = 0; from < ids.size(); from += batchSize) {
+			List<Long> batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+			for (int i = 0; i < batchSize; i++)
+				psSelectReferences.setObject(i + 1, i < batch.size() ? batch.get(i) : null, Types.BIGINT);
+
+			try (ResultSet rs = psSelectReferences.executeQuery()) {
+				while (rs.next()) {
+					references.computeIfAbsent(rs.getLong(1), v -> new ArrayList<>())
+							.add(new Reference(psInsert, rs.getLong(2), psInsert == psInsertGroupMember ? rs.getString(3) : null));
+				}
+			}
+		}
+	}
+
+	private String getPlaceHolders(int size) {
+		StringBuilder placeHolders = new StringBuilder();
+		for (int i = 0; i < size; i++)
+			placeHolders.append(i == 0 ? "?" : ", ?");
+
+		return placeHolders.toString();
+	}
+
+	public void close() throws SQLException {
+		psSelect.close();
+		psInsert.close();
+		psSelectGroupMembers.close();
+		psSelectGeneralizations.close();
+		psSelectModelMembers.close();
+		psDeleteGroupMembers.close();
+		psInsertGroupMember.close();
+		psInsertGeneralization.close();
+		psInsertModelMember.close();
+		deleter.close();
+	}
+
+	public static class StoredFeature {
+		private final List<Long> ids = new ArrayList<>();
+		private String fingerprint;
+		private boolean isConsistent = true;
+
+		private void add(long id, String fingerprint) {
+			if (!ids.contains(id))
+				ids.add(id);
+
+			if (this.fingerprint == null)
+				this.fingerprint = fingerprint;
+			else if (!this.fingerprint.equals(fingerprint))
+				isConsistent = false;
+		}
+
+		public List<Long> getIds() {
+			return ids;
+		}
+
+		public boolean isAmbiguous() {
+			return ids.size() > 1;
+		}
+
+		public boolean isUnchanged(String fingerprint) {
+			return isConsistent && ids.size() == 1 && fingerprint.equals(this.fingerprint);
+		}
+	}
+
+	private static final class Reference {
+		private final PreparedStatement statement;
+		private final long referencingId;
+		private final String role;
+
+		private Reference(PreparedStatement statement, long referencingId, String role) {
+			this.statement = statement;
+			this.referencingId = referencingId;
+			this.role = role;
+		}
+	}
+
+	private static final class NullOutputStream extends OutputStream {
+		private static final NullOutputStream INSTANCE = new NullOutputStream();
+
+		@Override
+		public void write(int b) {
+			// discard
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			// discard
+		}
+	}
+
+}
@@ -0,0 +1,210 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * http://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2019
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.gis.bgu.tum.de/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * virtualcitySYSTEMS GmbH, Berlin <http://www.virtualcitysystems.de/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.citygml.importer.util;
+
+import org.citygml4j.model.common.base.ModelObject;
+import org.citygml4j.model.common.child.Child;
+import org.citygml4j.model.gml.geometry.SRSReferenceGroup;
+import org.citygml4j.model.gml.geometry.primitives.AbstractRing;
+import org.citygml4j.model.gml.geometry.primitives.DirectPosition;
+import org.citygml4j.model.gml.geometry.primitives.DirectPositionList;
+import org.citygml4j.model.gml.geometry.primitives.LinearRing;
+import org.citygml4j.model.gml.geometry.primitives.PosOrPointPropertyOrPointRep;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class CoordinateBuffer {
+	private double[] coordinates;
+	private int size;
+
+	public CoordinateBuffer() {
+		this(1024);
+	}
+
+	public CoordinateBuffer(int initialCapacity) {
+		coordinates = new double[Math.max(initialCapacity, 12)];
+	}
+
+	public CoordinateBuffer reset() {
+		size = 0;
+		return this;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public double get(int index) {
+		return coordinates[index];
+	}
+
+	public void set(int index, double value) {
+		coordinates[index] = value;
+	}
+
+	public void add(double x, double y, double z) {
+		ensureCapacity(size + 3);
+		coordinates[size++] = x;
+		coordinates[size++] = y;
+		coordinates[size++] = z;
+	}
+
+	public void addAll(List<Double> values) {
+		ensureCapacity(size + values.size());
+		for (Double value : values)
+			coordinates[size++] = value;
+	}
+
+	/**
+	 * Fills the buffer with the 3d coordinates of the given ring. In contrast to
+	 * {@link AbstractRing#toList3d(boolean)}, coordinates given as gml:posList or
+	 * gml:pos elements of a gml:LinearRing are copied into the buffer without
+	 * creating intermediate lists.
+	 */
+	public CoordinateBuffer readRing(AbstractRing ring, boolean reverse) {
+		reset();
+
+		if (!(ring instanceof LinearRing) || !readLinearRing((LinearRing) ring)) {
+			// discard positions that have been copied before reading the ring failed
+			reset();
+			addAll(ring.toList3d());
+		}
+
+		if (reverse)
+			reverse();
+
+		return this;
+	}
+
+	public boolean isClosed() {
+		if (size < 3)
+			return false;
+
+		return coordinates[0] == coordinates[size - 3]
+				&& coordinates[1] == coordinates[size - 2]
+				&& coordinates[2] == coordinates[size - 1];
+	}
+
+	public void close() {
+		add(coordinates[0], coordinates[1], coordinates[2]);
+	}
+
+	public void transform(AffineTransformer transformer) {
+		transformer.transformCoordinates(coordinates, size);
+	}
+
+	public double[] toArray() {
+		return Arrays.copyOf(coordinates, size);
+	}
+
+	public double[] toArray2d() {
+		double[] result = new double[size / 3 * 2];
+		for (int i = 0, j = 0; i < size; i += 3) {
+			result[j++] = coordinates[i];
+			result[j++] = coordinates[i + 1];
+		}
+
+		return result;
+	}
+
+	private boolean readLinearRing(LinearRing ring) {
+		if (ring.isSetPosList())
+			return read(ring.getPosList().getValue(), getDimension(ring.getPosList(), ring));
+
+		else if (ring.isSetPosOrPointPropertyOrPointRep()) {
+			for (PosOrPointPropertyOrPointRep item : ring.getPosOrPointPropertyOrPointRep()) {
+				if (!item.isSetPos())
+					return false;
+
+				DirectPosition pos = item.getPos();
+				if (!read(pos.getValue(), getDimension(pos, ring)))
+					return false;
+			}
+
+			return true;
+		}
+
+		return false;
+	}
+
+	private boolean read(List<Double> values, int dimension) {
+		if (values == null)
+			return false;
+
+		if (dimension == 3 && values.size() % 3 == 0)
+			addAll(values);
+		else if (dimension == 2 && values.size() % 2 == 0) {
+			ensureCapacity(size + values.size() / 2 * 3);
+			for (int i = 0; i < values.size(); i += 2) {
+				coordinates[size++] = values.get(i);
+				coordinates[size++] = values.get(i + 1);
+				coordinates[size++] = 0;
+			}
+		} else
+			return false;
+
+		return true;
+	}
+
+	private int getDimension(SRSReferenceGroup positions, AbstractRing ring) {
+		if (positions.isSetSrsDimension())
+			return positions.getSrsDimension();
+
+		// the srsDimension might be inherited from a parent geometry
+		ModelObject parent = ring;
+		while (parent != null) {
+			if (parent instanceof SRSReferenceGroup && ((SRSReferenceGroup) parent).isSetSrsDimension())
+				return ((SRSReferenceGroup) parent).getSrsDimension();
+
+			parent = parent instanceof Child ? ((Child) parent).getParent() : null;
+		}
+
+		return 3;
+	}
+
+	private void reverse() {
+		for (int i = 0, j = size - 3; i < j; i += 3, j -= 3) {
+			for (int k = 0; k < 3; k++) {
+				double tmp = coordinates[i + k];
+				coordinates[i + k] = coordinates[j + k];
+				coordinates[j + k] = tmp;
+			}
+		}
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity > coordinates.length)
+			coordinates = Arrays.copyOf(coordinates, Math.max(capacity, coordinates.length * 2));
+	}
+
+}
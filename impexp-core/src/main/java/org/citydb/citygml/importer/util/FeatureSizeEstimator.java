@@ -0,0 +1,99 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * http://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2019
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.gis.bgu.tum.de/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * virtualcitySYSTEMS GmbH, Berlin <http://www.virtualcitysystems.de/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.citygml.importer.util;
+
+import org.citygml4j.model.citygml.CityGML;
+import org.citygml4j.model.gml.base.AbstractGML;
+import org.citygml4j.model.gml.geometry.AbstractGeometry;
+import org.citygml4j.model.gml.geometry.primitives.LineString;
+import org.citygml4j.model.gml.geometry.primitives.LinearRing;
+import org.citygml4j.util.walker.GMLWalker;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * Estimates the heap footprint of a parsed feature for the memory budget of
+ * the import queues. The estimate is derived from the number of nested objects,
+ * geometries and coordinate values and only needs to be proportional to the
+ * actual size, not exact.
+ */
+public class FeatureSizeEstimator implements ToLongFunction<CityGML> {
+	private static final long OBJECT_SIZE = 512;
+	private static final long GEOMETRY_SIZE = 256;
+	private static final long COORDINATE_SIZE = 24;
+
+	@Override
+	public long applyAsLong(CityGML object) {
+		if (!(object instanceof AbstractGML))
+			return OBJECT_SIZE;
+
+		// the estimator is called by concurrent producers, so use a fresh walker
+		SizeWalker walker = new SizeWalker();
+		((AbstractGML) object).accept(walker);
+
+		return walker.objects * OBJECT_SIZE
+				+ walker.geometries * GEOMETRY_SIZE
+				+ walker.coordinates * COORDINATE_SIZE;
+	}
+
+	private static final class SizeWalker extends GMLWalker {
+		private long objects;
+		private long geometries;
+		private long coordinates;
+
+		public void visit(AbstractGML object) {
+			objects++;
+		}
+
+		public void visit(AbstractGeometry geometry) {
+			geometries++;
+		}
+
+		public void visit(LinearRing linearRing) {
+			if (linearRing.isSetPosList())
+				coordinates += linearRing.getPosList().getValue().size();
+			else if (linearRing.isSetPosOrPointPropertyOrPointRep())
+				coordinates += linearRing.getPosOrPointPropertyOrPointRep().size() * 3;
+			else if (linearRing.isSetCoord())
+				coordinates += linearRing.getCoord().size() * 3;
+
+			super.visit(linearRing);
+		}
+
+		public void visit(LineString lineString) {
+			if (lineString.isSetPosList())
+				coordinates += lineString.getPosList().getValue().size();
+			else if (lineString.isSetPosOrPointPropertyOrPointRep())
+				coordinates += lineString.getPosOrPointPropertyOrPointRep().size() * 3;
+			else if (lineString.isSetCoord())
+				coordinates += lineString.getCoord().size() * 3;
+
+			super.visit(lineString);
+		}
+	}
+}
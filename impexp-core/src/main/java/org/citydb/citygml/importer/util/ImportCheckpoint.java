@@ -0,0 +1,500 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * http://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2019
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.gis.bgu.tum.de/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * virtualcitySYSTEMS GmbH, Berlin <http://www.virtualcitysystems.de/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.citygml.importer.util;
+
+import org.citydb.citygml.common.database.cache.model.CacheTableModel;
+import org.citydb.util.CoreConstants;
+import org.citygml4j.model.citygml.CityGML;
+import org.citygml4j.model.gml.base.AbstractGML;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Persists the progress of an import job so that an interrupted import can
+ * be resumed. The checkpoint records the input files that have been imported
+ * completely and, for the current file, the ordinal of the first top-level
+ * feature in document order that has not been checkpointed yet. A checkpoint
+ * is only saved once all features before this ordinal have been committed and
+ * their XLinks have been written to the cache tables. The cache is kept next to
+ * the checkpoint, and the last row of each cache table is saved together with
+ * the ordinal.
+ * <p>
+ * Before a batch is committed, the database ids of its top-level city objects
+ * and global appearances are appended to a journal. On resume, the objects
+ * committed after the last checkpoint are deleted, the cache tables are reset
+ * to their saved state and the checkpointed features are only used to rebuild
+ * the gml:id caches. If the job was interrupted while resolving XLinks, all
+ * objects of the file are deleted and the file is imported again.
+ */
+public class ImportCheckpoint {
+	private static final String FINISHED_FILE = "finished.";
+	private static final String CURRENT_FILE = "current.file";
+	private static final String CURRENT_ORDINAL = "current.ordinal";
+	private static final String CURRENT_CHECKPOINT = "current.checkpoint";
+	private static final String CURRENT_RESOLVING = "current.resolving";
+	private static final String CACHE_TABLE = "cache.table.";
+	private static final String CACHE_ROW_ID = "cache.rowid.";
+	private static final String CHECKPOINT = "checkpoint";
+	private static final String CITYOBJECT = "cityobject";
+	private static final String APPEARANCE = "appearance";
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Path checkpointFile;
+	private final Path journalFile;
+	private final Path cacheDir;
+	private final long checkpointInterval;
+	private final boolean trackFeatures;
+	private final Set<String> finishedFiles = new HashSet<>();
+	private final Map<CacheTableModel, CachedTable> cachedTables = new EnumMap<>(CacheTableModel.class);
+
+	private String currentFile;
+	private long ordinal;
+	private int checkpointNumber;
+	private boolean isResolving;
+	private boolean isRestart;
+	private FileChannel journalChannel;
+	private BufferedWriter journal;
+	private Flusher flusher;
+	private long lastSave;
+
+	private ImportCheckpoint(Path checkpointDir, String fileName, int checkpointInterval, boolean trackFeatures) {
+		checkpointFile = checkpointDir.resolve(fileName + ".properties");
+		journalFile = checkpointDir.resolve(fileName + ".objects");
+		cacheDir = checkpointDir.resolve(fileName + ".cache");
+		this.checkpointInterval = checkpointInterval * 1000L;
+		this.trackFeatures = trackFeatures;
+	}
+
+	public static ImportCheckpoint open(String jobId, int checkpointInterval, boolean trackFeatures) throws IOException {
+		Path checkpointDir = CoreConstants.IMPEXP_DATA_DIR.resolve(CoreConstants.IMPORT_CHECKPOINT_DIR);
+		Files.createDirectories(checkpointDir);
+
+		String fileName = jobId.replaceAll("[^A-Za-z0-9._-]", "_");
+		ImportCheckpoint checkpoint = new ImportCheckpoint(checkpointDir, fileName, checkpointInterval, trackFeatures);
+
+		if (Files.exists(checkpoint.checkpointFile)) {
+			Properties properties = new Properties();
+			try (InputStream stream = Files.newInputStream(checkpoint.checkpointFile)) {
+				properties.load(stream);
+			}
+
+			for (String key : properties.stringPropertyNames()) {
+				if (key.startsWith(FINISHED_FILE))
+					checkpoint.finishedFiles.add(properties.getProperty(key));
+				else if (key.startsWith(CACHE_TABLE)) {
+					CacheTableModel model = CacheTableModel.valueOf(key.substring(CACHE_TABLE.length()));
+					long rowId = Long.parseLong(properties.getProperty(CACHE_ROW_ID + model.name(), "0"));
+					checkpoint.cachedTables.put(model, new CachedTable(model, properties.getProperty(key), rowId));
+				}
+			}
+
+			checkpoint.currentFile = properties.getProperty(CURRENT_FILE);
+			checkpoint.ordinal = Long.parseLong(properties.getProperty(CURRENT_ORDINAL, "0"));
+			checkpoint.checkpointNumber = Integer.parseInt(properties.getProperty(CURRENT_CHECKPOINT, "0"));
+			checkpoint.isResolving = Boolean.parseBoolean(properties.getProperty(CURRENT_RESOLVING));
+		}
+
+		return checkpoint;
+	}
+
+	public static void markCommitted(CityGML object) {
+		if (object instanceof AbstractGML)
+			((AbstractGML) object).setLocalProperty(CoreConstants.IMPORT_COMMITTED, true);
+	}
+
+	public static boolean isMarkedCommitted(CityGML object) {
+		return object instanceof AbstractGML && ((AbstractGML) object).hasLocalProperty(CoreConstants.IMPORT_COMMITTED);
+	}
+
+	public Path getCheckpointFile() {
+		return checkpointFile;
+	}
+
+	public Path getCacheDir() {
+		return cacheDir;
+	}
+
+	public boolean isTrackingFeatures() {
+		return trackFeatures;
+	}
+
+	public boolean isResumed() {
+		return !finishedFiles.isEmpty() || currentFile != null;
+	}
+
+	public boolean isFinished(Path file) {
+		return finishedFiles.contains(getKey(file));
+	}
+
+	public CommittedObjects begin(Path file) throws IOException {
+		lock.lock();
+		try {
+			closeJournal();
+			String key = getKey(file);
+			CommittedObjects committed = new CommittedObjects();
+
+			if (trackFeatures && key.equals(currentFile)) {
+				// objects committed after the last checkpoint are not covered by the cache tables
+				isRestart = isResolving;
+				readJournal(committed, isRestart ? -1 : checkpointNumber);
+			} else {
+				// the journal must be cleared before another file is recorded as current file
+				Files.deleteIfExists(journalFile);
+				currentFile = key;
+				isRestart = true;
+			}
+
+			if (isRestart) {
+				ordinal = 0;
+				isResolving = false;
+				cachedTables.clear();
+			}
+
+			// the state is saved once the committed objects have been deleted
+			if (committed.isEmpty())
+				resume();
+
+			return committed;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public void resume() throws IOException {
+		lock.lock();
+		try {
+			if (journal != null)
+				return;
+
+			if (isRestart)
+				deleteCacheDir();
+
+			write();
+			if (trackFeatures) {
+				journalChannel = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+				journal = new BufferedWriter(Channels.newWriter(journalChannel, StandardCharsets.UTF_8.newEncoder(), -1));
+			}
+
+			lastSave = System.currentTimeMillis();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public long getOrdinal() {
+		return ordinal;
+	}
+
+	public boolean isCommitted(long ordinal) {
+		return ordinal < this.ordinal;
+	}
+
+	public Collection<CachedTable> getCachedTables() {
+		return cachedTables.values();
+	}
+
+	public void setFlusher(Flusher flusher) {
+		this.flusher = flusher;
+	}
+
+	public boolean isDue() {
+		return journal != null && flusher != null && System.currentTimeMillis() - lastSave >= checkpointInterval;
+	}
+
+	public void save(long ordinal) throws IOException {
+		// the flusher blocks until all features passed to the import so far
+		// have been committed and their XLinks have been written to the cache
+		List<CachedTable> tables;
+		try {
+			tables = flusher != null ? flusher.flush() : null;
+		} catch (SQLException | InterruptedException e) {
+			throw new IOException("Failed to flush the import before saving a checkpoint.", e);
+		} finally {
+			lastSave = System.currentTimeMillis();
+		}
+
+		if (tables == null)
+			return;
+
+		lock.lock();
+		try {
+			if (journal == null)
+				return;
+
+			// the marker separates the objects covered by this checkpoint in the journal
+			journal.append(CHECKPOINT).append(' ').append(String.valueOf(checkpointNumber + 1)).append('\n');
+			syncJournal();
+
+			checkpointNumber++;
+			this.ordinal = ordinal;
+			cachedTables.clear();
+			for (CachedTable table : tables)
+				cachedTables.put(table.model, table);
+
+			write();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public void setResolving() throws IOException {
+		lock.lock();
+		try {
+			if (journal != null) {
+				isResolving = true;
+				write();
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public void record(Collection<Long> cityObjectIds, Collection<Long> appearanceIds) throws IOException {
+		lock.lock();
+		try {
+			if (journal == null || (cityObjectIds.isEmpty() && appearanceIds.isEmpty()))
+				return;
+
+			for (Long id : cityObjectIds)
+				journal.append(CITYOBJECT).append(' ').append(String.valueOf(id)).append('\n');
+
+			for (Long id : appearanceIds)
+				journal.append(APPEARANCE).append(' ').append(String.valueOf(id)).append('\n');
+
+			syncJournal();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public void finish(Path file) throws IOException {
+		lock.lock();
+		try {
+			finishedFiles.add(getKey(file));
+			currentFile = null;
+			ordinal = 0;
+			checkpointNumber = 0;
+			isResolving = false;
+			cachedTables.clear();
+			flusher = null;
+			closeJournal();
+			write();
+			Files.deleteIfExists(journalFile);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public void close() throws IOException {
+		lock.lock();
+		try {
+			flusher = null;
+			closeJournal();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public void delete() throws IOException {
+		lock.lock();
+		try {
+			closeJournal();
+			Files.deleteIfExists(journalFile);
+			Files.deleteIfExists(checkpointFile);
+			deleteCacheDir();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void readJournal(CommittedObjects committed, int checkpointNumber) throws IOException {
+		if (!Files.exists(journalFile))
+			return;
+
+		String marker = CHECKPOINT + ' ' + checkpointNumber;
+		try (BufferedReader reader = Files.newBufferedReader(journalFile, StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				line = line.trim();
+
+				// objects before the marker of the saved checkpoint are covered by the checkpoint
+				if (line.equals(marker)) {
+					committed.cityObjectIds.clear();
+					committed.appearanceIds.clear();
+					continue;
+				}
+
+				String[] parts = line.split(" ");
+				if (parts.length != 2)
+					continue;
+
+				try {
+					long id = Long.parseLong(parts[1]);
+					if (CITYOBJECT.equals(parts[0]))
+						committed.cityObjectIds.add(id);
+					else if (APPEARANCE.equals(parts[0]))
+						committed.appearanceIds.add(id);
+				} catch (NumberFormatException e) {
+					// the last line may be incomplete if the job has been killed while writing
+				}
+			}
+		}
+	}
+
+	private void syncJournal() throws IOException {
+		// the journal must survive a crash of the JVM or the host
+		journal.flush();
+		journalChannel.force(false);
+	}
+
+	private void closeJournal() throws IOException {
+		if (journal != null) {
+			try {
+				journal.close();
+			} finally {
+				journal = null;
+				journalChannel = null;
+			}
+		}
+	}
+
+	private void write() throws IOException {
+		Properties properties = new Properties();
+		int i = 0;
+		for (String finishedFile : finishedFiles)
+			properties.setProperty(FINISHED_FILE + i++, finishedFile);
+
+		if (currentFile != null) {
+			properties.setProperty(CURRENT_FILE, currentFile);
+			properties.setProperty(CURRENT_ORDINAL, String.valueOf(ordinal));
+			properties.setProperty(CURRENT_CHECKPOINT, String.valueOf(checkpointNumber));
+			properties.setProperty(CURRENT_RESOLVING, String.valueOf(isResolving));
+
+			for (CachedTable table : cachedTables.values()) {
+				properties.setProperty(CACHE_TABLE + table.model.name(), table.tableName);
+				properties.setProperty(CACHE_ROW_ID + table.model.name(), String.valueOf(table.rowId));
+			}
+		}
+
+		Path tmp = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+		try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			OutputStream stream = Channels.newOutputStream(channel);
+			properties.store(stream, "Import checkpoint");
+			channel.force(true);
+		}
+
+		Files.move(tmp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private void deleteCacheDir() throws IOException {
+		if (!Files.exists(cacheDir))
+			return;
+
+		try (Stream<Path> stream = Files.walk(cacheDir)) {
+			for (Path path : (Iterable<Path>) stream.sorted(Comparator.reverseOrder())::iterator)
+				Files.deleteIfExists(path);
+		}
+	}
+
+	private String getKey(Path file) {
+		return file.toAbsolutePath().normalize().toString();
+	}
+
+	@FunctionalInterface
+	public interface Flusher {
+		List<CachedTable> flush() throws SQLException, InterruptedException;
+	}
+
+	public static class CachedTable {
+		private final CacheTableModel model;
+		private final String tableName;
+		private final long rowId;
+
+		public CachedTable(CacheTableModel model, String tableName, long rowId) {
+			this.model = model;
+			this.tableName = tableName;
+			this.rowId = rowId;
+		}
+
+		public CacheTableModel getModel() {
+			return model;
+		}
+
+		public String getTableName() {
+			return tableName;
+		}
+
+		public long getRowId() {
+			return rowId;
+		}
+	}
+
+	public static class CommittedObjects {
+		private final List<Long> cityObjectIds = new ArrayList<>();
+		private final List<Long> appearanceIds = new ArrayList<>();
+
+		public List<Long> getCityObjectIds() {
+			return cityObjectIds;
+		}
+
+		public List<Long> getAppearanceIds() {
+			return appearanceIds;
+		}
+
+		public int size() {
+			return cityObjectIds.size() + appearanceIds.size();
+		}
+
+		public boolean isEmpty() {
+			return cityObjectIds.isEmpty() && appearanceIds.isEmpty();
+		}
+	}
+}
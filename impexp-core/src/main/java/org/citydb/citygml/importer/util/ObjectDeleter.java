@@ -0,0 +1,106 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * http://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2019
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.gis.bgu.tum.de/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * virtualcitySYSTEMS GmbH, Berlin <http://www.virtualcitysystems.de/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.citygml.importer.util;
+
+import org.citydb.config.project.database.DatabaseType;
+import org.citydb.database.adapter.AbstractDatabaseAdapter;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+public class ObjectDeleter {
+	private final Connection connection;
+	private final AbstractDatabaseAdapter databaseAdapter;
+	private final String function;
+	private final int batchSize;
+
+	private PreparedStatement psDelete;
+	private int deleteBatchSize;
+
+	public ObjectDeleter(Connection connection, AbstractDatabaseAdapter databaseAdapter, String operation, int batchSize) {
+		this.connection = connection;
+		this.databaseAdapter = databaseAdapter;
+		this.batchSize = Math.max(1, batchSize);
+
+		function = databaseAdapter.getSQLAdapter().resolveDatabaseOperationName(operation);
+	}
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	public void delete(List<Long> ids) throws SQLException {
+		// several objects are deleted per round trip
+		for (int from = 0; from < ids.size(); from += batchSize)
+			deleteBatch(ids.subList(from, Math.min(from + batchSize, ids.size())));
+	}
+
+	public void deleteBatch(List<Long> ids) throws SQLException {
+		if (ids.isEmpty())
+			return;
+
+		PreparedStatement stmt = getDeleteStatement(ids.size());
+		for (int i = 0; i < ids.size(); i++)
+			stmt.setLong(i + 1, ids.get(i));
+
+		stmt.execute();
+	}
+
+	private PreparedStatement getDeleteStatement(int size) throws SQLException {
+		if (psDelete != null && deleteBatchSize == size)
+			return psDelete;
+
+		if (psDelete != null)
+			psDelete.close();
+
+		StringBuilder delete = new StringBuilder();
+		if (databaseAdapter.getDatabaseType() == DatabaseType.POSTGIS) {
+			delete.append("select ");
+			for (int i = 0; i < size; i++)
+				delete.append(i == 0 ? "" : ", ").append(function).append("(?)");
+		} else {
+			// functions performing DML cannot be called from a query in Oracle
+			delete.append("declare deleted number; begin ");
+			for (int i = 0; i < size; i++)
+				delete.append("deleted := ").append(function).append("(?); ");
+
+			delete.append("end;");
+		}
+
+		psDelete = connection.prepareStatement(delete.toString());
+		deleteBatchSize = size;
+		return psDelete;
+	}
+
+	public void close() throws SQLException {
+		if (psDelete != null)
+			psDelete.close();
+	}
+}
@@ -32,18 +32,19 @@ import org.citydb.util.CoreConstants;
 import org.citygml4j.model.gml.geometry.AbstractGeometry;
 import org.citygml4j.model.gml.geometry.primitives.AbstractRing;
 
-import java.util.List;
-
 public class RingValidator {
 	private final Logger log = Logger.getInstance();
 
-	public boolean validate(List<Double> coordinates, AbstractRing ring) {
+	public boolean validate(CoordinateBuffer coordinates, AbstractRing ring) {
 		if (coordinates == null || ring.hasLocalProperty(CoreConstants.GEOMETRY_INVALID))
 			return false;
 
 		// check closedness
-		if (coordinates.size() >= 9 && !isClosed(coordinates))
+		if (coordinates.size() >= 9 && !coordinates.isClosed()) {
+			// repair unclosed ring...
+			coordinates.close();
 			log.warn(getGeometrySignature(ring) + ": Ring is not closed. Appending first coordinate to fix it.");
+		}
 
 		// too few coordinates
 		if (coordinates.size() / 3 < 4) {
@@ -55,27 +56,6 @@ public class RingValidator {
 		return true;
 	}
 
-	private boolean isClosed(List<Double> coords) {
-		Double x = coords.get(0);
-		Double y = coords.get(1);
-		Double z = coords.get(2);
-
-		int nrOfPoints = coords.size();
-		if (!x.equals(coords.get(nrOfPoints - 3)) ||
-				!y.equals(coords.get(nrOfPoints - 2)) ||
-				!z.equals(coords.get(nrOfPoints - 1))) {
-
-			// repair unclosed ring...
-			coords.add(x);
-			coords.add(y);
-			coords.add(z);
-
-			return false;
-		}
-
-		return true;
-	}
-
 	public String getGeometrySignature(AbstractGeometry object) {
 		StringBuilder signature = new StringBuilder("gml:").append(object.getGMLClass().toString());
 		String gmlId = object.hasLocalProperty(CoreConstants.OBJECT_ORIGINAL_GMLID) ?
@@ -0,0 +1,197 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * http://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2019
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.gis.bgu.tum.de/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * virtualcitySYSTEMS GmbH, Berlin <http://www.virtualcitysystems.de/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.citygml.importer.util;
+
+import org.citydb.citygml.importer.database.content.CityGMLImportManager;
+import org.citydb.database.adapter.AbstractDatabaseAdapter;
+import org.citygml4j.model.citygml.core.AbstractCityObject;
+import org.citygml4j.model.gml.feature.AbstractFeature;
+import org.citygml4j.util.walker.FeatureWalker;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class StoredFeatureLookup {
+	private final int batchSize;
+	private final String gmlIdCodespace;
+
+	private final PreparedStatement psSelect;
+	private final PreparedStatement psSelectChildren;
+	private final PreparedStatement psSelectGeometries;
+
+	public StoredFeatureLookup(Connection connection, AbstractDatabaseAdapter databaseAdapter, String gmlIdCodespace, int batchSize) throws SQLException {
+		this.batchSize = Math.max(1, Math.min(batchSize, databaseAdapter.getSQLAdapter().getMaximumNumberOfItemsForInOperator()));
+		this.gmlIdCodespace = gmlIdCodespace;
+
+		String schema = databaseAdapter.getConnectionDetails().getSchema();
+		String placeHolders = getPlaceHolders(this.batchSize);
+		String codespace = gmlIdCodespace != null ? " and gmlid_codespace = ?" : "";
+
+		psSelect = connection.prepareStatement("select gmlid, id, objectclass_id from " +
+				schema + ".cityobject where termination_date is null and gmlid in (" + placeHolders + ")" + codespace);
+
+		psSelectChildren = connection.prepareStatement("select id, gmlid, objectclass_id from " +
+				schema + ".cityobject where termination_date is null and gmlid in (" + placeHolders + ")" + codespace);
+
+		psSelectGeometries = connection.prepareStatement("select id, gmlid, root_id, is_reverse from " +
+				schema + ".surface_geometry where gmlid is not null and cityobject_id in (" + placeHolders + ") order by id");
+	}
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	public Map<AbstractCityObject, Long> lookup(List<AbstractCityObject> cityObjects, CityGMLImportManager importer) throws SQLException {
+		// a feature is only mapped to a stored top-level feature of the same
+		// feature type if the gml:id identifies this stored feature uniquely
+		Map<String, List<long[]>> storedFeatures = new HashMap<>();
+		Iterator<AbstractCityObject> iter = cityObjects.iterator();
+
+		while (iter.hasNext()) {
+			for (int i = 1; i <= batchSize; i++)
+				psSelect.setString(i, iter.hasNext() ? iter.next().getId() : null);
+
+			if (gmlIdCodespace != null)
+				psSelect.setString(batchSize + 1, gmlIdCodespace);
+
+			try (ResultSet rs = psSelect.executeQuery()) {
+				while (rs.next()) {
+					storedFeatures.computeIfAbsent(rs.getString(1), v -> new ArrayList<>())
+							.add(new long[]{rs.getLong(2), rs.getInt(3)});
+				}
+			}
+		}
+
+		Map<AbstractCityObject, Long> result = new IdentityHashMap<>();
+		for (AbstractCityObject cityObject : cityObjects) {
+			List<long[]> candidates = storedFeatures.get(cityObject.getId());
+			if (candidates == null)
+				continue;
+
+			int objectClassId = importer.getObjectClassId(cityObject);
+			long id = 0;
+			int matches = 0;
+			for (long[] candidate : candidates) {
+				if (candidate[1] == objectClassId) {
+					id = candidate[0];
+					matches++;
+				}
+			}
+
+			if (matches == 1)
+				result.put(cityObject, id);
+		}
+
+		return result;
+	}
+
+	public void register(Map<AbstractCityObject, Long> cityObjects, CityGMLImportManager importer) throws SQLException {
+		// the stored version equals the given feature, so the gml:ids of its nested
+		// city objects and geometries are mapped to the stored rows for XLink resolution
+		List<Long> ids = new ArrayList<>();
+		Set<String> childIds = new HashSet<>();
+
+		for (Map.Entry<AbstractCityObject, Long> entry : cityObjects.entrySet()) {
+			AbstractCityObject cityObject = entry.getKey();
+			importer.putObjectUID(cityObject.getId(), entry.getValue(), importer.getObjectClassId(cityObject));
+			ids.add(entry.getValue());
+
+			cityObject.accept(new FeatureWalker() {
+				@Override
+				public void visit(AbstractFeature feature) {
+					if (feature != cityObject && feature instanceof AbstractCityObject && feature.isSetId())
+						childIds.add(feature.getId());
+
+					super.visit(feature);
+				}
+			});
+		}
+
+		Iterator<String> gmlIds = childIds.iterator();
+		while (gmlIds.hasNext()) {
+			for (int i = 1; i <= batchSize; i++)
+				psSelectChildren.setString(i, gmlIds.hasNext() ? gmlIds.next() : null);
+
+			if (gmlIdCodespace != null)
+				psSelectChildren.setString(batchSize + 1, gmlIdCodespace);
+
+			try (ResultSet rs = psSelectChildren.executeQuery()) {
+				while (rs.next()) {
+					long id = rs.getLong(1);
+					importer.putObjectUID(rs.getString(2), id, rs.getInt(3));
+					ids.add(id);
+				}
+			}
+		}
+
+		// geometries referenced by XLinks are copied, so only the first row of a gml:id is mapped
+		Set<String> geometryIds = new HashSet<>();
+		Iterator<Long> cityObjectIds = ids.iterator();
+		while (cityObjectIds.hasNext()) {
+			for (int i = 1; i <= batchSize; i++) {
+				if (cityObjectIds.hasNext())
+					psSelectGeometries.setLong(i, cityObjectIds.next());
+				else
+					psSelectGeometries.setNull(i, Types.BIGINT);
+			}
+
+			try (ResultSet rs = psSelectGeometries.executeQuery()) {
+				while (rs.next()) {
+					String gmlId = rs.getString(2);
+					if (geometryIds.add(gmlId))
+						importer.putGeometryUID(gmlId, rs.getLong(1), rs.getLong(3), rs.getInt(4) == 1, gmlId);
+				}
+			}
+		}
+	}
+
+	private String getPlaceHolders(int size) {
+		StringBuilder placeHolders = new StringBuilder();
+		for (int i = 0; i < size; i++)
+			placeHolders.append(i == 0 ? "?" : ", ?");
+
+		return placeHolders.toString();
+	}
+
+	public void close() throws SQLException {
+		psSelect.close();
+		psSelectChildren.close();
+		psSelectGeometries.close();
+	}
+}
@@ -31,6 +31,9 @@ import org.apache.tika.exception.TikaException;
 import org.citydb.citygml.validator.ValidationException;
 import org.citydb.citygml.validator.reader.ValidatorFactory;
 import org.citydb.citygml.validator.reader.ValidatorFactoryBuilder;
+import org.citydb.concurrent.DefaultWorker;
+import org.citydb.concurrent.PoolSizeAdaptationStrategy;
+import org.citydb.concurrent.WorkerPool;
 import org.citydb.config.Config;
 import org.citydb.config.i18n.Language;
 import org.citydb.config.internal.Internal;
@@ -55,6 +58,8 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class Validator implements EventHandler {
 	private final Logger log = Logger.getInstance();
@@ -65,6 +70,7 @@ public class Validator implements EventHandler {
 	private volatile boolean shouldRun = true;
 	private AtomicBoolean isInterrupted = new AtomicBoolean(false);
 	private DirectoryScanner directoryScanner;
+	private AtomicInteger remainingFiles;
 
 	public Validator(Config config, EventDispatcher eventDispatcher) {
 		this.config = config;
@@ -97,54 +103,41 @@ public class Validator implements EventHandler {
 		if (!shouldRun)
 			return false;
 
-		int fileCounter = 0;
-		int remainingFiles = importFiles.size();
+		int threads = Math.min(importFiles.size(), config.getProject().getImporter().getXMLValidation().isSetThreads() ?
+				config.getProject().getImporter().getXMLValidation().getThreads() : Runtime.getRuntime().availableProcessors());
+
+		remainingFiles = new AtomicInteger(importFiles.size());
 		log.info("List of files to be validated successfully created.");
-		log.info(remainingFiles + " file(s) will be validated.");
+		log.info(remainingFiles + " file(s) will be validated using " + threads + " thread(s).");
 
 		// create reader factory builder
 		ValidatorFactoryBuilder builder = new ValidatorFactoryBuilder();
+		AtomicReference<ValidationException> exception = new AtomicReference<>();
 
 		long start = System.currentTimeMillis();
-		
-		while (shouldRun && fileCounter < importFiles.size()) {
-			try (InputFile file = importFiles.get(fileCounter++)) {
-				Path contentFile = file.getType() != FileType.ARCHIVE ?
-						file.getFile() : Paths.get(file.getFile().toString(), ((AbstractArchiveInputFile) file).getContentFile());
 
-				eventDispatcher.triggerEvent(new StatusDialogTitle(contentFile.getFileName().toString(), this));
-				eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("validate.dialog.validate.msg"), this));
-				eventDispatcher.triggerEvent(new CounterEvent(CounterType.FILE, --remainingFiles, this));
+		WorkerPool<InputFile> validatorPool = new WorkerPool<>(
+				"validator_pool",
+				threads,
+				threads,
+				PoolSizeAdaptationStrategy.NONE,
+				() -> new FileValidatorWorker(builder, exception),
+				importFiles.size(),
+				false);
 
-				ValidatorFactory validatorFactory;
-				try {
-					validatorFactory = builder.buildFactory(file, config);
-				} catch (ValidationException e) {
-					throw new ValidationException("Failed to validate input file '" + contentFile + "'.", e);
-				}
+		validatorPool.prestartCoreWorkers();
+		for (InputFile file : importFiles)
+			validatorPool.addWork(file);
 
-				// ok, preparation done. inform user and start validating the input file
-				log.info("Validating file: " + contentFile.toString());
-				try (org.citydb.citygml.validator.reader.Validator validator = validatorFactory.createValidator()) {
-					validator.validate(file);
+		try {
+			validatorPool.shutdownAndWait();
+		} catch (InterruptedException e) {
+			validatorPool.shutdownNow();
+		}
 
-					// show XML validation errors
-					if (validator.getValidationErrors() > 0)
-						log.warn(validator.getValidationErrors() + " error(s) encountered while validating the document.");
-					else if (shouldRun)
-						log.info("The input file is valid.");
-				}
+		if (exception.get() != null)
+			throw exception.get();
 
-				eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("validate.dialog.finish.msg"), this));
-			} catch (ValidationException e) {
-				throw e;
-			} catch (IOException e) {
-				throw new ValidationException("Failed to validate input file.", e);
-			} catch (Throwable e) {
-				throw new ValidationException("An unexpected error occurred.", e);
-			}
-		}
-		
 		if (shouldRun)
 			log.info("Total validation time: " + Util.formatElapsedTime(System.currentTimeMillis() - start) + ".");
 
@@ -168,4 +161,61 @@ public class Validator implements EventHandler {
 		}
 	}
 
+	private final class FileValidatorWorker extends DefaultWorker<InputFile> {
+		private final ValidatorFactoryBuilder builder;
+		private final AtomicReference<ValidationException> exception;
+
+		private FileValidatorWorker(ValidatorFactoryBuilder builder, AtomicReference<ValidationException> exception) {
+			this.builder = builder;
+			this.exception = exception;
+		}
+
+		@Override
+		public void doWork(InputFile file) {
+			try (InputFile inputFile = file) {
+				if (!shouldRun || exception.get() != null)
+					return;
+
+				Path contentFile = inputFile.getType() != FileType.ARCHIVE ?
+						inputFile.getFile() : Paths.get(inputFile.getFile().toString(), ((AbstractArchiveInputFile) inputFile).getContentFile());
+
+				eventDispatcher.triggerEvent(new StatusDialogTitle(contentFile.getFileName().toString(), Validator.this));
+				eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("validate.dialog.validate.msg"), Validator.this));
+				eventDispatcher.triggerEvent(new CounterEvent(CounterType.FILE, remainingFiles.decrementAndGet(), Validator.this));
+
+				ValidatorFactory validatorFactory;
+				try {
+					validatorFactory = builder.buildFactory(inputFile, config);
+				} catch (ValidationException e) {
+					throw new ValidationException("Failed to validate input file '" + contentFile + "'.", e);
+				}
+
+				// ok, preparation done. inform user and start validating the input file
+				log.info("Validating file: " + contentFile.toString());
+				try (org.citydb.citygml.validator.reader.Validator validator = validatorFactory.createValidator()) {
+					validator.validate(inputFile);
+
+					// show XML validation errors
+					if (validator.getValidationErrors() > 0)
+						log.warn(validator.getValidationErrors() + " error(s) encountered while validating the document '" + contentFile + "'.");
+					else if (shouldRun)
+						log.info("The input file '" + contentFile + "' is valid.");
+				}
+
+				eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("validate.dialog.finish.msg"), Validator.this));
+			} catch (ValidationException e) {
+				exception.compareAndSet(null, e);
+			} catch (IOException e) {
+				exception.compareAndSet(null, new ValidationException("Failed to validate input file.", e));
+			} catch (Throwable e) {
+				exception.compareAndSet(null, new ValidationException("An unexpected error occurred.", e));
+			}
+		}
+
+		@Override
+		public void shutdown() {
+			// nothing to do
+		}
+	}
+
 }
@@ -41,7 +41,7 @@ import java.util.Map;
 public class ValidatorFactoryBuilder {
     private Map<MediaType, ValidatorFactory> factories = new HashMap<>();
 
-    public ValidatorFactory buildFactory(InputFile file, Config config) throws ValidationException {
+    public synchronized ValidatorFactory buildFactory(InputFile file, Config config) throws ValidationException {
         ValidatorFactory factory = factories.get(file.getMediaType());
         if (factory == null) {
             if (file.getMediaType().equals(InputFile.APPLICATION_XML))
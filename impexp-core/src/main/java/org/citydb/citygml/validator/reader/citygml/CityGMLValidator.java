@@ -25,33 +25,57 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package org.citydb.citygml.validator.reader.citygml;
 
+import org.citydb.citygml.importer.reader.citygml.CityGMLFileSplitter;
+import org.citydb.citygml.importer.reader.citygml.FileRangeInputStream;
 import org.citydb.citygml.validator.ValidationException;
 import org.citydb.citygml.validator.reader.Validator;
+import org.citydb.concurrent.DefaultWorker;
+import org.citydb.concurrent.PoolSizeAdaptationStrategy;
+import org.citydb.concurrent.WorkerPool;
+import org.citydb.config.Config;
+import org.citydb.config.project.importer.ParallelParsing;
 import org.citydb.event.Event;
 import org.citydb.event.EventDispatcher;
 import org.citydb.event.EventHandler;
 import org.citydb.event.global.EventType;
+import org.citydb.file.FileType;
 import org.citydb.file.InputFile;
+import org.citydb.log.Logger;
 import org.citydb.registry.ObjectRegistry;
 import org.xml.sax.SAXException;
 
 import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class CityGMLValidator implements Validator, EventHandler {
-    private final javax.xml.validation.Validator validator;
+    private final Logger log = Logger.getInstance();
+    private final Schema schema;
     private final ValidationErrorHandler validationHandler;
+    private final ParallelParsing parallelParsing;
     private final EventDispatcher eventDispatcher;
 
-    private InputStream inputStream;
+    private volatile Closeable resource;
+
+    CityGMLValidator(Schema schema, Config config) {
+        this.schema = schema;
 
-    CityGMLValidator(javax.xml.validation.Validator validator, ValidationErrorHandler validationHandler) {
-        this.validator = validator;
-        this.validationHandler = validationHandler;
+        validationHandler = new ValidationErrorHandler(config);
+        parallelParsing = config.getProject().getImporter().getResources().getParallelParsing();
 
         eventDispatcher = ObjectRegistry.getInstance().getEventDispatcher();
         eventDispatcher.addEventHandler(EventType.INTERRUPT, this);
@@ -64,50 +88,176 @@ public class CityGMLValidator implements Validator, EventHandler {
 
     @Override
     public void validate(InputFile inputFile) throws ValidationException {
+        validationHandler.reset();
+
+        try {
+            if (useChunkValidation(inputFile)) {
+                try (FileChannel channel = FileChannel.open(inputFile.getFile(), StandardOpenOption.READ)) {
+                    resource = channel;
+                    CityGMLFileSplitter.SplitResult splitResult = new CityGMLFileSplitter(channel,
+                            parallelParsing.getRangeSize() * 1024L * 1024L).split();
+
+                    if (splitResult != null && splitResult.getRanges().size() > 1) {
+                        validateParallel(inputFile, channel, splitResult);
+                        return;
+                    }
+
+                    log.debug("Failed to split input file into byte ranges. Falling back to sequential validation.");
+                } catch (IOException e) {
+                    if (!validationHandler.isAborted())
+                        throw new ValidationException("Failed to split CityGML input file into byte ranges.", e);
+
+                    return;
+                }
+            }
+
+            validateSequential(inputFile);
+        } finally {
+            closeResource();
+            validationHandler.report();
+        }
+    }
+
+    private void validateSequential(InputFile inputFile) throws ValidationException {
         try {
-            validator.reset();
-            validationHandler.reset();
-            validator.setErrorHandler(validationHandler);
+            javax.xml.validation.Validator validator = schema.newValidator();
+            validator.setErrorHandler(validationHandler.createErrorHandler());
 
-            inputStream = inputFile.openStream();
+            InputStream inputStream = inputFile.openStream();
+            resource = inputStream;
             validator.validate(new StreamSource(inputStream));
         } catch (IOException | SAXException e) {
             if (!validationHandler.isAborted() || validationHandler.hasFatalErrors())
                 throw new ValidationException("Failed to validate CityGML input file.", e);
-        } finally {
-            if (inputStream != null) {
-                try {
-                    inputStream.close();
-                } catch (IOException e) {
-                    //
-                }
-            }
         }
     }
 
-    @Override
-    public void close() throws ValidationException {
-        if (inputStream != null) {
+    private void validateParallel(InputFile inputFile, FileChannel channel, CityGMLFileSplitter.SplitResult splitResult) throws ValidationException {
+        List<CityGMLFileSplitter.ByteRange> ranges = splitResult.getRanges();
+        int threads = Math.min(ranges.size(), parallelParsing.isSetThreads() ?
+                parallelParsing.getThreads() : Runtime.getRuntime().availableProcessors());
+
+        log.debug("Validating " + ranges.size() + " byte range(s) using " + threads + " thread(s).");
+
+        // errors in the document header are reported for the first byte range only
+        byte[] header = splitResult.getHeader();
+        int headerColumns = 0;
+        for (int i = header.length - 1; i >= 0 && header[i] != '\n'; i--)
+            headerColumns++;
+
+        String systemId = inputFile.getFile().toString();
+        AtomicReference<Exception> exception = new AtomicReference<>();
+
+        WorkerPool<CityGMLFileSplitter.ByteRange> rangeValidatorPool = new WorkerPool<>(
+                "citygml_validator_pool",
+                threads,
+                threads,
+                PoolSizeAdaptationStrategy.NONE,
+                () -> new ByteRangeValidatorWorker(channel, systemId, splitResult, ranges.get(0), headerColumns + 1, exception),
+                ranges.size(),
+                false);
+
+        rangeValidatorPool.prestartCoreWorkers();
+        for (CityGMLFileSplitter.ByteRange range : ranges)
+            rangeValidatorPool.addWork(range);
+
+        try {
+            rangeValidatorPool.shutdownAndWait();
+        } catch (InterruptedException e) {
+            rangeValidatorPool.shutdownNow();
+        }
+
+        if (exception.get() != null && (!validationHandler.isAborted() || validationHandler.hasFatalErrors()))
+            throw new ValidationException("Failed to validate CityGML input file.", exception.get());
+    }
+
+    private boolean useChunkValidation(InputFile inputFile) {
+        if (!parallelParsing.isEnabled() || inputFile.getType() != FileType.REGULAR)
+            return false;
+
+        try {
+            return Files.size(inputFile.getFile()) >= parallelParsing.getMinFileSize() * 1024L * 1024L;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void closeResource() {
+        Closeable resource = this.resource;
+        if (resource != null) {
             try {
-                inputStream.close();
+                resource.close();
             } catch (IOException e) {
                 //
             }
         }
+    }
 
+    @Override
+    public void close() throws ValidationException {
+        closeResource();
         eventDispatcher.removeEventHandler(this);
     }
 
     @Override
     public void handleEvent(Event event) throws Exception {
         validationHandler.setAborted(true);
+        closeResource();
+    }
 
-        if (inputStream != null) {
-            try {
-                inputStream.close();
-            } catch (IOException e) {
-                //
+    private final class ByteRangeValidatorWorker extends DefaultWorker<CityGMLFileSplitter.ByteRange> {
+        private final FileChannel channel;
+        private final String systemId;
+        private final CityGMLFileSplitter.SplitResult splitResult;
+        private final CityGMLFileSplitter.ByteRange firstRange;
+        private final int headerColumns;
+        private final AtomicReference<Exception> exception;
+        private javax.xml.validation.Validator validator;
+
+        private ByteRangeValidatorWorker(FileChannel channel,
+                                         String systemId,
+                                         CityGMLFileSplitter.SplitResult splitResult,
+                                         CityGMLFileSplitter.ByteRange firstRange,
+                                         int headerColumns,
+                                         AtomicReference<Exception> exception) {
+            this.channel = channel;
+            this.systemId = systemId;
+            this.splitResult = splitResult;
+            this.firstRange = firstRange;
+            this.headerColumns = headerColumns;
+            this.exception = exception;
+        }
+
+        @Override
+        public void doWork(CityGMLFileSplitter.ByteRange range) {
+            if (validationHandler.isAborted() || exception.get() != null)
+                return;
+
+            if (validator == null)
+                validator = schema.newValidator();
+            else
+                validator.reset();
+
+            long headerLines = splitResult.getHeaderLines();
+            validator.setErrorHandler(range == firstRange ?
+                    validationHandler.createErrorHandler() :
+                    validationHandler.createErrorHandler(range.lines - headerLines, headerLines, headerColumns));
+
+            // replay the document prolog and root element so that every byte
+            // range is validated as a complete document
+            try (InputStream stream = new SequenceInputStream(Collections.enumeration(Arrays.asList(
+                    new ByteArrayInputStream(splitResult.getHeader()),
+                    new BufferedInputStream(new FileRangeInputStream(channel, range.start, range.end), 65536),
+                    new ByteArrayInputStream(splitResult.getFooter()))))) {
+                validator.validate(new StreamSource(stream, systemId));
+            } catch (IOException | SAXException e) {
+                exception.compareAndSet(null, e);
             }
         }
+
+        @Override
+        public void shutdown() {
+            // nothing to do
+        }
     }
 }
@@ -40,25 +40,33 @@ import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
 
 public class CityGMLValidatorFactory implements ValidatorFactory {
-    private javax.xml.validation.Validator validator;
-    private ValidationErrorHandler validationHandler;
+    private static Schema compiledSchema;
+    private Schema schema;
+    private Config config;
 
     @Override
     public void initializeContext(Config config) throws ValidationException {
-        try {
-            SchemaHandler schemaHandler = SchemaHandler.newInstance();
-            SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-            Schema schema = schemaFactory.newSchema(schemaHandler.getSchemaSources());
-            validator = schema.newValidator();
-        } catch (SAXException e) {
-            throw new ValidationException("Failed to create CityGML schema context.", e);
-        }
-
-        validationHandler = new ValidationErrorHandler(config);
+        this.config = config;
+        schema = getSchema();
     }
 
     @Override
     public Validator createValidator() throws ValidationException {
-        return new CityGMLValidator(validator, validationHandler);
+        return new CityGMLValidator(schema, config);
+    }
+
+    private static synchronized Schema getSchema() throws ValidationException {
+        // compiled schemas are thread-safe and can be shared by all validators
+        if (compiledSchema == null) {
+            try {
+                SchemaHandler schemaHandler = SchemaHandler.newInstance();
+                SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+                compiledSchema = schemaFactory.newSchema(schemaHandler.getSchemaSources());
+            } catch (SAXException e) {
+                throw new ValidationException("Failed to create CityGML schema context.", e);
+            }
+        }
+
+        return compiledSchema;
     }
 }
@@ -25,7 +25,6 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package org.citydb.citygml.validator.reader.citygml;
 
 import org.citydb.config.Config;
@@ -35,25 +34,27 @@ import org.xml.sax.ErrorHandler;
 import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
 
-class ValidationErrorHandler implements ErrorHandler {
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+class ValidationErrorHandler {
     private final Logger log = Logger.getInstance();
     private final Config config;
+    private final List<ValidationError> errors = new ArrayList<>();
 
     private long validationErrors;
+    private int maxErrors;
     private boolean isReportAllErrors;
-    private boolean isAborted;
-    private boolean hasFatalErrors;
+    private volatile boolean isAborted;
+    private volatile boolean hasFatalErrors;
 
     ValidationErrorHandler(Config config) {
         this.config = config;
         reset();
     }
 
-    void setReportAllErrors(boolean reportAllErrors) {
-        this.isReportAllErrors = reportAllErrors;
-    }
-
-    long getValidationErrors() {
+    synchronized long getValidationErrors() {
         return validationErrors;
     }
 
@@ -69,38 +70,110 @@ class ValidationErrorHandler implements ErrorHandler {
         return hasFatalErrors;
     }
 
-    void reset() {
+    synchronized void reset() {
+        errors.clear();
         validationErrors = 0;
+        maxErrors = config.getProject().getImporter().getXMLValidation().getMaxErrorsPerFile();
         isReportAllErrors = !config.getProject().getImporter().getXMLValidation().isSetReportOneErrorPerFeature();
         isAborted = false;
         hasFatalErrors = false;
     }
 
-    @Override
-    public void warning(SAXParseException e) throws SAXException {
-        write(e, "Warning", LogLevel.WARN);
+    ErrorHandler createErrorHandler() {
+        return new RangeErrorHandler(0, 0, 0);
     }
 
-    @Override
-    public void error(SAXParseException e) throws SAXException {
-        write(e, "Invalid content", LogLevel.ERROR);
+    /**
+     * Creates an error handler for a byte range of the input file that is validated
+     * together with the document header. Reported line numbers are shifted by the
+     * given line offset. Errors located within the first skipLines lines and the first
+     * skipColumns columns of the following line are ignored, which allows for skipping
+     * errors in the document header that have already been reported for another range.
+     */
+    ErrorHandler createErrorHandler(long lineOffset, long skipLines, int skipColumns) {
+        return new RangeErrorHandler(lineOffset, skipLines, skipColumns);
     }
 
-    @Override
-    public void fatalError(SAXParseException e) throws SAXException {
-        isReportAllErrors = false;
-        hasFatalErrors = true;
-        write(e, "Invalid content", LogLevel.ERROR);
+    void report() {
+        List<ValidationError> errors;
+        synchronized (this) {
+            errors = new ArrayList<>(this.errors);
+            this.errors.clear();
+        }
+
+        errors.sort(Comparator.comparingLong((ValidationError error) -> error.line).thenComparingInt(error -> error.column));
+        for (ValidationError error : errors)
+            log.log(error.level, error.prefix + " at " + '[' + error.line + ',' + error.column + "]: " + error.message);
+
+        if (getValidationErrors() >= maxErrors)
+            log.warn("Validation stopped after " + maxErrors + " error(s).");
     }
 
-    private void write(SAXParseException e, String prefix, LogLevel level) throws SAXException {
-        if (!isAborted) {
-            log.log(level, prefix + " at " + '[' + e.getLineNumber() + ',' + e.getColumnNumber() + "]: " + e.getMessage());
-            validationErrors++;
-            if (!isReportAllErrors) {
+    private void write(SAXParseException e, long line, String prefix, LogLevel level, boolean isFatal) throws SAXException {
+        if (isAborted)
+            throw new SAXException(e.getException());
+
+        synchronized (this) {
+            if (isFatal) {
+                isReportAllErrors = false;
+                hasFatalErrors = true;
+            }
+
+            errors.add(new ValidationError(line, e.getColumnNumber(), prefix, e.getMessage(), level));
+            if (++validationErrors >= maxErrors || !isReportAllErrors) {
                 isAborted = true;
                 throw new SAXException(e.getException());
             }
         }
     }
+
+    private final class RangeErrorHandler implements ErrorHandler {
+        private final long lineOffset;
+        private final long skipLines;
+        private final int skipColumns;
+
+        private RangeErrorHandler(long lineOffset, long skipLines, int skipColumns) {
+            this.lineOffset = lineOffset;
+            this.skipLines = skipLines;
+            this.skipColumns = skipColumns;
+        }
+
+        @Override
+        public void warning(SAXParseException e) throws SAXException {
+            if (!isHeaderError(e))
+                write(e, e.getLineNumber() + lineOffset, "Warning", LogLevel.WARN, false);
+        }
+
+        @Override
+        public void error(SAXParseException e) throws SAXException {
+            if (!isHeaderError(e))
+                write(e, e.getLineNumber() + lineOffset, "Invalid content", LogLevel.ERROR, false);
+        }
+
+        @Override
+        public void fatalError(SAXParseException e) throws SAXException {
+            write(e, e.getLineNumber() + lineOffset, "Invalid content", LogLevel.ERROR, true);
+        }
+
+        private boolean isHeaderError(SAXParseException e) {
+            return (skipLines > 0 || skipColumns > 0) && (e.getLineNumber() <= skipLines
+                    || (e.getLineNumber() == skipLines + 1 && e.getColumnNumber() <= skipColumns));
+        }
+    }
+
+    private static final class ValidationError {
+        private final long line;
+        private final int column;
+        private final String prefix;
+        private final String message;
+        private final LogLevel level;
+
+        private ValidationError(long line, int column, String prefix, String message, LogLevel level) {
+            this.line = line;
+            this.column = column;
+            this.prefix = prefix;
+            this.message = message;
+            this.level = level;
+        }
+    }
 }
@@ -0,0 +1,153 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * http://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2019
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.gis.bgu.tum.de/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * virtualcitySYSTEMS GmbH, Berlin <http://www.virtualcitysystems.de/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.concurrent;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A memory budget in bytes that is shared by the work queues of one or more
+ * worker pools. Producers acquire the estimated size of a work item before
+ * it is queued and block while the budget is exhausted. The size is released
+ * as soon as a worker takes the item from the queue. A single item that
+ * exceeds the whole budget is admitted if no other item is accounted for.
+ */
+public class MemoryBudget {
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition released = lock.newCondition();
+	private final long capacity;
+	private long used;
+
+	public MemoryBudget(long capacity) {
+		if (capacity <= 0)
+			throw new IllegalArgumentException("Memory budget must be greater than zero.");
+
+		this.capacity = capacity;
+	}
+
+	public static MemoryBudget ofMaxHeap(double fraction) {
+		return new MemoryBudget(Math.max(1, (long) (Runtime.getRuntime().maxMemory() * fraction)));
+	}
+
+	public long getCapacity() {
+		return capacity;
+	}
+
+	public long getUsed() {
+		final ReentrantLock lock = this.lock;
+		lock.lock();
+		try {
+			return used;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public void acquire(long bytes) {
+		final ReentrantLock lock = this.lock;
+		lock.lock();
+		try {
+			while (!fits(bytes))
+				released.awaitUninterruptibly();
+
+			used += bytes;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public boolean tryAcquire(long bytes) {
+		final ReentrantLock lock = this.lock;
+		lock.lock();
+		try {
+			if (!fits(bytes))
+				return false;
+
+			used += bytes;
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public boolean tryAcquire(long bytes, long timeout, TimeUnit unit) throws InterruptedException {
+		long nanos = unit.toNanos(timeout);
+		final ReentrantLock lock = this.lock;
+		lock.lockInterruptibly();
+		try {
+			while (!fits(bytes)) {
+				if (nanos <= 0)
+					return false;
+
+				nanos = released.awaitNanos(nanos);
+			}
+
+			used += bytes;
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Accounts for bytes that are already held without waiting for the budget.
+	 * This is meant for consumers that buffer items they have taken from a queue
+	 * and would block their own producers by waiting.
+	 */
+	public void charge(long bytes) {
+		if (bytes <= 0)
+			return;
+
+		final ReentrantLock lock = this.lock;
+		lock.lock();
+		try {
+			used += bytes;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public void release(long bytes) {
+		if (bytes <= 0)
+			return;
+
+		final ReentrantLock lock = this.lock;
+		lock.lock();
+		try {
+			used = Math.max(0, used - bytes);
+			released.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private boolean fits(long bytes) {
+		return used == 0 || used + bytes <= capacity;
+	}
+}
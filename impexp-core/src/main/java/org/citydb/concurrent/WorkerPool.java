@@ -39,6 +39,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
 
 public class WorkerPool<T> {
 	private final ReentrantLock mainLock = new ReentrantLock();
@@ -78,6 +79,9 @@ public class WorkerPool<T> {
 		private final Condition flushed;
 
 		private final E[] workItems;
+		private long[] workSizes;
+		private MemoryBudget memoryBudget;
+		private ToLongFunction<? super E> sizeEstimator;
 		private int putIndex;
 		private int takeIndex;
 		private int count;
@@ -102,12 +106,41 @@ public class WorkerPool<T> {
 			workItems = (E[]) new Object[capacity];
 		}
 
+		public void setMemoryBudget(MemoryBudget memoryBudget, ToLongFunction<? super E> sizeEstimator) {
+			final ReentrantLock lock = this.lock;
+			lock.lock();
+			try {
+				if (count != 0)
+					throw new IllegalStateException("The memory budget must be set on an empty work queue.");
+
+				this.memoryBudget = memoryBudget;
+				this.sizeEstimator = sizeEstimator;
+				workSizes = memoryBudget != null ? new long[workItems.length] : null;
+			} finally {
+				lock.unlock();
+			}
+		}
+
 		final int inc(int i) {
 			return (++i == workItems.length) ? 0 : i;
 		}
 
-		private void insert(E work) {
+		private long estimate(E work) {
+			return memoryBudget != null ? Math.max(0, sizeEstimator.applyAsLong(work)) : 0;
+		}
+
+		private void release(int i) {
+			if (workSizes != null) {
+				memoryBudget.release(workSizes[i]);
+				workSizes[i] = 0;
+			}
+		}
+
+		private void insert(E work, long size) {
 			workItems[putIndex] = work;
+			if (workSizes != null)
+				workSizes[putIndex] = size;
+
 			putIndex = inc(putIndex);
 			++count;
 			notEmpty.signal();
@@ -117,6 +150,7 @@ public class WorkerPool<T> {
 			final E[] workItems = this.workItems;
 			E work = workItems[takeIndex];
 			workItems[takeIndex] = null;
+			release(takeIndex);
 			takeIndex = inc(takeIndex);
 			--count;
 			notFull.signal();
@@ -127,6 +161,7 @@ public class WorkerPool<T> {
 
 		private void removeAt(int i) {
 			final E[] workItems = this.workItems;
+			release(i);
 			if (i == takeIndex) {
 				workItems[i] = null;
 				takeIndex = inc(takeIndex);
@@ -135,6 +170,11 @@ public class WorkerPool<T> {
 					int nexti = inc(i);
 					if (nexti != putIndex) {
 						workItems[i] = workItems[nexti];
+						if (workSizes != null) {
+							workSizes[i] = workSizes[nexti];
+							workSizes[nexti] = 0;
+						}
+
 						i = nexti;
 					} else {
 						workItems[i] = null;
@@ -154,16 +194,23 @@ public class WorkerPool<T> {
 			if (work == null)
 				throw new NullPointerException();
 
+			long size = estimate(work);
+			if (memoryBudget != null && !memoryBudget.tryAcquire(size))
+				return false;
+
 			final ReentrantLock lock = this.lock;
 			lock.lock();
 			try {
 				if (blockAndFlush)
 					flushed.awaitUninterruptibly();
 
-				if (count == workItems.length)
+				if (count == workItems.length) {
+					if (memoryBudget != null)
+						memoryBudget.release(size);
+
 					return false;
-				else {
-					insert(work);
+				} else {
+					insert(work, size);
 					return true;
 				}
 			} finally {
@@ -176,15 +223,34 @@ public class WorkerPool<T> {
 				throw new NullPointerException();
 
 			long nanos = unit.toNanos(timeout);
+			long size = estimate(work);
+			if (memoryBudget != null) {
+				long start = System.nanoTime();
+				if (!memoryBudget.tryAcquire(size, nanos, TimeUnit.NANOSECONDS))
+					return false;
+
+				nanos -= System.nanoTime() - start;
+			}
+
+			boolean inserted = false;
 			final ReentrantLock lock = this.lock;
-			lock.lockInterruptibly();
+			try {
+				lock.lockInterruptibly();
+			} catch (InterruptedException ie) {
+				if (memoryBudget != null)
+					memoryBudget.release(size);
+
+				throw ie;
+			}
+
 			try {
 				if (blockAndFlush)
 					flushed.awaitUninterruptibly();
 
 				for (;;) {
 					if (count != workItems.length) {
-						insert(work);
+						insert(work, size);
+						inserted = true;
 						return true;
 					}
 
@@ -199,6 +265,9 @@ public class WorkerPool<T> {
 					}
 				}
 			} finally {
+				if (!inserted && memoryBudget != null)
+					memoryBudget.release(size);
+
 				lock.unlock();
 			}
 		}
@@ -207,6 +276,12 @@ public class WorkerPool<T> {
 			if (work == null)
 				throw new NullPointerException();
 
+			// block on the memory budget before entering the queue so that
+			// workers can still take items and release their sizes
+			long size = estimate(work);
+			if (memoryBudget != null)
+				memoryBudget.acquire(size);
+
 			final E[] workItems = this.workItems;
 			final ReentrantLock lock = this.lock;
 			lock.lock();
@@ -217,7 +292,7 @@ public class WorkerPool<T> {
 				while (count == workItems.length)
 					notFull.awaitUninterruptibly();
 
-				insert(work);
+				insert(work, size);
 			} finally {
 				lock.unlock();
 			}
@@ -355,6 +430,7 @@ public class WorkerPool<T> {
 				int k = count;
 				while (k-- > 0) {
 					workItems[i] = null;
+					release(i);
 					i = inc(i);
 				}
 
@@ -382,6 +458,7 @@ public class WorkerPool<T> {
 				while (n < max) {
 					collection.add(workItems[i]);
 					workItems[i] = null;
+					release(i);
 					i = inc(i);
 					++n;
 				}
@@ -852,6 +929,10 @@ public class WorkerPool<T> {
 		return workQueue;
 	}
 
+	public void setMemoryBudget(MemoryBudget memoryBudget, ToLongFunction<? super T> sizeEstimator) {
+		workQueue.setMemoryBudget(memoryBudget, sizeEstimator);
+	}
+
 	public WorkerFactory<T> getWorkerFactory() {
 		return workerFactory;
 	}
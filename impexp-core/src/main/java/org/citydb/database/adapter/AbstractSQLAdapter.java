@@ -82,6 +82,7 @@ public abstract class AbstractSQLAdapter {
 	public abstract String getCurrentSequenceValue(String sequence);
 	public abstract String getNextSequenceValuesQuery(String sequence);
 	public abstract int getMaximumNumberOfItemsForInOperator();
+	public abstract int getMaximumIdentifierLength();
 
 	public abstract PredicateToken getBinarySpatialPredicate(SpatialOperatorName operator, Column targetColumn, GeometryObject geometry, boolean negate);	
 	public abstract PredicateToken getDistancePredicate(SpatialOperatorName operator, Column targetColumn, GeometryObject geometry, double distance, boolean negate);
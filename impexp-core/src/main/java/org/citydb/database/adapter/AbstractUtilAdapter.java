@@ -27,6 +27,9 @@
  */
 package org.citydb.database.adapter;
 
+import org.citydb.concurrent.DefaultWorker;
+import org.citydb.concurrent.PoolSizeAdaptationStrategy;
+import org.citydb.concurrent.WorkerPool;
 import org.citydb.config.geometry.BoundingBox;
 import org.citydb.config.geometry.GeometryObject;
 import org.citydb.config.project.database.DatabaseSrs;
@@ -38,6 +41,8 @@ import org.citydb.database.schema.mapping.SchemaMapping;
 import org.citydb.database.schema.mapping.SchemaMappingException;
 import org.citydb.database.schema.mapping.SchemaMappingValidationException;
 import org.citydb.database.schema.util.SchemaMappingUtil;
+import org.citydb.log.Logger;
+import org.citydb.util.Util;
 import org.geotools.referencing.CRS;
 import org.opengis.referencing.FactoryException;
 import org.opengis.referencing.crs.CoordinateReferenceSystem;
@@ -51,8 +56,14 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Types;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 public abstract class AbstractUtilAdapter {
     protected final AbstractDatabaseAdapter databaseAdapter;
@@ -62,6 +73,7 @@ public abstract class AbstractUtilAdapter {
     protected CallableStatement interruptableCallableStatement;
     protected PreparedStatement interruptablePreparedStatement;
     protected volatile boolean isInterrupted;
+    private final Set<Statement> interruptableStatements = ConcurrentHashMap.newKeySet();
 
     protected AbstractUtilAdapter(AbstractDatabaseAdapter databaseAdapter) {
         this.databaseAdapter = databaseAdapter;
@@ -81,6 +93,9 @@ public abstract class AbstractUtilAdapter {
     protected abstract int get2DSrid(DatabaseSrs srs, Connection connection) throws SQLException;
     protected abstract IndexStatusInfo manageIndexes(String operation, IndexType type, String schema, Connection connection) throws SQLException;
     protected abstract boolean updateTableStats(IndexType type, String schema, Connection connection) throws SQLException;
+    protected abstract List<IndexDefinition> getIndexDefinitions(IndexType type, String schema, Connection connection) throws SQLException;
+    protected abstract String createIndex(IndexDefinition index, Connection connection) throws SQLException;
+    protected abstract boolean updateTableStats(String schema, String table, List<String> columns, Connection connection) throws SQLException;
     protected abstract boolean containsGlobalAppearances(Connection connection) throws SQLException;
     protected abstract int cleanupGlobalAppearances(String schema, Connection connection) throws SQLException;
     public abstract DatabaseSrs getWGS843D();
@@ -234,6 +249,58 @@ public abstract class AbstractUtilAdapter {
         return manageIndexes(operation, type);
     }
 
+    public IndexStatusInfo createSpatialIndexes(int parallelism) throws SQLException {
+        return createIndexes(IndexType.SPATIAL, parallelism);
+    }
+
+    public IndexStatusInfo createNormalIndexes(int parallelism) throws SQLException {
+        return createIndexes(IndexType.NORMAL, parallelism);
+    }
+
+    private IndexStatusInfo createIndexes(IndexType type, int parallelism) throws SQLException {
+        if (parallelism <= 1)
+            return createIndexes(type);
+
+        try {
+            List<IndexDefinition> indexes = getIndexDefinitions(type);
+            Map<String, String> errorMessages = new ConcurrentHashMap<>();
+            AtomicInteger counter = new AtomicInteger();
+
+            boolean success = processInParallel(indexes, parallelism, (index, connection) -> {
+                long start = System.currentTimeMillis();
+                String errorMessage = createIndex(index, connection);
+                int processed = counter.incrementAndGet();
+
+                if (errorMessage != null) {
+                    Logger.getInstance().debug("Failed to create index " + index + " (" + processed + "/" + indexes.size() + ").");
+                    errorMessages.put(index.getName().toUpperCase(), errorMessage);
+                    return false;
+                }
+
+                Logger.getInstance().info("Created index " + index + " (" + processed + "/" + indexes.size() + ") in " +
+                        Util.formatElapsedTime(System.currentTimeMillis() - start) + ".");
+                return true;
+            });
+
+            if (isInterrupted)
+                return null;
+
+            // report the errors of failed indexes with the index status
+            IndexStatusInfo indexStatus = getIndexStatus(type);
+            if (!success && indexStatus != null) {
+                for (IndexStatusInfo.IndexInfoObject indexObj : indexStatus.getIndexObjects()) {
+                    String errorMessage = errorMessages.get(indexObj.getName());
+                    if (errorMessage != null)
+                        indexObj.setError(errorMessage);
+                }
+            }
+
+            return indexStatus;
+        } finally {
+            isInterrupted = false;
+        }
+    }
+
     private IndexStatusInfo createIndexes(IndexType type) throws SQLException {
         String operation = type == IndexType.SPATIAL ? "citydb_idx.create_spatial_indexes" : "citydb_idx.create_normal_indexes";
         return manageIndexes(operation, type);
@@ -260,6 +327,104 @@ public abstract class AbstractUtilAdapter {
         return updateTableStats(IndexType.NORMAL);
     }
 
+    public boolean updateTableStatsSpatialColumns(int parallelism) throws SQLException {
+        return updateTableStats(IndexType.SPATIAL, parallelism);
+    }
+
+    public boolean updateTableStatsNormalColumns(int parallelism) throws SQLException {
+        return updateTableStats(IndexType.NORMAL, parallelism);
+    }
+
+    private boolean updateTableStats(IndexType type, int parallelism) throws SQLException {
+        if (parallelism <= 1)
+            return updateTableStats(type);
+
+        try {
+            // statistics are updated once per table for all indexed columns
+            // since concurrent updates of the same table would block each other
+            Map<String, List<IndexDefinition>> tables = new LinkedHashMap<>();
+            for (IndexDefinition index : getIndexDefinitions(type))
+                tables.computeIfAbsent(index.getSchema() + "." + index.getTable(), k -> new ArrayList<>()).add(index);
+
+            AtomicInteger counter = new AtomicInteger();
+            boolean success = processInParallel(new ArrayList<>(tables.values()), parallelism, (indexes, connection) -> {
+                List<String> columns = new ArrayList<>();
+                for (IndexDefinition index : indexes)
+                    columns.add(index.getColumn());
+
+                IndexDefinition index = indexes.get(0);
+                if (!updateTableStats(index.getSchema(), index.getTable(), columns, connection))
+                    return false;
+
+                Logger.getInstance().debug("Updated table statistics for " + index.getSchema() + "." + index.getTable() +
+                        columns + " (" + counter.incrementAndGet() + "/" + tables.size() + ").");
+                return true;
+            });
+
+            return success && !isInterrupted;
+        } finally {
+            isInterrupted = false;
+        }
+    }
+
+    private List<IndexDefinition> getIndexDefinitions(IndexType type) throws SQLException {
+        String schema = databaseAdapter.getConnectionDetails().getSchema();
+
+        try (Connection conn = databaseAdapter.connectionPool.getConnection()) {
+            return getIndexDefinitions(type, schema, conn);
+        }
+    }
+
+    private <T> boolean processInParallel(List<T> items, int parallelism, IndexOperation<T> operation) throws SQLException {
+        if (items.isEmpty() || isInterrupted)
+            return true;
+
+        int threads = Math.min(parallelism, items.size());
+        AtomicReference<SQLException> exception = new AtomicReference<>();
+        AtomicBoolean success = new AtomicBoolean(true);
+
+        WorkerPool<T> pool = new WorkerPool<>(
+                "index_pool",
+                threads,
+                threads,
+                PoolSizeAdaptationStrategy.NONE,
+                () -> new IndexWorker<>(operation, exception, success),
+                items.size(),
+                false);
+
+        pool.prestartCoreWorkers();
+        for (T item : items)
+            pool.addWork(item);
+
+        try {
+            pool.shutdownAndWait();
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+        } finally {
+            interruptableStatements.clear();
+        }
+
+        if (exception.get() != null && !isInterrupted)
+            throw exception.get();
+
+        return success.get();
+    }
+
+    protected <T extends Statement> T registerInterruptableStatement(T statement) throws SQLException {
+        // statements of parallel operations are cancelled together on interrupt
+        interruptableStatements.add(statement);
+        if (isInterrupted) {
+            interruptableStatements.remove(statement);
+            throw new SQLException("The database operation has been interrupted.");
+        }
+
+        return statement;
+    }
+
+    protected void unregisterInterruptableStatement(Statement statement) {
+        interruptableStatements.remove(statement);
+    }
+
     private boolean updateTableStats(IndexType type) throws SQLException {
         String schema = databaseAdapter.getConnectionDetails().getSchema();
 
@@ -378,6 +543,14 @@ public abstract class AbstractUtilAdapter {
         } catch (SQLException e) {
             //
         }
+
+        for (Statement statement : interruptableStatements) {
+            try {
+                statement.cancel();
+            } catch (SQLException e) {
+                //
+            }
+        }
     }
 
     public CoordinateReferenceSystem decodeDatabaseSrs(DatabaseSrs srs) throws FactoryException {
@@ -410,4 +583,49 @@ public abstract class AbstractUtilAdapter {
         srsDefMap.putIfAbsent(srs.getSrid(), tmp);
         return tmp;
     }
+
+    @FunctionalInterface
+    private interface IndexOperation<T> {
+        boolean execute(T item, Connection connection) throws SQLException;
+    }
+
+    private final class IndexWorker<T> extends DefaultWorker<T> {
+        private final IndexOperation<T> operation;
+        private final AtomicReference<SQLException> exception;
+        private final AtomicBoolean success;
+        private Connection connection;
+
+        private IndexWorker(IndexOperation<T> operation, AtomicReference<SQLException> exception, AtomicBoolean success) {
+            this.operation = operation;
+            this.exception = exception;
+            this.success = success;
+        }
+
+        @Override
+        public void doWork(T item) {
+            if (isInterrupted || exception.get() != null)
+                return;
+
+            try {
+                if (connection == null)
+                    connection = databaseAdapter.connectionPool.getConnection();
+
+                if (!operation.execute(item, connection))
+                    success.set(false);
+            } catch (SQLException e) {
+                exception.compareAndSet(null, e);
+            }
+        }
+
+        @Override
+        public void shutdown() {
+            if (connection != null) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    //
+                }
+            }
+        }
+    }
 }
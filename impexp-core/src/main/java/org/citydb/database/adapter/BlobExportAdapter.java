@@ -27,12 +27,21 @@
  */
 package org.citydb.database.adapter;
 
+import org.citydb.concurrent.DefaultWorker;
+import org.citydb.concurrent.SingleWorkerPool;
 import org.citydb.config.project.database.ExportBatching;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
-import java.nio.file.Files;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -40,16 +49,25 @@ import java.sql.SQLException;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 public class BlobExportAdapter {
+	// blobs up to this size are buffered and written asynchronously,
+	// larger blobs are streamed to the target on the calling thread
+	private static final int STREAMING_THRESHOLD = 1024 * 1024;
+	private static final int BUFFER_SIZE = 8192;
+
 	protected final Connection connection;
 	private final BlobType blobType;
 	private final String schema;
 	private final Map<Long, BatchEntry> batches;
+	private final AtomicInteger writeCounter = new AtomicInteger();
 
 	private PreparedStatement psExport;
 	private PreparedStatement psBulk;
+	private SingleWorkerPool<BlobWrite> writerPool;
+	private IOException writeException;
 	private int batchSize;
 
 	public BlobExportAdapter(Connection connection, BlobType blobType, String schema) {
@@ -66,14 +84,29 @@ public class BlobExportAdapter {
 		return this;
 	}
 
+	public BlobExportAdapter withAsyncWrites(int queueSize) {
+		if (writerPool == null) {
+			writerPool = new SingleWorkerPool<>("blob_writer_pool", BlobWriter::new, Math.max(queueSize, 1), false);
+			writerPool.prestartCoreWorkers();
+		}
+
+		return this;
+	}
+
 	public int addBatch(long id, BatchEntry entry) throws IOException, SQLException {
+		// do not fetch blobs that would be discarded anyway
+		if (!entry.canWrite.get())
+			return 0;
+
 		batches.put(id, entry);
 		return batches.size() == batchSize ? executeBatch() : 0;
 	}
 
 	public int executeBatch() throws SQLException, IOException {
+		// asynchronous writes are counted once they have completed
+		int exported = getAndResetWriteCounter();
 		if (batches.isEmpty())
-			return 0;
+			return exported;
 
 		try {
 			if (psBulk == null) {
@@ -87,13 +120,10 @@ public class BlobExportAdapter {
 			for (int i = 0; i < batchSize; i++)
 				psBulk.setLong(i + 1, i < ids.length ? ids[i] : 0);
 
-			int exported = 0;
 			try (ResultSet rs = psBulk.executeQuery()) {
 				while (rs.next()) {
 					BatchEntry entry = batches.get(rs.getLong(1));
-					if (entry != null
-							&& entry.canWrite.get()
-							&& writeToStream(rs.getBytes(2), entry.streamSupplier.get()))
+					if (entry != null && export(rs.getBinaryStream(2), entry))
 						exported++;
 				}
 			}
@@ -104,7 +134,39 @@ public class BlobExportAdapter {
 		}
 	}
 
+	public int getAndResetWriteCounter() {
+		return writeCounter.getAndSet(0);
+	}
+
 	public byte[] getInByteArray(long id) throws SQLException {
+		try (ResultSet rs = query(id)) {
+			return rs.next() ? rs.getBytes(1) : null;
+		}
+	}
+
+	public boolean writeToFile(long id, String fileName) throws SQLException, IOException {
+		try (ResultSet rs = query(id)) {
+			if (rs.next()) {
+				try (InputStream stream = rs.getBinaryStream(1)) {
+					return stream != null && write(new byte[0], stream, new BatchEntry(Paths.get(fileName), () -> true));
+				}
+			} else
+				return false;
+		}
+	}
+
+	public boolean writeToStream(long id, OutputStream stream) throws SQLException, IOException {
+		try (ResultSet rs = query(id)) {
+			if (rs.next()) {
+				try (InputStream in = rs.getBinaryStream(1)) {
+					return in != null && write(new byte[0], in, new BatchEntry(() -> stream, () -> true));
+				}
+			} else
+				return false;
+		}
+	}
+
+	private ResultSet query(long id) throws SQLException {
 		if (psExport == null) {
 			psExport = connection.prepareStatement((blobType == BlobType.TEXTURE_IMAGE ?
 					"select tex_image_data from " + schema + ".tex_image " :
@@ -113,35 +175,104 @@ public class BlobExportAdapter {
 		}
 
 		psExport.setLong(1, id);
-		try (ResultSet rs = psExport.executeQuery()) {
-			return rs.next() ? rs.getBytes(1) : null;
+		return psExport.executeQuery();
+	}
+
+	private boolean export(InputStream stream, BatchEntry entry) throws IOException {
+		if (stream == null)
+			return false;
+
+		try (InputStream in = stream) {
+			// buffer small blobs so that the result set can move on while they are written
+			ByteArrayOutputStream buffer = new ByteArrayOutputStream(BUFFER_SIZE);
+			byte[] bytes = new byte[BUFFER_SIZE];
+			int read;
+			while (buffer.size() < STREAMING_THRESHOLD && (read = in.read(bytes)) != -1)
+				buffer.write(bytes, 0, read);
+
+			if (buffer.size() < STREAMING_THRESHOLD) {
+				if (buffer.size() == 0)
+					return false;
+
+				if (writerPool != null) {
+					// the writer counts the blob after it has been written
+					writerPool.addWork(new BlobWrite(buffer.toByteArray(), entry));
+					return false;
+				}
+			}
+
+			// the remainder of large blobs is streamed directly from the database
+			return write(buffer.toByteArray(), in, entry);
 		}
 	}
 
-	public boolean writeToFile(long id, String fileName) throws SQLException, IOException {
-        return writeToStream(getInByteArray(id), Files.newOutputStream(Paths.get(fileName)));
+	private boolean write(byte[] head, InputStream tail, BatchEntry entry) throws IOException {
+		if (entry.file != null) {
+			try (FileChannel channel = FileChannel.open(entry.file,
+					StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+				ByteBuffer buffer = ByteBuffer.wrap(head);
+				while (buffer.hasRemaining())
+					channel.write(buffer);
+
+				long position = head.length;
+				if (tail != null) {
+					ReadableByteChannel source = Channels.newChannel(tail);
+					long transferred;
+					while ((transferred = channel.transferFrom(source, position, STREAMING_THRESHOLD)) > 0)
+						position += transferred;
+				}
+
+				return position > 0;
+			}
+		} else {
+			try (OutputStream out = entry.streamSupplier.get()) {
+				long size = head.length;
+				out.write(head);
+
+				if (tail != null) {
+					byte[] bytes = new byte[BUFFER_SIZE];
+					int read;
+					while ((read = tail.read(bytes)) != -1) {
+						out.write(bytes, 0, read);
+						size += read;
+					}
+				}
+
+				return size > 0;
+			}
+		}
 	}
 
-	public boolean writeToStream(long id, OutputStream stream) throws SQLException, IOException {
-	    return writeToStream(getInByteArray(id), stream);
+	private synchronized void addWriteException(IOException e) {
+		if (writeException == null)
+			writeException = e;
+		else
+			writeException.addSuppressed(e);
 	}
 
-	private boolean writeToStream(byte[] buffer, OutputStream stream) throws IOException {
-	    if (buffer != null && buffer.length != 0) {
-	        try (OutputStream out = stream) {
-                out.write(buffer);
-                return true;
-            }
-        } else
-            return false;
-    }
+	public void close() throws SQLException, IOException {
+		if (writerPool != null) {
+			try {
+				writerPool.shutdownAndWait();
+			} catch (InterruptedException e) {
+				writerPool.shutdownNow();
+			}
+		}
 
-	public void close() throws SQLException {
 		if (psExport != null)
 			psExport.close();
 
 		if (psBulk != null)
 			psBulk.close();
+
+		// report failed asynchronous writes to the caller
+		synchronized (this) {
+			if (writeException != null) {
+				IOException e = writeException;
+				writeException = null;
+				throw e;
+			}
+		}
 	}
 
 	@FunctionalInterface
@@ -150,12 +281,49 @@ public class BlobExportAdapter {
 	}
 
 	public static class BatchEntry {
+		private final Path file;
 		private final OutputStreamSupplier streamSupplier;
 		private final Supplier<Boolean> canWrite;
 
 		public BatchEntry(OutputStreamSupplier streamSupplier, Supplier<Boolean> canWrite) {
+			this.file = null;
 			this.streamSupplier = streamSupplier;
 			this.canWrite = canWrite;
 		}
+
+		public BatchEntry(Path file, Supplier<Boolean> canWrite) {
+			this.file = file;
+			this.streamSupplier = null;
+			this.canWrite = canWrite;
+		}
+	}
+
+	private static final class BlobWrite {
+		private final byte[] bytes;
+		private final BatchEntry entry;
+
+		private BlobWrite(byte[] bytes, BatchEntry entry) {
+			this.bytes = bytes;
+			this.entry = entry;
+		}
+	}
+
+	private final class BlobWriter extends DefaultWorker<BlobWrite> {
+
+		@Override
+		public void doWork(BlobWrite work) {
+			try {
+				if (write(work.bytes, null, work.entry))
+					writeCounter.incrementAndGet();
+			} catch (IOException e) {
+				addWriteException(new IOException("Failed to write " + (blobType == BlobType.TEXTURE_IMAGE ? "texture image" : "library object") +
+						(work.entry.file != null ? " '" + work.entry.file + "'" : "") + ".", e));
+			}
+		}
+
+		@Override
+		public void shutdown() {
+			// nothing to do
+		}
 	}
 }
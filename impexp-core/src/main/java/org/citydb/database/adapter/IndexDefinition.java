@@ -0,0 +1,77 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * http://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2019
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.gis.bgu.tum.de/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * virtualcitySYSTEMS GmbH, Berlin <http://www.virtualcitysystems.de/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.database.adapter;
+
+import org.citydb.database.adapter.IndexStatusInfo.IndexType;
+
+public class IndexDefinition {
+    private final long id;
+    private final String name;
+    private final String schema;
+    private final String table;
+    private final String column;
+    private final IndexType type;
+
+    public IndexDefinition(long id, String name, String schema, String table, String column, IndexType type) {
+        this.id = id;
+        this.name = name;
+        this.schema = schema;
+        this.table = table;
+        this.column = column;
+        this.type = type;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getSchema() {
+        return schema;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public IndexType getType() {
+        return type;
+    }
+
+    @Override
+    public String toString() {
+        return name + " on " + schema + "." + table + "(" + column + ")";
+    }
+}
@@ -182,6 +182,11 @@ public class IndexStatusInfo {
 		public String getErrorMessage() {
 			return errorMessage;
 		}
+
+		void setError(String errorMessage) {
+			this.status = IndexStatus.ERROR;
+			this.errorMessage = errorMessage;
+		}
 		
 		public boolean hasErrorMessage() {
 			return errorMessage != null && errorMessage.length() > 0;
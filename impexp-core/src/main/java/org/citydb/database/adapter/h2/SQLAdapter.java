@@ -138,6 +138,11 @@ public class SQLAdapter extends AbstractSQLAdapter {
 		// not required for cache tables
 		return 0;
 	}
+
+	@Override
+	public int getMaximumIdentifierLength() {
+		return 256;
+	}
 	
 	@Override
 	public boolean spatialPredicateRequiresNoIndexHint() {
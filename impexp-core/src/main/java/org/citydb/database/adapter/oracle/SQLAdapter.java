@@ -165,6 +165,12 @@ public class SQLAdapter extends AbstractSQLAdapter {
         return 1000;
     }
 
+    @Override
+    public int getMaximumIdentifierLength() {
+        // Oracle versions prior to 12.2 only support 30 bytes
+        return 30;
+    }
+
     @Override
     public boolean spatialPredicateRequiresNoIndexHint() {
         return databaseAdapter.getConnectionMetaData().getDatabaseMajorVersion() == 11;
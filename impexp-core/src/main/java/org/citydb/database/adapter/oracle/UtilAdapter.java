@@ -36,6 +36,7 @@ import org.citydb.config.project.database.DatabaseSrs;
 import org.citydb.config.project.database.DatabaseSrsType;
 import org.citydb.database.adapter.AbstractDatabaseAdapter;
 import org.citydb.database.adapter.AbstractUtilAdapter;
+import org.citydb.database.adapter.IndexDefinition;
 import org.citydb.database.adapter.IndexStatusInfo;
 import org.citydb.database.adapter.IndexStatusInfo.IndexType;
 import org.citydb.database.connection.DatabaseMetaData;
@@ -44,12 +45,15 @@ import org.citydb.database.version.DatabaseVersion;
 import org.citydb.util.Util;
 
 import java.sql.Array;
+import java.sql.CallableStatement;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Struct;
+import java.sql.Types;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -321,6 +325,49 @@ public class UtilAdapter extends AbstractUtilAdapter {
         return false;
     }
 
+    @Override
+    protected List<IndexDefinition> getIndexDefinitions(IndexType type, String schema, Connection connection) throws SQLException {
+        List<IndexDefinition> indexes = new ArrayList<>();
+        try (PreparedStatement pStmt = connection.prepareStatement("select t.id, t.obj.index_name, t.obj.table_name, t.obj.attribute_name " +
+                "from " + schema + ".index_table t where t.obj.type = ? order by t.id")) {
+            pStmt.setInt(1, type == IndexType.SPATIAL ? 1 : 0);
+
+            try (ResultSet rs = pStmt.executeQuery()) {
+                while (rs.next())
+                    indexes.add(new IndexDefinition(rs.getLong(1), rs.getString(2), schema, rs.getString(3), rs.getString(4), type));
+            }
+        }
+
+        return indexes;
+    }
+
+    @Override
+    protected String createIndex(IndexDefinition index, Connection connection) throws SQLException {
+        // PL/SQL booleans cannot be bound through JDBC, so the versioning flag is evaluated inside the block
+        try (CallableStatement cStmt = registerInterruptableStatement(connection.prepareCall("declare idx " + index.getSchema() + ".index_obj; " +
+                "begin select obj into idx from " + index.getSchema() + ".index_table where id = ?; " +
+                "? := " + databaseAdapter.getSQLAdapter().resolveDatabaseOperationName("citydb_idx.create_index") +
+                "(idx, citydb_util.versioning_table(idx.table_name, ?) = 'ON', ?); end;"))) {
+            try {
+                cStmt.setLong(1, index.getId());
+                cStmt.registerOutParameter(2, Types.VARCHAR);
+                cStmt.setString(3, index.getSchema());
+                cStmt.setString(4, index.getSchema());
+                cStmt.execute();
+
+                String result = cStmt.getString(2);
+                return "0".equals(result) ? null : "ORA" + result;
+            } finally {
+                unregisterInterruptableStatement(cStmt);
+            }
+        }
+    }
+
+    @Override
+    protected boolean updateTableStats(String schema, String table, List<String> columns, Connection connection) throws SQLException {
+        return false;
+    }
+
     @Override
     protected BoundingBox transformBoundingBox(BoundingBox bbox, DatabaseSrs sourceSrs, DatabaseSrs targetSrs, Connection connection) throws SQLException {
         BoundingBox result = new BoundingBox(bbox);
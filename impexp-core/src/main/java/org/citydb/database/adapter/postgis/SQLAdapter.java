@@ -167,6 +167,11 @@ public class SQLAdapter extends AbstractSQLAdapter {
         return 1000;
     }
 
+    @Override
+    public int getMaximumIdentifierLength() {
+        return 63;
+    }
+
     @Override
     public boolean spatialPredicateRequiresNoIndexHint() {
         return false;
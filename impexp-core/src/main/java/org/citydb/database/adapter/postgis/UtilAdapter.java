@@ -34,6 +34,7 @@ import org.citydb.config.project.database.DatabaseSrs;
 import org.citydb.config.project.database.DatabaseSrsType;
 import org.citydb.database.adapter.AbstractDatabaseAdapter;
 import org.citydb.database.adapter.AbstractUtilAdapter;
+import org.citydb.database.adapter.IndexDefinition;
 import org.citydb.database.adapter.IndexStatusInfo;
 import org.citydb.database.adapter.IndexStatusInfo.IndexType;
 import org.citydb.database.connection.DatabaseMetaData;
@@ -51,6 +52,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Types;
+import java.util.ArrayList;
 import java.util.List;
 
 public class UtilAdapter extends AbstractUtilAdapter {
@@ -336,6 +338,51 @@ public class UtilAdapter extends AbstractUtilAdapter {
         return false;
     }
 
+    @Override
+    protected List<IndexDefinition> getIndexDefinitions(IndexType type, String schema, Connection connection) throws SQLException {
+        List<IndexDefinition> indexes = new ArrayList<>();
+        try (PreparedStatement pStmt = connection.prepareStatement("SELECT id, (obj).index_name, (obj).table_name, (obj).attribute_name " +
+                "FROM " + schema + ".index_table WHERE (obj).type = ? ORDER BY id")) {
+            pStmt.setInt(1, type == IndexType.SPATIAL ? 1 : 0);
+
+            try (ResultSet rs = pStmt.executeQuery()) {
+                while (rs.next())
+                    indexes.add(new IndexDefinition(rs.getLong(1), rs.getString(2), schema, rs.getString(3), rs.getString(4), type));
+            }
+        }
+
+        return indexes;
+    }
+
+    @Override
+    protected String createIndex(IndexDefinition index, Connection connection) throws SQLException {
+        try (PreparedStatement pStmt = registerInterruptableStatement(connection.prepareStatement("SELECT " +
+                databaseAdapter.getSQLAdapter().resolveDatabaseOperationName("citydb_idx.create_index") + "(obj, ?) " +
+                "FROM " + index.getSchema() + ".index_table WHERE id = ?"))) {
+            pStmt.setString(1, index.getSchema());
+            pStmt.setLong(2, index.getId());
+
+            try (ResultSet rs = pStmt.executeQuery()) {
+                String result = rs.next() ? rs.getString(1) : null;
+                return "0".equals(result) ? null : "SQL state " + result;
+            } finally {
+                unregisterInterruptableStatement(pStmt);
+            }
+        }
+    }
+
+    @Override
+    protected boolean updateTableStats(String schema, String table, List<String> columns, Connection connection) throws SQLException {
+        try (Statement stmt = registerInterruptableStatement(connection.createStatement())) {
+            try {
+                stmt.executeUpdate("VACUUM ANALYZE " + schema + "." + table + " (" + String.join(", ", columns) + ")");
+                return true;
+            } finally {
+                unregisterInterruptableStatement(stmt);
+            }
+        }
+    }
+
     @Override
     protected BoundingBox transformBoundingBox(BoundingBox bbox, DatabaseSrs sourceSrs, DatabaseSrs targetSrs, Connection connection) throws SQLException {
         BoundingBox result = new BoundingBox(bbox);
@@ -203,6 +203,10 @@ public class DatabaseConnectionPool implements ConnectionManager {
 		return connection;
 	}
 
+	public synchronized int getMaxActive() {
+		return isConnected() ? dataSource.getMaxActive() : 0;
+	}
+
 	public synchronized boolean isConnected() {
 		return dataSource != null && dataSource.getPool() != null && !dataSource.getPool().isClosed();
 	}
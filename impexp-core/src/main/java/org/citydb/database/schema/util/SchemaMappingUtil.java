@@ -49,6 +49,8 @@ import javax.xml.bind.ValidationEventHandler;
 import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
 import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -60,6 +62,10 @@ import java.io.StringReader;
 import java.io.UnsupportedEncodingException;
 import java.io.Writer;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 
 public class SchemaMappingUtil {
 	private static SchemaMappingUtil instance;
@@ -77,6 +83,10 @@ public class SchemaMappingUtil {
 	}	
 
 	private SchemaMapping unmarshal(SchemaMapping schemaMapping, Object input) throws SchemaMappingException, SchemaMappingValidationException, JAXBException {
+		return unmarshal(schemaMapping, input, true);
+	}
+
+	private SchemaMapping unmarshal(SchemaMapping schemaMapping, Object input, boolean validate) throws SchemaMappingException, SchemaMappingValidationException, JAXBException {
 		Unmarshaller um = context.createUnmarshaller();
 		um.setAdapter(new AppSchemaAdapter(schemaMapping));
 		um.setAdapter(new ComplexAttributeTypeAdapter(schemaMapping));
@@ -87,7 +97,9 @@ public class SchemaMappingUtil {
 
 		// validate schema mapping
 		ValidationEvent[] events = new ValidationEvent[1];
-		um.setSchema(readSchema());
+		if (validate)
+			um.setSchema(readSchema());
+
 		um.setEventHandler(new ValidationEventHandler() {
 			public boolean handleEvent(ValidationEvent event) {
 				events[0] = event;
@@ -164,6 +176,52 @@ public class SchemaMappingUtil {
 		return unmarshal(null, xml);
 	}
 
+	/**
+	 * Unmarshals the schema mapping from the given resource. XSD validation is skipped if
+	 * a resource with the same SHA-256 hash has already been validated successfully. Validated
+	 * hashes are recorded as marker files in the given cache directory.
+	 */
+	public SchemaMapping unmarshal(URL resource, Path cacheDir) throws SchemaMappingException, SchemaMappingValidationException, JAXBException {
+		byte[] content;
+		try (InputStream inputStream = resource.openStream()) {
+			ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+			byte[] chunk = new byte[8192];
+			int n;
+			while ((n = inputStream.read(chunk)) != -1)
+				buffer.write(chunk, 0, n);
+
+			content = buffer.toByteArray();
+		} catch (IOException e) {
+			throw new JAXBException("Failed to open schema mapping resource at URL '" + resource.toString() + "'.");
+		}
+
+		Path marker = null;
+		try {
+			StringBuilder hash = new StringBuilder("schema-mapping-");
+			for (byte b : MessageDigest.getInstance("SHA-256").digest(content))
+				hash.append(String.format("%02x", b));
+
+			marker = cacheDir.resolve(hash.append(".valid").toString());
+		} catch (NoSuchAlgorithmException e) {
+			//
+		}
+
+		boolean validate = marker == null || !Files.exists(marker);
+		SchemaMapping schemaMapping = unmarshal(null, new ByteArrayInputStream(content), validate);
+
+		if (validate && marker != null) {
+			try {
+				Files.createDirectories(cacheDir);
+				Files.deleteIfExists(marker);
+				Files.createFile(marker);
+			} catch (IOException e) {
+				//
+			}
+		}
+
+		return schemaMapping;
+	}
+
 	public void marshal(SchemaMapping schemaMapping, Writer writer, boolean prettyPrint) throws SchemaMappingException, SchemaMappingValidationException, JAXBException {
 		Marshaller m = context.createMarshaller();
 		m.setListener(new MarshalListener());
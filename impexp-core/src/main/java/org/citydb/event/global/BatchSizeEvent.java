@@ -0,0 +1,78 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * http://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2019
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.gis.bgu.tum.de/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * virtualcitySYSTEMS GmbH, Berlin <http://www.virtualcitysystems.de/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.event.global;
+
+import org.citydb.event.Event;
+
+public class BatchSizeEvent extends Event {
+	private final long batches;
+	private final long features;
+	private final long objects;
+	private final long latency;
+	private final int minBatchSize;
+	private final int maxBatchSize;
+
+	public BatchSizeEvent(long batches, long features, long objects, long latency, int minBatchSize, int maxBatchSize, Object channel, Object source) {
+		super(EventType.BATCH_SIZE, channel, source);
+		this.batches = batches;
+		this.features = features;
+		this.objects = objects;
+		this.latency = latency;
+		this.minBatchSize = minBatchSize;
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	public BatchSizeEvent(long batches, long features, long objects, long latency, int minBatchSize, int maxBatchSize, Object source) {
+		this(batches, features, objects, latency, minBatchSize, maxBatchSize, GLOBAL_CHANNEL, source);
+	}
+
+	public long getBatches() {
+		return batches;
+	}
+
+	public long getFeatures() {
+		return features;
+	}
+
+	public long getObjects() {
+		return objects;
+	}
+
+	public long getLatency() {
+		return latency;
+	}
+
+	public int getMinBatchSize() {
+		return minBatchSize;
+	}
+
+	public int getMaxBatchSize() {
+		return maxBatchSize;
+	}
+
+}
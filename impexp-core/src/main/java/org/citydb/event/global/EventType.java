@@ -36,6 +36,7 @@ public enum EventType {
 	PROJECT_CHANGED,
 	OBJECT_COUNTER,
 	GEOMETRY_COUNTER,
+	BATCH_SIZE,
 	COUNTER,
 	INTERRUPT,
 	STATUS_DIALOG_PROGRESS_BAR,
@@ -80,6 +80,7 @@ public class TilingFilterBuilder {
 
 			Tiling tiling = new Tiling(tilingConfig.getExtent(), tilingConfig.getRows(), tilingConfig.getColumns());
 			tiling.setTilingOptions(tilingConfig.getTilingOptions());
+			tiling.setSingleQuery(tilingConfig.isSingleQuery());
 
 			return tiling;
 		} catch (FilterException e) {
@@ -27,6 +27,7 @@
  */
 package org.citydb.query.builder.sql;
 
+import org.citydb.citygml.common.database.cache.CacheTableManager;
 import org.citydb.sqlbuilder.schema.AliasGenerator;
 import org.citydb.sqlbuilder.schema.DefaultAliasGenerator;
 
@@ -39,6 +40,7 @@ public class BuildProperties {
 	private List<String> projectionColumns;
 	private boolean suppressDistinct;
 	private boolean optimizeJoins = true;
+	private IdCacheTables idCacheTables;
 
 	private BuildProperties() {
 		aliasGenerator = new DefaultAliasGenerator();
@@ -96,4 +98,21 @@ public class BuildProperties {
 		this.optimizeJoins = optimizeJoins;
 		return this;
 	}
+
+	public IdCacheTables getIdCacheTables() {
+		return idCacheTables;
+	}
+
+	public boolean isUseCacheTablesForIds() {
+		return idCacheTables != null;
+	}
+
+	public BuildProperties useCacheTablesForIds(CacheTableManager cacheTableManager) {
+		return useCacheTablesForIds(new IdCacheTables(cacheTableManager));
+	}
+
+	public BuildProperties useCacheTablesForIds(IdCacheTables idCacheTables) {
+		this.idCacheTables = idCacheTables;
+		return this;
+	}
 }
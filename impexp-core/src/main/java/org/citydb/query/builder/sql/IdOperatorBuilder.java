@@ -28,6 +28,9 @@
 package org.citydb.query.builder.sql;
 
 import org.citydb.ade.model.module.CityDBADE200Module;
+import org.citydb.citygml.common.database.cache.CacheTable;
+import org.citydb.citygml.common.database.cache.CacheTableManager;
+import org.citydb.citygml.common.database.cache.model.CacheTableModel;
 import org.citydb.database.adapter.AbstractSQLAdapter;
 import org.citydb.database.schema.mapping.FeatureType;
 import org.citydb.database.schema.mapping.MappingConstants;
@@ -41,28 +44,38 @@ import org.citydb.query.filter.selection.operator.id.DatabaseIdOperator;
 import org.citydb.query.filter.selection.operator.id.ResourceIdOperator;
 import org.citydb.sqlbuilder.expression.LiteralList;
 import org.citydb.sqlbuilder.expression.PlaceHolder;
+import org.citydb.sqlbuilder.schema.Table;
 import org.citydb.sqlbuilder.select.PredicateToken;
+import org.citydb.sqlbuilder.select.Select;
 import org.citydb.sqlbuilder.select.operator.comparison.ComparisonFactory;
 import org.citydb.sqlbuilder.select.operator.logical.BinaryLogicalOperator;
+import org.citydb.sqlbuilder.select.operator.logical.LogicalOperationFactory;
 import org.citydb.sqlbuilder.select.operator.logical.LogicalOperationName;
 import org.citygml4j.model.module.gml.GMLCoreModule;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 
 public class IdOperatorBuilder {
+	private static final int BATCH_SIZE = 1000;
+
 	private final Query query;
 	private final SchemaPathBuilder schemaPathBuilder;
 	private final SchemaMapping schemaMapping;
 	private final AbstractSQLAdapter sqlAdapter;
+	private final BuildProperties buildProperties;
 
-	protected IdOperatorBuilder(Query query, SchemaPathBuilder schemaPathBuilder, SchemaMapping schemaMapping, AbstractSQLAdapter sqlAdapter) {
+	protected IdOperatorBuilder(Query query, SchemaPathBuilder schemaPathBuilder, SchemaMapping schemaMapping, AbstractSQLAdapter sqlAdapter, BuildProperties buildProperties) {
 		this.query = query;
 		this.schemaPathBuilder = schemaPathBuilder;
 		this.schemaMapping = schemaMapping;
 		this.sqlAdapter = sqlAdapter;
+		this.buildProperties = buildProperties;
 	}
 
 	protected void buildIdOperator(AbstractIdOperator operator, SQLQueryContext queryContext, boolean negate, boolean useLeftJoins) throws QueryBuildException {
@@ -77,15 +90,15 @@ public class IdOperatorBuilder {
 	}
 
 	private void buildResourceIdOperator(ResourceIdOperator operator, SQLQueryContext queryContext, boolean negate, boolean useLeftJoins) throws QueryBuildException {
-		buildIdOperator(operator.getResourceIds(), GMLCoreModule.v3_1_1.getNamespaceURI(), queryContext, negate, useLeftJoins);
+		buildIdOperator(operator.getResourceIds(), GMLCoreModule.v3_1_1.getNamespaceURI(), CacheTableModel.RESOURCE_ID, "GMLID", queryContext, negate, useLeftJoins);
 	}
 
 	private void buildDatabaseIdOperator(DatabaseIdOperator operator, SQLQueryContext queryContext, boolean negate, boolean useLeftJoins) throws QueryBuildException {
-		buildIdOperator(operator.getDatabaseIds(), CityDBADE200Module.v3_0.getNamespaceURI(), queryContext, negate, useLeftJoins);
+		buildIdOperator(operator.getDatabaseIds(), CityDBADE200Module.v3_0.getNamespaceURI(), CacheTableModel.DATABASE_ID, "ID", queryContext, negate, useLeftJoins);
 	}
 
 	@SuppressWarnings("unchecked")
-	private <T> void buildIdOperator(Collection<T> ids, String namespaceURI, SQLQueryContext queryContext, boolean negate, boolean useLeftJoins) throws QueryBuildException {
+	private <T> void buildIdOperator(Collection<T> ids, String namespaceURI, CacheTableModel model, String columnName, SQLQueryContext queryContext, boolean negate, boolean useLeftJoins) throws QueryBuildException {
 		SchemaPath schemaPath;
 		try {
 			FeatureType superType = schemaMapping.getCommonSuperType(query.getFeatureTypeFilter().getFeatureTypes());
@@ -97,14 +110,27 @@ public class IdOperatorBuilder {
 		// build the value reference
 		schemaPathBuilder.addSchemaPath(schemaPath, queryContext, useLeftJoins);
 
+		int maxItems = sqlAdapter.getMaximumNumberOfItemsForInOperator();
+		CacheTable cacheTable = null;
+		if (ids.size() > maxItems && buildProperties.isUseCacheTablesForIds())
+			cacheTable = getIdCacheTable(ids, model, columnName);
+
 		// build predicates
 		if (ids.size() == 1) {
 			queryContext.addPredicate(ComparisonFactory.equalTo(queryContext.getTargetColumn(), new PlaceHolder<>(ids.iterator().next())));
+		} else if (cacheTable != null) {
+			// join the identifiers loaded into the cache table instead of binding them as placeholders
+			Table table = new Table(cacheTable.getTableName());
+			Select select = new Select().addProjection(table.getColumn(columnName));
+			PredicateToken predicate = ComparisonFactory.in(queryContext.getTargetColumn(), select);
+			if (negate)
+				predicate = LogicalOperationFactory.NOT(predicate);
+
+			queryContext.addPredicate(predicate);
 		} else {
 			List<PredicateToken> predicates = new ArrayList<>();
 			List<PlaceHolder<T>> placeHolders = new ArrayList<>();
 			Iterator<T> iter = ids.iterator();
-			int maxItems = sqlAdapter.getMaximumNumberOfItemsForInOperator();
 			int i = 0;
 
 			while (iter.hasNext()) {
@@ -125,4 +151,52 @@ public class IdOperatorBuilder {
 			}
 		}
 	}
+
+	private CacheTable getIdCacheTable(Collection<?> ids, CacheTableModel model, String columnName) throws QueryBuildException {
+		// reuse the cache table if the same identifiers have already been loaded,
+		// for instance, when building the count query for the same filter or
+		// when querying the next tile of a tiled export
+		IdCacheTables idCacheTables = buildProperties.getIdCacheTables();
+		CacheTable cacheTable = idCacheTables.get(ids);
+		if (cacheTable != null)
+			return cacheTable;
+
+		// there is only one cache table per model, so further identifier
+		// lists of the same kind fall back to IN lists
+		CacheTableManager cacheTableManager = idCacheTables.getCacheTableManager();
+		if (cacheTableManager.existsCacheTable(model))
+			return null;
+
+		try {
+			cacheTable = cacheTableManager.createCacheTableInDatabase(model);
+			Connection connection = cacheTable.getConnection();
+
+			try (PreparedStatement ps = connection.prepareStatement("insert into " + cacheTable.getTableName() + " (" + columnName + ") values (?)")) {
+				int batchCounter = 0;
+				for (Object id : ids) {
+					if (id instanceof Long)
+						ps.setLong(1, (Long) id);
+					else
+						ps.setString(1, id.toString());
+
+					ps.addBatch();
+					if (++batchCounter == BATCH_SIZE) {
+						ps.executeBatch();
+						batchCounter = 0;
+					}
+				}
+
+				if (batchCounter > 0)
+					ps.executeBatch();
+			}
+
+			cacheTable.createIndexes();
+			connection.commit();
+		} catch (SQLException e) {
+			throw new QueryBuildException("Failed to load identifiers into a temporary table.", e);
+		}
+
+		idCacheTables.put(ids, cacheTable);
+		return cacheTable;
+	}
 }
@@ -108,7 +108,7 @@ public class SQLQueryBuilder {
 		// selection filter
 		if (query.isSetSelection()) {
 			Predicate predicate = query.getSelection().getPredicate();
-			PredicateBuilder predicateBuilder = new PredicateBuilder(query, builder, schemaMapping, databaseAdapter, schemaName);
+			PredicateBuilder predicateBuilder = new PredicateBuilder(query, builder, schemaMapping, databaseAdapter, schemaName, buildProperties);
 			predicateBuilder.buildPredicate(predicate, queryContext);
 		}
 
@@ -32,6 +32,9 @@ import org.citydb.database.schema.path.InvalidSchemaPathException;
 import org.citydb.database.schema.path.SchemaPath;
 import org.citydb.query.filter.FilterException;
 import org.citydb.query.filter.selection.expression.ValueReference;
+import org.citydb.query.filter.selection.operator.id.AbstractIdOperator;
+import org.citydb.query.filter.selection.operator.id.DatabaseIdOperator;
+import org.citydb.query.filter.selection.operator.id.ResourceIdOperator;
 import org.citydb.query.filter.selection.operator.logical.AbstractLogicalOperator;
 import org.citydb.query.filter.selection.operator.logical.BinaryLogicalOperator;
 import org.citydb.query.filter.selection.operator.logical.LogicalOperatorName;
@@ -88,6 +91,37 @@ public class SelectionFilter {
 		return false;
 	}
 
+	public int getMaximumNumberOfIds() {
+		return predicate != null ? getMaximumNumberOfIds(predicate) : 0;
+	}
+
+	private int getMaximumNumberOfIds(Predicate predicate) {
+		int numberOfIds = 0;
+
+		if (predicate.getPredicateName() == PredicateName.ID_OPERATOR) {
+			AbstractIdOperator idOperator = (AbstractIdOperator)predicate;
+			switch (idOperator.getOperatorName()) {
+				case RESOURCE_ID:
+					numberOfIds = ((ResourceIdOperator)idOperator).numberOfResourceIds();
+					break;
+				case DATABASE_ID:
+					numberOfIds = ((DatabaseIdOperator)idOperator).numberOfDatabaseIds();
+					break;
+			}
+		} else if (predicate.getPredicateName() == PredicateName.LOGICAL_OPERATOR) {
+			if (((AbstractLogicalOperator)predicate).getOperatorName() == LogicalOperatorName.NOT)
+				numberOfIds = getMaximumNumberOfIds(((NotOperator)predicate).getOperand());
+			else {
+				BinaryLogicalOperator binaryLogicalOperator = (BinaryLogicalOperator)predicate;
+
+				for (Predicate operand : binaryLogicalOperator.getOperands())
+					numberOfIds = Math.max(numberOfIds, getMaximumNumberOfIds(operand));
+			}
+		}
+
+		return numberOfIds;
+	}
+
 	public Predicate getGenericSpatialFilter(FeatureType featureType) throws FilterException {
 		ValueReference valueReference = null;
 		try {
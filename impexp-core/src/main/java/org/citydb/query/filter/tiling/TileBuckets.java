@@ -0,0 +1,440 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * http://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2019
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.gis.bgu.tum.de/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * virtualcitySYSTEMS GmbH, Berlin <http://www.virtualcitysystems.de/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.query.filter.tiling;
+
+import org.citydb.config.geometry.GeometryObject;
+import org.citydb.config.project.database.DatabaseSrs;
+import org.citydb.database.adapter.AbstractDatabaseAdapter;
+import org.citydb.database.schema.mapping.MappingConstants;
+import org.citydb.database.schema.mapping.SchemaMapping;
+import org.citydb.query.Query;
+import org.citydb.query.builder.QueryBuildException;
+import org.citydb.query.builder.sql.BuildProperties;
+import org.citydb.query.builder.sql.IdCacheTables;
+import org.citydb.query.builder.sql.SQLQueryBuilder;
+import org.citydb.query.filter.FilterException;
+import org.citydb.query.filter.selection.Predicate;
+import org.citydb.query.filter.selection.SelectionFilter;
+import org.citydb.query.filter.selection.operator.logical.LogicalOperationFactory;
+import org.citydb.sqlbuilder.select.Select;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Assigns the features matching a query to the tiles of a {@link Tiling} using a single
+ * database query over the whole tiling extent. The tile of a feature is computed locally
+ * from the center of its envelope, using the same bounds as {@link Tile#isOnTile}. Center
+ * points are transformed into the reference system of the tiling extent in batches if
+ * required. The assignments are buffered per tile and spilled to a temporary file once
+ * the buffered data exceeds the memory limit.
+ * <p>
+ * Instances are not thread-safe.
+ */
+public class TileBuckets implements AutoCloseable {
+	private static final int TRANSFORM_BATCH_SIZE = 1000;
+	private static final String DIRECT_EXPORT = "direct_export";
+
+	private final Tiling tiling;
+	private final AbstractDatabaseAdapter databaseAdapter;
+	private final long memoryLimit;
+	private final Path tempDir;
+	private final DatabaseSrs extentSrs;
+	private final int dbSrid;
+	private final Buffer[] buffers;
+	private final List<long[]>[] segments;
+	private final int[] sizes;
+	private final List<Entry> pending = new ArrayList<>(TRANSFORM_BATCH_SIZE);
+
+	private volatile boolean shouldRun = true;
+	private FileChannel spillFile;
+	private long spillSize;
+	private long buffered;
+	private long entries;
+	private long discarded;
+
+	@SuppressWarnings("unchecked")
+	public TileBuckets(Tiling tiling, AbstractDatabaseAdapter databaseAdapter, long memoryLimit, Path tempDir) {
+		this.tiling = tiling;
+		this.databaseAdapter = databaseAdapter;
+		this.memoryLimit = memoryLimit;
+		this.tempDir = tempDir;
+
+		extentSrs = tiling.getExtent().isSetSrs() ?
+				tiling.getExtent().getSrs() :
+				databaseAdapter.getConnectionMetaData().getReferenceSystem();
+		dbSrid = databaseAdapter.getConnectionMetaData().getReferenceSystem().getSrid();
+
+		int tiles = tiling.getRows() * tiling.getColumns();
+		buffers = new Buffer[tiles];
+		segments = new List[tiles];
+		sizes = new int[tiles];
+	}
+
+	public long fill(Query query, SchemaMapping schemaMapping, Connection connection) throws SQLException, QueryBuildException, FilterException, IOException {
+		return fill(query, schemaMapping, connection, null, null);
+	}
+
+	public long fill(Query query, SchemaMapping schemaMapping, Connection connection, String directExportCondition, IdCacheTables idCacheTables) throws SQLException, QueryBuildException, FilterException, IOException {
+		Query bucketQuery = new Query(query);
+		bucketQuery.unsetTiling();
+
+		// restrict the query to the whole tiling extent
+		Predicate extentFilter = new Tile(tiling.getExtent(), 0, 0).getFilterPredicate(databaseAdapter);
+		bucketQuery.setSelection(new SelectionFilter(query.isSetSelection() ?
+				LogicalOperationFactory.AND(query.getSelection().getPredicate(), extentFilter) :
+				extentFilter));
+
+		BuildProperties buildProperties = BuildProperties.defaults()
+				.addProjectionColumn(MappingConstants.GMLID)
+				.addProjectionColumn(MappingConstants.ENVELOPE)
+				.useCacheTablesForIds(idCacheTables);
+
+		Select select = new SQLQueryBuilder(schemaMapping, databaseAdapter, buildProperties).buildQuery(bucketQuery);
+
+		try (PreparedStatement stmt = prepareStatement(select, directExportCondition, connection);
+			 ResultSet rs = stmt.executeQuery()) {
+			while (shouldRun && rs.next()) {
+				Object envelopeObj = rs.getObject(MappingConstants.ENVELOPE);
+				if (rs.wasNull() || envelopeObj == null) {
+					discarded++;
+					continue;
+				}
+
+				add(rs.getLong(MappingConstants.ID),
+						rs.getInt(MappingConstants.OBJECTCLASS_ID),
+						rs.getString(MappingConstants.GMLID),
+						databaseAdapter.getGeometryConverter().getEnvelope(envelopeObj),
+						directExportCondition != null && rs.getInt(DIRECT_EXPORT) == 1);
+			}
+		}
+
+		flush();
+		return entries;
+	}
+
+	public void add(long id, int objectClassId, String gmlId, GeometryObject envelope, boolean directExport) throws FilterException, IOException {
+		// envelopes are expected in the reference system of the database
+		Entry entry = new Entry(id, objectClassId, gmlId, envelope.getCoordinates(0), envelope.getDimension(), dbSrid, directExport);
+		if (dbSrid == extentSrs.getSrid()) {
+			assign(entry, entry.getCenterX(), entry.getCenterY());
+		} else {
+			pending.add(entry);
+			if (pending.size() == TRANSFORM_BATCH_SIZE) {
+				transformPending();
+			}
+		}
+	}
+
+	public void flush() throws FilterException, IOException {
+		if (!pending.isEmpty()) {
+			transformPending();
+		}
+	}
+
+	public int size(Tile tile) {
+		return sizes[tiling.getTileIndex(tile)];
+	}
+
+	public long getNumberOfEntries() {
+		return entries;
+	}
+
+	public long getNumberOfDiscardedEntries() {
+		return discarded;
+	}
+
+	public List<Entry> get(Tile tile) throws IOException {
+		int index = tiling.getTileIndex(tile);
+		if (sizes[index] == 0) {
+			return Collections.emptyList();
+		}
+
+		List<Entry> result = new ArrayList<>(sizes[index]);
+		if (segments[index] != null) {
+			for (long[] segment : segments[index]) {
+				ByteBuffer bytes = ByteBuffer.allocate((int) segment[1]);
+				while (bytes.hasRemaining()) {
+					if (spillFile.read(bytes, segment[0] + bytes.position()) < 0) {
+						throw new IOException("Unexpected end of tile bucket file.");
+					}
+				}
+
+				read(bytes.array(), bytes.limit(), result);
+			}
+		}
+
+		Buffer buffer = buffers[index];
+		if (buffer != null) {
+			read(buffer.bytes(), buffer.size(), result);
+		}
+
+		return result;
+	}
+
+	public void remove(Tile tile) {
+		int index = tiling.getTileIndex(tile);
+		if (buffers[index] != null) {
+			buffered -= buffers[index].size();
+			buffers[index] = null;
+		}
+
+		segments[index] = null;
+		sizes[index] = 0;
+	}
+
+	public void shutdown() {
+		shouldRun = false;
+	}
+
+	@Override
+	public void close() throws IOException {
+		pending.clear();
+		for (int i = 0; i < buffers.length; i++) {
+			buffers[i] = null;
+			segments[i] = null;
+			sizes[i] = 0;
+		}
+
+		if (spillFile != null) {
+			spillFile.close();
+			spillFile = null;
+		}
+	}
+
+	private PreparedStatement prepareStatement(Select select, String directExportCondition, Connection connection) throws SQLException {
+		if (directExportCondition == null)
+			return databaseAdapter.getSQLAdapter().prepareStatement(select, connection);
+
+		// evaluate whether the features can be written directly as part of the query
+		PreparedStatement stmt = connection.prepareStatement("select q.*, " + directExportCondition + " as " + DIRECT_EXPORT +
+				" from (" + select + ") q");
+		databaseAdapter.getSQLAdapter().fillPlaceHolders(select, stmt, connection);
+		return stmt;
+	}
+
+	private void transformPending() throws FilterException, IOException {
+		double[][] points = new double[pending.size()][];
+		for (int i = 0; i < points.length; i++) {
+			Entry entry = pending.get(i);
+			points[i] = new double[]{entry.getCenterX(), entry.getCenterY()};
+		}
+
+		// transform all center points in one database round trip
+		GeometryObject transformed;
+		try {
+			transformed = databaseAdapter.getUtil().transform(
+					GeometryObject.createMultiPoint(points, 2, dbSrid), extentSrs);
+		} catch (SQLException e) {
+			throw new FilterException("Failed to convert envelope centers to tile SRS.", e);
+		}
+
+		if (transformed == null || transformed.getNumElements() != points.length) {
+			throw new FilterException("Failed to convert envelope centers to tile SRS.");
+		}
+
+		for (int i = 0; i < points.length; i++) {
+			double[] coordinates = transformed.getCoordinates(i);
+			assign(pending.get(i), coordinates[0], coordinates[1]);
+		}
+
+		pending.clear();
+	}
+
+	private void assign(Entry entry, double x, double y) throws IOException {
+		int index = tiling.getTileIndex(x, y);
+		if (index == -1) {
+			discarded++;
+			return;
+		}
+
+		Buffer buffer = buffers[index];
+		if (buffer == null) {
+			buffer = buffers[index] = new Buffer();
+		}
+
+		int size = buffer.size();
+		entry.write(buffer.out);
+		buffered += buffer.size() - size;
+		sizes[index]++;
+		entries++;
+
+		if (buffered > memoryLimit) {
+			spill();
+		}
+	}
+
+	private void spill() throws IOException {
+		if (spillFile == null) {
+			Path file = Files.createTempFile(tempDir, "tiles", ".tmp");
+			spillFile = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+		}
+
+		for (int i = 0; i < buffers.length; i++) {
+			Buffer buffer = buffers[i];
+			if (buffer == null || buffer.size() == 0) {
+				continue;
+			}
+
+			ByteBuffer bytes = ByteBuffer.wrap(buffer.bytes(), 0, buffer.size());
+			long position = spillSize;
+			while (bytes.hasRemaining()) {
+				spillSize += spillFile.write(bytes, spillSize);
+			}
+
+			if (segments[i] == null) {
+				segments[i] = new ArrayList<>();
+			}
+
+			segments[i].add(new long[]{position, spillSize - position});
+			buffers[i] = null;
+		}
+
+		buffered = 0;
+	}
+
+	private void read(byte[] bytes, int length, List<Entry> result) throws IOException {
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 0, length));
+		while (in.available() > 0) {
+			result.add(Entry.read(in));
+		}
+	}
+
+	public static class Entry {
+		private final long id;
+		private final int objectClassId;
+		private final String gmlId;
+		private final double[] envelope;
+		private final int dimension;
+		private final int srid;
+		private final boolean directExport;
+
+		private Entry(long id, int objectClassId, String gmlId, double[] envelope, int dimension, int srid, boolean directExport) {
+			this.id = id;
+			this.objectClassId = objectClassId;
+			this.gmlId = gmlId;
+			this.envelope = envelope;
+			this.dimension = dimension;
+			this.srid = srid;
+			this.directExport = directExport;
+		}
+
+		public long getId() {
+			return id;
+		}
+
+		public int getObjectClassId() {
+			return objectClassId;
+		}
+
+		public String getGmlId() {
+			return gmlId;
+		}
+
+		public GeometryObject getEnvelope() {
+			return GeometryObject.createEnvelope(envelope, dimension, srid);
+		}
+
+		public boolean isDirectExport() {
+			return directExport;
+		}
+
+		private double getCenterX() {
+			return (envelope[0] + envelope[dimension]) / 2.0;
+		}
+
+		private double getCenterY() {
+			return (envelope[1] + envelope[dimension + 1]) / 2.0;
+		}
+
+		private void write(DataOutputStream out) throws IOException {
+			out.writeLong(id);
+			out.writeInt(objectClassId);
+			out.writeInt(srid);
+			out.writeByte(dimension);
+			out.writeBoolean(directExport);
+			for (int i = 0; i < dimension * 2; i++) {
+				out.writeDouble(envelope[i]);
+			}
+
+			if (gmlId != null) {
+				byte[] bytes = gmlId.getBytes(StandardCharsets.UTF_8);
+				out.writeInt(bytes.length);
+				out.write(bytes);
+			} else {
+				out.writeInt(-1);
+			}
+		}
+
+		private static Entry read(DataInputStream in) throws IOException {
+			long id = in.readLong();
+			int objectClassId = in.readInt();
+			int srid = in.readInt();
+			int dimension = in.readByte();
+			boolean directExport = in.readBoolean();
+			double[] envelope = new double[dimension * 2];
+			for (int i = 0; i < envelope.length; i++) {
+				envelope[i] = in.readDouble();
+			}
+
+			String gmlId = null;
+			int length = in.readInt();
+			if (length >= 0) {
+				byte[] bytes = new byte[length];
+				in.readFully(bytes);
+				gmlId = new String(bytes, StandardCharsets.UTF_8);
+			}
+
+			return new Entry(id, objectClassId, gmlId, envelope, dimension, srid, directExport);
+		}
+	}
+
+	private static final class Buffer extends ByteArrayOutputStream {
+		private final DataOutputStream out = new DataOutputStream(this);
+
+		private byte[] bytes() {
+			return buf;
+		}
+	}
+}
@@ -43,6 +43,7 @@ public class Tiling {
 	private BoundingBox extent;
 	private Tile activeTile;
 	private Object tilingOptions;
+	private boolean singleQuery;
 
 	public Tiling(BoundingBox extent, int rows, int columns) throws FilterException {
 		if (extent == null) {
@@ -88,6 +89,14 @@ public class Tiling {
 		this.tilingOptions = tilingOptions;
 	}
 
+	public boolean isSingleQuery() {
+		return singleQuery;
+	}
+
+	public void setSingleQuery(boolean singleQuery) {
+		this.singleQuery = singleQuery;
+	}
+
 	public void transformExtent(DatabaseSrs targetSrs, AbstractDatabaseAdapter databaseAdapter) throws FilterException {
 		if (!targetSrs.isSupported()) {
 			throw new FilterException("The reference system " + targetSrs.getDescription() + " is not supported.");
@@ -144,6 +153,21 @@ public class Tiling {
 		return new Tile(tileExtent, x, y);
 	}
 	
+	public int getTileIndex(Tile tile) {
+		return tile.getX() * getColumns() + tile.getY();
+	}
+
+	public int getTileIndex(double x, double y) {
+		// same bounds as Tile.isOnTile: lower bounds are exclusive, upper bounds are inclusive
+		int column = locate(columns, x);
+		int row = locate(rows, y);
+		if (column == -1 || row == -1 || column >= getRows() || row >= getColumns()) {
+			return -1;
+		}
+
+		return column * getColumns() + row;
+	}
+
 	public Tile getActiveTile() {
 		return activeTile;
 	}
@@ -152,6 +176,25 @@ public class Tiling {
 		this.activeTile = activeTile;
 	}
 
+	private int locate(double[] bounds, double value) {
+		if (!(value > bounds[0]) || value > bounds[bounds.length - 1]) {
+			return -1;
+		}
+
+		int low = 1;
+		int high = bounds.length - 1;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (bounds[mid] < value) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+
+		return low - 1;
+	}
+
 	private void calculateTilingScheme() {
 		double tileHeight = (extent.getUpperCorner().getY() - extent.getLowerCorner().getY()) / getRows();
 		rows[0] = extent.getLowerCorner().getY();
@@ -32,10 +32,12 @@ import org.citydb.config.Config;
 import org.citydb.database.DatabaseController;
 import org.citydb.database.schema.mapping.SchemaMapping;
 import org.citydb.event.EventDispatcher;
+import org.citydb.util.MarshallerPool;
 import org.citygml4j.CityGMLContext;
 import org.citygml4j.builder.jaxb.CityGMLBuilder;
 import org.citygml4j.model.citygml.ade.ADEException;
 
+import javax.xml.bind.JAXBContext;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class ObjectRegistry {
@@ -56,6 +58,7 @@ public class ObjectRegistry {
 	private DatabaseController databaseController;
 	private CityGMLBuilder cityGMLBuilder;
 	private SchemaMapping schemaMapping;
+	private final ConcurrentHashMap<JAXBContext, MarshallerPool> marshallerPools = new ConcurrentHashMap<>();
 
 	private ObjectRegistry() {
 		// just to thwart instantiation
@@ -153,4 +156,8 @@ public class ObjectRegistry {
 
 		this.schemaMapping = schemaMapping;
 	}
+
+	public MarshallerPool getMarshallerPool(JAXBContext context) {
+		return marshallerPools.computeIfAbsent(context, MarshallerPool::new);
+	}
 }
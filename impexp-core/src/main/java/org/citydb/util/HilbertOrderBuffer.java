@@ -0,0 +1,138 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * http://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2019
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.gis.bgu.tum.de/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * virtualcitySYSTEMS GmbH, Berlin <http://www.virtualcitysystems.de/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Buffers a window of items with a 2D position and passes them to a consumer
+ * in the order of a Hilbert space-filling curve. The curve is laid over the
+ * extent of the buffered items, so that spatially close items of a window are
+ * also close in the resulting sequence. Instances are not thread-safe.
+ */
+public class HilbertOrderBuffer<T> {
+	private static final int ORDER = 16;
+	private static final int CELLS = 1 << ORDER;
+
+	private final int windowSize;
+	private final Consumer<T> consumer;
+	private final List<Item<T>> items;
+
+	private double minX, minY, maxX, maxY;
+
+	public HilbertOrderBuffer(int windowSize, Consumer<T> consumer) {
+		this.windowSize = windowSize;
+		this.consumer = consumer;
+
+		items = new ArrayList<>(windowSize);
+		resetExtent();
+	}
+
+	public void add(T object, double x, double y) {
+		items.add(new Item<>(object, x, y));
+
+		minX = Math.min(minX, x);
+		minY = Math.min(minY, y);
+		maxX = Math.max(maxX, x);
+		maxY = Math.max(maxY, y);
+
+		if (items.size() >= windowSize)
+			flush();
+	}
+
+	public int size() {
+		return items.size();
+	}
+
+	public void flush() {
+		if (items.isEmpty())
+			return;
+
+		double scaleX = maxX > minX ? (CELLS - 1) / (maxX - minX) : 0;
+		double scaleY = maxY > minY ? (CELLS - 1) / (maxY - minY) : 0;
+
+		for (Item<T> item : items)
+			item.key = getIndex((int) ((item.x - minX) * scaleX), (int) ((item.y - minY) * scaleY));
+
+		items.sort(Comparator.comparingLong(item -> item.key));
+		for (Item<T> item : items)
+			consumer.accept(item.object);
+
+		items.clear();
+		resetExtent();
+	}
+
+	public void clear() {
+		items.clear();
+		resetExtent();
+	}
+
+	public static long getIndex(int x, int y) {
+		long index = 0;
+		for (int s = CELLS / 2; s > 0; s /= 2) {
+			int rx = (x & s) > 0 ? 1 : 0;
+			int ry = (y & s) > 0 ? 1 : 0;
+			index += (long) s * s * ((3 * rx) ^ ry);
+
+			// rotate quadrant
+			if (ry == 0) {
+				if (rx == 1) {
+					x = CELLS - 1 - x;
+					y = CELLS - 1 - y;
+				}
+
+				int tmp = x;
+				x = y;
+				y = tmp;
+			}
+		}
+
+		return index;
+	}
+
+	private void resetExtent() {
+		minX = minY = Double.MAX_VALUE;
+		maxX = maxY = -Double.MAX_VALUE;
+	}
+
+	private static final class Item<T> {
+		private final T object;
+		private final double x;
+		private final double y;
+		private long key;
+
+		private Item(T object, double x, double y) {
+			this.object = object;
+			this.x = x;
+			this.y = y;
+		}
+	}
+}
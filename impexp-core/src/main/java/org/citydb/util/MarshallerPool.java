@@ -0,0 +1,103 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * http://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2019
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.gis.bgu.tum.de/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * virtualcitySYSTEMS GmbH, Berlin <http://www.virtualcitysystems.de/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.util;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Provides thread-confined JAXB marshallers and unmarshallers for a shared
+ * JAXB context. Creating a marshaller is expensive compared to using it, so
+ * every thread creates at most one instance of each and reuses it afterwards.
+ * Callers must set all marshaller properties they rely on before each use.
+ */
+public class MarshallerPool {
+	private final JAXBContext context;
+	private final ThreadLocal<Marshaller> marshallers = new ThreadLocal<>();
+	private final ThreadLocal<Unmarshaller> unmarshallers = new ThreadLocal<>();
+
+	private final LongAdder requests = new LongAdder();
+	private final LongAdder instances = new LongAdder();
+
+	public MarshallerPool(JAXBContext context) {
+		this.context = context;
+	}
+
+	public JAXBContext getJAXBContext() {
+		return context;
+	}
+
+	public Marshaller getMarshaller() throws JAXBException {
+		requests.increment();
+		Marshaller marshaller = marshallers.get();
+		if (marshaller == null) {
+			marshaller = context.createMarshaller();
+			marshallers.set(marshaller);
+			instances.increment();
+		}
+
+		return marshaller;
+	}
+
+	public Unmarshaller getUnmarshaller() throws JAXBException {
+		requests.increment();
+		Unmarshaller unmarshaller = unmarshallers.get();
+		if (unmarshaller == null) {
+			unmarshaller = context.createUnmarshaller();
+			unmarshallers.set(unmarshaller);
+			instances.increment();
+		}
+
+		return unmarshaller;
+	}
+
+	public long getRequests() {
+		return requests.sum();
+	}
+
+	public long getInstances() {
+		return instances.sum();
+	}
+
+	public double getHitRate() {
+		long requests = this.requests.sum();
+		return requests > 0 ? (double) (requests - instances.sum()) / requests : 0;
+	}
+
+	public String getStatistics() {
+		return String.format("%d requests, %d instances, hit rate %.1f%%", getRequests(), getInstances(), getHitRate() * 100);
+	}
+
+	public void resetStatistics() {
+		requests.reset();
+		instances.reset();
+	}
+}
@@ -124,6 +124,8 @@ import java.lang.reflect.Modifier;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -419,6 +421,10 @@ public class Util {
 		return String.format("%02d s", s);
 	}
 
+	public static ZonedDateTime toZonedDateTime(OffsetDateTime dateTime) {
+		return dateTime != null ? dateTime.atZoneSameInstant(ZoneId.systemDefault()) : null;
+	}
+
 	public static ZonedDateTime getCreationDate(AbstractCityObject cityObject, boolean checkParents) {
 		if (cityObject == null)
 			return null;
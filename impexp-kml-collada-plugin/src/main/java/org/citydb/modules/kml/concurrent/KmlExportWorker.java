@@ -50,6 +50,7 @@ import org.citydb.modules.kml.database.KmlSplittingResult;
 import org.citydb.modules.kml.util.BalloonTemplateHandler;
 import org.citydb.modules.kml.util.ElevationServiceHandler;
 import org.citydb.modules.kml.util.ExportTracker;
+import org.citydb.modules.kml.util.TextureCache;
 import org.citydb.query.Query;
 import org.citydb.query.filter.type.FeatureTypeFilter;
 import org.citydb.util.Util;
@@ -71,6 +72,7 @@ import org.citygml4j.util.xml.SAXEventBuffer;
 
 import javax.xml.bind.JAXBContext;
 import java.io.File;
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.HashMap;
@@ -104,6 +106,7 @@ public class KmlExportWorker extends Worker<KmlSplittingResult> {
 			JAXBContext jaxbColladaContext,
 			WorkerPool<SAXEventBuffer> writerPool,
 			ExportTracker tracker,
+			TextureCache textureCache,
 			Query query,
 			ObjectFactory kmlFactory,
 			Config config,
@@ -125,6 +128,7 @@ public class KmlExportWorker extends Worker<KmlSplittingResult> {
 				query,
 				kmlFactory,
 				textureExportAdapter,
+				textureCache,
 				eventDispatcher,
 				config);
 
@@ -248,7 +252,7 @@ public class KmlExportWorker extends Worker<KmlSplittingResult> {
 			if (textureExportAdapter != null) {
 				try {
 					textureExportAdapter.close();
-				} catch (SQLException e) {
+				} catch (SQLException | IOException e) {
 					// 
 				}
 			}
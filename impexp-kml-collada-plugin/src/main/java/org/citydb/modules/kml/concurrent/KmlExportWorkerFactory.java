@@ -39,6 +39,7 @@ import org.citydb.event.EventDispatcher;
 import org.citydb.log.Logger;
 import org.citydb.modules.kml.database.KmlSplittingResult;
 import org.citydb.modules.kml.util.ExportTracker;
+import org.citydb.modules.kml.util.TextureCache;
 import org.citydb.query.Query;
 import org.citygml4j.util.xml.SAXEventBuffer;
 
@@ -54,6 +55,7 @@ public class KmlExportWorkerFactory implements WorkerFactory<KmlSplittingResult>
 	private final WorkerPool<SAXEventBuffer> writerPool;
 	private final Query query;
 	private final ExportTracker tracker;
+	private final TextureCache textureCache;
 	private final ObjectFactory kmlFactory;
 	private final Config config;
 	private final EventDispatcher eventDispatcher;
@@ -63,6 +65,7 @@ public class KmlExportWorkerFactory implements WorkerFactory<KmlSplittingResult>
 			JAXBContext jaxbColladaContext,
 			WorkerPool<SAXEventBuffer> writerPool,
 			ExportTracker tracker,
+			TextureCache textureCache,
 			Query query,
 			ObjectFactory kmlFactory,
 			Config config,
@@ -71,6 +74,7 @@ public class KmlExportWorkerFactory implements WorkerFactory<KmlSplittingResult>
 		this.jaxbColladaContext = jaxbColladaContext;
 		this.writerPool = writerPool;
 		this.tracker = tracker;
+		this.textureCache = textureCache;
 		this.query = query;
 		this.kmlFactory = kmlFactory;
 		this.config = config;
@@ -93,7 +97,7 @@ public class KmlExportWorkerFactory implements WorkerFactory<KmlSplittingResult>
 			}
 
 			kmlWorker = new KmlExportWorker(connection, databaseAdapter, jaxbKmlContext, jaxbColladaContext, writerPool,
-					tracker, query, kmlFactory, config, eventDispatcher);
+					tracker, textureCache, query, kmlFactory, config, eventDispatcher);
 		} catch (SQLException e) {
 			log.error("Failed to create export worker: " + e.getMessage());
 		}
@@ -100,6 +100,7 @@ import org.citydb.modules.kml.database.WaterBody;
 import org.citydb.modules.kml.datatype.TypeAttributeValueEnum;
 import org.citydb.modules.kml.util.CityObject4JSON;
 import org.citydb.modules.kml.util.ExportTracker;
+import org.citydb.modules.kml.util.TextureCache;
 import org.citydb.query.Query;
 import org.citydb.query.builder.QueryBuildException;
 import org.citydb.query.builder.config.ConfigQueryBuilder;
@@ -108,6 +109,7 @@ import org.citydb.query.filter.selection.Predicate;
 import org.citydb.query.filter.selection.SelectionFilter;
 import org.citydb.query.filter.selection.operator.logical.LogicalOperationFactory;
 import org.citydb.query.filter.tiling.Tile;
+import org.citydb.query.filter.tiling.TileBuckets;
 import org.citydb.query.filter.tiling.Tiling;
 import org.citydb.query.filter.type.FeatureTypeFilter;
 import org.citydb.util.ClientConstants;
@@ -136,6 +138,7 @@ import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -161,6 +164,7 @@ public class KmlExporter implements EventHandler {
 	private WorkerPool<KmlSplittingResult> kmlWorkerPool;
 	private SingleWorkerPool<SAXEventBuffer> writerPool;
 	private KmlSplitter kmlSplitter;
+	private TileBuckets tileBuckets;
 
 	private volatile boolean shouldRun = true;
 	private AtomicBoolean isInterrupted = new AtomicBoolean(false);
@@ -191,6 +195,7 @@ public class KmlExporter implements EventHandler {
 
 	public void cleanup() {
 		eventDispatcher.removeEventHandler(this);
+		closeTileBuckets();
 	}
 
 	public boolean doProcess() throws KmlExportException {
@@ -358,6 +363,32 @@ public class KmlExporter implements EventHandler {
 			}			
 		}
 
+		// assign all objects to their tiles using a single query
+		if (useTiling && tiling.isSingleQuery() && shouldRun) {
+			if (query.isSetSorting() || query.isSetCounterFilter())
+				log.warn("Single query tiling is not supported with sorting or counter settings. Querying each tile separately.");
+			else {
+				log.info("Assigning objects to tiles using a single query...");
+				try (Connection connection = DatabaseConnectionPool.getInstance().getConnection()) {
+					if (databaseAdapter.hasVersioningSupport())
+						databaseAdapter.getWorkspaceManager().gotoWorkspace(connection, workspace);
+
+					Path tempDir = Paths.get(config.getProject().getGlobal().getCache().getLocalCachePath());
+					Files.createDirectories(tempDir);
+
+					tileBuckets = new TileBuckets(tiling, databaseAdapter, Runtime.getRuntime().maxMemory() / 16, tempDir);
+					long objects = tileBuckets.fill(query, schemaMapping, connection);
+					log.debug(objects + " objects assigned to tiles, " + tileBuckets.getNumberOfDiscardedEntries() + " objects outside the tiling extent.");
+				} catch (SQLException | QueryBuildException | FilterException | IOException e) {
+					if (jsonFileWriter != null) try { jsonFileWriter.close(); } catch (IOException ioe) { }
+					throw new KmlExportException("Failed to assign objects to tiles.", e);
+				}
+			}
+		}
+
+		// share decoded texture images between all workers and tiles
+		TextureCache textureCache = TextureCache.ofMaxHeap(0.1);
+
 		long start = System.currentTimeMillis();
 
 		// iterate over tiles
@@ -451,6 +482,7 @@ public class KmlExporter implements EventHandler {
 										jaxbColladaContext,
 										writerPool,
 										tracker,
+										textureCache,
 										query,
 										kmlFactory,
 										config,
@@ -507,6 +539,7 @@ public class KmlExporter implements EventHandler {
 									query,
 									displayForm,
 									config);
+							kmlSplitter.setTileBuckets(tileBuckets);
 
 							if (shouldRun)
 								kmlSplitter.startQuery();
@@ -647,10 +680,16 @@ public class KmlExporter implements EventHandler {
 					}
 				}
 
+				// all display forms of this tile have been exported
+				if (tileBuckets != null && tile != null)
+					tileBuckets.remove(tile);
+
 				objectCounter.clear();
 			}
 		}
 
+		closeTileBuckets();
+
 		// complete KML master file
 		if (masterFileWriter != null) {
 			try {
@@ -692,6 +731,8 @@ public class KmlExporter implements EventHandler {
 		}
 
 		log.info("Processed geometry objects: " + geometryCounter);
+		log.debug(textureCache.getStatistics());
+		textureCache.clear();
 
 		if (lastTempFolder != null && lastTempFolder.exists()) 
 			deleteFolder(lastTempFolder); // just in case
@@ -702,6 +743,18 @@ public class KmlExporter implements EventHandler {
 		return shouldRun;
 	}
 
+	private void closeTileBuckets() {
+		if (tileBuckets != null) {
+			try {
+				tileBuckets.close();
+			} catch (IOException e) {
+				log.warn("Failed to delete the temporary tile assignment file.");
+			}
+
+			tileBuckets = null;
+		}
+	}
+
 	private SAXWriter writeMasterFileHeader(String fileName, String path, Query query) throws JAXBException, IOException, SAXException {
 		SAXWriter saxWriter = new SAXWriter();
 		saxWriter.setIndentString("  ");
@@ -1729,6 +1782,9 @@ public class KmlExporter implements EventHandler {
 
 				log.info("Waiting for objects being currently processed to end...");
 
+				if (tileBuckets != null)
+					tileBuckets.shutdown();
+
 				if (kmlSplitter != null)
 					kmlSplitter.shutdown();
 
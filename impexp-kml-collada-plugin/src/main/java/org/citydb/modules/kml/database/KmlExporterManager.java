@@ -43,6 +43,7 @@ import org.citydb.log.Logger;
 import org.citydb.modules.kml.util.BalloonTemplateHandler;
 import org.citydb.modules.kml.util.CityObject4JSON;
 import org.citydb.modules.kml.util.ExportTracker;
+import org.citydb.modules.kml.util.TextureCache;
 import org.citydb.query.Query;
 import org.citydb.registry.ObjectRegistry;
 import org.citydb.util.ClientConstants;
@@ -69,6 +70,7 @@ public class KmlExporterManager implements ADEKmlExportHelper {
 	private final ExportTracker tracker;
 	private final ObjectFactory kmlFactory; 
 	private final BlobExportAdapter textureExportAdapter;
+	private final TextureCache textureCache;
 	private final EventDispatcher eventDispatcher;
 	private final Config config;
 	private final ADEKmlExportQueryHelper sqlQueries;
@@ -94,6 +96,7 @@ public class KmlExporterManager implements ADEKmlExportHelper {
 			Query query,
 			ObjectFactory kmlFactory,
 			BlobExportAdapter textureExportAdapter,
+			TextureCache textureCache,
 			EventDispatcher eventDispatcher,
 			Config config) {
 		this.jaxbKmlContext = jaxbKmlContext;
@@ -103,6 +106,7 @@ public class KmlExporterManager implements ADEKmlExportHelper {
 		this.tracker = tracker;
 		this.kmlFactory = kmlFactory;
 		this.textureExportAdapter = textureExportAdapter;
+		this.textureCache = textureCache;
 		this.eventDispatcher = eventDispatcher;
 		this.config = config;
 
@@ -163,6 +167,10 @@ public class KmlExporterManager implements ADEKmlExportHelper {
 		return this.tracker;
 	}
 
+	public TextureCache getTextureCache() {
+		return textureCache;
+	}
+
 	public void print(List<PlacemarkType> placemarkList,
 			KmlSplittingResult work,
 			boolean balloonInSeparateFile) throws JAXBException {
@@ -522,7 +530,11 @@ public class KmlExporterManager implements ADEKmlExportHelper {
 				Iterator<String> iterator = keySet.iterator();
 				while (iterator.hasNext()) {
 					String imageFilename = iterator.next();
-					byte[] ordImageBytes = textureExportAdapter.getInByteArray(colladaBundle.getUnsupportedTexImageIds().get(imageFilename));
+					long texImageId = colladaBundle.getUnsupportedTexImageIds().get(imageFilename);
+					byte[] ordImageBytes = textureCache.getUnsupportedImageData(texImageId);
+					if (ordImageBytes == null)
+						ordImageBytes = textureExportAdapter.getInByteArray(texImageId);
+
 					if (ordImageBytes != null) {
 						zipEntry = imageFilename.startsWith("..") ?
 								new ZipEntry(imageFilename.substring(3)) : // skip .. and File.separator
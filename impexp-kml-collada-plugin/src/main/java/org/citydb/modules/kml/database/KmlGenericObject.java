@@ -50,6 +50,7 @@ import org.citydb.modules.kml.datatype.TypeAttributeValueEnum;
 import org.citydb.modules.kml.util.AffineTransformer;
 import org.citydb.modules.kml.util.BalloonTemplateHandler;
 import org.citydb.modules.kml.util.ElevationServiceHandler;
+import org.citydb.modules.kml.util.TextureCache;
 import org.citydb.query.Query;
 import org.citydb.textureAtlas.TextureAtlasCreator;
 import org.citydb.textureAtlas.image.ImageReader;
@@ -149,6 +150,10 @@ public abstract class KmlGenericObject {
 	private HashMap<Object, String> texImageUris = new HashMap<Object, String>();
 	// key is imageUri
 	private HashMap<String, TextureImage> texImages = new HashMap<String, TextureImage>();
+	// tex_image_id of the decoded images, used for looking up scaled images in the texture cache
+	// key is imageUri
+	private HashMap<String, Long> texImageIds = new HashMap<String, Long>();
+	private boolean texImagesSupportRGB;
 	// for images in unusual formats or wrapping textures. Most times it will be null.
 	// key is imageUri
 	private HashMap<String, Long> unsupportedTexImageIds = null;
@@ -1229,10 +1234,22 @@ public abstract class KmlGenericObject {
 			return;
 		}
 
+		TextureCache textureCache = kmlExporterManager.getTextureCache();
 		Set<String> keySet = texImages.keySet();
 		Iterator<String> iterator = keySet.iterator();
 		while (iterator.hasNext()) {
 			String imageName = iterator.next();
+
+			// images that have been scaled by the same factor before are shared by all workers
+			Long texImageId = texImageIds.get(imageName);
+			if (texImageId != null) {
+				TextureImage resizedImage = textureCache.getImage(texImageId, texImagesSupportRGB, factor);
+				if (resizedImage != null) {
+					texImages.put(imageName, resizedImage);
+					continue;
+				}
+			}
+
 			BufferedImage imageToResize = texImages.get(imageName).getBufferedImage();
 			if (imageToResize.getWidth()*factor < 1 || imageToResize.getHeight()*factor < 1) {
 				continue;
@@ -1242,7 +1259,10 @@ public abstract class KmlGenericObject {
 					(int)(imageToResize.getHeight()*factor),
 					RenderingHints.VALUE_INTERPOLATION_BILINEAR,
 					true);
-			texImages.put(imageName, new TextureImage(resizedImage));
+			TextureImage texImage = new TextureImage(resizedImage);
+			texImages.put(imageName, texImage);
+			if (texImageId != null)
+				textureCache.putImage(texImageId, texImagesSupportRGB, factor, texImage);
 		}
 
 	}
@@ -2270,27 +2290,46 @@ public abstract class KmlGenericObject {
 								texImageUri = "_" + texImageUri.substring(fileSeparatorIndex + 1); // for example: _tex4712047.jpeg
 
 								if ((getUnsupportedTexImageId(texImageUri) == -1) && (getTexImage(texImageUri) == null)) {
-									byte[] imageBytes = textureExportAdapter.getInByteArray(textureImageId);
-									if (imageBytes != null) {
-										imageReader.setSupportRGB(generateTextureAtlas);
+									TextureCache textureCache = kmlExporterManager.getTextureCache();
+									TextureImage texImage = null;
+									boolean isUnsupported = textureCache.isUnsupportedImage(textureImageId);
+									if (!isUnsupported)
+										texImage = textureCache.getImage(textureImageId, generateTextureAtlas, 1);
+
+									if (texImage == null && !isUnsupported) {
+										byte[] imageBytes = textureExportAdapter.getInByteArray(textureImageId);
+										if (imageBytes != null) {
+											imageReader.setSupportRGB(generateTextureAtlas);
+
+											try {
+												texImage = imageReader.read(new ByteArrayInputStream(imageBytes));
+											} catch (IOException ioe) {
+												// unsupported image format
+											}
 
-										try {
-											TextureImage texImage = imageReader.read(new ByteArrayInputStream(imageBytes));
 											if (texImage != null)
-												addTexImage(texImageUri, texImage);
-											else
-												addUnsupportedTexImageId(texImageUri, textureImageId);
-										} catch (IOException ioe) {
-											// unsupported image format
+												textureCache.putImage(textureImageId, generateTextureAtlas, 1, texImage);
+											else {
+												textureCache.putUnsupportedImage(textureImageId, imageBytes);
+												isUnsupported = true;
+											}
+										} else
+											hasTexture = false;
+									}
+
+									if (hasTexture) {
+										if (texImage != null) {
+											addTexImage(texImageUri, texImage);
+											texImageIds.put(texImageUri, textureImageId);
+											texImagesSupportRGB = generateTextureAtlas;
+										} else if (isUnsupported)
 											addUnsupportedTexImageId(texImageUri, textureImageId);
-										}
 
 										if (++texImageCounter == 20) {
 											eventDispatcher.triggerEvent(new CounterEvent(CounterType.TEXTURE_IMAGE, texImageCounter, this));
 											texImageCounter = 0;
 										}
-									} else
-										hasTexture = false;
+									}
 								}
 
 								if (hasTexture) {
@@ -50,6 +50,7 @@ import org.citydb.query.builder.sql.BuildProperties;
 import org.citydb.query.builder.sql.SQLQueryBuilder;
 import org.citydb.query.filter.FilterException;
 import org.citydb.query.filter.tiling.Tile;
+import org.citydb.query.filter.tiling.TileBuckets;
 import org.citydb.sqlbuilder.expression.PlaceHolder;
 import org.citydb.sqlbuilder.schema.Table;
 import org.citydb.sqlbuilder.select.Select;
@@ -59,10 +60,13 @@ import org.citydb.sqlbuilder.select.operator.comparison.ComparisonName;
 import org.citydb.util.Util;
 import org.citygml4j.model.citygml.CityGMLClass;
 
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.List;
 
 public class KmlSplitter {
 	private final WorkerPool<KmlSplittingResult> dbWorkerPool;
@@ -77,6 +81,7 @@ public class KmlSplitter {
 	private String schema;
 	private SchemaMapping schemaMapping;
 	private SQLQueryBuilder builder;
+	private TileBuckets tileBuckets;
 
 	public KmlSplitter(SchemaMapping schemaMapping,
 			WorkerPool<KmlSplittingResult> dbWorkerPool,
@@ -137,7 +142,7 @@ public class KmlSplitter {
 						envelope = databaseAdapter.getGeometryConverter().getEnvelope(geomObj);
 				}
 
-				addWorkToQueue(id, gmlId, objectClassId, envelope, activeTile, false);
+				addWorkToQueue(id, gmlId, objectClassId, envelope, activeTile, true, false);
 				objectCount++;
 			}
 
@@ -146,9 +151,35 @@ public class KmlSplitter {
 		}
 	}
 
+	private void queryObjectsFromBucket() throws SQLException, FilterException {
+		Tile activeTile = query.getTiling().getActiveTile();
+
+		List<TileBuckets.Entry> entries;
+		try {
+			entries = tileBuckets.get(activeTile);
+		} catch (IOException e) {
+			throw new SQLException("Failed to read the objects assigned to Tile_" + activeTile.getX() + "_" + activeTile.getY() + ".", e);
+		}
+
+		// objects have already been assigned to this tile based on their envelope
+		for (Iterator<TileBuckets.Entry> iter = entries.iterator(); shouldRun && iter.hasNext(); ) {
+			TileBuckets.Entry entry = iter.next();
+			addWorkToQueue(entry.getId(), entry.getGmlId(), entry.getObjectClassId(), entry.getEnvelope(), activeTile, false, false);
+		}
+
+		Logger.getInstance().debug(entries.size() + " objects assigned to Tile_" + activeTile.getX() + "_" + activeTile.getY() + ".");
+	}
+
+	public void setTileBuckets(TileBuckets tileBuckets) {
+		this.tileBuckets = tileBuckets;
+	}
+
 	public void startQuery() throws SQLException, QueryBuildException, FilterException {
 		try {
-			queryObjects();
+			if (tileBuckets != null && query.isSetTiling())
+				queryObjectsFromBucket();
+			else
+				queryObjects();
 		} finally {
 			if (connection != null)
 				connection.close();
@@ -159,7 +190,7 @@ public class KmlSplitter {
 		shouldRun = false;
 	}
 
-	private void addWorkToQueue(long id, String gmlId, int objectClassId, GeometryObject envelope, Tile activeTile, boolean isCityObjectGroupMember) throws SQLException, FilterException {
+	private void addWorkToQueue(long id, String gmlId, int objectClassId, GeometryObject envelope, Tile activeTile, boolean checkTile, boolean isCityObjectGroupMember) throws SQLException, FilterException {
 		FeatureType featureType = schemaMapping.getFeatureType(objectClassId);
 
 		// In order to avoid the duplication of export, cityobjectgroup members
@@ -181,7 +212,7 @@ public class KmlSplitter {
 				|| (isCityObjectGroupMember && query.getFeatureTypeFilter().size() == 1)) {
 
 			// check whether center point of the feature's envelope is within the tile extent
-			if (envelope != null && envelope.getGeometryType() == GeometryType.ENVELOPE) {
+			if (checkTile && envelope != null && envelope.getGeometryType() == GeometryType.ENVELOPE) {
 				double coordinates[] = envelope.getCoordinates(0);
 				if (!activeTile.isOnTile(new org.citydb.config.geometry.Point(
 						(coordinates[0] + coordinates[3]) / 2.0,
@@ -232,7 +263,7 @@ public class KmlSplitter {
 							_envelope = databaseAdapter.getGeometryConverter().getEnvelope(geomObj);
 
 						// Recursion in CityObjectGroup
-						addWorkToQueue(_id,  _gmlId, _objectClassId, _envelope, activeTile, true);
+						addWorkToQueue(_id,  _gmlId, _objectClassId, _envelope, activeTile, true, true);
 					}
 				}
 			}
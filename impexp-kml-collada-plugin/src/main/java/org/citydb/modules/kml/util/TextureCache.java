@@ -0,0 +1,185 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * http://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2019
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.gis.bgu.tum.de/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * virtualcitySYSTEMS GmbH, Berlin <http://www.virtualcitysystems.de/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.modules.kml.util;
+
+import org.citydb.textureAtlas.model.TextureImage;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A size-bounded LRU cache of texture images that is shared by all KML/COLLADA
+ * export workers. Decoded images are keyed by their tex_image_id, the color model
+ * used for decoding, and the scale factor applied to them. Image data that cannot be
+ * decoded is kept as raw bytes so that it can be copied to the output without another
+ * database round trip. Cached images must be treated as read-only by the callers.
+ */
+public class TextureCache {
+	private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+	private final Set<Long> unsupportedImages = ConcurrentHashMap.newKeySet();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final long capacity;
+	private long size;
+
+	public TextureCache(long capacity) {
+		if (capacity <= 0)
+			throw new IllegalArgumentException("Texture cache capacity must be greater than zero.");
+
+		this.capacity = capacity;
+	}
+
+	public static TextureCache ofMaxHeap(double fraction) {
+		return new TextureCache(Math.max(1, (long) (Runtime.getRuntime().maxMemory() * fraction)));
+	}
+
+	public TextureImage getImage(long texImageId, boolean supportRGB, double scaleFactor) {
+		return (TextureImage) get(new Key(texImageId, supportRGB, scaleFactor));
+	}
+
+	public void putImage(long texImageId, boolean supportRGB, double scaleFactor, TextureImage texImage) {
+		if (texImage != null)
+			put(new Key(texImageId, supportRGB, scaleFactor), texImage, (long) texImage.getWidth() * texImage.getHeight() * 4);
+	}
+
+	public boolean isUnsupportedImage(long texImageId) {
+		return unsupportedImages.contains(texImageId);
+	}
+
+	public byte[] getUnsupportedImageData(long texImageId) {
+		return (byte[]) get(new Key(texImageId, false, 0));
+	}
+
+	public void putUnsupportedImage(long texImageId, byte[] imageData) {
+		unsupportedImages.add(texImageId);
+		if (imageData != null)
+			put(new Key(texImageId, false, 0), imageData, imageData.length);
+	}
+
+	public long getHits() {
+		return hits.sum();
+	}
+
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	public synchronized long getSize() {
+		return size;
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+		unsupportedImages.clear();
+		size = 0;
+	}
+
+	public String getStatistics() {
+		long hits = this.hits.sum();
+		long lookups = hits + misses.sum();
+
+		return "Texture cache: " + lookups + " lookups, " + hits + " hits ("
+				+ (lookups > 0 ? Math.round(hits * 100.0 / lookups) : 0) + "%), "
+				+ (getSize() >> 10) + " of " + (capacity >> 10) + " KB used.";
+	}
+
+	private synchronized Object get(Key key) {
+		Entry entry = entries.get(key);
+		if (entry != null) {
+			hits.increment();
+			return entry.value;
+		} else {
+			misses.increment();
+			return null;
+		}
+	}
+
+	private synchronized void put(Key key, Object value, long bytes) {
+		// do not let a single huge image flush the entire cache
+		if (bytes > capacity / 2)
+			return;
+
+		Entry previous = entries.put(key, new Entry(value, bytes));
+		if (previous != null)
+			size -= previous.bytes;
+
+		size += bytes;
+
+		Iterator<Map.Entry<Key, Entry>> iter = entries.entrySet().iterator();
+		while (size > capacity && iter.hasNext()) {
+			size -= iter.next().getValue().bytes;
+			iter.remove();
+		}
+	}
+
+	private static final class Key {
+		private final long texImageId;
+		private final boolean supportRGB;
+		private final double scaleFactor;
+
+		Key(long texImageId, boolean supportRGB, double scaleFactor) {
+			this.texImageId = texImageId;
+			this.supportRGB = supportRGB;
+			this.scaleFactor = scaleFactor;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+
+			if (!(obj instanceof Key))
+				return false;
+
+			Key other = (Key) obj;
+			return texImageId == other.texImageId
+					&& supportRGB == other.supportRGB
+					&& Double.compare(scaleFactor, other.scaleFactor) == 0;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(texImageId, supportRGB, scaleFactor);
+		}
+	}
+
+	private static final class Entry {
+		private final Object value;
+		private final long bytes;
+
+		Entry(Object value, long bytes) {
+			this.value = value;
+			this.bytes = bytes;
+		}
+	}
+}
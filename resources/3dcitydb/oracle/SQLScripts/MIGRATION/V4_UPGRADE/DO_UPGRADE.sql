@@ -89,6 +89,20 @@ BEGIN
 END;
 /
 
+-- create content fingerprint table used for change detection during import
+DECLARE
+  table_exists NUMBER;
+BEGIN
+  SELECT COUNT(*) INTO table_exists FROM USER_TABLES
+  WHERE TABLE_NAME = 'CITYOBJECT_FINGERPRINT';
+
+  IF table_exists = 0 THEN
+    EXECUTE IMMEDIATE 'CREATE TABLE CITYOBJECT_FINGERPRINT (CITYOBJECT_ID NUMBER NOT NULL, FINGERPRINT VARCHAR2(64), CONSTRAINT CITYOBJECT_FINGERPRINT_PK PRIMARY KEY (CITYOBJECT_ID) ENABLE)';
+    EXECUTE IMMEDIATE 'ALTER TABLE CITYOBJECT_FINGERPRINT ADD CONSTRAINT CITYOBJECT_FINGERPRINT_FK FOREIGN KEY (CITYOBJECT_ID) REFERENCES CITYOBJECT (ID) ON DELETE CASCADE ENABLE';
+  END IF;
+END;
+/
+
 -- create delete scripts
 column script new_value DELETE
 SELECT
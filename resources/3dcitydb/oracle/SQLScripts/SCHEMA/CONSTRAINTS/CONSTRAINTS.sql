@@ -1565,6 +1565,17 @@ REFERENCES CITYOBJECTGROUP
 )
 ENABLE;
 
+ALTER TABLE CITYOBJECT_FINGERPRINT
+ADD CONSTRAINT CITYOBJECT_FINGERPRINT_FK FOREIGN KEY
+(
+  CITYOBJECT_ID 
+)
+REFERENCES CITYOBJECT
+(
+  ID 
+)
+ON DELETE CASCADE ENABLE;
+
 ALTER TABLE IMPLICIT_GEOMETRY
 ADD CONSTRAINT IMPLICIT_GEOM_BREP_FK FOREIGN KEY
 (
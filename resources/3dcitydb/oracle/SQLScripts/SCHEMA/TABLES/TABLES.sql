@@ -800,6 +800,17 @@ CREATE TABLE GROUP_TO_CITYOBJECT
   ENABLE 
 );
 
+CREATE TABLE CITYOBJECT_FINGERPRINT 
+(
+  CITYOBJECT_ID NUMBER NOT NULL 
+, FINGERPRINT VARCHAR2(64) 
+, CONSTRAINT CITYOBJECT_FINGERPRINT_PK PRIMARY KEY 
+  (
+    CITYOBJECT_ID 
+  )
+  ENABLE 
+);
+
 CREATE TABLE BRIDGE_CONSTR_ELEMENT 
 (
   ID NUMBER NOT NULL 
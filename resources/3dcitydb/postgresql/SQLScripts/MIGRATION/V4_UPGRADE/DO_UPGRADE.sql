@@ -79,4 +79,21 @@ BEGIN
     END LOOP;
   END IF;
 END
+$$;
+
+-- create content fingerprint table used for change detection during import
+DO $$
+DECLARE
+  schema_name text;
+BEGIN
+  FOR schema_name in SELECT nspname AS schema_name FROM pg_catalog.pg_class c
+                   JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace
+                   WHERE c.relname = 'database_srs' AND c.relkind = 'r'
+  LOOP
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I.cityobject_fingerprint (cityobject_id integer NOT NULL, fingerprint character varying(64), CONSTRAINT cityobject_fingerprint_pk PRIMARY KEY (cityobject_id) WITH (FILLFACTOR = 100))', schema_name);
+    IF NOT EXISTS (SELECT 1 FROM pg_catalog.pg_constraint WHERE conname = 'cityobject_fingerprint_fk' AND connamespace = schema_name::regnamespace) THEN
+      EXECUTE format('ALTER TABLE %I.cityobject_fingerprint ADD CONSTRAINT cityobject_fingerprint_fk FOREIGN KEY (cityobject_id) REFERENCES %I.cityobject (id) MATCH FULL ON DELETE CASCADE ON UPDATE CASCADE', schema_name, schema_name);
+    END IF;
+  END LOOP;
+END
 $$;
\ No newline at end of file
@@ -155,6 +155,17 @@ CREATE TABLE group_to_cityobject(
 );
 -- ddl-end --
 
+-- object: cityobject_fingerprint | type: TABLE --
+-- DROP TABLE IF EXISTS cityobject_fingerprint CASCADE;
+CREATE TABLE cityobject_fingerprint(
+	cityobject_id integer NOT NULL,
+	fingerprint character varying(64),
+	CONSTRAINT cityobject_fingerprint_pk PRIMARY KEY (cityobject_id)
+	 WITH (FILLFACTOR = 100)
+
+);
+-- ddl-end --
+
 -- object: database_srs | type: TABLE --
 -- DROP TABLE IF EXISTS database_srs CASCADE;
 CREATE TABLE database_srs(
@@ -5064,6 +5075,13 @@ REFERENCES cityobjectgroup (id) MATCH FULL
 ON DELETE NO ACTION ON UPDATE CASCADE;
 -- ddl-end --
 
+-- object: cityobject_fingerprint_fk | type: CONSTRAINT --
+-- ALTER TABLE cityobject_fingerprint DROP CONSTRAINT IF EXISTS cityobject_fingerprint_fk CASCADE;
+ALTER TABLE cityobject_fingerprint ADD CONSTRAINT cityobject_fingerprint_fk FOREIGN KEY (cityobject_id)
+REFERENCES cityobject (id) MATCH FULL
+ON DELETE CASCADE ON UPDATE CASCADE;
+-- ddl-end --
+
 -- object: objectclass_superclass_fk | type: CONSTRAINT --
 -- ALTER TABLE objectclass DROP CONSTRAINT IF EXISTS objectclass_superclass_fk CASCADE;
 ALTER TABLE objectclass ADD CONSTRAINT objectclass_superclass_fk FOREIGN KEY (superclass_id)